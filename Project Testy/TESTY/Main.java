@@ -1,5 +1,22 @@
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import audio.SoundPlayer;
+import hardware.InventoryCache;
+import hardware.LatencyRecorder;
+import hardware.MetricSeries;
+import hardware.MetricsSampler;
+import hardware.PeripheralInfo;
+import hardware.PeripheralWatcher;
+import hardware.ProbeEngine;
+import hardware.ProbeRenderer;
 import hardware.SystemInfo;
 import ui.UIUtils;
 import ui.UICamera;
@@ -7,8 +24,13 @@ import ui.UIHeadset;
 import ui.UIKeyboard;
 import ui.UIMouse;
 import ui.UISpeaker;
+import ui.Sparkline;
 
 public class Main {
+    private static final long startTime = System.nanoTime();  // Instante de início da aplicação, usado para medir a inicialização
+    private static final List<String> startupStages = new ArrayList<>();  // Etapas já concluídas, acessadas na thread de eventos
+    private static JLabel startupLabel;  // Label com os tempos de inicialização
+
     public static void main(String[] args) {
         // Configuração da Janela Principal
         JFrame frame = createMainFrame();
@@ -23,6 +45,10 @@ public class Main {
 
         // Exibir a janela principal
         frame.setVisible(true);
+        reportStartupTime("Tempo até a primeira janela");
+
+        // Decodifica o som de teste e abre um Clip em segundo plano, para que o primeiro clique já toque na hora
+        SoundPlayer.shared().preload(UISpeaker.TEST_SOUND);
     }
 
     private static JFrame createMainFrame() {
@@ -36,6 +62,15 @@ public class Main {
     private static JPanel createInfoPanel() { // Usando static para função pertencer a classe
         JPanel infoPanel = UIUtils.createInfoPanel();
 
+        // Inicia todas as sondagens lentas ao mesmo tempo, antes de montar o painel
+        InventoryCache inventoryCache = InventoryCache.openDefault(SystemInfo.getHardwareProbe());
+        ProbeEngine probeEngine = new ProbeEngine(inventoryCache);
+        CompletableFuture<String> gpuFuture = probeEngine.probeGPU();
+        CompletableFuture<String> biosFuture = probeEngine.probeBIOS();
+        CompletableFuture<String> peripheralsFuture = probeEngine.probePeripherals();
+        CompletableFuture<String> systemMemoryFuture = probeEngine.probeSystemMemory();
+        probeEngine.shutdown();
+
         // Obtendo e exibindo informações do Sistema Operacional
         String osInfo = SystemInfo.getOSInfo();
         JLabel osLabel = UIUtils.createInfoLabel(osInfo);
@@ -46,31 +81,112 @@ public class Main {
         JLabel processorLabel = UIUtils.createInfoLabel(processorInfo);
         infoPanel.add(processorLabel);
 
-        // Obtendo e exibindo informações sobre a GPU
-        String gpuInfo = SystemInfo.getGPUInfo();
-        JLabel gpuLabel = UIUtils.createInfoLabel(gpuInfo);
+        // Exibindo informações sobre a GPU (do cache, se houver, e atualizadas quando a sondagem terminar)
+        JLabel gpuLabel = UIUtils.createInfoLabel(placeholder(inventoryCache, InventoryCache.GPU, "GPU: carregando..."));
         infoPanel.add(gpuLabel);
+        fillWhenReady(gpuLabel, gpuFuture);
 
         // Exibindo informações da BIOS
-        String biosInfo = SystemInfo.getBIOSInfo();
-        JLabel biosLabel = UIUtils.createInfoLabel(biosInfo);
+        JLabel biosLabel = UIUtils.createInfoLabel(placeholder(inventoryCache, InventoryCache.BIOS, "BIOS Info: carregando..."));
         infoPanel.add(biosLabel);
+        fillWhenReady(biosLabel, biosFuture);
 
         // Exibindo lista de Periféricos Conectados
-        String peripheralsInfo = SystemInfo.getPeripheralsInfo();
-        JLabel peripheralsLabel = UIUtils.createInfoLabel(peripheralsInfo);
+        JLabel peripheralsLabel = UIUtils.createInfoLabel(placeholder(inventoryCache, InventoryCache.PERIPHERALS, "Periféricos Para Teste: carregando..."));
         infoPanel.add(peripheralsLabel);
+        fillWhenReady(peripheralsLabel, peripheralsFuture);
+        // Depois da primeira lista, o label passa a acompanhar a conexão e desconexão de dispositivos
+        List<LatencyRecorder> latencyRecorders = new CopyOnWriteArrayList<>();  // Registros exibidos na dica de inicialização
+        latencyRecorders.add(probeEngine.getLatencyRecorder());
+        peripheralsFuture.whenComplete((info, error) ->
+                latencyRecorders.add(startPeripheralWatcher(peripheralsLabel).getLatencyRecorder()));
 
-        // Exibindo a quantidade de Memória Disponível
-        JLabel memoryLabel = UIUtils.createInfoLabel(SystemInfo.getMemoryInfo());
-        infoPanel.add(memoryLabel);
+        // Exibindo a Memória Física do sistema
+        JLabel systemMemoryLabel = UIUtils.createInfoLabel("Memória Física: carregando...");
+        infoPanel.add(systemMemoryLabel);
+        fillWhenReady(systemMemoryLabel, systemMemoryFuture);
 
-        // Iniciar atualização dinâmica das informações de memória
-        startDynamicUpdate(memoryLabel);
+        // Exibindo os tempos de inicialização, preenchidos conforme cada etapa termina
+        startupLabel = UIUtils.createInfoLabel("Inicialização: carregando...");
+        showLatencyOnHover(startupLabel, latencyRecorders);
+        infoPanel.add(startupLabel);
+
+        // Iniciar a amostragem de métricas e a atualização dinâmica dos gráficos
+        MetricsSampler metricsSampler = new MetricsSampler();
+        metricsSampler.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(metricsSampler::close, "testy-metrics-shutdown"));
+        startDynamicUpdate(infoPanel, metricsSampler);
+
+        // Informa quando o painel estiver completo
+        CompletableFuture.allOf(gpuFuture, biosFuture, peripheralsFuture, systemMemoryFuture)
+                .whenComplete((result, error) -> reportStartupTime("Tempo até o painel completo"));
 
         return infoPanel;
     }
 
+    /**
+     * Obtém o texto inicial de um label: o último valor em cache, mesmo desatualizado, ou o texto de carregamento.
+     *
+     * @param cache       o cache de inventário.
+     * @param key         a chave da informação no cache.
+     * @param loadingText o texto exibido se não houver nada em cache.
+     * @return o texto inicial do label.
+     */
+    private static String placeholder(InventoryCache cache, String key, String loadingText) {
+        String cached = cache.get(key);
+        return cached != null ? cached : loadingText;
+    }
+
+    /**
+     * Preenche um label de informação assim que a sondagem correspondente terminar.
+     * A atualização é feita na thread de eventos do Swing.
+     *
+     * @param label  o label a ser preenchido.
+     * @param future a sondagem em andamento.
+     */
+    private static void fillWhenReady(JLabel label, CompletableFuture<String> future) {
+        future.whenComplete((info, error) -> {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            String text = error == null ? info : "Erro ao obter informações: " + cause.getMessage();
+            SwingUtilities.invokeLater(() -> UIUtils.updateInfoLabel(label, text));
+        });
+    }
+
+    /**
+     * Exibe os relatórios de latência como dica do label, montados no momento em que o mouse entra nele, para que
+     * incluam as medições feitas depois da inicialização.
+     *
+     * @param label     o label que exibe a dica.
+     * @param recorders os registros de latência, na ordem em que aparecem na dica.
+     */
+    private static void showLatencyOnHover(JLabel label, List<LatencyRecorder> recorders) {
+        label.setToolTipText("");  // Registra o label no gerenciador de dicas
+        label.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                StringBuilder html = new StringBuilder("<html><pre>");
+                for (LatencyRecorder recorder : recorders) {
+                    html.append(recorder.report());
+                }
+                label.setToolTipText(html.append("</pre></html>").toString());
+            }
+        });
+    }
+
+    /**
+     * Exibe no painel de informações o tempo decorrido desde o início da aplicação.
+     * A atualização é feita na thread de eventos do Swing.
+     *
+     * @param stage a etapa da inicialização que foi concluída.
+     */
+    private static void reportStartupTime(String stage) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        SwingUtilities.invokeLater(() -> {
+            startupStages.add(stage + ": " + elapsedMillis + " ms");
+            UIUtils.updateInfoLabel(startupLabel, String.join("<br>", startupStages));
+        });
+    }
+
     private static JPanel createButtonPanel(JFrame frame) {
         JPanel buttonPanel = UIUtils.createButtonPanel();
 
@@ -122,12 +238,60 @@ public class Main {
         }
     }
 
-    private static void startDynamicUpdate(JLabel memoryLabel) {
-        Timer timer = new Timer(1000, e -> { // Função lambda pro timer
-            // Atualizar o JLabel com as informações de memória
-            String memoryInfo = SystemInfo.getMemoryInfo();
-            memoryLabel.setText("<html><div style='color: white;'>" + memoryInfo + "</div></html>");
+    /**
+     * Inicia o observador de periféricos, que atualiza o label apenas com as diferenças recebidas.
+     * A primeira notificação traz todos os periféricos conectados e substitui a lista da sondagem inicial.
+     *
+     * @param peripheralsLabel o label com a lista de periféricos.
+     * @return o observador iniciado.
+     */
+    private static PeripheralWatcher startPeripheralWatcher(JLabel peripheralsLabel) {
+        List<PeripheralInfo> peripherals = new ArrayList<>();  // Lista exibida, acessada apenas na thread de eventos
+        List<String> categoryOrder = SystemInfo.getPeripheralClassifier().getCategoryNames();
+        PeripheralWatcher watcher = PeripheralWatcher.forCurrentOS((added, removed) -> SwingUtilities.invokeLater(() -> {
+            for (PeripheralInfo peripheral : removed) {
+                peripherals.removeIf(shown -> shown.getName().equals(peripheral.getName()));
+            }
+            peripherals.addAll(added);
+            UIUtils.updateInfoLabel(peripheralsLabel, ProbeRenderer.renderPeripherals(peripherals, categoryOrder));
+        }));
+        watcher.start();
+        return watcher;
+    }
+
+    /**
+     * Adiciona ao painel um label e um gráfico de histórico para cada métrica, atualizados a cada intervalo de amostragem.
+     * A coleta acontece na thread do amostrador; aqui, na thread de eventos, apenas os valores já gravados são lidos.
+     *
+     * @param infoPanel o painel de informações.
+     * @param sampler   o amostrador de métricas.
+     */
+    private static void startDynamicUpdate(JPanel infoPanel, MetricsSampler sampler) {
+        MetricSeries[] series = {sampler.getHeapUsed(), sampler.getGcPause(), sampler.getProcessCpu(), sampler.getSystemMemoryUsed()};
+        double[] scales = {Math.max(0, sampler.getHeapMaxMB()), 0, 100, 0};  // 0 ajusta a escala ao histórico
+        JLabel[] labels = new JLabel[series.length];
+        Sparkline[] sparklines = new Sparkline[series.length];
+        for (int i = 0; i < series.length; i++) {
+            labels[i] = UIUtils.createInfoLabel(metricText(series[i]));
+            infoPanel.add(labels[i]);
+            sparklines[i] = new Sparkline(series[i], scales[i]);
+            infoPanel.add(sparklines[i]);
+        }
+        JLabel overheadLabel = UIUtils.createInfoLabel(sampler.overheadReport());
+        infoPanel.add(overheadLabel);
+
+        Timer timer = new Timer((int) sampler.getInterval().toMillis(), e -> { // Função lambda pro timer
+            for (int i = 0; i < series.length; i++) {
+                UIUtils.updateInfoLabel(labels[i], metricText(series[i]));
+                sparklines[i].repaint();
+            }
+            UIUtils.updateInfoLabel(overheadLabel, sampler.overheadReport());
         });
         timer.start();
     }
+
+    private static String metricText(MetricSeries series) {
+        double latest = series.latest();
+        return series.getName() + ": " + (Double.isNaN(latest) ? "--" : String.format("%.0f", latest)) + " " + series.getUnit();
+    }
 }
@@ -0,0 +1,93 @@
+package audio;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cache compartilhado de sons decodificados. Cada arquivo é lido e decodificado uma única vez, em uma thread de
+ * segundo plano, e todos os pedidos seguintes recebem o mesmo {@link SoundAsset}. Os sons podem ser carregados na
+ * inicialização por {@link #preload(String...)} ou no primeiro uso.
+ * Se a decodificação falhar, o arquivo sai do cache para que um pedido posterior tente novamente.
+ */
+public class AudioAssetCache {
+    private static final AudioAssetCache SHARED = new AudioAssetCache();  // Cache usado pelas janelas de teste
+
+    private final Map<Path, CompletableFuture<SoundAsset>> assets = new ConcurrentHashMap<>();  // Sons por arquivo
+    private final ExecutorService loader;  // Thread que lê e decodifica os arquivos
+
+    /**
+     * Construtor da classe AudioAssetCache.
+     * Cria a thread daemon que decodifica os sons.
+     */
+    public AudioAssetCache() {
+        loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "testy-audio-assets");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Obtém o cache compartilhado pela aplicação.
+     *
+     * @return o cache compartilhado.
+     */
+    public static AudioAssetCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Inicia a decodificação de sons em segundo plano, sem esperar o resultado.
+     *
+     * @param files os caminhos dos arquivos, relativos ao diretório de trabalho.
+     */
+    public void preload(String... files) {
+        for (String file : files) {
+            get(file);
+        }
+    }
+
+    /**
+     * Obtém um som, decodificando-o em segundo plano se ainda não estiver no cache.
+     *
+     * @param file o caminho do arquivo, relativo ao diretório de trabalho.
+     * @return um future completado com o som decodificado; já completo se o som estiver no cache.
+     */
+    public CompletableFuture<SoundAsset> get(String file) {
+        Path path = Paths.get(file).toAbsolutePath().normalize();
+        CompletableFuture<SoundAsset> future = assets.computeIfAbsent(path,
+                key -> CompletableFuture.supplyAsync(() -> decode(key), loader));
+        // Fora do computeIfAbsent: com a decodificação já falhada, o remove rodaria durante a própria inserção no mapa
+        future.whenComplete((asset, error) -> {
+            if (error != null) {
+                assets.remove(path, future);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Verifica se um som já foi decodificado.
+     *
+     * @param file o caminho do arquivo, relativo ao diretório de trabalho.
+     * @return true se o som estiver pronto no cache.
+     */
+    public boolean isLoaded(String file) {
+        CompletableFuture<SoundAsset> future = assets.get(Paths.get(file).toAbsolutePath().normalize());
+        return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    private static SoundAsset decode(Path file) {
+        try {
+            return SoundAsset.decode(file);
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.Mixer;
+import java.util.List;
+
+/**
+ * Origem das linhas de áudio usadas nos testes. A implementação padrão usa o Java Sound e os dispositivos reais; o
+ * {@link SoftwareAudioBackend} grava e reproduz em memória, para testes e benchmarks sem placa de som.
+ * Em todos os métodos, um dispositivo null significa o padrão do sistema.
+ * A propriedade testy.audio.backend=software faz a aplicação inteira usar o backend em software.
+ */
+public interface AudioBackend {
+
+    /**
+     * Lista os dispositivos conhecidos pelo backend.
+     *
+     * @return os dispositivos, com ou sem linhas de áudio.
+     */
+    List<Mixer.Info> getDevices();
+
+    /**
+     * Verifica se um dispositivo captura áudio em um formato.
+     *
+     * @param device o dispositivo, ou null para o padrão.
+     * @param format o formato desejado.
+     * @return true se o formato for suportado.
+     */
+    boolean isCaptureSupported(Mixer.Info device, AudioFormat format);
+
+    /**
+     * Verifica se um dispositivo reproduz áudio em um formato.
+     *
+     * @param device o dispositivo, ou null para o padrão.
+     * @param format o formato desejado.
+     * @return true se o formato for suportado.
+     */
+    boolean isPlaybackSupported(Mixer.Info device, AudioFormat format);
+
+    /**
+     * Abre uma linha de captura.
+     *
+     * @param device      o dispositivo, ou null para o padrão.
+     * @param format      o formato da linha.
+     * @param bufferBytes o tamanho do buffer da linha, ou 0 para o padrão do dispositivo.
+     * @return a linha aberta, ainda parada.
+     * @throws LineUnavailableException se a linha não puder ser aberta.
+     */
+    CaptureLine openCapture(Mixer.Info device, AudioFormat format, int bufferBytes) throws LineUnavailableException;
+
+    /**
+     * Abre uma linha de reprodução.
+     *
+     * @param device      o dispositivo, ou null para o padrão.
+     * @param format      o formato da linha.
+     * @param bufferBytes o tamanho do buffer da linha, ou 0 para o padrão do dispositivo.
+     * @return a linha aberta, ainda parada.
+     * @throws LineUnavailableException se a linha não puder ser aberta.
+     */
+    PlaybackLine openPlayback(Mixer.Info device, AudioFormat format, int bufferBytes) throws LineUnavailableException;
+
+    /**
+     * Abre um Clip com um som já carregado em memória.
+     *
+     * @param device o dispositivo, ou null para o padrão.
+     * @param format o formato do som.
+     * @param data   o array com os quadros do som.
+     * @param offset a posição do primeiro byte.
+     * @param length a quantidade de bytes.
+     * @return o Clip aberto, parado e posicionado no início.
+     * @throws LineUnavailableException se o Clip não puder ser aberto.
+     */
+    Clip openClip(Mixer.Info device, AudioFormat format, byte[] data, int offset, int length) throws LineUnavailableException;
+
+    /**
+     * Obtém o backend usado pela aplicação: o Java Sound, ou o backend em software com testy.audio.backend=software.
+     *
+     * @return o backend padrão.
+     */
+    static AudioBackend getDefault() {
+        return DefaultBackend.INSTANCE;
+    }
+}
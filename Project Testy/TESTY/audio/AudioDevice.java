@@ -0,0 +1,57 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.Mixer;
+
+/**
+ * Dispositivo de áudio (um {@link Mixer} do Java Sound) com os formatos que ele aceita para captura e reprodução.
+ * No Windows, cada fone USB costuma aparecer como dois dispositivos: o microfone e os alto-falantes.
+ */
+public class AudioDevice {
+    private final Mixer.Info mixer;  // Identificação do dispositivo no Java Sound
+    private final AudioFormat captureFormat;  // Formato de captura suportado, ou null se não houver entrada
+    private final AudioFormat playbackFormat;  // Formato de reprodução suportado, ou null se não houver saída
+
+    /**
+     * Construtor da classe AudioDevice.
+     *
+     * @param mixer          a identificação do dispositivo.
+     * @param captureFormat  o formato de captura, ou null se não houver entrada.
+     * @param playbackFormat o formato de reprodução, ou null se não houver saída.
+     */
+    public AudioDevice(Mixer.Info mixer, AudioFormat captureFormat, AudioFormat playbackFormat) {
+        this.mixer = mixer;
+        this.captureFormat = captureFormat;
+        this.playbackFormat = playbackFormat;
+    }
+
+    public Mixer.Info getMixer() {
+        return mixer;
+    }
+
+    public String getName() {
+        return mixer.getName();
+    }
+
+    public AudioFormat getCaptureFormat() {
+        return captureFormat;
+    }
+
+    public AudioFormat getPlaybackFormat() {
+        return playbackFormat;
+    }
+
+    public boolean canCapture() {
+        return captureFormat != null;
+    }
+
+    public boolean canPlay() {
+        return playbackFormat != null;
+    }
+
+    @Override
+    public String toString() {
+        String kind = canCapture() && canPlay() ? "entrada e saída" : canCapture() ? "entrada" : "saída";
+        return getName() + " (" + kind + ")";
+    }
+}
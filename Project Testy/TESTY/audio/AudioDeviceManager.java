@@ -0,0 +1,218 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.Mixer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Gerenciador dos dispositivos de áudio: lista todos os {@link Mixer} com entrada ou saída e testa vários ao mesmo
+ * tempo. Cada dispositivo é testado em uma thread própria (testy-device-N), com o seu medidor; um dispositivo lento
+ * ou travado não atrasa os demais. Nos dispositivos com saída, um tom de 1 kHz é tocado durante o teste; nos com
+ * entrada, o áudio é medido do início ao fim.
+ */
+public class AudioDeviceManager {
+    private static final CaptureProfile PROFILE = CaptureProfile.BALANCED;  // Perfil de captura: formato, buffer e leituras
+    private static final double TONE_HZ = 1000.0;  // Frequência do tom tocado nas saídas
+    private static final double TONE_AMPLITUDE = 0.25;  // Amplitude do tom (-12 dBFS)
+    private static final long CANCEL_CHECK_MILLIS = 10;  // Intervalo de verificação do cancelamento enquanto o tom toca
+    private static final long PLAYBACK_MARGIN_MILLIS = 1000;  // Espera pelo fim do tom além da duração do teste
+
+    private final AudioBackend backend;  // Origem dos dispositivos e das linhas
+    private final Set<AtomicBoolean> runs = ConcurrentHashMap.newKeySet();  // Indicador de cancelamento de cada testAll em andamento
+
+    /**
+     * Construtor da classe AudioDeviceManager, que usa o backend padrão.
+     */
+    public AudioDeviceManager() {
+        this(AudioBackend.getDefault());
+    }
+
+    /**
+     * Construtor da classe AudioDeviceManager.
+     *
+     * @param backend a origem dos dispositivos e das linhas.
+     */
+    public AudioDeviceManager(AudioBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Lista os dispositivos com captura ou reprodução de áudio. Mixers só de controle (portas) são ignorados.
+     *
+     * @return os dispositivos, na ordem do backend.
+     */
+    public List<AudioDevice> listDevices() {
+        List<AudioDevice> devices = new ArrayList<>();
+        for (Mixer.Info info : backend.getDevices()) {
+            AudioFormat capture = PROFILE.negotiate(backend, info);
+            AudioFormat playback = SignalPlayer.supportedFormat(backend, info);
+            if (capture != null || playback != null) {
+                devices.add(new AudioDevice(info, capture, playback));
+            }
+        }
+        return devices;
+    }
+
+    /**
+     * Testa vários dispositivos em paralelo, cada um em uma thread própria.
+     *
+     * @param devices  os dispositivos a testar.
+     * @param seconds  a duração do teste de cada dispositivo.
+     * @param onResult chamado na thread de cada dispositivo assim que o seu teste termina.
+     * @return um future completado com os resultados, na ordem de devices, quando todos terminarem. Uma falha
+     * inesperada em um dispositivo vira um resultado com erro; só uma exceção de onResult completa o future com erro.
+     * Cada chamada tem o seu indicador de cancelamento: uma nova chamada não retoma os testes cancelados antes dela.
+     */
+    public CompletableFuture<List<DeviceTestResult>> testAll(List<AudioDevice> devices, double seconds,
+                                                             Consumer<DeviceTestResult> onResult) {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        runs.add(cancelled);
+        List<CompletableFuture<DeviceTestResult>> tests = new ArrayList<>();
+        for (int i = 0; i < devices.size(); i++) {
+            AudioDevice device = devices.get(i);
+            CompletableFuture<DeviceTestResult> test = new CompletableFuture<>();
+            Thread thread = new Thread(() -> {
+                try {
+                    DeviceTestResult result;
+                    try {
+                        result = test(device, seconds, cancelled);
+                    } catch (RuntimeException | Error e) {
+                        e.printStackTrace();
+                        result = new DeviceTestResult(device, false, false, AudioMeter.MIN_DBFS, AudioMeter.MIN_DBFS,
+                                0, 0, e.toString());
+                    }
+                    onResult.accept(result);
+                    test.complete(result);
+                } catch (Throwable e) {
+                    test.completeExceptionally(e);  // Sem isso, o future de todos os testes nunca terminaria
+                }
+            }, "testy-device-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            tests.add(test);
+        }
+        CompletableFuture<Void> all = CompletableFuture.allOf(tests.toArray(new CompletableFuture<?>[0]));
+        all.whenComplete((done, error) -> runs.remove(cancelled));
+        return all.thenApply(done -> {
+            List<DeviceTestResult> results = new ArrayList<>();
+            for (CompletableFuture<DeviceTestResult> test : tests) {
+                results.add(test.join());
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Interrompe os testes em andamento. Cada dispositivo termina na próxima leitura e entrega o resultado parcial.
+     */
+    public void cancel() {
+        for (AtomicBoolean cancelled : runs) {
+            cancelled.set(true);
+        }
+    }
+
+    /**
+     * Testa um dispositivo: toca o tom na saída, se houver, e mede a entrada, se houver, pela duração pedida. A saída só
+     * conta como testada se o tom tocou até o fim, sem cancelamento.
+     */
+    private DeviceTestResult test(AudioDevice device, double seconds, AtomicBoolean cancelled) {
+        SignalPlayer player = null;
+        CountDownLatch playbackDone = new CountDownLatch(1);
+        boolean played = false;
+        try {
+            if (device.canPlay()) {
+                player = new SignalPlayer(backend, device.getMixer());
+                player.play(SignalGenerator.sine(player.getSampleRate(), TONE_HZ, TONE_AMPLITUDE), OutputChannel.BOTH,
+                        seconds, playbackDone::countDown);
+            }
+            if (device.canCapture()) {
+                DeviceTestResult result = capture(device, seconds, player != null ? playbackDone : null, cancelled);
+                played = result.isPlayed();
+                return result;
+            }
+            played = player != null && awaitPlayback(playbackDone, Math.round(seconds * 1000) + PLAYBACK_MARGIN_MILLIS, cancelled);
+            return new DeviceTestResult(device, false, played, AudioMeter.MIN_DBFS, AudioMeter.MIN_DBFS, 0, 0, null);
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            e.printStackTrace();
+            return new DeviceTestResult(device, false, played, AudioMeter.MIN_DBFS, AudioMeter.MIN_DBFS, 0, 0, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new DeviceTestResult(device, false, played, AudioMeter.MIN_DBFS, AudioMeter.MIN_DBFS, 0, 0, "Interrompido");
+        } finally {
+            if (player != null && !played) {  // Não deixa o tom tocando depois de um erro ou de um cancelamento
+                player.stop();
+            }
+        }
+    }
+
+    /**
+     * Espera o fim do tom, verificando o cancelamento periodicamente.
+     *
+     * @return true se o tom tocou até o fim dentro do prazo, sem cancelamento.
+     */
+    private static boolean awaitPlayback(CountDownLatch playbackDone, long timeoutMillis, AtomicBoolean cancelled)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (!cancelled.get()) {
+            if (playbackDone.await(CANCEL_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                return !cancelled.get();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mede a entrada de um dispositivo pela duração pedida, acumulando a energia, o maior pico e os recortes. Se um
+     * tom estiver tocando (playbackDone não nulo), espera também o seu fim, por no máximo PLAYBACK_MARGIN_MILLIS.
+     */
+    private DeviceTestResult capture(AudioDevice device, double seconds, CountDownLatch playbackDone,
+                                     AtomicBoolean cancelled) throws LineUnavailableException, InterruptedException {
+        AudioFormat format = device.getCaptureFormat();
+        CaptureLine line = backend.openCapture(device.getMixer(), format, PROFILE.getBufferBytes(format));
+        byte[] buffer = new byte[PROFILE.getReadBytes(format)];
+        AudioMeter meter = new AudioMeter(format);
+        double energy = 0;
+        long samples = 0;
+        double peak = 0;
+        long clipped = 0;
+        int overruns = 0;
+        long remaining = Math.round(seconds * format.getFrameRate()) * format.getFrameSize();
+        try {
+            line.start();
+            while (!cancelled.get() && remaining > 0) {
+                if (line.available() >= line.getBufferSize()) {
+                    overruns++;
+                }
+                int bytesRead = line.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (bytesRead <= 0) {
+                    break;
+                }
+                remaining -= bytesRead;
+                meter.measure(buffer, 0, bytesRead);
+                energy += meter.getRms() * meter.getRms() * meter.getSampleCount();
+                samples += meter.getSampleCount();
+                peak = Math.max(peak, meter.getPeak());
+                clipped += meter.getClippedSamples();
+            }
+        } finally {
+            line.stop();
+            line.close();
+        }
+        double rms = samples == 0 ? 0 : Math.sqrt(energy / samples);
+        boolean played = playbackDone != null && awaitPlayback(playbackDone, PLAYBACK_MARGIN_MILLIS, cancelled);
+        return new DeviceTestResult(device, true, played, AudioMeter.toDbfs(rms), AudioMeter.toDbfs(peak), clipped,
+                overruns, null);
+    }
+}
@@ -0,0 +1,131 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * Medidor de nível de áudio reutilizável: a cada buffer lido da linha de captura, calcula RMS, pico, nível em dBFS,
+ * quantidade de amostras recortadas (clipping) e nível DC.
+ * O áudio é decodificado direto do buffer de bytes para um array de trabalho reaproveitado, então nenhuma memória é
+ * alocada por buffer depois do primeiro. A decodificação de 16 bits e o laço de acumulação usam a Vector API quando ela
+ * está disponível.
+ * Os níveis são relativos ao fundo de escala (0 dBFS); um seno de fundo de escala tem RMS de -3,01 dBFS.
+ * Não é seguro para uso por várias threads.
+ */
+public class AudioMeter {
+    public static final double MIN_DBFS = -120.0;  // Piso dos níveis em dBFS, usado no silêncio em vez de -Infinity
+    public static final int READING_SIZE = 4;  // Floats de uma leitura gravada por copyReading
+    public static final int RMS_DBFS = 0;  // Posições de cada valor na leitura
+    public static final int PEAK_DBFS = 1;
+    public static final int CLIPPED_SAMPLES = 2;
+    public static final int DC_OFFSET = 3;
+
+    private final PcmDecoder decoder;  // Decodificador do formato da linha
+    private final LevelKernel kernel;  // Laço de acumulação (escalar ou vetorizado)
+    private final double[] totals = new double[4];  // Totais do buffer atual, indexados pelas constantes do LevelKernel
+    private float[] samples = new float[0];  // Amostras decodificadas, reaproveitado entre buffers
+    private int sampleCount;  // Amostras do último buffer medido
+    private double rms;  // RMS do último buffer, de 0 a 1
+    private double peak;  // Pico absoluto do último buffer, de 0 a 1
+    private double dcOffset;  // Média das amostras do último buffer, de -1 a 1
+    private int clippedSamples;  // Amostras no limite da escala no último buffer
+
+    /**
+     * Construtor da classe AudioMeter.
+     *
+     * @param format o formato do áudio a ser medido.
+     * @throws IllegalArgumentException se o formato não for PCM suportado pelo {@link PcmDecoder}.
+     */
+    public AudioMeter(AudioFormat format) {
+        this(format, LevelKernel.best());
+    }
+
+    AudioMeter(AudioFormat format, LevelKernel kernel) {
+        this.decoder = new PcmDecoder(format, kernel);
+        this.kernel = kernel;
+    }
+
+    /**
+     * Mede um trecho de áudio lido da linha. Os resultados ficam disponíveis pelos getters até a próxima medição.
+     *
+     * @param data   o buffer com o áudio PCM.
+     * @param offset a posição do primeiro byte.
+     * @param length a quantidade de bytes válidos.
+     */
+    public void measure(byte[] data, int offset, int length) {
+        int needed = length / decoder.getBytesPerSample();
+        if (samples.length < needed) {
+            samples = new float[needed];
+        }
+        sampleCount = decoder.decode(data, offset, length, samples);
+        totals[LevelKernel.SUM] = 0;
+        totals[LevelKernel.SUM_OF_SQUARES] = 0;
+        totals[LevelKernel.PEAK] = 0;
+        totals[LevelKernel.CLIPPED] = 0;
+        kernel.accumulate(samples, sampleCount, decoder.getClipHigh(), decoder.getClipLow(), totals);
+
+        rms = sampleCount == 0 ? 0 : Math.sqrt(totals[LevelKernel.SUM_OF_SQUARES] / sampleCount);
+        peak = totals[LevelKernel.PEAK];
+        dcOffset = sampleCount == 0 ? 0 : totals[LevelKernel.SUM] / sampleCount;
+        clippedSamples = (int) totals[LevelKernel.CLIPPED];
+    }
+
+    /**
+     * Copia os resultados da última medição para um registro, no formato usado pelo {@link AudioRingBuffer} que os leva
+     * até a interface: posições {@link #RMS_DBFS}, {@link #PEAK_DBFS}, {@link #CLIPPED_SAMPLES} e {@link #DC_OFFSET}.
+     *
+     * @param reading o array de destino, com pelo menos {@link #READING_SIZE} posições.
+     */
+    public void copyReading(float[] reading) {
+        reading[RMS_DBFS] = (float) getRmsDbfs();
+        reading[PEAK_DBFS] = (float) getPeakDbfs();
+        reading[CLIPPED_SAMPLES] = clippedSamples;
+        reading[DC_OFFSET] = (float) dcOffset;
+    }
+
+    /**
+     * Converte um nível linear para dBFS, limitado a {@link #MIN_DBFS}.
+     *
+     * @param level o nível linear, de 0 a 1.
+     * @return o nível em dBFS.
+     */
+    public static double toDbfs(double level) {
+        return level <= 0 ? MIN_DBFS : Math.max(MIN_DBFS, 20 * Math.log10(level));
+    }
+
+    public double getRms() {
+        return rms;
+    }
+
+    public double getRmsDbfs() {
+        return toDbfs(rms);
+    }
+
+    public double getPeak() {
+        return peak;
+    }
+
+    public double getPeakDbfs() {
+        return toDbfs(peak);
+    }
+
+    public double getDcOffset() {
+        return dcOffset;
+    }
+
+    public int getClippedSamples() {
+        return clippedSamples;
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Indica se o medidor está usando o laço vetorizado.
+     *
+     * @return true se a Vector API estiver em uso.
+     */
+    public boolean isVectorized() {
+        return kernel.isVectorized();
+    }
+}
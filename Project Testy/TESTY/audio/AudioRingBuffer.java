@@ -0,0 +1,122 @@
+package audio;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Buffer circular sem locks de um produtor e um consumidor, com registros de tamanho fixo em um único array de floats.
+ * Leva os resultados da thread de captura de áudio para a thread de eventos do Swing sem criar objetos e sem bloquear a
+ * captura: o produtor só publica a nova posição de escrita (release) depois de copiar o registro, e o consumidor só
+ * libera a posição de leitura depois de copiá-lo. Cada lado guarda a última posição lida do outro e só volta a lê-la
+ * quando o buffer parece cheio (ou vazio).
+ * Quando o consumidor atrasa e o buffer enche, os registros novos são descartados e contados em {@link #getDropped()},
+ * em vez de a captura esperar pela interface.
+ * Exatamente uma thread pode chamar {@link #offer(float[])} e exatamente uma pode chamar {@link #poll(float[])}.
+ */
+public class AudioRingBuffer {
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(AudioRingBuffer.class, "head", long.class);
+            TAIL = lookup.findVarHandle(AudioRingBuffer.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final float[] data;  // Registros, um após o outro
+    private final int recordSize;  // Floats por registro
+    private final int mask;  // Capacidade - 1, para calcular a posição sem divisão
+    private long head;  // Próximo registro a ler; só o consumidor grava
+    private long tail;  // Próximo registro a gravar; só o produtor grava
+    private long cachedHead;  // Última posição de leitura vista pelo produtor
+    private long cachedTail;  // Última posição de escrita vista pelo consumidor
+    private volatile long dropped;  // Registros descartados com o buffer cheio; só o produtor grava
+
+    /**
+     * Construtor da classe AudioRingBuffer.
+     *
+     * @param recordSize a quantidade de floats de cada registro.
+     * @param capacity   a quantidade de registros, potência de 2.
+     * @throws IllegalArgumentException se a capacidade não for potência de 2 ou o registro for vazio.
+     */
+    public AudioRingBuffer(int recordSize, int capacity) {
+        if (capacity < 1 || (capacity & (capacity - 1)) != 0 || recordSize < 1) {
+            throw new IllegalArgumentException("Capacidade deve ser potência de 2 e o registro não pode ser vazio: "
+                    + capacity + " x " + recordSize);
+        }
+        this.recordSize = recordSize;
+        this.mask = capacity - 1;
+        this.data = new float[capacity * recordSize];
+    }
+
+    /**
+     * Grava um registro. Deve ser chamado apenas pela thread produtora.
+     *
+     * @param record o registro, com pelo menos {@link #getRecordSize()} posições.
+     * @return true se o registro foi gravado, false se o buffer estava cheio e o registro foi descartado.
+     */
+    public boolean offer(float[] record) {
+        long position = tail;
+        if (position - cachedHead > mask) {
+            cachedHead = (long) HEAD.getAcquire(this);
+            if (position - cachedHead > mask) {
+                dropped++;  // Só o produtor grava, então o incremento não disputa com outra thread
+                return false;
+            }
+        }
+        System.arraycopy(record, 0, data, (int) (position & mask) * recordSize, recordSize);
+        TAIL.setRelease(this, position + 1);
+        return true;
+    }
+
+    /**
+     * Lê e remove o registro mais antigo. Deve ser chamado apenas pela thread consumidora.
+     *
+     * @param target o array de destino, com pelo menos {@link #getRecordSize()} posições.
+     * @return true se um registro foi lido, false se o buffer estava vazio.
+     */
+    public boolean poll(float[] target) {
+        long position = head;
+        if (position >= cachedTail) {
+            cachedTail = (long) TAIL.getAcquire(this);
+            if (position >= cachedTail) {
+                return false;
+            }
+        }
+        System.arraycopy(data, (int) (position & mask) * recordSize, target, 0, recordSize);
+        HEAD.setRelease(this, position + 1);
+        return true;
+    }
+
+    /**
+     * Obtém a quantidade de registros aguardando leitura. O valor pode estar desatualizado se o produtor ou o consumidor
+     * estiverem em atividade.
+     *
+     * @return a quantidade de registros no buffer.
+     */
+    public int size() {
+        long readPosition = (long) HEAD.getAcquire(this);
+        return (int) ((long) TAIL.getAcquire(this) - readPosition);
+    }
+
+    /**
+     * Obtém a quantidade de registros descartados porque o buffer estava cheio.
+     *
+     * @return o total de registros descartados desde a criação.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    public int getRecordSize() {
+        return recordSize;
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,47 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * Linha de captura aberta por um {@link AudioBackend}: o subconjunto da TargetDataLine usado pelos testes.
+ */
+public interface CaptureLine extends AutoCloseable {
+
+    /**
+     * Inicia a entrega de áudio.
+     */
+    void start();
+
+    /**
+     * Para a entrega de áudio. Uma leitura bloqueada retorna com o que já tiver lido.
+     */
+    void stop();
+
+    /**
+     * Lê quadros completos, bloqueando até preencher o trecho pedido ou até {@link #stop()}.
+     *
+     * @param data   o array de destino.
+     * @param offset a posição do primeiro byte.
+     * @param length a quantidade de bytes desejada.
+     * @return a quantidade de bytes lidos.
+     */
+    int read(byte[] data, int offset, int length);
+
+    /**
+     * Obtém a quantidade de bytes que podem ser lidos sem bloquear. Igual a {@link #getBufferSize()}, indica que o
+     * buffer encheu e áudio foi perdido.
+     *
+     * @return a quantidade de bytes disponíveis.
+     */
+    int available();
+
+    int getBufferSize();
+
+    AudioFormat getFormat();
+
+    /**
+     * Fecha a linha e libera o dispositivo.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,94 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.Mixer;
+
+/**
+ * Perfis de latência da captura: o tamanho do buffer da linha, o tamanho de cada leitura e os formatos preferidos.
+ * Buffers e leituras menores mostram o áudio mais cedo, ao custo de mais acordadas da thread de captura e de mais
+ * risco de perdas; maiores fazem o contrário. Os tamanhos são pedidos em milissegundos e convertidos para quadros
+ * inteiros no formato negociado; o driver pode arredondar o buffer, então o tamanho real deve ser lido da linha.
+ */
+public enum CaptureProfile {
+    LOW_LATENCY("Baixa latência", 20, 5, new AudioFormat[]{
+            new AudioFormat(48000.0f, 16, 1, true, false),
+            new AudioFormat(48000.0f, 16, 2, true, false),
+            new AudioFormat(44100.0f, 16, 1, true, false),
+            new AudioFormat(44100.0f, 16, 1, true, true)
+    }),
+    BALANCED("Equilibrado", 100, 10, new AudioFormat[]{
+            new AudioFormat(48000.0f, 16, 2, true, false),
+            new AudioFormat(44100.0f, 16, 1, true, true)
+    }),
+    POWER_SAVING("Economia de energia", 500, 100, new AudioFormat[]{
+            new AudioFormat(44100.0f, 16, 1, true, false),
+            new AudioFormat(44100.0f, 16, 1, true, true),
+            new AudioFormat(48000.0f, 16, 2, true, false)
+    });
+
+    private final String label;  // Nome exibido na interface
+    private final int bufferMillis;  // Buffer da linha pedido, em milissegundos
+    private final int readMillis;  // Áudio entregue por leitura, em milissegundos
+    private final AudioFormat[] formats;  // Formatos tentados, em ordem de preferência
+
+    CaptureProfile(String label, int bufferMillis, int readMillis, AudioFormat[] formats) {
+        this.label = label;
+        this.bufferMillis = bufferMillis;
+        this.readMillis = readMillis;
+        this.formats = formats;
+    }
+
+    /**
+     * Escolhe o primeiro formato do perfil suportado pelo dispositivo.
+     *
+     * @param backend a origem das linhas.
+     * @param device  o dispositivo, ou null para o padrão.
+     * @return o formato, ou null se nenhum for suportado.
+     */
+    public AudioFormat negotiate(AudioBackend backend, Mixer.Info device) {
+        for (AudioFormat candidate : formats) {
+            if (backend.isCaptureSupported(device, candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Calcula o buffer da linha pedido pelo perfil, em quadros inteiros.
+     *
+     * @param format o formato negociado.
+     * @return o tamanho em bytes.
+     */
+    public int getBufferBytes(AudioFormat format) {
+        return framesFor(bufferMillis, format) * format.getFrameSize();
+    }
+
+    /**
+     * Calcula o tamanho de cada leitura, em quadros inteiros e no máximo metade do buffer.
+     *
+     * @param format o formato negociado.
+     * @return o tamanho em bytes.
+     */
+    public int getReadBytes(AudioFormat format) {
+        int frames = Math.min(framesFor(readMillis, format), framesFor(bufferMillis, format) / 2);
+        return Math.max(1, frames) * format.getFrameSize();
+    }
+
+    public int getBufferMillis() {
+        return bufferMillis;
+    }
+
+    public int getReadMillis() {
+        return readMillis;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+    private static int framesFor(int millis, AudioFormat format) {
+        return Math.max(1, Math.round(format.getFrameRate() * millis / 1000f));
+    }
+}
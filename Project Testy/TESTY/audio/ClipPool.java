@@ -0,0 +1,110 @@
+package audio;
+
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.LineUnavailableException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Conjunto de Clips já abertos com os dados de cada {@link SoundAsset}.
+ * Abrir um Clip (reservar a linha no mixer e copiar o áudio para ela) é a parte mais lenta de iniciar um som; com o
+ * conjunto, isso acontece uma vez, em segundo plano, e cada reprodução só reposiciona e inicia um Clip ocioso.
+ * Clips devolvidos além do limite por som são fechados, liberando as linhas do mixer. Os Clips são abertos pelo
+ * {@link AudioBackend}, então o conjunto também funciona com o backend em software.
+ */
+public class ClipPool {
+    static final int MAX_IDLE_PER_ASSET = 2;  // Clips ociosos mantidos abertos por som
+
+    private final AudioBackend backend;  // Origem dos Clips
+    private final Map<SoundAsset, Deque<Clip>> idle = new HashMap<>();  // Clips ociosos de cada som
+
+    /**
+     * Construtor da classe ClipPool, que abre os Clips na saída padrão do backend padrão.
+     */
+    public ClipPool() {
+        this(AudioBackend.getDefault());
+    }
+
+    /**
+     * Construtor da classe ClipPool.
+     *
+     * @param backend a origem dos Clips, abertos na saída padrão.
+     */
+    public ClipPool(AudioBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Abre Clips para um som antecipadamente, até o limite de Clips ociosos.
+     *
+     * @param asset o som.
+     * @param count a quantidade de Clips desejada.
+     * @throws LineUnavailableException se o mixer não tiver linhas disponíveis.
+     */
+    public void prepare(SoundAsset asset, int count) throws LineUnavailableException {
+        int missing;
+        synchronized (this) {
+            Deque<Clip> clips = idle.get(asset);
+            missing = Math.min(count, MAX_IDLE_PER_ASSET) - (clips == null ? 0 : clips.size());
+        }
+        for (int i = 0; i < missing; i++) {
+            release(asset, open(asset));
+        }
+    }
+
+    /**
+     * Obtém um Clip aberto com os dados de um som, posicionado no início. Se não houver um ocioso, abre um novo.
+     *
+     * @param asset o som.
+     * @return o Clip, que deve ser devolvido por {@link #release(SoundAsset, Clip)} ao fim da reprodução.
+     * @throws LineUnavailableException se um novo Clip for necessário e o mixer não tiver linhas disponíveis.
+     */
+    public Clip acquire(SoundAsset asset) throws LineUnavailableException {
+        synchronized (this) {
+            Deque<Clip> clips = idle.get(asset);
+            Clip clip = clips == null ? null : clips.poll();
+            if (clip != null) {
+                return clip;
+            }
+        }
+        return open(asset);
+    }
+
+    /**
+     * Devolve um Clip ao conjunto, parado e posicionado no início.
+     *
+     * @param asset o som com que o Clip foi aberto.
+     * @param clip  o Clip.
+     */
+    public void release(SoundAsset asset, Clip clip) {
+        clip.stop();
+        clip.flush();
+        clip.setFramePosition(0);
+        synchronized (this) {
+            Deque<Clip> clips = idle.computeIfAbsent(asset, key -> new ArrayDeque<>());
+            if (clip.isOpen() && clips.size() < MAX_IDLE_PER_ASSET) {
+                clips.add(clip);
+                return;
+            }
+        }
+        clip.close();
+    }
+
+    /**
+     * Fecha todos os Clips ociosos.
+     */
+    public synchronized void close() {
+        for (Deque<Clip> clips : idle.values()) {
+            for (Clip clip : clips) {
+                clip.close();
+            }
+        }
+        idle.clear();
+    }
+
+    private Clip open(SoundAsset asset) throws LineUnavailableException {
+        return backend.openClip(null, asset.getFormat(), asset.getData(), 0, asset.getData().length);
+    }
+}
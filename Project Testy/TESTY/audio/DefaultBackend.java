@@ -0,0 +1,13 @@
+package audio;
+
+/**
+ * Guarda o backend padrão, escolhido uma vez na primeira consulta a {@link AudioBackend#getDefault()}.
+ */
+final class DefaultBackend {
+    static final AudioBackend INSTANCE = "software".equals(System.getProperty("testy.audio.backend"))
+            ? SoftwareAudioBackend.demo()
+            : new JavaSoundBackend();
+
+    private DefaultBackend() {
+    }
+}
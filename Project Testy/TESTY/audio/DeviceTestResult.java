@@ -0,0 +1,105 @@
+package audio;
+
+/**
+ * Resultado imutável do teste de um dispositivo feito pelo {@link AudioDeviceManager}.
+ * Os níveis de captura resumem o teste inteiro: o RMS é calculado sobre todas as amostras, e o pico e os recortes
+ * são os do pior buffer e a soma de todos, respectivamente.
+ */
+public class DeviceTestResult {
+    public static final double SILENCE_DBFS = -70.0;  // Abaixo deste RMS, a captura é considerada muda
+
+    private final AudioDevice device;  // Dispositivo testado
+    private final boolean captured;  // Indica se a captura foi testada com sucesso
+    private final boolean played;  // Indica se a reprodução foi testada com sucesso
+    private final double rmsDbfs;  // Nível RMS de todo o teste
+    private final double peakDbfs;  // Maior pico do teste
+    private final long clippedSamples;  // Amostras recortadas em todo o teste
+    private final int overruns;  // Leituras em que o buffer da linha estava cheio
+    private final String error;  // Mensagem do erro que interrompeu o teste, ou null
+
+    /**
+     * Construtor da classe DeviceTestResult.
+     *
+     * @param device         o dispositivo testado.
+     * @param captured       se a captura foi testada com sucesso.
+     * @param played         se a reprodução foi testada com sucesso.
+     * @param rmsDbfs        o nível RMS de todo o teste.
+     * @param peakDbfs       o maior pico do teste.
+     * @param clippedSamples as amostras recortadas em todo o teste.
+     * @param overruns       as leituras com o buffer da linha cheio.
+     * @param error          a mensagem do erro que interrompeu o teste, ou null.
+     */
+    public DeviceTestResult(AudioDevice device, boolean captured, boolean played, double rmsDbfs, double peakDbfs,
+                            long clippedSamples, int overruns, String error) {
+        this.device = device;
+        this.captured = captured;
+        this.played = played;
+        this.rmsDbfs = rmsDbfs;
+        this.peakDbfs = peakDbfs;
+        this.clippedSamples = clippedSamples;
+        this.overruns = overruns;
+        this.error = error;
+    }
+
+    /**
+     * Resume o resultado em uma palavra, para a tabela de resultados.
+     *
+     * @return "Erro", "Mudo", "Recortes", "Perdas" ou "OK".
+     */
+    public String getVerdict() {
+        if (error != null) {
+            return "Erro";
+        }
+        if (captured && rmsDbfs < SILENCE_DBFS) {
+            return "Mudo";
+        }
+        if (clippedSamples > 0) {
+            return "Recortes";
+        }
+        if (overruns > 0) {
+            return "Perdas";
+        }
+        return "OK";
+    }
+
+    /**
+     * Verifica se o dispositivo passou no teste.
+     *
+     * @return true se o veredito for "OK".
+     */
+    public boolean isPassed() {
+        return "OK".equals(getVerdict());
+    }
+
+    public AudioDevice getDevice() {
+        return device;
+    }
+
+    public boolean isCaptured() {
+        return captured;
+    }
+
+    public boolean isPlayed() {
+        return played;
+    }
+
+    public double getRmsDbfs() {
+        return rmsDbfs;
+    }
+
+    public double getPeakDbfs() {
+        return peakDbfs;
+    }
+
+    public long getClippedSamples() {
+        return clippedSamples;
+    }
+
+    public int getOverruns() {
+        return overruns;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,98 @@
+package audio;
+
+/**
+ * Transformada rápida de Fourier (radix-2, in-place) de tamanho fixo.
+ * As tabelas de senos, cossenos e inversão de bits são calculadas uma única vez no construtor, então cada transformada
+ * só faz as multiplicações das borboletas, sem chamar funções trigonométricas nem alocar memória.
+ */
+public class Fft {
+    private final int size;  // Quantidade de pontos, potência de 2
+    private final int[] reversed;  // Índice com os bits invertidos de cada posição
+    private final float[] cos;  // cos(2πk/size) para k < size/2
+    private final float[] sin;  // -sin(2πk/size) para k < size/2 (sinal da transformada direta)
+
+    /**
+     * Construtor da classe Fft.
+     *
+     * @param size a quantidade de pontos, potência de 2 maior ou igual a 2.
+     * @throws IllegalArgumentException se o tamanho não for potência de 2.
+     */
+    public Fft(int size) {
+        if (size < 2 || (size & (size - 1)) != 0) {
+            throw new IllegalArgumentException("O tamanho da FFT deve ser uma potência de 2: " + size);
+        }
+        this.size = size;
+        int bits = Integer.numberOfTrailingZeros(size);
+        reversed = new int[size];
+        for (int i = 0; i < size; i++) {
+            reversed[i] = Integer.reverse(i) >>> (32 - bits);
+        }
+        cos = new float[size / 2];
+        sin = new float[size / 2];
+        for (int k = 0; k < size / 2; k++) {
+            double angle = 2 * Math.PI * k / size;
+            cos[k] = (float) Math.cos(angle);
+            sin[k] = (float) -Math.sin(angle);
+        }
+    }
+
+    /**
+     * Calcula a transformada direta in-place.
+     *
+     * @param re a parte real, com {@link #getSize()} posições; recebe a parte real do resultado.
+     * @param im a parte imaginária, com {@link #getSize()} posições; recebe a parte imaginária do resultado.
+     */
+    public void transform(float[] re, float[] im) {
+        for (int i = 0; i < size; i++) {
+            int j = reversed[i];
+            if (j > i) {
+                float t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+        for (int length = 2; length <= size; length <<= 1) {
+            int half = length >> 1;
+            int step = size / length;
+            for (int start = 0; start < size; start += length) {
+                for (int k = 0; k < half; k++) {
+                    float c = cos[k * step];
+                    float s = sin[k * step];
+                    int a = start + k;
+                    int b = a + half;
+                    float tr = re[b] * c - im[b] * s;
+                    float ti = re[b] * s + im[b] * c;
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+
+    /**
+     * Calcula a transformada inversa in-place, já dividida pelo tamanho, pela transformada direta dos conjugados.
+     *
+     * @param re a parte real do espectro; recebe a parte real do sinal.
+     * @param im a parte imaginária do espectro; recebe a parte imaginária do sinal.
+     */
+    public void inverse(float[] re, float[] im) {
+        for (int i = 0; i < size; i++) {
+            im[i] = -im[i];
+        }
+        transform(re, im);
+        float scale = 1f / size;
+        for (int i = 0; i < size; i++) {
+            re[i] *= scale;
+            im[i] = -im[i] * scale;
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,163 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.DataLine;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.Mixer;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.TargetDataLine;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Backend que abre as linhas dos dispositivos reais pelo {@link AudioSystem}.
+ */
+public class JavaSoundBackend implements AudioBackend {
+
+    @Override
+    public List<Mixer.Info> getDevices() {
+        return Arrays.asList(AudioSystem.getMixerInfo());
+    }
+
+    @Override
+    public boolean isCaptureSupported(Mixer.Info device, AudioFormat format) {
+        return isSupported(device, new DataLine.Info(TargetDataLine.class, format));
+    }
+
+    @Override
+    public boolean isPlaybackSupported(Mixer.Info device, AudioFormat format) {
+        return isSupported(device, new DataLine.Info(SourceDataLine.class, format));
+    }
+
+    @Override
+    public CaptureLine openCapture(Mixer.Info device, AudioFormat format, int bufferBytes) throws LineUnavailableException {
+        TargetDataLine line = device == null ? AudioSystem.getTargetDataLine(format) : AudioSystem.getTargetDataLine(format, device);
+        if (bufferBytes > 0) {
+            line.open(format, bufferBytes);
+        } else {
+            line.open(format);
+        }
+        return new JavaSoundCapture(line);
+    }
+
+    @Override
+    public PlaybackLine openPlayback(Mixer.Info device, AudioFormat format, int bufferBytes) throws LineUnavailableException {
+        SourceDataLine line = device == null ? AudioSystem.getSourceDataLine(format) : AudioSystem.getSourceDataLine(format, device);
+        if (bufferBytes > 0) {
+            line.open(format, bufferBytes);
+        } else {
+            line.open(format);
+        }
+        return new JavaSoundPlayback(line);
+    }
+
+    @Override
+    public Clip openClip(Mixer.Info device, AudioFormat format, byte[] data, int offset, int length) throws LineUnavailableException {
+        Clip clip = device == null ? AudioSystem.getClip() : AudioSystem.getClip(device);
+        clip.open(format, data, offset, length);
+        return clip;
+    }
+
+    private static boolean isSupported(Mixer.Info device, DataLine.Info info) {
+        return device == null ? AudioSystem.isLineSupported(info) : AudioSystem.getMixer(device).isLineSupported(info);
+    }
+
+    /**
+     * Linha de captura que repassa as chamadas a uma TargetDataLine.
+     */
+    private static class JavaSoundCapture implements CaptureLine {
+        private final TargetDataLine line;
+
+        JavaSoundCapture(TargetDataLine line) {
+            this.line = line;
+        }
+
+        @Override
+        public void start() {
+            line.start();
+        }
+
+        @Override
+        public void stop() {
+            line.stop();
+        }
+
+        @Override
+        public int read(byte[] data, int offset, int length) {
+            return line.read(data, offset, length);
+        }
+
+        @Override
+        public int available() {
+            return line.available();
+        }
+
+        @Override
+        public int getBufferSize() {
+            return line.getBufferSize();
+        }
+
+        @Override
+        public AudioFormat getFormat() {
+            return line.getFormat();
+        }
+
+        @Override
+        public void close() {
+            line.close();
+        }
+    }
+
+    /**
+     * Linha de reprodução que repassa as chamadas a uma SourceDataLine.
+     */
+    private static class JavaSoundPlayback implements PlaybackLine {
+        private final SourceDataLine line;
+
+        JavaSoundPlayback(SourceDataLine line) {
+            this.line = line;
+        }
+
+        @Override
+        public void start() {
+            line.start();
+        }
+
+        @Override
+        public void stop() {
+            line.stop();
+        }
+
+        @Override
+        public void flush() {
+            line.flush();
+        }
+
+        @Override
+        public int write(byte[] data, int offset, int length) {
+            return line.write(data, offset, length);
+        }
+
+        @Override
+        public void drain() {
+            line.drain();
+        }
+
+        @Override
+        public int getBufferSize() {
+            return line.getBufferSize();
+        }
+
+        @Override
+        public AudioFormat getFormat() {
+            return line.getFormat();
+        }
+
+        @Override
+        public void close() {
+            line.close();
+        }
+    }
+}
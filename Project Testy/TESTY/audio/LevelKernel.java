@@ -0,0 +1,71 @@
+package audio;
+
+/**
+ * Laços numéricos do medidor de nível: a decodificação de PCM de 16 bits, o formato mais comum das linhas de captura,
+ * e a acumulação de soma, soma dos quadrados, pico e amostras recortadas de um bloco de amostras.
+ * Há uma implementação escalar e outra com a Vector API, escolhida em tempo de execução por {@link #best()}.
+ */
+interface LevelKernel {
+    int SUM = 0;  // Posições do array de totais
+    int SUM_OF_SQUARES = 1;
+    int PEAK = 2;
+    int CLIPPED = 3;
+
+    /**
+     * Acumula os totais de um bloco de amostras.
+     *
+     * @param samples  as amostras normalizadas.
+     * @param count    a quantidade de amostras válidas.
+     * @param clipHigh o valor a partir do qual uma amostra positiva está recortada.
+     * @param clipLow  o valor a partir do qual uma amostra negativa está recortada.
+     * @param totals   o array de totais, indexado por {@link #SUM}, {@link #SUM_OF_SQUARES}, {@link #PEAK} e
+     *                 {@link #CLIPPED}; os valores são acumulados sobre os existentes.
+     */
+    void accumulate(float[] samples, int count, float clipHigh, float clipLow, double[] totals);
+
+    /**
+     * Decodifica amostras PCM inteiras de 16 bits para float, normalizadas entre -1 e 1.
+     *
+     * @param data      o buffer com o áudio PCM.
+     * @param offset    a posição do primeiro byte.
+     * @param count     a quantidade de amostras a decodificar.
+     * @param bigEndian a ordem dos bytes de cada amostra.
+     * @param unsigned  se as amostras são sem sinal (o zero fica em 0x8000).
+     * @param samples   o array de destino, com pelo menos count posições.
+     */
+    void decode16(byte[] data, int offset, int count, boolean bigEndian, boolean unsigned, float[] samples);
+
+    /**
+     * Indica se a implementação usa a Vector API.
+     *
+     * @return true se os laços forem vetorizados.
+     */
+    boolean isVectorized();
+
+    /**
+     * Escolhe a implementação mais rápida disponível: a vetorizada quando o módulo jdk.incubator.vector foi carregado
+     * (--add-modules jdk.incubator.vector), a propriedade testy.audio.vector não é false e os seus laços funcionam
+     * nesta versão do JDK; caso contrário, a escalar.
+     * <p>
+     * A API incubada muda entre versões (ShortVector.fromByteArray não existe a partir do JDK 20) e os métodos só são
+     * resolvidos na primeira chamada, por isso os dois laços são executados aqui, sobre um bloco de silêncio, em vez
+     * de falharem depois na thread de captura.
+     *
+     * @return a implementação escolhida.
+     */
+    static LevelKernel best() {
+        boolean enabled = !"false".equals(System.getProperty("testy.audio.vector"));
+        if (enabled && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                LevelKernel kernel = (LevelKernel) Class.forName("audio.VectorLevelKernel").getDeclaredConstructor().newInstance();
+                float[] samples = new float[64];  // Mais que a largura de qualquer vetor, para passar pelos laços vetoriais
+                kernel.decode16(new byte[2 * samples.length], 0, samples.length, false, false, samples);
+                kernel.accumulate(samples, samples.length, 1, -1, new double[4]);
+                return kernel;
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        return new ScalarLevelKernel();
+    }
+}
@@ -0,0 +1,273 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.Control;
+import javax.sound.sampled.DataLine;
+import javax.sound.sampled.Line;
+import javax.sound.sampled.LineEvent;
+import javax.sound.sampled.LineListener;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Clip que toca um som já carregado em memória escrevendo-o em uma {@link PlaybackLine}, para os backends que não têm
+ * Clips próprios, como o {@link SoftwareAudioBackend}. Cada reprodução escreve os dados a partir da posição atual em
+ * uma thread testy-clip e gera os eventos START e STOP, como um Clip do Java Sound. Não tem controles (PAN, volume) e
+ * só repete o som inteiro.
+ */
+class LineClip implements Clip {
+    private static final int BLOCK_FRAMES = 1024;  // Quadros escritos na linha por vez
+
+    private final PlaybackLine line;  // Linha onde o som é escrito
+    private final AudioFormat format;  // Formato do som e da linha
+    private final byte[] data;  // Quadros do som
+    private final int frameSize;  // Bytes por quadro
+    private final List<LineListener> listeners = new CopyOnWriteArrayList<>();  // Ouvintes dos eventos do Clip
+    private PlaybackTask current;  // Reprodução em andamento, ou null
+    private volatile int position;  // Próximo byte a ser escrito
+    private volatile int loopsRemaining;  // Repetições que faltam após o fim atual (LOOP_CONTINUOUSLY = sem fim)
+    private boolean open = true;
+
+    /**
+     * Construtor da classe LineClip, já aberto.
+     *
+     * @param line   a linha de saída, aberta e parada, no formato do som.
+     * @param data   o array com os quadros do som.
+     * @param offset a posição do primeiro byte.
+     * @param length a quantidade de bytes.
+     */
+    LineClip(PlaybackLine line, byte[] data, int offset, int length) {
+        this.line = line;
+        this.format = line.getFormat();
+        this.frameSize = Math.max(1, format.getFrameSize());
+        int frames = length / frameSize;
+        this.data = new byte[frames * frameSize];
+        System.arraycopy(data, offset, this.data, 0, this.data.length);
+    }
+
+    @Override
+    public void start() {
+        PlaybackTask playback;
+        synchronized (this) {
+            if (!open || (current != null && current.isRunning())) {
+                return;
+            }
+            playback = new PlaybackTask(line, "testy-clip", this::stream);
+            current = playback;
+        }
+        playback.start();
+    }
+
+    @Override
+    public void stop() {
+        PlaybackTask playback;
+        synchronized (this) {
+            playback = current;
+            current = null;
+        }
+        if (playback != null && playback.isRunning()) {
+            playback.stop();
+        }
+    }
+
+    /**
+     * Laço da thread de escrita: escreve o som a partir da posição atual, repete se pedido por {@link #loop(int)} e
+     * gera os eventos START e STOP.
+     */
+    private void stream(PlaybackTask task) {
+        notify(LineEvent.Type.START);
+        while (task.isRunning()) {
+            if (position >= data.length) {
+                if (loopsRemaining == 0) {
+                    line.drain();  // Espera o fim do áudio já escrito
+                    break;
+                }
+                if (loopsRemaining != LOOP_CONTINUOUSLY) {
+                    loopsRemaining--;
+                }
+                position = 0;
+            }
+            int length = Math.min(BLOCK_FRAMES * frameSize, data.length - position);
+            int written = line.write(data, position, length);
+            if (written <= 0) {
+                break;  // A linha foi parada
+            }
+            position += written;
+        }
+        line.stop();
+        synchronized (this) {
+            if (current == task) {
+                current = null;
+            }
+        }
+        notify(LineEvent.Type.STOP);
+    }
+
+    private void notify(LineEvent.Type type) {
+        LineEvent event = new LineEvent(this, type, getLongFramePosition());
+        for (LineListener listener : listeners) {
+            listener.update(event);
+        }
+    }
+
+    @Override
+    public void open(AudioFormat format, byte[] data, int offset, int bufferSize) {
+        throw new IllegalStateException("O Clip já foi aberto pelo backend");
+    }
+
+    @Override
+    public void open(AudioInputStream stream) {
+        throw new IllegalStateException("O Clip já foi aberto pelo backend");
+    }
+
+    @Override
+    public void open() {
+        throw new IllegalStateException("O Clip já foi aberto pelo backend");
+    }
+
+    @Override
+    public void close() {
+        stop();
+        synchronized (this) {
+            if (!open) {
+                return;
+            }
+            open = false;
+        }
+        line.close();
+        notify(LineEvent.Type.CLOSE);
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public int getFrameLength() {
+        return data.length / frameSize;
+    }
+
+    @Override
+    public long getMicrosecondLength() {
+        return (long) (getFrameLength() * 1_000_000.0 / format.getFrameRate());
+    }
+
+    @Override
+    public void setFramePosition(int frames) {
+        position = Math.max(0, Math.min(getFrameLength(), frames)) * frameSize;
+    }
+
+    @Override
+    public void setMicrosecondPosition(long microseconds) {
+        setFramePosition((int) (microseconds * format.getFrameRate() / 1_000_000.0));
+    }
+
+    @Override
+    public void setLoopPoints(int start, int end) {
+        if (start != 0 || (end != -1 && end != getFrameLength() - 1)) {
+            throw new IllegalArgumentException("Só é possível repetir o som inteiro");
+        }
+    }
+
+    @Override
+    public void loop(int count) {
+        loopsRemaining = count;
+        start();
+    }
+
+    @Override
+    public void drain() {
+        while (isRunning()) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        line.flush();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return current != null && current.isRunning();
+    }
+
+    @Override
+    public boolean isActive() {
+        return isRunning();
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public int getBufferSize() {
+        return data.length;
+    }
+
+    @Override
+    public int available() {
+        return 0;  // Um Clip não recebe escritas
+    }
+
+    @Override
+    public int getFramePosition() {
+        return position / frameSize;
+    }
+
+    @Override
+    public long getLongFramePosition() {
+        return position / frameSize;
+    }
+
+    @Override
+    public long getMicrosecondPosition() {
+        return (long) (getLongFramePosition() * 1_000_000.0 / format.getFrameRate());
+    }
+
+    @Override
+    public float getLevel() {
+        return AudioSystem.NOT_SPECIFIED;
+    }
+
+    @Override
+    public Line.Info getLineInfo() {
+        return new DataLine.Info(Clip.class, format);
+    }
+
+    @Override
+    public Control[] getControls() {
+        return new Control[0];
+    }
+
+    @Override
+    public boolean isControlSupported(Control.Type control) {
+        return false;
+    }
+
+    @Override
+    public Control getControl(Control.Type control) {
+        throw new IllegalArgumentException("Controle não suportado: " + control);
+    }
+
+    @Override
+    public void addLineListener(LineListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeLineListener(LineListener listener) {
+        listeners.remove(listener);
+    }
+}
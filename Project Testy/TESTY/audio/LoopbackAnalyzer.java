@@ -0,0 +1,241 @@
+package audio;
+
+/**
+ * Núcleo da medição de loopback: cria o estímulo tocado na saída e analisa o que voltou pela entrada.
+ * O estímulo é uma varredura logarítmica de 20 Hz a 20 kHz, um silêncio e um tom de 1 kHz. A varredura dá o atraso de
+ * ida e volta (pico da correlação cruzada calculada pela FFT, com interpolação parabólica) e a resposta em frequência
+ * (razão de energia entre gravação e estímulo por banda de terço de oitava); o tom dá a distorção harmônica total.
+ * A análise trabalha só sobre arrays, então pode ser verificada com o {@link SoftwareLoopback}, que aplica um atraso,
+ * um ganho e uma distorção conhecidos, sem placa de som.
+ */
+public class LoopbackAnalyzer {
+    private static final double SWEEP_SECONDS = 1.0;  // Duração da varredura
+    private static final double SWEEP_START_HZ = 20.0;
+    private static final double SWEEP_END_HZ = 20000.0;
+    private static final double GAP_SECONDS = 0.2;  // Silêncio entre a varredura e o tom
+    private static final double TONE_SECONDS = 0.5;  // Duração do tom
+    private static final double TONE_HZ = 1000.0;  // Frequência do tom de distorção
+    private static final double TAIL_SECONDS = 0.5;  // Silêncio final, que também limita o maior atraso medível
+    private static final double AMPLITUDE = 0.5;  // Amplitude do estímulo (-6 dBFS)
+    private static final double SETTLE_SECONDS = 0.05;  // Início do tom ignorado na análise de distorção
+    private static final int THD_SIZE = 8192;  // Pontos da FFT do tom
+    private static final int HARMONICS = 5;  // Harmônicas somadas na distorção (2ª a 5ª)
+    private static final double MIN_CORRELATION_RATIO = 20.0;  // Abaixo disso, o estímulo não foi encontrado
+    private static final double FADE_SECONDS = 0.005;  // Rampas do estímulo, para evitar estalos
+    private static final double FIRST_BAND_HZ = 1000.0 / 32;  // Centro da primeira banda; a cada três bandas, uma oitava a partir de 1 kHz
+
+    private final float sampleRate;  // Taxa de amostragem da saída e da entrada
+    private final float[] stimulus;  // Estímulo completo, mono
+    private final int sweepLength;  // Amostras da varredura, que começa na posição 0
+    private final int toneStart;  // Posição do tom no estímulo
+    private final int toneLength;  // Amostras do tom
+
+    /**
+     * Construtor da classe LoopbackAnalyzer.
+     *
+     * @param sampleRate a taxa de amostragem da saída e da entrada.
+     */
+    public LoopbackAnalyzer(float sampleRate) {
+        this.sampleRate = sampleRate;
+        sweepLength = seconds(SWEEP_SECONDS);
+        toneStart = sweepLength + seconds(GAP_SECONDS);
+        toneLength = seconds(TONE_SECONDS);
+        stimulus = new float[toneStart + toneLength + seconds(TAIL_SECONDS)];
+
+        double sweepEnd = Math.min(SWEEP_END_HZ, sampleRate * 0.45);
+        SignalGenerator.logSweep(sampleRate, SWEEP_START_HZ, sweepEnd, SWEEP_SECONDS, AMPLITUDE).render(stimulus, sweepLength);
+        fade(stimulus, 0, sweepLength);
+        float[] tone = new float[toneLength];
+        SignalGenerator.sine(sampleRate, TONE_HZ, AMPLITUDE).render(tone, toneLength);
+        fade(tone, 0, toneLength);
+        System.arraycopy(tone, 0, stimulus, toneStart, toneLength);
+    }
+
+    /**
+     * Obtém o estímulo a ser tocado na saída. O array é compartilhado e não deve ser alterado.
+     *
+     * @return as amostras mono do estímulo.
+     */
+    public float[] getStimulus() {
+        return stimulus;
+    }
+
+    /**
+     * Obtém a quantidade de amostras que deve ser gravada: o estímulo inteiro, incluindo o silêncio final.
+     *
+     * @return a duração da gravação em quadros.
+     */
+    public int getRecordingLength() {
+        return stimulus.length;
+    }
+
+    public float getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Analisa a gravação feita enquanto o estímulo tocava. A gravação deve começar no mesmo instante em que o
+     * estímulo começou a ser escrito na saída; o atraso medido inclui todos os buffers do caminho.
+     *
+     * @param recorded as amostras mono gravadas, com pelo menos {@link #getRecordingLength()} posições.
+     * @return o resultado da medição.
+     */
+    public LoopbackResult analyze(float[] recorded) {
+        int length = Math.min(recorded.length, stimulus.length);
+        int maxLag = length - sweepLength;
+        if (maxLag < 0) {
+            return notDetected(0);
+        }
+
+        // Correlação cruzada da gravação com a varredura: IFFT(X * conj(S))
+        int size = Integer.highestOneBit(length + sweepLength - 1) << 1;
+        Fft fft = new Fft(size);
+        float[] xRe = new float[size];
+        float[] xIm = new float[size];
+        float[] sRe = new float[size];
+        float[] sIm = new float[size];
+        System.arraycopy(recorded, 0, xRe, 0, length);
+        System.arraycopy(stimulus, 0, sRe, 0, sweepLength);
+        fft.transform(xRe, xIm);
+        fft.transform(sRe, sIm);
+        for (int i = 0; i < size; i++) {
+            float re = xRe[i] * sRe[i] + xIm[i] * sIm[i];
+            float im = xIm[i] * sRe[i] - xRe[i] * sIm[i];
+            xRe[i] = re;
+            xIm[i] = im;
+        }
+        fft.inverse(xRe, xIm);
+
+        int peak = 0;
+        double sumAbs = 0;
+        for (int lag = 0; lag <= maxLag; lag++) {
+            sumAbs += Math.abs(xRe[lag]);
+            if (Math.abs(xRe[lag]) > Math.abs(xRe[peak])) {
+                peak = lag;
+            }
+        }
+        double ratio = sumAbs == 0 ? 0 : Math.abs(xRe[peak]) / (sumAbs / (maxLag + 1));
+        if (ratio < MIN_CORRELATION_RATIO) {
+            return notDetected(ratio);
+        }
+
+        // Interpolação parabólica em torno do pico, para precisão abaixo de uma amostra
+        double fraction = 0;
+        if (peak > 0 && peak < maxLag) {
+            double left = Math.abs(xRe[peak - 1]);
+            double center = Math.abs(xRe[peak]);
+            double right = Math.abs(xRe[peak + 1]);
+            double denominator = left - 2 * center + right;
+            if (denominator != 0) {
+                fraction = 0.5 * (left - right) / denominator;
+            }
+        }
+        double latencyFrames = peak + fraction;
+
+        float[][] bands = frequencyResponse(recorded, peak);
+        double thd = harmonicDistortion(recorded, peak);
+        return new LoopbackResult(true, latencyFrames, latencyFrames * 1000.0 / sampleRate, ratio, bands[0], bands[1], thd);
+    }
+
+    /**
+     * Calcula o ganho por banda de terço de oitava entre a varredura gravada (alinhada pelo atraso) e a original.
+     *
+     * @return as frequências centrais na posição 0 e os ganhos em dB na posição 1.
+     */
+    private float[][] frequencyResponse(float[] recorded, int delay) {
+        int size = Integer.highestOneBit(sweepLength - 1) << 1;
+        Fft fft = new Fft(size);
+        float[] rRe = new float[size];
+        float[] rIm = new float[size];
+        float[] sRe = new float[size];
+        float[] sIm = new float[size];
+        System.arraycopy(recorded, delay, rRe, 0, Math.min(sweepLength, recorded.length - delay));
+        System.arraycopy(stimulus, 0, sRe, 0, sweepLength);
+        fft.transform(rRe, rIm);
+        fft.transform(sRe, sIm);
+
+        double top = Math.min(SWEEP_END_HZ, sampleRate * 0.45) / Math.pow(2, 1.0 / 6);
+        int count = (int) Math.floor(3 * Math.log(top / FIRST_BAND_HZ) / Math.log(2)) + 1;
+        float[] frequencies = new float[count];
+        float[] gains = new float[count];
+        double binWidth = sampleRate / (double) size;
+        for (int band = 0; band < count; band++) {
+            double center = FIRST_BAND_HZ * Math.pow(2, band / 3.0);
+            int first = (int) Math.ceil(center / Math.pow(2, 1.0 / 6) / binWidth);
+            int last = (int) Math.floor(center * Math.pow(2, 1.0 / 6) / binWidth);
+            double recordedEnergy = 0;
+            double stimulusEnergy = 0;
+            for (int bin = first; bin <= last; bin++) {
+                recordedEnergy += rRe[bin] * rRe[bin] + rIm[bin] * rIm[bin];
+                stimulusEnergy += sRe[bin] * sRe[bin] + sIm[bin] * sIm[bin];
+            }
+            frequencies[band] = (float) center;
+            gains[band] = stimulusEnergy == 0 || recordedEnergy == 0
+                    ? (float) AudioMeter.MIN_DBFS
+                    : (float) (10 * Math.log10(recordedEnergy / stimulusEnergy));
+        }
+        return new float[][]{frequencies, gains};
+    }
+
+    /**
+     * Calcula a distorção harmônica total do tom gravado: a raiz da razão entre a potência das harmônicas e a da
+     * fundamental, em porcentagem.
+     */
+    private double harmonicDistortion(float[] recorded, int delay) {
+        int start = delay + toneStart + seconds(SETTLE_SECONDS);
+        int size = Math.min(THD_SIZE, Integer.highestOneBit(Math.max(2, toneLength - seconds(SETTLE_SECONDS))));
+        if (start + size > recorded.length) {
+            return Double.NaN;
+        }
+        Fft fft = new Fft(size);
+        float[] re = new float[size];
+        float[] im = new float[size];
+        for (int i = 0; i < size; i++) {
+            re[i] = recorded[start + i] * (float) (0.5 - 0.5 * Math.cos(2 * Math.PI * i / size));
+        }
+        fft.transform(re, im);
+
+        double fundamental = harmonicPower(re, im, TONE_HZ, size);
+        double harmonics = 0;
+        for (int k = 2; k <= HARMONICS && k * TONE_HZ < sampleRate / 2; k++) {
+            harmonics += harmonicPower(re, im, k * TONE_HZ, size);
+        }
+        return fundamental == 0 ? Double.NaN : 100 * Math.sqrt(harmonics / fundamental);
+    }
+
+    /**
+     * Soma a potência das faixas em torno de uma frequência, cobrindo o espalhamento da janela de Hann.
+     */
+    private double harmonicPower(float[] re, float[] im, double frequency, int size) {
+        int center = (int) Math.round(frequency * size / sampleRate);
+        double power = 0;
+        for (int bin = Math.max(0, center - 3); bin <= Math.min(size / 2, center + 3); bin++) {
+            power += re[bin] * re[bin] + im[bin] * im[bin];
+        }
+        return power;
+    }
+
+    private LoopbackResult notDetected(double ratio) {
+        return new LoopbackResult(false, Double.NaN, Double.NaN, ratio, new float[0], new float[0], Double.NaN);
+    }
+
+    private int seconds(double seconds) {
+        return (int) Math.round(seconds * sampleRate);
+    }
+
+    private int fadeLength() {
+        return Math.max(1, seconds(FADE_SECONDS));
+    }
+
+    /**
+     * Aplica rampas no início e no fim de um trecho.
+     */
+    private void fade(float[] samples, int start, int length) {
+        int fade = Math.min(fadeLength(), length / 2);
+        for (int i = 0; i < fade; i++) {
+            float gain = i / (float) fade;
+            samples[start + i] *= gain;
+            samples[start + length - 1 - i] *= gain;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package audio;
+
+/**
+ * Resultado imutável de uma medição de loopback feita pelo {@link LoopbackAnalyzer}.
+ */
+public class LoopbackResult {
+    private final boolean detected;  // Indica se o estímulo foi encontrado na gravação
+    private final double latencyFrames;  // Atraso de ida e volta, em quadros (com fração)
+    private final double latencyMillis;  // Atraso de ida e volta, em milissegundos
+    private final double correlationRatio;  // Pico da correlação dividido pela média do seu módulo
+    private final float[] bandFrequencies;  // Frequências centrais das bandas de terço de oitava
+    private final float[] bandGainsDb;  // Ganho de cada banda, da saída à entrada, em dB
+    private final double thdPercent;  // Distorção harmônica total do tom de teste
+
+    /**
+     * Construtor da classe LoopbackResult.
+     *
+     * @param detected         se o estímulo foi encontrado na gravação.
+     * @param latencyFrames    o atraso de ida e volta em quadros.
+     * @param latencyMillis    o atraso de ida e volta em milissegundos.
+     * @param correlationRatio o pico da correlação dividido pela média do seu módulo.
+     * @param bandFrequencies  as frequências centrais das bandas.
+     * @param bandGainsDb      o ganho de cada banda em dB.
+     * @param thdPercent       a distorção harmônica total, em porcentagem.
+     */
+    public LoopbackResult(boolean detected, double latencyFrames, double latencyMillis, double correlationRatio,
+                          float[] bandFrequencies, float[] bandGainsDb, double thdPercent) {
+        this.detected = detected;
+        this.latencyFrames = latencyFrames;
+        this.latencyMillis = latencyMillis;
+        this.correlationRatio = correlationRatio;
+        this.bandFrequencies = bandFrequencies;
+        this.bandGainsDb = bandGainsDb;
+        this.thdPercent = thdPercent;
+    }
+
+    public boolean isDetected() {
+        return detected;
+    }
+
+    public double getLatencyFrames() {
+        return latencyFrames;
+    }
+
+    public double getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public double getCorrelationRatio() {
+        return correlationRatio;
+    }
+
+    public float[] getBandFrequencies() {
+        return bandFrequencies.clone();
+    }
+
+    public float[] getBandGainsDb() {
+        return bandGainsDb.clone();
+    }
+
+    public double getThdPercent() {
+        return thdPercent;
+    }
+}
@@ -0,0 +1,133 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executa a medição de loopback nos dispositivos padrão: toca o estímulo do {@link LoopbackAnalyzer} na saída e grava a
+ * entrada ao mesmo tempo, no mesmo formato. A entrada é iniciada imediatamente antes da saída, de forma que o instante
+ * zero da gravação coincide com o primeiro quadro tocado; o que sobra entre os dois entra na latência medida.
+ */
+public class LoopbackTest {
+    private static final AudioFormat[] FORMATS = {
+            new AudioFormat(48000.0f, 16, 2, true, false),
+            new AudioFormat(44100.0f, 16, 2, true, false)
+    };  // Formatos tentados, em ordem de preferência; entrada e saída usam o mesmo
+    private static final int FRAMES_PER_BLOCK = 512;  // Quadros por escrita e por leitura
+    private static final int BLOCKS_BUFFERED = 4;  // Blocos no buffer de cada linha
+    private static final long CAPTURE_MARGIN_MILLIS = 2000;  // Espera pela gravação além da duração do estímulo
+
+    private LoopbackTest() {
+    }
+
+    /**
+     * Executa a medição nos dispositivos padrão, bloqueando até o fim da gravação (cerca de 2,2 segundos).
+     *
+     * @return o resultado da medição.
+     * @throws LineUnavailableException se a entrada ou a saída não puder ser aberta.
+     * @throws InterruptedException     se a thread for interrompida durante a gravação.
+     * @throws TimeoutException         se a entrada parar de entregar áudio antes do fim da gravação.
+     */
+    public static LoopbackResult run() throws LineUnavailableException, InterruptedException, TimeoutException {
+        return run(AudioBackend.getDefault());
+    }
+
+    /**
+     * Executa a medição nos dispositivos padrão de um backend. Fora do tempo real, o
+     * {@link SoftwareAudioBackend} termina a medição assim que o processamento permitir.
+     *
+     * @param backend a origem das linhas de entrada e saída.
+     * @return o resultado da medição.
+     * @throws LineUnavailableException se a entrada ou a saída não puder ser aberta.
+     * @throws InterruptedException     se a thread for interrompida durante a gravação.
+     * @throws TimeoutException         se a entrada parar de entregar áudio antes do fim da gravação.
+     */
+    public static LoopbackResult run(AudioBackend backend)
+            throws LineUnavailableException, InterruptedException, TimeoutException {
+        AudioFormat format = chooseFormat(backend);
+        LoopbackAnalyzer analyzer = new LoopbackAnalyzer(format.getSampleRate());
+        float[] stimulus = analyzer.getStimulus();
+        int frameSize = format.getFrameSize();
+        int bufferBytes = FRAMES_PER_BLOCK * BLOCKS_BUFFERED * frameSize;
+
+        byte[] captured = new byte[analyzer.getRecordingLength() * frameSize];
+        PlaybackLine output = backend.openPlayback(null, format, bufferBytes);
+        CaptureLine input;
+        try {
+            input = backend.openCapture(null, format, bufferBytes);
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            output.close();
+            throw e;
+        }
+        try {
+
+            // Leitura em uma thread própria, para que a escrita na saída não a atrase
+            Thread capture = new Thread(() -> {
+                int offset = 0;
+                while (offset < captured.length) {
+                    int read = input.read(captured, offset, Math.min(FRAMES_PER_BLOCK * frameSize, captured.length - offset));
+                    if (read <= 0) {
+                        break;
+                    }
+                    offset += read;
+                }
+            }, "testy-loopback-capture");
+            capture.setDaemon(true);
+
+            input.start();
+            output.start();
+            capture.start();
+            byte[] block = new byte[FRAMES_PER_BLOCK * frameSize];
+            float[] samples = new float[FRAMES_PER_BLOCK];
+            for (int written = 0; written < stimulus.length; written += FRAMES_PER_BLOCK) {
+                int count = Math.min(FRAMES_PER_BLOCK, stimulus.length - written);
+                System.arraycopy(stimulus, written, samples, 0, count);
+                output.write(block, 0, SignalPlayer.encode(samples, count, OutputChannel.BOTH, block));
+            }
+            output.drain();
+            long recordingMillis = (long) (analyzer.getRecordingLength() * 1000.0 / format.getSampleRate());
+            capture.join(recordingMillis + CAPTURE_MARGIN_MILLIS);
+            if (capture.isAlive()) {
+                input.stop();  // Desbloqueia a leitura pendente, e a thread termina
+                throw new TimeoutException("A entrada não entregou a gravação em " + (recordingMillis + CAPTURE_MARGIN_MILLIS) + " ms");
+            }
+        } finally {
+            output.close();
+            input.close();
+        }
+
+        return analyzer.analyze(toMono(captured, format));
+    }
+
+    /**
+     * Escolhe o primeiro formato suportado ao mesmo tempo pela entrada e pela saída.
+     */
+    private static AudioFormat chooseFormat(AudioBackend backend) {
+        for (AudioFormat candidate : FORMATS) {
+            if (backend.isPlaybackSupported(null, candidate) && backend.isCaptureSupported(null, candidate)) {
+                return candidate;
+            }
+        }
+        return FORMATS[0];
+    }
+
+    /**
+     * Decodifica a gravação e faz a média dos canais de cada quadro.
+     */
+    private static float[] toMono(byte[] captured, AudioFormat format) {
+        PcmDecoder decoder = new PcmDecoder(format);
+        float[] interleaved = new float[captured.length / decoder.getBytesPerSample()];
+        int count = decoder.decode(captured, 0, captured.length, interleaved);
+        int channels = decoder.getChannels();
+        float[] mono = new float[count / channels];
+        for (int frame = 0; frame < mono.length; frame++) {
+            float sum = 0f;
+            for (int channel = 0; channel < channels; channel++) {
+                sum += interleaved[frame * channels + channel];
+            }
+            mono[frame] = sum / channels;
+        }
+        return mono;
+    }
+}
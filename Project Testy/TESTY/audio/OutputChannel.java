@@ -0,0 +1,38 @@
+package audio;
+
+/**
+ * Canais de um quadro estéreo em que o {@link SignalPlayer} escreve o sinal. O canal que não recebe o sinal recebe
+ * silêncio digital, então o isolamento entre os lados não depende de controles de panorama do driver.
+ */
+public enum OutputChannel {
+    LEFT(true, false, 1),
+    RIGHT(false, true, 2),
+    BOTH(true, true, 3);
+
+    private final boolean left;  // Indica se o canal esquerdo recebe o sinal
+    private final boolean right;  // Indica se o canal direito recebe o sinal
+    private final int identificationBursts;  // Bipes do sinal de identificação deste canal
+
+    OutputChannel(boolean left, boolean right, int identificationBursts) {
+        this.left = left;
+        this.right = right;
+        this.identificationBursts = identificationBursts;
+    }
+
+    public boolean isLeft() {
+        return left;
+    }
+
+    public boolean isRight() {
+        return right;
+    }
+
+    /**
+     * Obtém a quantidade de bipes que identifica este canal no sinal de identificação (1 esquerdo, 2 direito, 3 ambos).
+     *
+     * @return a quantidade de bipes.
+     */
+    public int getIdentificationBursts() {
+        return identificationBursts;
+    }
+}
@@ -0,0 +1,148 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Decodificador de áudio PCM para amostras float normalizadas entre -1 e 1.
+ * Lê diretamente do buffer de bytes da linha de captura, sem criar objetos: as amostras de 32 e 64 bits são lidas por
+ * {@link VarHandle}s sobre o próprio array, que o JIT transforma em leituras nativas, e as de 16 bits pelo
+ * {@link LevelKernel}, vetorizado quando a Vector API está disponível.
+ * Suporta PCM com sinal e sem sinal de 8, 16, 24 e 32 bits e PCM float de 32 e 64 bits, em qualquer ordem de bytes.
+ * Canais intercalados são decodificados na ordem em que aparecem no buffer.
+ */
+public class PcmDecoder {
+    private static final VarHandle INT_BE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle FLOAT_BE = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle FLOAT_LE = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle DOUBLE_BE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle DOUBLE_LE = MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final LevelKernel kernel;  // Laço de decodificação das amostras de 16 bits
+    private final int bytesPerSample;  // Tamanho de uma amostra de um canal
+    private final int channels;  // Quantidade de canais intercalados
+    private final boolean bigEndian;  // Ordem dos bytes de cada amostra
+    private final boolean floatingPoint;  // PCM float em vez de inteiro
+    private final boolean unsigned;  // PCM inteiro sem sinal (o zero fica no meio da escala)
+    private final float scale;  // Converte o valor inteiro para a escala de -1 a 1
+    private final float clipHigh;  // Maior valor positivo representável; amostras nele estão recortadas
+    private final float clipLow;  // Menor valor negativo representável; amostras nele estão recortadas
+
+    /**
+     * Construtor da classe PcmDecoder.
+     *
+     * @param format o formato do áudio a ser decodificado.
+     * @throws IllegalArgumentException se a codificação ou o tamanho de amostra não forem suportados.
+     */
+    public PcmDecoder(AudioFormat format) {
+        this(format, LevelKernel.best());
+    }
+
+    PcmDecoder(AudioFormat format, LevelKernel kernel) {
+        this.kernel = kernel;
+        AudioFormat.Encoding encoding = format.getEncoding();
+        int bits = format.getSampleSizeInBits();
+        floatingPoint = AudioFormat.Encoding.PCM_FLOAT.equals(encoding);
+        unsigned = AudioFormat.Encoding.PCM_UNSIGNED.equals(encoding);
+        if (floatingPoint ? bits != 32 && bits != 64
+                : (!unsigned && !AudioFormat.Encoding.PCM_SIGNED.equals(encoding)) || bits < 8 || bits > 32 || bits % 8 != 0) {
+            throw new IllegalArgumentException("Formato de áudio não suportado: " + format);
+        }
+        bytesPerSample = bits / 8;
+        channels = Math.max(1, format.getChannels());
+        bigEndian = bytesPerSample == 1 || format.isBigEndian();
+        if (floatingPoint) {
+            scale = 1f;
+            clipHigh = 1f;
+            clipLow = -1f;
+        } else {
+            scale = (float) (1.0 / (1L << (bits - 1)));
+            clipHigh = (float) (((1L << (bits - 1)) - 1) / (double) (1L << (bits - 1)));
+            clipLow = -1f;
+        }
+    }
+
+    /**
+     * Decodifica as amostras completas de um trecho do buffer.
+     *
+     * @param data    o buffer com o áudio PCM.
+     * @param offset  a posição do primeiro byte.
+     * @param length  a quantidade de bytes válidos; bytes de uma amostra incompleta no fim são ignorados.
+     * @param samples o array de destino, com pelo menos {@code length / getBytesPerSample()} posições.
+     * @return a quantidade de amostras decodificadas.
+     */
+    public int decode(byte[] data, int offset, int length, float[] samples) {
+        int count = length / bytesPerSample;
+        switch (bytesPerSample) {
+            case 1:
+                for (int i = 0; i < count; i++) {
+                    samples[i] = (unsigned ? (data[offset + i] & 0xff) - 128 : data[offset + i]) * scale;
+                }
+                break;
+            case 2:
+                kernel.decode16(data, offset, count, bigEndian, unsigned, samples);
+                break;
+            case 3:
+                decode24(data, offset, count, samples);
+                break;
+            case 4:
+                decode32(data, offset, count, samples);
+                break;
+            default:
+                decode64(data, offset, count, samples);
+                break;
+        }
+        return count;
+    }
+
+    private void decode24(byte[] data, int offset, int count, float[] samples) {
+        int flip = unsigned ? 0x800000 : 0;
+        for (int i = 0, p = offset; i < count; i++, p += 3) {
+            int raw = bigEndian
+                    ? (data[p] & 0xff) << 16 | (data[p + 1] & 0xff) << 8 | (data[p + 2] & 0xff)
+                    : (data[p + 2] & 0xff) << 16 | (data[p + 1] & 0xff) << 8 | (data[p] & 0xff);
+            samples[i] = (((raw ^ flip) << 8) >> 8) * scale;  // Estende o sinal do bit 23
+        }
+    }
+
+    private void decode32(byte[] data, int offset, int count, float[] samples) {
+        if (floatingPoint) {
+            VarHandle handle = bigEndian ? FLOAT_BE : FLOAT_LE;
+            for (int i = 0; i < count; i++) {
+                samples[i] = (float) handle.get(data, offset + 4 * i);
+            }
+            return;
+        }
+        VarHandle handle = bigEndian ? INT_BE : INT_LE;
+        int flip = unsigned ? 0x80000000 : 0;
+        for (int i = 0; i < count; i++) {
+            samples[i] = ((int) handle.get(data, offset + 4 * i) ^ flip) * scale;
+        }
+    }
+
+    private void decode64(byte[] data, int offset, int count, float[] samples) {
+        VarHandle handle = bigEndian ? DOUBLE_BE : DOUBLE_LE;
+        for (int i = 0; i < count; i++) {
+            samples[i] = (float) (double) handle.get(data, offset + 8 * i);
+        }
+    }
+
+    public int getBytesPerSample() {
+        return bytesPerSample;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public float getClipHigh() {
+        return clipHigh;
+    }
+
+    public float getClipLow() {
+        return clipLow;
+    }
+}
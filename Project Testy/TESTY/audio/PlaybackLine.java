@@ -0,0 +1,49 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * Linha de reprodução aberta por um {@link AudioBackend}: o subconjunto da SourceDataLine usado pelos testes.
+ */
+public interface PlaybackLine extends AutoCloseable {
+
+    /**
+     * Inicia a reprodução do que for escrito.
+     */
+    void start();
+
+    /**
+     * Para a reprodução. Uma escrita bloqueada retorna com o que já tiver escrito.
+     */
+    void stop();
+
+    /**
+     * Descarta o áudio escrito e ainda não reproduzido.
+     */
+    void flush();
+
+    /**
+     * Escreve quadros completos, bloqueando enquanto o buffer da linha estiver cheio.
+     *
+     * @param data   o array com o áudio.
+     * @param offset a posição do primeiro byte.
+     * @param length a quantidade de bytes.
+     * @return a quantidade de bytes escritos.
+     */
+    int write(byte[] data, int offset, int length);
+
+    /**
+     * Bloqueia até que todo o áudio escrito tenha sido reproduzido.
+     */
+    void drain();
+
+    int getBufferSize();
+
+    AudioFormat getFormat();
+
+    /**
+     * Fecha a linha e libera o dispositivo.
+     */
+    @Override
+    void close();
+}
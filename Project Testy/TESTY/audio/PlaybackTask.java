@@ -0,0 +1,62 @@
+package audio;
+
+import java.util.function.Consumer;
+
+/**
+ * Uma reprodução em segundo plano: a linha de saída, a thread que escreve nela e o indicador de que a escrita deve
+ * continuar. Cada reprodução tem o seu próprio indicador, então interromper uma reprodução e iniciar outra logo em
+ * seguida não reativa a thread da anterior, que termina, fecha a sua linha e sai.
+ */
+final class PlaybackTask {
+    private static final long STOP_TIMEOUT_MILLIS = 1000;  // Espera máxima pelo fim da thread em stop()
+
+    private final PlaybackLine line;  // Linha de saída desta reprodução
+    private final Thread thread;  // Thread que escreve na linha
+    private volatile boolean running = true;  // Indica se a escrita deve continuar
+
+    /**
+     * Construtor da classe PlaybackTask. A thread só começa em {@link #start()}.
+     *
+     * @param line       a linha de saída, já aberta.
+     * @param threadName o nome da thread de escrita.
+     * @param body       o laço de escrita, que deve parar quando {@link #isRunning()} for false.
+     */
+    PlaybackTask(PlaybackLine line, String threadName, Consumer<PlaybackTask> body) {
+        this.line = line;
+        thread = new Thread(() -> body.accept(this), threadName);
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Inicia a linha e a thread de escrita.
+     */
+    void start() {
+        line.start();
+        thread.start();
+    }
+
+    /**
+     * Interrompe a reprodução, descarta o áudio ainda no buffer e espera a thread de escrita terminar, exceto quando
+     * chamado pela própria thread (por exemplo, no callback de fim).
+     */
+    void stop() {
+        running = false;
+        line.stop();  // Desbloqueia uma escrita pendente
+        line.flush();
+        if (Thread.currentThread() != thread) {
+            try {
+                thread.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    PlaybackLine getLine() {
+        return line;
+    }
+}
@@ -0,0 +1,120 @@
+package audio;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Reproduz uma gravação em disco lendo o arquivo aos poucos, de forma que a memória usada não depende da duração,
+ * ao contrário de um Clip, que carrega o arquivo inteiro. A escrita na linha acontece na thread testy-recording.
+ */
+public class RecordingPlayer {
+    private static final int BLOCK_SIZE = 8192;  // Bytes lidos do arquivo e escritos na linha por vez
+
+    private final AudioBackend backend;  // Origem da linha de saída
+    private PlaybackTask current;  // Reprodução em andamento, ou null
+
+    /**
+     * Construtor da classe RecordingPlayer, que usa a saída padrão do backend padrão.
+     */
+    public RecordingPlayer() {
+        this(AudioBackend.getDefault());
+    }
+
+    /**
+     * Construtor da classe RecordingPlayer.
+     *
+     * @param backend a origem da linha de saída.
+     */
+    public RecordingPlayer(AudioBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Inicia a reprodução de um arquivo em segundo plano. Uma reprodução anterior ainda em andamento é interrompida, e
+     * a sua thread termina antes que a nova comece.
+     *
+     * @param file       o arquivo de áudio.
+     * @param onFinished chamado na thread de escrita ao fim da reprodução ou após {@link #stop()}.
+     * @throws IOException                   se o arquivo não puder ser lido.
+     * @throws UnsupportedAudioFileException se o formato do arquivo não for reconhecido.
+     * @throws LineUnavailableException      se a linha de saída não puder ser aberta.
+     */
+    public void play(Path file, Runnable onFinished) throws IOException, UnsupportedAudioFileException, LineUnavailableException {
+        stop();
+        AudioInputStream stream = AudioSystem.getAudioInputStream(file.toFile());
+        PlaybackLine output;
+        try {
+            output = backend.openPlayback(null, stream.getFormat(), 0);
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            stream.close();
+            throw e;
+        }
+        PlaybackTask playback = new PlaybackTask(output, "testy-recording", task -> stream(stream, task, onFinished));
+        replace(playback);
+        playback.start();
+    }
+
+    /**
+     * Interrompe a reprodução em andamento, se houver.
+     */
+    public void stop() {
+        replace(null);
+    }
+
+    /**
+     * Verifica se há uma reprodução em andamento.
+     *
+     * @return true se uma gravação estiver tocando.
+     */
+    public synchronized boolean isPlaying() {
+        return current != null;
+    }
+
+    /**
+     * Troca a reprodução em andamento e interrompe a anterior, fora do monitor, para que um onFinished que chame
+     * {@link #stop()} não espere pela thread que o está esperando.
+     */
+    private void replace(PlaybackTask playback) {
+        PlaybackTask previous;
+        synchronized (this) {
+            previous = current;
+            current = playback;
+        }
+        if (previous != null) {
+            previous.stop();
+        }
+    }
+
+    /**
+     * Laço da thread de escrita: copia o arquivo para a linha até o fim ou até {@link #stop()}.
+     */
+    private void stream(AudioInputStream stream, PlaybackTask task, Runnable onFinished) {
+        PlaybackLine output = task.getLine();
+        int frameSize = Math.max(1, stream.getFormat().getFrameSize());
+        byte[] block = new byte[BLOCK_SIZE - BLOCK_SIZE % frameSize];
+        try (AudioInputStream input = stream) {
+            int read;
+            while (task.isRunning() && (read = input.read(block, 0, block.length)) > 0) {
+                output.write(block, 0, read);
+            }
+            if (task.isRunning()) {
+                output.drain();  // Espera o fim do áudio já escrito
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            output.stop();
+            output.close();
+            synchronized (this) {
+                if (current == task) {
+                    current = null;
+                }
+            }
+            onFinished.run();
+        }
+    }
+}
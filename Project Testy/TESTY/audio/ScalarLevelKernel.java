@@ -0,0 +1,64 @@
+package audio;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Implementação escalar do {@link LevelKernel}, usada quando a Vector API não está disponível.
+ */
+class ScalarLevelKernel implements LevelKernel {
+    static final float SCALE_16 = 1f / 32768;  // Converte uma amostra de 16 bits para a escala de -1 a 1
+
+    private static final VarHandle SHORT_BE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle SHORT_LE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+
+    @Override
+    public void accumulate(float[] samples, int count, float clipHigh, float clipLow, double[] totals) {
+        accumulate(samples, 0, count, clipHigh, clipLow, totals);
+    }
+
+    @Override
+    public void decode16(byte[] data, int offset, int count, boolean bigEndian, boolean unsigned, float[] samples) {
+        decode16(data, offset, 0, count, bigEndian, unsigned, samples);
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * Acumula os totais das amostras de from (inclusivo) a to (exclusivo).
+     */
+    void accumulate(float[] samples, int from, int to, float clipHigh, float clipLow, double[] totals) {
+        double sum = 0;
+        double sumOfSquares = 0;
+        float peak = 0;
+        int clipped = 0;
+        for (int i = from; i < to; i++) {
+            float sample = samples[i];
+            sum += sample;
+            sumOfSquares += sample * sample;
+            peak = Math.max(peak, Math.abs(sample));
+            if (sample >= clipHigh || sample <= clipLow) {
+                clipped++;
+            }
+        }
+        totals[SUM] += sum;
+        totals[SUM_OF_SQUARES] += sumOfSquares;
+        totals[PEAK] = Math.max(totals[PEAK], peak);
+        totals[CLIPPED] += clipped;
+    }
+
+    /**
+     * Decodifica as amostras de 16 bits de from (inclusivo) a to (exclusivo), contadas a partir de offset.
+     */
+    void decode16(byte[] data, int offset, int from, int to, boolean bigEndian, boolean unsigned, float[] samples) {
+        VarHandle handle = bigEndian ? SHORT_BE : SHORT_LE;
+        int flip = unsigned ? 0x8000 : 0;
+        for (int i = from; i < to; i++) {
+            samples[i] = (short) ((short) handle.get(data, offset + 2 * i) ^ flip) * SCALE_16;
+        }
+    }
+}
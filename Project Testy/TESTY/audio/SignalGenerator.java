@@ -0,0 +1,223 @@
+package audio;
+
+/**
+ * Gerador de sinais de teste sintetizados amostra a amostra, sem arquivos e sem memória proporcional à duração.
+ * Cada chamada de {@link #render(float[], int)} continua o sinal de onde a anterior parou, em amostras mono de -1 a 1.
+ * Os geradores não criam objetos durante a renderização.
+ */
+public abstract class SignalGenerator {
+    private static final double BURST_FREQUENCY = 1000.0;  // Frequência dos bipes de identificação de canal
+    private static final double BURST_SECONDS = 0.15;  // Duração de cada bipe
+    private static final double BURST_GAP_SECONDS = 0.1;  // Silêncio entre bipes
+    private static final double BURST_PAUSE_SECONDS = 0.8;  // Silêncio antes de repetir a sequência
+    private static final double RAMP_SECONDS = 0.003;  // Rampa no início e no fim de cada bipe, para evitar estalos
+
+    protected final float sampleRate;  // Taxa de amostragem da saída
+
+    protected SignalGenerator(float sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Gera as próximas amostras do sinal.
+     *
+     * @param samples o array de destino.
+     * @param count   a quantidade de amostras a gerar.
+     */
+    public abstract void render(float[] samples, int count);
+
+    /**
+     * Cria um tom senoidal contínuo.
+     *
+     * @param sampleRate a taxa de amostragem da saída.
+     * @param frequency  a frequência em Hz.
+     * @param amplitude  a amplitude de pico, de 0 a 1.
+     * @return o gerador.
+     */
+    public static SignalGenerator sine(float sampleRate, double frequency, double amplitude) {
+        return new Sine(sampleRate, frequency, amplitude);
+    }
+
+    /**
+     * Cria uma varredura logarítmica (mesma duração por oitava) que recomeça ao chegar à frequência final.
+     *
+     * @param sampleRate a taxa de amostragem da saída.
+     * @param startHz    a frequência inicial.
+     * @param endHz      a frequência final.
+     * @param seconds    a duração de uma varredura.
+     * @param amplitude  a amplitude de pico, de 0 a 1.
+     * @return o gerador.
+     */
+    public static SignalGenerator logSweep(float sampleRate, double startHz, double endHz, double seconds, double amplitude) {
+        return new LogSweep(sampleRate, startHz, endHz, seconds, amplitude);
+    }
+
+    /**
+     * Cria um ruído rosa (mesma energia por oitava), filtrando ruído branco com o filtro de Paul Kellett.
+     *
+     * @param sampleRate a taxa de amostragem da saída.
+     * @param amplitude  a amplitude de pico aproximada, de 0 a 1.
+     * @param seed       a semente do ruído branco.
+     * @return o gerador.
+     */
+    public static SignalGenerator pinkNoise(float sampleRate, double amplitude, long seed) {
+        return new PinkNoise(sampleRate, amplitude, seed);
+    }
+
+    /**
+     * Cria o sinal de identificação de canal: uma sequência de bipes de 1 kHz, repetida após uma pausa, em que a
+     * quantidade de bipes diz qual canal está tocando.
+     *
+     * @param sampleRate a taxa de amostragem da saída.
+     * @param bursts     a quantidade de bipes em cada sequência.
+     * @param amplitude  a amplitude de pico, de 0 a 1.
+     * @return o gerador.
+     */
+    public static SignalGenerator channelIdentification(float sampleRate, int bursts, double amplitude) {
+        return new ChannelIdentification(sampleRate, bursts, amplitude);
+    }
+
+    /**
+     * Tom senoidal com acumulador de fase.
+     */
+    private static class Sine extends SignalGenerator {
+        private final double increment;  // Avanço da fase por amostra, em radianos
+        private final double amplitude;
+        private double phase;
+
+        Sine(float sampleRate, double frequency, double amplitude) {
+            super(sampleRate);
+            this.increment = 2 * Math.PI * frequency / sampleRate;
+            this.amplitude = amplitude;
+        }
+
+        @Override
+        public void render(float[] samples, int count) {
+            for (int i = 0; i < count; i++) {
+                samples[i] = (float) (amplitude * Math.sin(phase));
+                phase += increment;
+                if (phase >= 2 * Math.PI) {
+                    phase -= 2 * Math.PI;
+                }
+            }
+        }
+    }
+
+    /**
+     * Varredura logarítmica: a frequência instantânea é multiplicada por um fator constante a cada amostra, e a fase é
+     * a sua integral, então o sinal não tem saltos.
+     */
+    private static class LogSweep extends SignalGenerator {
+        private final double startHz;
+        private final double growth;  // Fator aplicado à frequência a cada amostra
+        private final long length;  // Amostras de uma varredura
+        private final double amplitude;
+        private double frequency;  // Frequência instantânea
+        private double phase;
+        private long position;  // Amostra atual dentro da varredura
+
+        LogSweep(float sampleRate, double startHz, double endHz, double seconds, double amplitude) {
+            super(sampleRate);
+            this.startHz = startHz;
+            this.length = Math.max(1, Math.round(seconds * sampleRate));
+            this.growth = Math.pow(endHz / startHz, 1.0 / length);
+            this.amplitude = amplitude;
+            this.frequency = startHz;
+        }
+
+        @Override
+        public void render(float[] samples, int count) {
+            for (int i = 0; i < count; i++) {
+                samples[i] = (float) (amplitude * Math.sin(phase));
+                phase += 2 * Math.PI * frequency / sampleRate;
+                if (phase >= 2 * Math.PI) {
+                    phase -= 2 * Math.PI;
+                }
+                frequency *= growth;
+                if (++position == length) {
+                    position = 0;
+                    frequency = startHz;  // Recomeça a varredura; a fase continua, sem salto
+                }
+            }
+        }
+    }
+
+    /**
+     * Ruído rosa pelo filtro "refinado" de Paul Kellett: sete filtros de primeira ordem somados aproximam a queda de
+     * 3 dB por oitava dentro de 0,05 dB na faixa audível. O ruído branco vem de um xorshift, que não cria objetos.
+     */
+    private static class PinkNoise extends SignalGenerator {
+        private static final double NORMALIZATION = 0.11;  // Deixa o pico típico perto de 1 com amplitude 1
+
+        private final double amplitude;
+        private long state;  // Estado do xorshift64
+        private double b0, b1, b2, b3, b4, b5, b6;  // Estados dos filtros
+
+        PinkNoise(float sampleRate, double amplitude, long seed) {
+            super(sampleRate);
+            this.amplitude = amplitude;
+            this.state = seed == 0 ? 0x9E3779B97F4A7C15L : seed;
+        }
+
+        @Override
+        public void render(float[] samples, int count) {
+            for (int i = 0; i < count; i++) {
+                state ^= state << 13;
+                state ^= state >>> 7;
+                state ^= state << 17;
+                double white = (state >> 11) * 0x1.0p-52;  // Uniforme entre -1 e 1
+                b0 = 0.99886 * b0 + white * 0.0555179;
+                b1 = 0.99332 * b1 + white * 0.0750759;
+                b2 = 0.96900 * b2 + white * 0.1538520;
+                b3 = 0.86650 * b3 + white * 0.3104856;
+                b4 = 0.55000 * b4 + white * 0.5329522;
+                b5 = -0.7616 * b5 - white * 0.0168980;
+                double pink = b0 + b1 + b2 + b3 + b4 + b5 + b6 + white * 0.5362;
+                b6 = white * 0.115926;
+                samples[i] = (float) Math.max(-1.0, Math.min(1.0, pink * NORMALIZATION * amplitude));
+            }
+        }
+    }
+
+    /**
+     * Sequência de bipes de identificação de canal, com rampas curtas no início e no fim de cada bipe.
+     */
+    private static class ChannelIdentification extends SignalGenerator {
+        private final int burstLength;  // Amostras de um bipe
+        private final int slotLength;  // Amostras de um bipe mais o silêncio seguinte
+        private final int bursts;
+        private final int cycleLength;  // Amostras da sequência inteira, com a pausa
+        private final int rampLength;  // Amostras de cada rampa
+        private final double increment;  // Avanço da fase por amostra
+        private final double amplitude;
+        private int position;  // Amostra atual dentro da sequência
+
+        ChannelIdentification(float sampleRate, int bursts, double amplitude) {
+            super(sampleRate);
+            this.bursts = Math.max(1, bursts);
+            this.burstLength = (int) Math.round(BURST_SECONDS * sampleRate);
+            this.slotLength = burstLength + (int) Math.round(BURST_GAP_SECONDS * sampleRate);
+            this.cycleLength = this.bursts * slotLength + (int) Math.round(BURST_PAUSE_SECONDS * sampleRate);
+            this.rampLength = Math.max(1, (int) Math.round(RAMP_SECONDS * sampleRate));
+            this.increment = 2 * Math.PI * BURST_FREQUENCY / sampleRate;
+            this.amplitude = amplitude;
+        }
+
+        @Override
+        public void render(float[] samples, int count) {
+            for (int i = 0; i < count; i++) {
+                int slot = position / slotLength;
+                int offset = position - slot * slotLength;
+                if (slot < bursts && offset < burstLength) {
+                    double envelope = Math.min(1.0, Math.min(offset, burstLength - 1 - offset) / (double) rampLength);
+                    samples[i] = (float) (amplitude * envelope * Math.sin(offset * increment));
+                } else {
+                    samples[i] = 0f;
+                }
+                if (++position == cycleLength) {
+                    position = 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.Mixer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Reproduz um {@link SignalGenerator} em uma {@link PlaybackLine} estéreo de 16 bits, em blocos pequenos e reaproveitados.
+ * O sinal é escrito diretamente no canal escolhido de cada quadro e o outro canal recebe zeros, então o isolamento
+ * entre os lados é exato e não depende dos controles PAN ou BALANCE do driver. A memória usada é a mesma para qualquer
+ * duração. A escrita acontece na thread testy-signal, que bloqueia na linha e por isso segue o ritmo da placa de som.
+ */
+public class SignalPlayer {
+    private static final AudioFormat[] FORMATS = {
+            new AudioFormat(48000.0f, 16, 2, true, false),
+            new AudioFormat(44100.0f, 16, 2, true, false)
+    };  // Formatos tentados, em ordem de preferência
+    private static final VarHandle SHORT_LE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final int FRAMES_PER_BLOCK = 512;  // Quadros gerados por escrita; a 48 kHz, 10,7 ms
+    private static final int BLOCKS_BUFFERED = 4;  // Blocos no buffer da linha
+    private static final double FADE_SECONDS = 0.005;  // Rampa no início e no fim da reprodução, para evitar estalos
+
+    private final AudioBackend backend;  // Origem da linha de saída
+    private final Mixer.Info mixer;  // Dispositivo de saída, ou null para o padrão do sistema
+    private final AudioFormat format;  // Formato da linha de saída
+    private PlaybackTask current;  // Reprodução em andamento, ou null
+
+    /**
+     * Construtor da classe SignalPlayer.
+     * Usa a saída padrão e escolhe o primeiro formato suportado por ela (48 kHz, senão 44,1 kHz).
+     */
+    public SignalPlayer() {
+        this(AudioBackend.getDefault(), null);
+    }
+
+    /**
+     * Construtor da classe SignalPlayer para um dispositivo específico.
+     * Escolhe o primeiro formato suportado pelo dispositivo (48 kHz, senão 44,1 kHz).
+     *
+     * @param backend a origem da linha de saída.
+     * @param mixer   o dispositivo de saída, ou null para o padrão do sistema.
+     */
+    public SignalPlayer(AudioBackend backend, Mixer.Info mixer) {
+        this.backend = backend;
+        this.mixer = mixer;
+        AudioFormat chosen = supportedFormat(backend, mixer);
+        format = chosen != null ? chosen : FORMATS[0];
+    }
+
+    /**
+     * Obtém o primeiro formato de reprodução suportado por um dispositivo.
+     *
+     * @param backend a origem das linhas.
+     * @param mixer   o dispositivo de saída, ou null para o padrão do sistema.
+     * @return o formato, ou null se o dispositivo não tiver saída estéreo de 16 bits.
+     */
+    public static AudioFormat supportedFormat(AudioBackend backend, Mixer.Info mixer) {
+        for (AudioFormat candidate : FORMATS) {
+            if (backend.isPlaybackSupported(mixer, candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Inicia a reprodução de um sinal em segundo plano. Uma reprodução anterior ainda em andamento é interrompida, e a
+     * sua thread termina antes que a nova comece.
+     *
+     * @param generator  o gerador, criado com a taxa de {@link #getSampleRate()}.
+     * @param channel    o canal, ou os dois, que recebe o sinal.
+     * @param seconds    a duração da reprodução.
+     * @param onFinished chamado na thread de escrita ao fim da reprodução ou após {@link #stop()}.
+     * @throws LineUnavailableException se a linha de saída não puder ser aberta.
+     */
+    public void play(SignalGenerator generator, OutputChannel channel, double seconds, Runnable onFinished)
+            throws LineUnavailableException {
+        stop();
+        PlaybackLine output = backend.openPlayback(mixer, format, FRAMES_PER_BLOCK * BLOCKS_BUFFERED * format.getFrameSize());
+        long frames = Math.round(seconds * format.getSampleRate());
+        PlaybackTask playback = new PlaybackTask(output, "testy-signal",
+                task -> stream(task, generator, channel, frames, onFinished));
+        replace(playback);
+        playback.start();
+    }
+
+    /**
+     * Interrompe a reprodução em andamento, se houver. O áudio ainda no buffer da linha é descartado.
+     */
+    public void stop() {
+        replace(null);
+    }
+
+    /**
+     * Troca a reprodução em andamento e interrompe a anterior, fora do monitor, para que um onFinished que chame
+     * {@link #stop()} não espere pela thread que o está esperando.
+     */
+    private void replace(PlaybackTask playback) {
+        PlaybackTask previous;
+        synchronized (this) {
+            previous = current;
+            current = playback;
+        }
+        if (previous != null) {
+            previous.stop();
+        }
+    }
+
+    public float getSampleRate() {
+        return format.getSampleRate();
+    }
+
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Laço da thread de escrita: gera e escreve blocos até completar a duração ou até {@link #stop()}.
+     */
+    private void stream(PlaybackTask task, SignalGenerator generator, OutputChannel channel, long frames,
+                        Runnable onFinished) {
+        PlaybackLine output = task.getLine();
+        float[] samples = new float[FRAMES_PER_BLOCK];
+        byte[] block = new byte[FRAMES_PER_BLOCK * format.getFrameSize()];
+        int fadeFrames = (int) Math.round(FADE_SECONDS * format.getSampleRate());
+        long written = 0;
+        try {
+            while (task.isRunning() && written < frames) {
+                int count = (int) Math.min(FRAMES_PER_BLOCK, frames - written);
+                generator.render(samples, count);
+                applyFade(samples, count, written, frames, fadeFrames);
+                int bytes = encode(samples, count, channel, block);
+                output.write(block, 0, bytes);
+                written += count;
+            }
+            if (task.isRunning()) {
+                output.drain();  // Espera o fim do áudio já escrito
+            }
+        } finally {
+            output.stop();
+            output.close();
+            onFinished.run();
+        }
+    }
+
+    /**
+     * Aplica as rampas de entrada e saída às amostras de um bloco.
+     */
+    private static void applyFade(float[] samples, int count, long start, long total, int fadeFrames) {
+        if (start >= fadeFrames && start + count <= total - fadeFrames) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            long frame = start + i;
+            long edge = Math.min(frame, total - 1 - frame);
+            if (edge < fadeFrames) {
+                samples[i] *= edge / (float) fadeFrames;
+            }
+        }
+    }
+
+    /**
+     * Converte as amostras para quadros estéreo de 16 bits little-endian, escrevendo o sinal só nos canais escolhidos.
+     *
+     * @param samples as amostras mono, de -1 a 1.
+     * @param count   a quantidade de amostras.
+     * @param channel os canais que recebem o sinal.
+     * @param block   o array de destino, com pelo menos 4 * count posições.
+     * @return a quantidade de bytes escritos.
+     */
+    static int encode(float[] samples, int count, OutputChannel channel, byte[] block) {
+        boolean left = channel.isLeft();
+        boolean right = channel.isRight();
+        for (int i = 0; i < count; i++) {
+            float sample = Math.max(-1f, Math.min(1f, samples[i]));
+            short value = (short) Math.round(sample * Short.MAX_VALUE);
+            SHORT_LE.set(block, 4 * i, left ? value : (short) 0);
+            SHORT_LE.set(block, 4 * i + 2, right ? value : (short) 0);
+        }
+        return 4 * count;
+    }
+}
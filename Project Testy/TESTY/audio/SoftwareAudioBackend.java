@@ -0,0 +1,126 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.Mixer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Backend de áudio em memória, sem placa de som. Cada {@link SoftwareDevice} grava em memória o que é reproduzido e
+ * entrega na captura um sinal sintético, com ruído, atraso de loopback e falhas injetados conforme a sua configuração.
+ * Em tempo real, as linhas seguem o relógio, como um dispositivo de verdade; fora dele, nada espera o relógio e a
+ * captura só aguarda a reprodução do mesmo dispositivo quando precisa do áudio dela, então os testes rodam tão rápido
+ * quanto o processador permitir e com resultados repetíveis.
+ * Aceita PCM de 16 bits com sinal, mono ou estéreo, em qualquer taxa e ordem de bytes.
+ */
+public class SoftwareAudioBackend implements AudioBackend {
+    private final boolean realTime;  // Indica se as linhas seguem o relógio
+    private final List<SoftwareDevice> devices = new CopyOnWriteArrayList<>();  // Dispositivos, o primeiro é o padrão
+
+    /**
+     * Construtor da classe SoftwareAudioBackend, sem dispositivos.
+     *
+     * @param realTime true para que as linhas sigam o relógio; false para rodar o mais rápido possível.
+     */
+    public SoftwareAudioBackend(boolean realTime) {
+        this.realTime = realTime;
+    }
+
+    /**
+     * Cria o backend usado com testy.audio.backend=software: um dispositivo em tempo real que capta um tom de 1 kHz a
+     * -20 dBFS, ruído leve e, com 50 ms de atraso, metade do que for reproduzido.
+     *
+     * @return o backend de demonstração.
+     */
+    public static SoftwareAudioBackend demo() {
+        SoftwareAudioBackend backend = new SoftwareAudioBackend(true);
+        SoftwareDevice device = backend.addDevice("Dispositivo em software");
+        device.setSignal(rate -> SignalGenerator.sine(rate, 1000, 0.1));
+        device.setNoise(0.001f);
+        device.setLoopback(2400, 0.5f);
+        return backend;
+    }
+
+    /**
+     * Acrescenta um dispositivo. O primeiro dispositivo é o padrão.
+     *
+     * @param name o nome exibido do dispositivo.
+     * @return o dispositivo, para configuração.
+     */
+    public SoftwareDevice addDevice(String name) {
+        SoftwareDevice device = new SoftwareDevice(name, realTime);
+        devices.add(device);
+        return device;
+    }
+
+    /**
+     * Obtém a configuração e o estado de um dispositivo.
+     *
+     * @param info o dispositivo, ou null para o padrão.
+     * @return o dispositivo, ou null se não pertencer a este backend.
+     */
+    public SoftwareDevice getDevice(Mixer.Info info) {
+        for (SoftwareDevice device : devices) {
+            if (info == null || device.getInfo() == info) {
+                return device;
+            }
+        }
+        return null;
+    }
+
+    public boolean isRealTime() {
+        return realTime;
+    }
+
+    @Override
+    public List<Mixer.Info> getDevices() {
+        List<Mixer.Info> infos = new ArrayList<>();
+        for (SoftwareDevice device : devices) {
+            infos.add(device.getInfo());
+        }
+        return infos;
+    }
+
+    @Override
+    public boolean isCaptureSupported(Mixer.Info device, AudioFormat format) {
+        return getDevice(device) != null && SoftwareDevice.isSupported(format);
+    }
+
+    @Override
+    public boolean isPlaybackSupported(Mixer.Info device, AudioFormat format) {
+        return getDevice(device) != null && SoftwareDevice.isSupported(format);
+    }
+
+    @Override
+    public CaptureLine openCapture(Mixer.Info device, AudioFormat format, int bufferBytes) throws LineUnavailableException {
+        return require(device, format).openCapture(format, bufferBytes);
+    }
+
+    @Override
+    public PlaybackLine openPlayback(Mixer.Info device, AudioFormat format, int bufferBytes) throws LineUnavailableException {
+        return require(device, format).openPlayback(format, bufferBytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     * O Clip escreve o som em uma linha de reprodução do dispositivo, que o grava como qualquer outra reprodução.
+     */
+    @Override
+    public Clip openClip(Mixer.Info device, AudioFormat format, byte[] data, int offset, int length) throws LineUnavailableException {
+        return new LineClip(openPlayback(device, format, 0), data, offset, length);
+    }
+
+    private SoftwareDevice require(Mixer.Info info, AudioFormat format) throws LineUnavailableException {
+        SoftwareDevice device = getDevice(info);
+        if (device == null) {
+            throw new LineUnavailableException("Dispositivo desconhecido: " + info);
+        }
+        if (!SoftwareDevice.isSupported(format)) {
+            throw new IllegalArgumentException("Formato não suportado: " + format);
+        }
+        return device;
+    }
+}
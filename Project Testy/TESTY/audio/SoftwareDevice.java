@@ -0,0 +1,558 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.Mixer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Dispositivo do {@link SoftwareAudioBackend}. O que é reproduzido vai, em mono, para uma fita em memória e para uma
+ * linha de atraso; a captura soma o sinal injetado, o ruído e a linha de atraso (o loopback) e aplica as falhas.
+ * Só a linha de reprodução aberta mais recentemente alimenta o loopback. Cada linha de captura tem o seu gerador e o
+ * seu ruído, criados quando ela é aberta; a configuração vale para as linhas abertas depois de alterada.
+ * As posições das linhas são contadas em quadros, desde a criação do dispositivo.
+ */
+public class SoftwareDevice {
+    private static final VarHandle SHORT_LE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle SHORT_BE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final int LOOP_CAPACITY = 1 << 20;  // Quadros na linha de atraso (21,8 s a 48 kHz)
+    private static final int DEFAULT_BUFFER_FRAMES = 4096;  // Buffer das linhas quando nenhum tamanho é pedido
+    private static final int DEFAULT_TAPE_SECONDS = 60;  // Duração máxima guardada na fita, por padrão
+
+    private final Info info;  // Identificação do dispositivo
+    private final boolean realTime;  // Indica se as linhas seguem o relógio
+    private final long epochNanos = System.nanoTime();  // Instante zero do relógio do dispositivo
+    private final float[] loop = new float[LOOP_CAPACITY];  // Linha de atraso com o áudio reproduzido, em mono
+    private Function<Float, SignalGenerator> signal;  // Fábrica do sinal injetado na captura, por taxa de amostragem, ou null
+    private float noise;  // Desvio padrão do ruído gaussiano somado à captura
+    private int loopbackDelay;  // Atraso entre a reprodução e a captura, em quadros
+    private float loopbackGain;  // Ganho do áudio reproduzido na captura (0 = sem loopback)
+    private double dropoutProbability;  // Chance de uma leitura conter uma falha
+    private int dropoutFrames;  // Quadros zerados em cada falha
+    private long seed = 1;  // Semente do ruído e das falhas
+    private int tapeLimit = -1;  // Quadros máximos na fita (-1 = DEFAULT_TAPE_SECONDS na taxa da reprodução)
+    private float[] tape = new float[0];  // Áudio reproduzido, em mono
+    private int tapeLength;  // Quadros válidos na fita
+    private Playback feeding;  // Linha de reprodução que alimenta o loopback, ou null
+    private long loopStart;  // Primeiro quadro válido da linha de atraso
+    private long loopEnd;  // Quadro seguinte ao último escrito na linha de atraso
+    private long fastClock;  // Relógio fora do tempo real: a maior posição já alcançada por uma linha
+    private final List<Capture> captures = new ArrayList<>();  // Linhas de captura abertas
+    private int dropouts;  // Falhas injetadas até agora
+    private int capturesOpened;  // Linhas de captura já abertas, usado para variar a semente
+
+    /**
+     * Identificação do dispositivo no formato do Java Sound.
+     */
+    public static class Info extends Mixer.Info {
+        Info(String name) {
+            super(name, "Testy", "Dispositivo de áudio em software", "1.0");
+        }
+    }
+
+    SoftwareDevice(String name, boolean realTime) {
+        this.info = new Info(name);
+        this.realTime = realTime;
+    }
+
+    /**
+     * Verifica se um formato é aceito pelo dispositivo: PCM de 16 bits com sinal, mono ou estéreo.
+     *
+     * @param format o formato.
+     * @return true se o formato for aceito.
+     */
+    public static boolean isSupported(AudioFormat format) {
+        return AudioFormat.Encoding.PCM_SIGNED.equals(format.getEncoding()) && format.getSampleSizeInBits() == 16
+                && (format.getChannels() == 1 || format.getChannels() == 2);
+    }
+
+    public Info getInfo() {
+        return info;
+    }
+
+    /**
+     * Define o sinal injetado nas capturas.
+     *
+     * @param signal a fábrica que cria o gerador na taxa de cada linha, ou null para nenhum sinal.
+     */
+    public synchronized void setSignal(Function<Float, SignalGenerator> signal) {
+        this.signal = signal;
+    }
+
+    /**
+     * Define o ruído gaussiano somado às capturas.
+     *
+     * @param noise o desvio padrão, em escala de -1 a 1 (0 = sem ruído).
+     */
+    public synchronized void setNoise(float noise) {
+        this.noise = noise;
+    }
+
+    /**
+     * Define o loopback: o áudio reproduzido aparece na captura, atrasado e com ganho.
+     * Reprodução e captura devem usar a mesma taxa de amostragem.
+     *
+     * @param delayFrames o atraso, em quadros.
+     * @param gain        o ganho linear (0 = sem loopback).
+     */
+    public synchronized void setLoopback(int delayFrames, float gain) {
+        if (delayFrames < 0 || delayFrames >= LOOP_CAPACITY / 2) {
+            throw new IllegalArgumentException("Atraso fora do intervalo: " + delayFrames);
+        }
+        this.loopbackDelay = delayFrames;
+        this.loopbackGain = gain;
+    }
+
+    /**
+     * Define as falhas da captura: trechos zerados, sinalizados como perda em {@link CaptureLine#available()}.
+     * Vale para as capturas abertas depois, como o sinal e o ruído.
+     *
+     * @param probability a chance de cada leitura conter uma falha.
+     * @param frames      os quadros zerados em cada falha.
+     */
+    public synchronized void setDropouts(double probability, int frames) {
+        this.dropoutProbability = probability;
+        this.dropoutFrames = frames;
+    }
+
+    /**
+     * Define a semente do ruído e das falhas, para resultados repetíveis.
+     *
+     * @param seed a semente.
+     */
+    public synchronized void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Define quantos quadros reproduzidos são guardados na fita; os seguintes são descartados.
+     *
+     * @param frames o limite em quadros.
+     */
+    public synchronized void setTapeLimit(int frames) {
+        this.tapeLimit = frames;
+    }
+
+    /**
+     * Obtém o áudio reproduzido no dispositivo, em mono, na ordem em que foi escrito.
+     *
+     * @return uma cópia da fita.
+     */
+    public synchronized float[] getPlayedAudio() {
+        return Arrays.copyOf(tape, tapeLength);
+    }
+
+    /**
+     * Esvazia a fita.
+     */
+    public synchronized void clearPlayedAudio() {
+        tapeLength = 0;
+    }
+
+    /**
+     * Obtém a quantidade de falhas injetadas nas capturas até agora.
+     *
+     * @return a quantidade de falhas.
+     */
+    public synchronized int getDropouts() {
+        return dropouts;
+    }
+
+    @Override
+    public String toString() {
+        return info.getName();
+    }
+
+    synchronized CaptureLine openCapture(AudioFormat format, int bufferBytes) {
+        Random random = new Random(seed + 31L * capturesOpened++);
+        SignalGenerator generator = signal == null ? null : signal.apply(format.getSampleRate());
+        Capture capture = new Capture(format, bufferFrames(format, bufferBytes), generator, noise, dropoutProbability,
+                dropoutFrames, random);
+        captures.add(capture);
+        return capture;
+    }
+
+    synchronized PlaybackLine openPlayback(AudioFormat format, int bufferBytes) {
+        return new Playback(format, bufferFrames(format, bufferBytes));
+    }
+
+    private static int bufferFrames(AudioFormat format, int bufferBytes) {
+        return bufferBytes > 0 ? Math.max(1, bufferBytes / format.getFrameSize()) : DEFAULT_BUFFER_FRAMES;
+    }
+
+    /**
+     * Posição atual do relógio em quadros, na taxa informada. Deve ser chamado com o monitor do dispositivo.
+     */
+    private long now(float sampleRate) {
+        return realTime ? (long) ((System.nanoTime() - epochNanos) * (double) sampleRate / 1e9) : fastClock;
+    }
+
+    /**
+     * Espera por uma notificação ou, em tempo real, até o relógio alcançar a posição indicada.
+     * Deve ser chamado com o monitor do dispositivo.
+     */
+    private void await(long frame, float sampleRate) {
+        try {
+            if (realTime) {
+                long millis = (long) Math.ceil((frame - now(sampleRate)) * 1000.0 / sampleRate);
+                wait(Math.max(1, millis));
+            } else {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Obtém a menor posição entre as capturas em andamento. Deve ser chamado com o monitor do dispositivo.
+     */
+    private long slowestCapture() {
+        long slowest = Long.MAX_VALUE;
+        for (Capture capture : captures) {
+            if (capture.running) {
+                slowest = Math.min(slowest, capture.position);
+            }
+        }
+        return slowest;
+    }
+
+    /**
+     * Linha de captura que sintetiza o áudio a partir da configuração do dispositivo.
+     */
+    private class Capture implements CaptureLine {
+        private final AudioFormat format;
+        private final int bufferFrames;
+        private final SignalGenerator generator;  // Sinal injetado, ou null
+        private final float noise;  // Ruído desta linha
+        private final double dropoutProbability;  // Chance de falha em cada leitura desta linha
+        private final int dropoutFrames;  // Quadros zerados em cada falha desta linha
+        private final Random random;  // Fonte do ruído e das falhas desta linha
+        private float[] block = new float[0];  // Amostras mono de uma leitura, reaproveitado
+        private float[] generated = new float[0];  // Saída do gerador, reaproveitada
+        private long position;  // Próximo quadro a ser lido
+        private boolean running;
+        private boolean closed;
+        private int dropoutRemaining;  // Quadros restantes da falha em andamento
+        private boolean overrun;  // Indica uma falha ainda não sinalizada por available()
+
+        Capture(AudioFormat format, int bufferFrames, SignalGenerator generator, float noise, double dropoutProbability,
+                int dropoutFrames, Random random) {
+            this.format = format;
+            this.bufferFrames = bufferFrames;
+            this.generator = generator;
+            this.noise = noise;
+            this.dropoutProbability = dropoutProbability;
+            this.dropoutFrames = dropoutFrames;
+            this.random = random;
+        }
+
+        @Override
+        public void start() {
+            synchronized (SoftwareDevice.this) {
+                if (!running && !closed) {
+                    position = Math.max(position, now(format.getSampleRate()));
+                    running = true;
+                }
+            }
+        }
+
+        @Override
+        public void stop() {
+            synchronized (SoftwareDevice.this) {
+                running = false;
+                SoftwareDevice.this.notifyAll();
+            }
+        }
+
+        @Override
+        public int read(byte[] data, int offset, int length) {
+            int frameSize = format.getFrameSize();
+            int frames = length / frameSize;
+            float sampleRate = format.getSampleRate();
+            long end;
+            synchronized (SoftwareDevice.this) {
+                end = position + frames;
+                while (running && !ready(end, sampleRate)) {
+                    await(end, sampleRate);
+                }
+                if (!running) {
+                    return 0;
+                }
+                if (block.length < frames) {
+                    block = new float[frames];
+                }
+                Arrays.fill(block, 0, frames, 0f);
+                mixLoopback(frames, sampleRate);
+                position = end;
+                if (!realTime) {
+                    fastClock = Math.max(fastClock, position);
+                }
+                SoftwareDevice.this.notifyAll();
+            }
+            // O sinal, o ruído e as falhas são desta linha, sem precisar do monitor
+            if (generator != null) {
+                if (generated.length < frames) {
+                    generated = new float[frames];
+                }
+                generator.render(generated, frames);
+                for (int i = 0; i < frames; i++) {
+                    block[i] += generated[i];
+                }
+            }
+            if (noise > 0) {
+                for (int i = 0; i < frames; i++) {
+                    block[i] += (float) (random.nextGaussian() * noise);
+                }
+            }
+            applyDropouts(frames);
+            encode(block, frames, data, offset);
+            return frames * frameSize;
+        }
+
+        /**
+         * Verifica se os quadros até end já podem ser entregues. Deve ser chamado com o monitor do dispositivo.
+         */
+        private boolean ready(long end, float sampleRate) {
+            if (realTime) {
+                return now(sampleRate) >= end;
+            }
+            // Fora do tempo real, só espera a reprodução que alimenta o loopback e ainda vai escrever o trecho
+            Playback source = feeding;
+            return loopbackGain == 0 || source == null || !source.running
+                    || source.format.getSampleRate() != sampleRate || loopEnd >= end - loopbackDelay;
+        }
+
+        /**
+         * Soma ao bloco o áudio reproduzido, atrasado. Deve ser chamado com o monitor do dispositivo.
+         */
+        private void mixLoopback(int frames, float sampleRate) {
+            if (loopbackGain == 0 || feeding == null || feeding.format.getSampleRate() != sampleRate) {
+                return;
+            }
+            for (int i = 0; i < frames; i++) {
+                long source = position + i - loopbackDelay;
+                if (source >= loopStart && source < loopEnd && loopEnd - source <= LOOP_CAPACITY) {
+                    block[i] += loopbackGain * loop[(int) (source & (LOOP_CAPACITY - 1))];
+                }
+            }
+        }
+
+        private void applyDropouts(int frames) {
+            if (frames <= 0) {
+                return;  // Leitura vazia: não há onde começar uma falha
+            }
+            int start = 0;
+            if (dropoutRemaining == 0 && dropoutFrames > 0 && dropoutProbability > 0
+                    && random.nextDouble() < dropoutProbability) {
+                dropoutRemaining = dropoutFrames;
+                start = random.nextInt(frames);
+                synchronized (SoftwareDevice.this) {
+                    overrun = true;
+                    dropouts++;
+                }
+            }
+            if (dropoutRemaining > 0) {
+                int count = Math.min(dropoutRemaining, frames - start);
+                Arrays.fill(block, start, start + count, 0f);
+                dropoutRemaining -= count;
+            }
+        }
+
+        private void encode(float[] samples, int frames, byte[] data, int offset) {
+            VarHandle handle = format.isBigEndian() ? SHORT_BE : SHORT_LE;
+            int channels = format.getChannels();
+            for (int i = 0, p = offset; i < frames; i++) {
+                short value = (short) Math.round(Math.max(-1f, Math.min(1f, samples[i])) * Short.MAX_VALUE);
+                for (int channel = 0; channel < channels; channel++, p += 2) {
+                    handle.set(data, p, value);
+                }
+            }
+        }
+
+        @Override
+        public int available() {
+            synchronized (SoftwareDevice.this) {
+                if (overrun) {
+                    overrun = false;
+                    return getBufferSize();
+                }
+                long frames = realTime ? now(format.getSampleRate()) - position : 0;
+                return (int) Math.max(0, Math.min(bufferFrames, frames)) * format.getFrameSize();
+            }
+        }
+
+        @Override
+        public int getBufferSize() {
+            return bufferFrames * format.getFrameSize();
+        }
+
+        @Override
+        public AudioFormat getFormat() {
+            return format;
+        }
+
+        @Override
+        public void close() {
+            synchronized (SoftwareDevice.this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                running = false;
+                captures.remove(this);
+                SoftwareDevice.this.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Linha de reprodução que grava na fita e na linha de atraso do dispositivo.
+     */
+    private class Playback implements PlaybackLine {
+        private final AudioFormat format;
+        private final int bufferFrames;
+        private final PcmDecoder decoder;  // Decodificador das amostras escritas
+        private float[] samples = new float[0];  // Amostras decodificadas de uma escrita, reaproveitado
+        private long position;  // Próximo quadro a ser escrito
+        private boolean running;
+        private boolean closed;
+
+        Playback(AudioFormat format, int bufferFrames) {
+            this.format = format;
+            this.bufferFrames = bufferFrames;
+            this.decoder = new PcmDecoder(format);
+        }
+
+        @Override
+        public void start() {
+            synchronized (SoftwareDevice.this) {
+                if (running || closed) {
+                    return;
+                }
+                position = Math.max(position, now(format.getSampleRate()));
+                running = true;
+                if (feeding != this) {
+                    feeding = this;
+                    loopStart = position;  // O áudio de linhas anteriores não é mais ouvido
+                    loopEnd = position;
+                }
+                SoftwareDevice.this.notifyAll();
+            }
+        }
+
+        @Override
+        public void stop() {
+            synchronized (SoftwareDevice.this) {
+                running = false;
+                SoftwareDevice.this.notifyAll();
+            }
+        }
+
+        @Override
+        public void flush() {
+            // O áudio escrito é "reproduzido" imediatamente; não há o que descartar
+        }
+
+        @Override
+        public int write(byte[] data, int offset, int length) {
+            int frameSize = format.getFrameSize();
+            int frames = length / frameSize;
+            int channels = format.getChannels();
+            if (samples.length < frames * channels) {
+                samples = new float[frames * channels];
+            }
+            decoder.decode(data, offset, frames * frameSize, samples);
+            float sampleRate = format.getSampleRate();
+            synchronized (SoftwareDevice.this) {
+                long end = position + frames;
+                while (running && !writable(end, sampleRate)) {
+                    await(end - bufferFrames, sampleRate);
+                }
+                if (closed) {
+                    return 0;
+                }
+                for (int i = 0; i < frames; i++) {
+                    float sum = 0f;
+                    for (int channel = 0; channel < channels; channel++) {
+                        sum += samples[i * channels + channel];
+                    }
+                    float mono = sum / channels;
+                    if (feeding == this) {
+                        loop[(int) ((position + i) & (LOOP_CAPACITY - 1))] = mono;
+                    }
+                    appendToTape(mono, sampleRate);
+                }
+                position = end;
+                if (feeding == this) {
+                    loopEnd = end;
+                    loopStart = Math.max(loopStart, end - LOOP_CAPACITY);
+                }
+                if (!realTime) {
+                    fastClock = Math.max(fastClock, position);
+                }
+                SoftwareDevice.this.notifyAll();
+            }
+            return frames * frameSize;
+        }
+
+        /**
+         * Verifica se os quadros até end cabem no buffer. Em tempo real, a escrita pode se adiantar ao relógio no
+         * máximo o tamanho do buffer; fora dele, o tamanho da linha de atraso em relação à captura mais lenta.
+         * Deve ser chamado com o monitor do dispositivo.
+         */
+        private boolean writable(long end, float sampleRate) {
+            if (realTime) {
+                return end - now(sampleRate) <= bufferFrames;
+            }
+            long slowest = slowestCapture();
+            return slowest == Long.MAX_VALUE || end - slowest <= LOOP_CAPACITY / 2;
+        }
+
+        private void appendToTape(float mono, float sampleRate) {
+            int limit = tapeLimit >= 0 ? tapeLimit : Math.round(DEFAULT_TAPE_SECONDS * sampleRate);
+            if (tapeLength >= limit) {
+                return;
+            }
+            if (tapeLength == tape.length) {
+                tape = Arrays.copyOf(tape, Math.min(limit, Math.max(4096, tape.length * 2)));
+            }
+            tape[tapeLength++] = mono;
+        }
+
+        @Override
+        public void drain() {
+            float sampleRate = format.getSampleRate();
+            synchronized (SoftwareDevice.this) {
+                while (realTime && running && now(sampleRate) < position) {
+                    await(position, sampleRate);
+                }
+            }
+        }
+
+        @Override
+        public int getBufferSize() {
+            return bufferFrames * format.getFrameSize();
+        }
+
+        @Override
+        public AudioFormat getFormat() {
+            return format;
+        }
+
+        @Override
+        public void close() {
+            synchronized (SoftwareDevice.this) {
+                closed = true;
+                running = false;
+                SoftwareDevice.this.notifyAll();
+            }
+        }
+    }
+}
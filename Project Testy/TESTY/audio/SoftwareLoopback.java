@@ -0,0 +1,55 @@
+package audio;
+
+import java.util.Random;
+
+/**
+ * Substituto em software do caminho saída → ar → entrada, usado para verificar o {@link LoopbackAnalyzer} sem placa de
+ * som (veja verification.LoopbackVerification). Aplica um atraso, um ganho, uma distorção de segunda ordem e um ruído, todos
+ * conhecidos. Para um tom de amplitude A, a distorção d (y = x + d·x²) gera uma THD de d·A/2.
+ */
+public class SoftwareLoopback {
+    private final int delayFrames;  // Atraso injetado, em quadros
+    private final float gain;  // Ganho linear aplicado ao sinal
+    private final float noise;  // Desvio padrão do ruído gaussiano somado à saída
+    private final float distortion;  // Coeficiente do termo quadrático
+    private final Random random;  // Fonte do ruído, com semente fixa para resultados repetíveis
+
+    /**
+     * Construtor da classe SoftwareLoopback.
+     *
+     * @param delayFrames o atraso injetado, em quadros.
+     * @param gain        o ganho linear.
+     * @param noise       o desvio padrão do ruído somado (0 = sem ruído).
+     * @param distortion  o coeficiente do termo quadrático (0 = sem distorção).
+     * @param seed        a semente do ruído.
+     */
+    public SoftwareLoopback(int delayFrames, float gain, float noise, float distortion, long seed) {
+        this.delayFrames = delayFrames;
+        this.gain = gain;
+        this.noise = noise;
+        this.distortion = distortion;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Produz a "gravação" de um sinal tocado.
+     *
+     * @param played o sinal tocado, mono.
+     * @param length a quantidade de amostras a gravar.
+     * @return as amostras gravadas, com o mesmo instante zero do sinal tocado.
+     */
+    public float[] process(float[] played, int length) {
+        float[] recorded = new float[length];
+        for (int i = 0; i < length; i++) {
+            int source = i - delayFrames;
+            float x = source >= 0 && source < played.length ? played[source] : 0f;
+            float y = gain * (x + distortion * x * x);
+            recorded[i] = noise == 0 ? y : y + (float) (random.nextGaussian() * noise);
+        }
+        return recorded;
+    }
+
+    public int getDelayFrames() {
+        return delayFrames;
+    }
+}
@@ -0,0 +1,91 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Som já decodificado para PCM e mantido em memória, pronto para ser entregue a um Clip ou a uma linha de saída sem
+ * voltar ao disco. Os bytes não são alterados depois da decodificação, então a mesma instância pode ser reproduzida
+ * por várias linhas ao mesmo tempo.
+ */
+public class SoundAsset {
+    private final Path file;  // Arquivo de origem
+    private final AudioFormat format;  // Formato PCM dos bytes decodificados
+    private final byte[] data;  // Quadros de áudio PCM
+
+    /**
+     * Construtor da classe SoundAsset.
+     *
+     * @param file   o arquivo de origem.
+     * @param format o formato PCM dos dados.
+     * @param data   os quadros de áudio.
+     */
+    public SoundAsset(Path file, AudioFormat format, byte[] data) {
+        this.file = file;
+        this.format = format;
+        this.data = data;
+    }
+
+    /**
+     * Lê e decodifica um arquivo de som. Formatos que não são PCM são convertidos para PCM de 16 bits com sinal.
+     *
+     * @param file o arquivo de som.
+     * @return o som decodificado.
+     * @throws IOException                   se o arquivo não puder ser lido.
+     * @throws UnsupportedAudioFileException se o formato do arquivo não for reconhecido.
+     */
+    public static SoundAsset decode(Path file) throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(file.toFile())) {
+            AudioFormat format = source.getFormat();
+            AudioInputStream pcm = source;
+            if (!AudioFormat.Encoding.PCM_SIGNED.equals(format.getEncoding())
+                    && !AudioFormat.Encoding.PCM_UNSIGNED.equals(format.getEncoding())) {
+                AudioFormat target = new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false);
+                pcm = AudioSystem.getAudioInputStream(target, source);
+            }
+            try (AudioInputStream stream = pcm) {
+                return new SoundAsset(file, stream.getFormat(), stream.readAllBytes());
+            }
+        }
+    }
+
+    /**
+     * Abre um stream sobre os dados em memória, para quem consome AudioInputStream.
+     *
+     * @return um novo stream posicionado no início do som.
+     */
+    public AudioInputStream openStream() {
+        return new AudioInputStream(new ByteArrayInputStream(data), format, getFrameLength());
+    }
+
+    /**
+     * Obtém a quantidade de quadros de áudio.
+     *
+     * @return a duração do som em quadros.
+     */
+    public int getFrameLength() {
+        return data.length / format.getFrameSize();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Obtém os dados PCM. O array é compartilhado e não deve ser alterado.
+     *
+     * @return os quadros de áudio.
+     */
+    public byte[] getData() {
+        return data;
+    }
+}
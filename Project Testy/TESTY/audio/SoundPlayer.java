@@ -0,0 +1,154 @@
+package audio;
+
+import hardware.LatencyRecorder;
+
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.FloatControl;
+import javax.sound.sampled.LineEvent;
+import javax.sound.sampled.LineListener;
+import javax.sound.sampled.LineUnavailableException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongConsumer;
+
+/**
+ * Reprodução dos sons de teste a partir do {@link AudioAssetCache} e do {@link ClipPool}.
+ * Com o som em cache e um Clip ocioso, iniciar a reprodução não lê o disco, não decodifica e não abre linhas, então a
+ * thread de eventos do Swing não fica bloqueada. Mesmo assim, tudo o que toca nos Clips roda em uma thread própria
+ * (testy-audio-player): se o conjunto não tiver um Clip ocioso, abrir um novo não acontece na thread de quem pediu o
+ * som. A latência entre o pedido e o evento START do Clip (quando o áudio começa a ser entregue ao mixer) é registrada
+ * em um {@link LatencyRecorder}; as reproduções que falharam ficam em uma chave separada, fora dos percentis.
+ */
+public class SoundPlayer {
+    private static final SoundPlayer SHARED = new SoundPlayer(AudioAssetCache.shared(), new ClipPool());  // Usado pelas janelas de teste
+    private static final String LATENCY_KEY = "reprodução";  // Nome das medições no relatório de latência
+    private static final String FAILURE_KEY = "falha";  // Nome das reproduções que não chegaram a tocar
+
+    private final AudioAssetCache cache;  // Sons decodificados
+    private final ClipPool pool;  // Clips abertos
+    private final LatencyRecorder latencyRecorder = new LatencyRecorder("Latência até o som (ms):");  // Pedido até o START
+    private final ExecutorService player;  // Thread que abre, prepara e inicia os Clips
+
+    /**
+     * Construtor da classe SoundPlayer.
+     *
+     * @param cache o cache de sons.
+     * @param pool  o conjunto de Clips.
+     */
+    public SoundPlayer(AudioAssetCache cache, ClipPool pool) {
+        this.cache = cache;
+        this.pool = pool;
+        player = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "testy-audio-player");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Obtém o reprodutor compartilhado pela aplicação.
+     *
+     * @return o reprodutor compartilhado.
+     */
+    public static SoundPlayer shared() {
+        return SHARED;
+    }
+
+    /**
+     * Decodifica um som e abre Clips para ele em segundo plano, para que as primeiras reproduções já sejam imediatas.
+     *
+     * @param file o caminho do arquivo, relativo ao diretório de trabalho.
+     */
+    public void preload(String file) {
+        cache.get(file).thenAcceptAsync(asset -> {
+            try {
+                pool.prepare(asset, ClipPool.MAX_IDLE_PER_ASSET);
+            } catch (LineUnavailableException | IllegalArgumentException e) {
+                e.printStackTrace();  // Sem saída de áudio; a reprodução tentará abrir o Clip de novo
+            }
+        }, player).exceptionally(error -> {
+            error.printStackTrace();
+            return null;
+        });
+    }
+
+    /**
+     * Reproduz um som. Se o som ainda não estiver no cache, a reprodução começa assim que ele for decodificado.
+     *
+     * @param file       o caminho do arquivo, relativo ao diretório de trabalho.
+     * @param pan        o panorama, de -1 (esquerda) a 1 (direita); 0 para os dois lados.
+     * @param onStarted  chamado com a latência em nanossegundos quando o som começa a tocar, em uma thread de áudio;
+     *                   não é chamado se a reprodução falhar.
+     * @param onFinished chamado ao fim da reprodução ou em caso de erro, em uma thread de áudio; quem altera a
+     *                   interface deve repassar para a thread de eventos do Swing.
+     */
+    public void play(String file, float pan, LongConsumer onStarted, Runnable onFinished) {
+        long requested = System.nanoTime();
+        cache.get(file).thenAcceptAsync(asset -> start(asset, pan, requested, onStarted, onFinished), player)
+                .exceptionally(error -> {
+                    error.printStackTrace();
+                    latencyRecorder.record(FAILURE_KEY, System.nanoTime() - requested, true);
+                    onFinished.run();
+                    return null;
+                });
+    }
+
+    /**
+     * Obtém um percentil da latência entre o pedido de reprodução e o início do som, só das reproduções que tocaram.
+     *
+     * @param percentile o percentil desejado, entre 0 e 100.
+     * @return a latência em nanossegundos, ou -1 se nenhum som foi reproduzido.
+     */
+    public long getLatencyNanos(double percentile) {
+        return latencyRecorder.percentile(LATENCY_KEY, percentile);
+    }
+
+    /**
+     * Obtém o registro de latência das reproduções.
+     *
+     * @return o registro de latência.
+     */
+    public LatencyRecorder getLatencyRecorder() {
+        return latencyRecorder;
+    }
+
+    /**
+     * Inicia um Clip do conjunto e o devolve ao conjunto quando ele parar.
+     */
+    private void start(SoundAsset asset, float pan, long requested, LongConsumer onStarted, Runnable onFinished) {
+        Clip clip;
+        try {
+            clip = pool.acquire(asset);
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            throw new IllegalStateException("Não foi possível abrir a saída de áudio", e);
+        }
+        applyPan(clip, pan);
+        clip.addLineListener(new LineListener() {
+            @Override
+            public void update(LineEvent event) {
+                if (event.getType() == LineEvent.Type.START) {
+                    long nanos = System.nanoTime() - requested;
+                    latencyRecorder.record(LATENCY_KEY, nanos, false);
+                    onStarted.accept(nanos);
+                } else if (event.getType() == LineEvent.Type.STOP) {
+                    clip.removeLineListener(this);
+                    pool.release(asset, clip);
+                    onFinished.run();
+                }
+            }
+        });
+        clip.start();
+    }
+
+    /**
+     * Ajusta o panorama de um Clip. Linhas mono têm o controle PAN e linhas estéreo, em geral, o BALANCE; o valor é
+     * sempre aplicado porque o Clip pode ter sido usado antes com outro panorama.
+     */
+    private static void applyPan(Clip clip, float pan) {
+        if (clip.isControlSupported(FloatControl.Type.PAN)) {
+            ((FloatControl) clip.getControl(FloatControl.Type.PAN)).setValue(pan);
+        } else if (clip.isControlSupported(FloatControl.Type.BALANCE)) {
+            ((FloatControl) clip.getControl(FloatControl.Type.BALANCE)).setValue(pan);
+        }
+    }
+}
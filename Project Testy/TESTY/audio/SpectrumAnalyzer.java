@@ -0,0 +1,156 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * Analisador de espectro em tempo real para a linha de captura.
+ * As amostras são misturadas em mono e acumuladas em uma janela deslizante; a cada {@link #getHop()} amostras novas
+ * (sobreposição de 50%), a janela inteira passa pela janela de Hann e pela {@link Fft}, e o espectro em dBFS é gravado
+ * em um {@link AudioRingBuffer} de quadros, lido pela interface. Todos os buffers são alocados no construtor, então
+ * processar um buffer da linha não cria objetos. Uma senoide de fundo de escala aparece a 0 dBFS no seu pico.
+ * Não é seguro para uso por várias threads; a thread de captura é a produtora dos quadros.
+ */
+public class SpectrumAnalyzer {
+    public static final int DEFAULT_SIZE = 2048;  // Pontos da FFT; a 48 kHz, faixas de 23 Hz e um quadro a cada 21 ms
+    public static final int DEFAULT_QUEUE = 64;  // Quadros aguardando a interface; a 48 kHz, 1,4 s de áudio
+
+    private final PcmDecoder decoder;  // Decodificador do formato da linha
+    private final int channels;  // Canais intercalados na linha
+    private final float sampleRate;  // Taxa de amostragem da linha
+    private final Fft fft;  // Transformada do tamanho da janela
+    private final float[] window;  // Coeficientes da janela de Hann
+    private final float[] input;  // Janela deslizante de amostras mono
+    private final float[] re;  // Parte real da transformada
+    private final float[] im;  // Parte imaginária da transformada
+    private final float[] frame;  // Espectro do quadro atual, em dBFS
+    private final float gainDb;  // Converte a potência de uma faixa para dBFS (compensa o tamanho e a janela)
+    private final AudioRingBuffer frames;  // Quadros calculados, aguardando a interface
+    private float[] samples = new float[0];  // Amostras decodificadas, reaproveitado entre buffers
+    private int filled;  // Amostras válidas em input
+
+    /**
+     * Construtor da classe SpectrumAnalyzer com o tamanho e o histórico padrão.
+     *
+     * @param format o formato do áudio a ser analisado.
+     * @throws IllegalArgumentException se o formato não for PCM suportado pelo {@link PcmDecoder}.
+     */
+    public SpectrumAnalyzer(AudioFormat format) {
+        this(format, DEFAULT_SIZE, DEFAULT_QUEUE);
+    }
+
+    /**
+     * Construtor da classe SpectrumAnalyzer.
+     *
+     * @param format  o formato do áudio a ser analisado.
+     * @param size    a quantidade de pontos da FFT, potência de 2.
+     * @param queue   a quantidade de quadros que podem aguardar a interface, potência de 2.
+     * @throws IllegalArgumentException se o formato não for suportado ou o tamanho e a fila não forem potência de 2.
+     */
+    public SpectrumAnalyzer(AudioFormat format, int size, int queue) {
+        decoder = new PcmDecoder(format);
+        channels = decoder.getChannels();
+        sampleRate = format.getSampleRate();
+        fft = new Fft(size);
+        window = new float[size];
+        for (int i = 0; i < size; i++) {
+            window[i] = (float) (0.5 - 0.5 * Math.cos(2 * Math.PI * i / size));  // Hann periódica
+        }
+        input = new float[size];
+        re = new float[size];
+        im = new float[size];
+        frame = new float[size / 2 + 1];
+        // Amplitude de uma senoide = 2|X| / (N * 0,5), sendo 0,5 o ganho coerente da janela de Hann
+        gainDb = (float) (20 * Math.log10(4.0 / size));
+        frames = new AudioRingBuffer(frame.length, queue);
+    }
+
+    /**
+     * Processa um trecho de áudio lido da linha, gravando na fila os quadros que ficarem completos.
+     *
+     * @param data   o buffer com o áudio PCM.
+     * @param offset a posição do primeiro byte.
+     * @param length a quantidade de bytes válidos.
+     * @return a quantidade de quadros calculados.
+     */
+    public int process(byte[] data, int offset, int length) {
+        int needed = length / decoder.getBytesPerSample();
+        if (samples.length < needed) {
+            samples = new float[needed];
+        }
+        int count = decoder.decode(data, offset, length, samples);
+        int frames = 0;
+        float mix = 1f / channels;
+        for (int i = 0; i + channels <= count; i += channels) {
+            float sample = 0;
+            for (int c = 0; c < channels; c++) {
+                sample += samples[i + c];
+            }
+            input[filled++] = sample * mix;
+            if (filled == input.length) {
+                computeFrame();
+                frames++;
+                int hop = getHop();
+                System.arraycopy(input, hop, input, 0, input.length - hop);
+                filled = input.length - hop;
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Calcula o espectro da janela atual e o grava na fila de quadros.
+     */
+    private void computeFrame() {
+        for (int i = 0; i < input.length; i++) {
+            re[i] = input[i] * window[i];
+            im[i] = 0;
+        }
+        fft.transform(re, im);
+        float floor = (float) AudioMeter.MIN_DBFS;
+        for (int bin = 0; bin < frame.length; bin++) {
+            float power = re[bin] * re[bin] + im[bin] * im[bin];
+            frame[bin] = power > 0 ? Math.max(floor, (float) (10 * Math.log10(power)) + gainDb) : floor;
+        }
+        frames.offer(frame);
+    }
+
+    /**
+     * Obtém a frequência central de uma faixa do espectro.
+     *
+     * @param bin o índice da faixa.
+     * @return a frequência em Hz.
+     */
+    public float getBinFrequency(int bin) {
+        return bin * sampleRate / fft.getSize();
+    }
+
+    /**
+     * Obtém a quantidade de amostras novas entre dois quadros.
+     *
+     * @return metade do tamanho da FFT.
+     */
+    public int getHop() {
+        return fft.getSize() / 2;
+    }
+
+    public int getSize() {
+        return fft.getSize();
+    }
+
+    public float getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Obtém a fila de quadros, com {@link #getBins()} floats por quadro, em dBFS.
+     *
+     * @return a fila de quadros; a interface é a única consumidora.
+     */
+    public AudioRingBuffer getFrames() {
+        return frames;
+    }
+
+    public int getBins() {
+        return frame.length;
+    }
+}
@@ -0,0 +1,69 @@
+package audio;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteOrder;
+
+/**
+ * Implementação do {@link LevelKernel} com a Vector API, que processa várias amostras por instrução (8 com AVX2,
+ * 16 com AVX-512). Só é carregada por {@link LevelKernel#best()} quando o módulo jdk.incubator.vector está presente.
+ * As amostras que sobram no fim do buffer, menos que uma largura de vetor, seguem pelo laço escalar herdado.
+ */
+class VectorLevelKernel extends ScalarLevelKernel {
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> SHORTS = VectorSpecies.of(short.class,
+            VectorShape.forBitSize(SPECIES.vectorBitSize() / 2));  // Mesma quantidade de lanes de SPECIES, com 16 bits
+    private static final int BLOCK = 4096;  // Amostras somadas em float antes de passar o total para double
+
+    @Override
+    public void accumulate(float[] samples, int count, float clipHigh, float clipLow, double[] totals) {
+        double sum = 0;
+        double sumOfSquares = 0;
+        float peak = 0;
+        int clipped = 0;
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        while (i < bound) {
+            int blockEnd = Math.min(bound, i + BLOCK);
+            FloatVector sums = FloatVector.zero(SPECIES);
+            FloatVector squares = FloatVector.zero(SPECIES);
+            FloatVector peaks = FloatVector.zero(SPECIES);
+            for (; i < blockEnd; i += SPECIES.length()) {
+                FloatVector v = FloatVector.fromArray(SPECIES, samples, i);
+                sums = sums.add(v);
+                squares = v.fma(v, squares);
+                peaks = peaks.max(v.abs());
+                clipped += v.compare(VectorOperators.GE, clipHigh).or(v.compare(VectorOperators.LE, clipLow)).trueCount();
+            }
+            sum += sums.reduceLanes(VectorOperators.ADD);
+            sumOfSquares += squares.reduceLanes(VectorOperators.ADD);
+            peak = Math.max(peak, peaks.reduceLanes(VectorOperators.MAX));
+        }
+        totals[SUM] += sum;
+        totals[SUM_OF_SQUARES] += sumOfSquares;
+        totals[PEAK] = Math.max(totals[PEAK], peak);
+        totals[CLIPPED] += clipped;
+        accumulate(samples, bound, count, clipHigh, clipLow, totals);
+    }
+
+    @Override
+    public void decode16(byte[] data, int offset, int count, boolean bigEndian, boolean unsigned, float[] samples) {
+        ByteOrder order = bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        short flip = unsigned ? (short) 0x8000 : 0;
+        int bound = SHORTS.loopBound(count);
+        for (int i = 0; i < bound; i += SHORTS.length()) {
+            ShortVector raw = ShortVector.fromByteArray(SHORTS, data, offset + 2 * i, order).lanewise(VectorOperators.XOR, flip);
+            ((FloatVector) raw.convertShape(VectorOperators.S2F, SPECIES, 0)).mul(SCALE_16).intoArray(samples, i);
+        }
+        decode16(data, offset, bound, count, bigEndian, unsigned, samples);
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+}
@@ -0,0 +1,171 @@
+package audio;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Grava áudio PCM em um arquivo WAV à medida que ele é capturado, com memória constante para qualquer duração.
+ * Os quadros passam por um único buffer direto, reaproveitado, e são escritos em um {@link FileChannel} sempre que o
+ * buffer enche; o cabeçalho é escrito com tamanhos zerados na abertura e corrigido em {@link #close()}.
+ * O WAV exige amostras little-endian, sem sinal em 8 bits e com sinal nos demais tamanhos; formatos diferentes são
+ * convertidos durante a cópia para o buffer.
+ */
+public class WavRecorder implements AutoCloseable {
+    private static final int HEADER_SIZE = 44;  // Cabeçalho RIFF com os blocos fmt e data
+    private static final int BUFFER_SIZE = 64 * 1024;  // Bytes acumulados antes de cada escrita no arquivo
+    private static final long MAX_DATA_LENGTH = 0xFFFFFFFFL - (HEADER_SIZE - 8);  // Maior bloco data que cabe no campo de 32 bits do RIFF
+
+    private final Path file;  // Arquivo de destino
+    private final AudioFormat format;  // Formato das amostras recebidas
+    private final FileChannel channel;  // Canal de escrita do arquivo
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);  // Buffer reaproveitado entre as escritas
+    private final int bytesPerSample;  // Bytes de cada amostra de um canal
+    private final boolean swapBytes;  // Indica se as amostras chegam em big-endian
+    private final boolean flipSign;  // Indica se o bit de sinal deve ser invertido para o WAV
+    private long dataLength;  // Bytes de áudio gravados até agora
+    private boolean closed;  // Indica se o cabeçalho já foi corrigido e o arquivo fechado
+
+    /**
+     * Construtor da classe WavRecorder. Cria (ou sobrescreve) o arquivo e escreve o cabeçalho provisório.
+     *
+     * @param file   o arquivo de destino.
+     * @param format o formato das amostras que serão gravadas; deve ser PCM inteiro.
+     * @throws IOException se o arquivo não puder ser criado.
+     */
+    public WavRecorder(Path file, AudioFormat format) throws IOException {
+        AudioFormat.Encoding encoding = format.getEncoding();
+        if (!AudioFormat.Encoding.PCM_SIGNED.equals(encoding) && !AudioFormat.Encoding.PCM_UNSIGNED.equals(encoding)) {
+            throw new IllegalArgumentException("Formato não suportado na gravação: " + format);
+        }
+        this.file = file;
+        this.format = format;
+        bytesPerSample = (format.getSampleSizeInBits() + 7) / 8;
+        swapBytes = format.isBigEndian() && bytesPerSample > 1;
+        boolean signed = AudioFormat.Encoding.PCM_SIGNED.equals(encoding);
+        flipSign = bytesPerSample == 1 ? signed : !signed;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            putHeader(0);
+            flush();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Acrescenta amostras à gravação. Só devem ser passados quadros completos, como os lidos de uma TargetDataLine.
+     * Ao atingir o limite de 4 GB do WAV, o restante é descartado.
+     *
+     * @param data   o buffer com o áudio, no formato informado no construtor.
+     * @param offset a posição do primeiro byte.
+     * @param length a quantidade de bytes.
+     * @throws IOException se a escrita no arquivo falhar.
+     */
+    public void write(byte[] data, int offset, int length) throws IOException {
+        length = (int) Math.min(length, MAX_DATA_LENGTH - dataLength);
+        length -= length % format.getFrameSize();
+        if (!swapBytes && !flipSign) {
+            for (int done = 0; done < length; ) {
+                int count = Math.min(buffer.remaining(), length - done);
+                buffer.put(data, offset + done, count);
+                done += count;
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+            }
+        } else {
+            int signIndex = swapBytes ? 0 : bytesPerSample - 1;  // Posição, na amostra recebida, do byte mais significativo
+            for (int sample = offset; sample < offset + length; sample += bytesPerSample) {
+                if (buffer.remaining() < bytesPerSample) {
+                    flush();
+                }
+                for (int i = 0; i < bytesPerSample; i++) {
+                    int source = swapBytes ? bytesPerSample - 1 - i : i;
+                    byte value = data[sample + source];
+                    buffer.put(flipSign && source == signIndex ? (byte) (value ^ 0x80) : value);
+                }
+            }
+        }
+        dataLength += length;
+    }
+
+    /**
+     * Escreve o que restou no buffer, corrige os tamanhos do cabeçalho e fecha o arquivo.
+     *
+     * @throws IOException se a escrita no arquivo falhar.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flush();
+            putHeader(dataLength);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, buffer.position());  // Posição no arquivo igual à posição no buffer: o cabeçalho começa em 0
+            }
+            buffer.clear();
+        } finally {
+            channel.close();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getDataLength() {
+        return dataLength;
+    }
+
+    /**
+     * Obtém a duração gravada até agora.
+     *
+     * @return a duração em segundos.
+     */
+    public double getSeconds() {
+        return dataLength / (double) format.getFrameSize() / format.getFrameRate();
+    }
+
+    /**
+     * Coloca no buffer vazio o cabeçalho WAV com o tamanho de dados informado.
+     */
+    private void putHeader(long dataLength) {
+        int channels = format.getChannels();
+        int sampleRate = Math.round(format.getSampleRate());
+        int blockAlign = channels * bytesPerSample;
+        buffer.put((byte) 'R').put((byte) 'I').put((byte) 'F').put((byte) 'F');
+        buffer.putInt((int) (HEADER_SIZE - 8 + dataLength));
+        buffer.put((byte) 'W').put((byte) 'A').put((byte) 'V').put((byte) 'E');
+        buffer.put((byte) 'f').put((byte) 'm').put((byte) 't').put((byte) ' ');
+        buffer.putInt(16);
+        buffer.putShort((short) 1);  // PCM
+        buffer.putShort((short) channels);
+        buffer.putInt(sampleRate);
+        buffer.putInt(sampleRate * blockAlign);
+        buffer.putShort((short) blockAlign);
+        buffer.putShort((short) (bytesPerSample * 8));
+        buffer.put((byte) 'd').put((byte) 'a').put((byte) 't').put((byte) 'a');
+        buffer.putInt((int) dataLength);
+    }
+
+    /**
+     * Escreve no arquivo o conteúdo do buffer e o esvazia.
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,75 @@
+package benchmark;
+
+import hardware.BatchCommandExecutor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Compara a execução das consultas do SystemInfo com um processo por chamada (caminho antigo do ProcessBuilder)
+ * e através de um único shell compartilhado ({@link BatchCommandExecutor}).
+ * No Windows são usadas as consultas reais do wmic; nos demais sistemas, comandos equivalentes de leitura.
+ *
+ * Uso: java benchmark.BatchBenchmark [iterações]
+ */
+public class BatchBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        int warmup = Math.max(1, iterations / 5);
+        boolean windows = System.getProperty("os.name").toLowerCase().contains("windows");
+        String[] commands = windows
+                ? new String[]{
+                        "wmic path Win32_VideoController get Caption,DriverVersion,AdapterRAM,AdapterCompatibility,VideoModeDescription",
+                        "wmic bios get Manufacturer,SMBIOSBIOSVersion",
+                        "wmic path Win32_PnPEntity get Caption"}
+                : new String[]{"cat /proc/cpuinfo", "cat /proc/meminfo", "ls /sys/bus/usb/devices"};
+
+        System.out.println("== " + commands.length + " consultas por rodada ==");
+        long perCall = Bench.measure("um processo por consulta", warmup, iterations, () -> {
+            List<String> outputs = new ArrayList<>();
+            for (String command : commands) {
+                outputs.add(runInNewProcess(command, windows));
+            }
+            return outputs;
+        });
+
+        long batched;
+        try (BatchCommandExecutor executor = new BatchCommandExecutor()) {
+            batched = Bench.measure("shell compartilhado", warmup, iterations, () -> {
+                List<CompletableFuture<String>> futures = new ArrayList<>();
+                for (String command : commands) {
+                    futures.add(executor.submit(command));
+                }
+                List<String> outputs = new ArrayList<>();
+                for (CompletableFuture<String> future : futures) {
+                    outputs.add(future.get());
+                }
+                return outputs;
+            });
+        }
+
+        System.out.printf("Ganho (mediana): %.1fx%n", perCall / (double) Math.max(1, batched));
+    }
+
+    /**
+     * Reproduz o caminho antigo: um novo shell para cada consulta.
+     */
+    private static String runInNewProcess(String command, boolean windows) throws Exception {
+        ProcessBuilder builder = windows
+                ? new ProcessBuilder("cmd.exe", "/c", command)
+                : new ProcessBuilder("sh", "-c", command);
+        builder.redirectErrorStream(true);
+        Process process = builder.start();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream input = process.getInputStream()) {
+            input.transferTo(output);
+        }
+        process.waitFor();
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
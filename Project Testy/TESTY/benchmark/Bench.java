@@ -0,0 +1,54 @@
+package benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Utilitário simples de medição para os benchmarks do Testy.
+ * Executa um aquecimento, mede cada iteração com {@link System#nanoTime()} e imprime média, mediana, p99 e mínimo.
+ */
+public class Bench {
+    private static volatile Object sink;  // Evita que o JIT elimine o resultado das operações medidas
+
+    /**
+     * Interface para uma operação a ser medida.
+     */
+    public interface Operation {
+        Object run() throws Exception;
+    }
+
+    /**
+     * Mede uma operação e imprime as estatísticas no console.
+     *
+     * @param name       o nome exibido no relatório.
+     * @param warmup     o número de iterações de aquecimento, descartadas.
+     * @param iterations o número de iterações medidas.
+     * @param operation  a operação a ser medida.
+     * @return a mediana em nanossegundos.
+     */
+    public static long measure(String name, int warmup, int iterations, Operation operation) {
+        try {
+            for (int i = 0; i < warmup; i++) {
+                sink = operation.run();
+            }
+            long[] samples = new long[iterations];
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                sink = operation.run();
+                samples[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(samples);
+            long total = 0;
+            for (long sample : samples) {
+                total += sample;
+            }
+            long median = samples[iterations / 2];
+            long p99 = samples[Math.min(iterations - 1, (int) (iterations * 0.99))];
+            System.out.printf("%-40s média %10.1f us | mediana %10.1f us | p99 %10.1f us | mín %10.1f us%n",
+                    name, total / (iterations * 1000.0), median / 1000.0, p99 / 1000.0, samples[0] / 1000.0);
+            return median;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+}
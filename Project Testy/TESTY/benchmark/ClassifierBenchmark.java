@@ -0,0 +1,87 @@
+package benchmark;
+
+import hardware.PeripheralClassifier;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compara a classificação de nomes de dispositivos por toLowerCase + contains (uma busca por palavra-chave, como no
+ * antigo SystemInfo.isRelevantPeripheral) com o autômato do PeripheralClassifier, à medida que o conjunto de
+ * palavras-chave cresce: primeiro com as categorias de config/peripherals.conf e depois com palavras-chave sintéticas
+ * adicionais em cada categoria.
+ *
+ * Uso: java benchmark.ClassifierBenchmark [entradas]
+ */
+public class ClassifierBenchmark {
+    private static final int[] EXTRA_KEYWORDS = {0, 20, 100};  // Palavras-chave sintéticas adicionadas por categoria
+
+    public static void main(String[] args) {
+        PeripheralClassifier configured = PeripheralClassifier.load(Paths.get("config/peripherals.conf"));
+        int[] sizes = args.length > 0 ? new int[]{Integer.parseInt(args[0])} : new int[]{10000, 100000};
+
+        for (int entries : sizes) {
+            String[] names = ParseBenchmark.syntheticPnpOutput(entries).split("\n");
+            for (int extra : EXTRA_KEYWORDS) {
+                List<List<String>> keywords = keywordsWithExtra(configured, extra);
+                PeripheralClassifier classifier = new PeripheralClassifier(configured.getCategoryNames(), keywords);
+                int keywordCount = keywords.stream().mapToInt(List::size).sum();
+
+                System.out.println("== " + entries + " nomes, " + keywordCount + " palavras-chave ==");
+                long contains = Bench.measure("toLowerCase + contains", 10, 50, () -> {
+                    int[] perCategory = new int[keywords.size()];
+                    for (String name : names) {
+                        int category = classifyByContains(name, keywords);
+                        if (category != PeripheralClassifier.NO_CATEGORY) {
+                            perCategory[category]++;
+                        }
+                    }
+                    return perCategory;
+                });
+                long automaton = Bench.measure("autômato", 10, 50, () -> {
+                    int[] perCategory = new int[keywords.size()];
+                    for (String name : names) {
+                        int category = classifier.classify(name);
+                        if (category != PeripheralClassifier.NO_CATEGORY) {
+                            perCategory[category]++;
+                        }
+                    }
+                    return perCategory;
+                });
+                System.out.printf("Ganho (mediana): %.1fx%n", contains / (double) Math.max(1, automaton));
+            }
+        }
+    }
+
+    /**
+     * Classificação ingênua: procura cada palavra-chave no nome em minúsculas, na ordem das categorias.
+     */
+    private static int classifyByContains(String name, List<List<String>> keywords) {
+        String lowerCaseName = name.toLowerCase();
+        for (int category = 0; category < keywords.size(); category++) {
+            for (String keyword : keywords.get(category)) {
+                if (lowerCaseName.contains(keyword)) {
+                    return category;
+                }
+            }
+        }
+        return PeripheralClassifier.NO_CATEGORY;
+    }
+
+    /**
+     * Copia as palavras-chave configuradas e acrescenta, a cada categoria, nomes de modelo fictícios que não aparecem
+     * nos nomes sintéticos, de forma que o resultado da classificação não muda e apenas o custo é medido.
+     */
+    private static List<List<String>> keywordsWithExtra(PeripheralClassifier configured, int extra) {
+        List<List<String>> keywords = new ArrayList<>();
+        for (int category = 0; category < configured.getCategoryNames().size(); category++) {
+            List<String> categoryKeywords = new ArrayList<>(configured.getKeywords(category));
+            for (int i = 0; i < extra; i++) {
+                categoryKeywords.add("model-" + category + "-" + i);
+            }
+            keywords.add(categoryKeywords);
+        }
+        return keywords;
+    }
+}
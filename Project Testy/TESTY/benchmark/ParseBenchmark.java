@@ -0,0 +1,116 @@
+package benchmark;
+
+import hardware.GpuInfo;
+import hardware.LineParser;
+import hardware.PeripheralInfo;
+import hardware.ProbeRenderer;
+import hardware.SystemInfo;
+import hardware.WindowsHardwareProbe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compara o custo de análise da saída do wmic entre o caminho antigo (saída inteira em uma String, replaceAll,
+ * split e toLowerCase por linha) e o analisador tipado linha a linha, usando saídas sintéticas.
+ *
+ * Uso: java benchmark.ParseBenchmark [entradas PnP]
+ */
+public class ParseBenchmark {
+    private static final String[] DEVICE_NAMES = {
+            "HID Keyboard Device", "HID-compliant mouse", "USB Composite Device", "Generic USB Hub",
+            "Realtek High Definition Audio", "Speakers (USB Headset)", "Microphone (USB Headset)",
+            "Integrated Webcam", "PCI Express Root Port", "ACPI x64-based PC", "Standard SATA AHCI Controller",
+            "Intel(R) Wireless Bluetooth(R)", "USB Input Device", "Microsoft Streaming Service Proxy"};
+
+    public static void main(String[] args) {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        String pnpOutput = syntheticPnpOutput(entries);
+        String[] pnpLines = pnpOutput.split("\n");
+        String gpuOutput = syntheticGpuOutput();
+        String[] gpuLines = gpuOutput.split("\n");
+
+        System.out.println("== PnP com " + entries + " entradas ==");
+        long legacyPnp = Bench.measure("antigo (String inteira)", 20, 100, () -> legacyPeripherals(pnpOutput));
+        long streamingPnp = Bench.measure("linha a linha tipado", 20, 100, () -> {
+            List<PeripheralInfo> peripherals = feed(WindowsHardwareProbe.peripheralParser(), pnpLines);
+            return ProbeRenderer.renderPeripherals(peripherals, SystemInfo.getPeripheralClassifier().getCategoryNames());
+        });
+        System.out.printf("Ganho (mediana): %.1fx%n", legacyPnp / (double) Math.max(1, streamingPnp));
+
+        System.out.println("== GPU ==");
+        long legacyGpu = Bench.measure("antigo (replaceAll)", 1000, 10000, () -> legacyGpu(gpuOutput));
+        long streamingGpu = Bench.measure("linha a linha tipado", 1000, 10000, () -> {
+            List<GpuInfo> gpus = feed(WindowsHardwareProbe.gpuParser(), gpuLines);
+            return ProbeRenderer.renderGpus(gpus);
+        });
+        System.out.printf("Ganho (mediana): %.1fx%n", legacyGpu / (double) Math.max(1, streamingGpu));
+    }
+
+    private static <T> T feed(LineParser<T> parser, String[] lines) {
+        for (String line : lines) {
+            parser.accept(line);
+        }
+        return parser.result();
+    }
+
+    /**
+     * Reprodução do antigo SystemInfo.getPeripheralsInfo sobre uma saída já coletada.
+     */
+    private static String legacyPeripherals(String output) {
+        String[] lines = output.split("\n");
+        List<String> peripherals = new ArrayList<>();
+        for (String line : lines) {
+            if (!line.isEmpty() && legacyIsRelevant(line.trim())) {
+                peripherals.add(line.trim());
+            }
+        }
+        StringBuilder formattedOutput = new StringBuilder("Periféricos Para Teste:<br>");
+        for (String peripheral : peripherals) {
+            formattedOutput.append(" - ").append(peripheral).append("<br>");
+        }
+        return formattedOutput.toString();
+    }
+
+    private static boolean legacyIsRelevant(String line) {
+        String lowerCaseLine = line.toLowerCase();
+        return lowerCaseLine.contains("keyboard") ||
+               lowerCaseLine.contains("mouse") ||
+               lowerCaseLine.contains("headset") ||
+               lowerCaseLine.contains("speaker") ||
+               lowerCaseLine.contains("webcam") ||
+               lowerCaseLine.contains("camera") ||
+               lowerCaseLine.contains("microphone");
+    }
+
+    /**
+     * Reprodução do antigo SystemInfo.getGPUInfo sobre uma saída já coletada.
+     */
+    private static String legacyGpu(String output) {
+        return "GPU: <br>" + output.replaceAll("\\b(Caption|DriverVersion|AdapterRAM|AdapterCompatibility|VideoModeDescription)\\b", "").trim().replace("\n", "<br>");
+    }
+
+    /**
+     * Gera uma saída no formato de "wmic path Win32_PnPEntity get Caption", com as linhas em branco e os
+     * terminadores "\r" que o wmic produz.
+     */
+    static String syntheticPnpOutput(int entries) {
+        StringBuilder output = new StringBuilder("Caption                                              \r\n");
+        for (int i = 0; i < entries; i++) {
+            String name = DEVICE_NAMES[i % DEVICE_NAMES.length] + " #" + i;
+            output.append(String.format("%-53s", name)).append("\r\n");
+        }
+        output.append("\r\n");
+        return output.toString();
+    }
+
+    /**
+     * Gera uma saída no formato da consulta de placas de vídeo, com as colunas em ordem alfabética e largura fixa.
+     */
+    static String syntheticGpuOutput() {
+        return "AdapterCompatibility  AdapterRAM  Caption                        DriverVersion   VideoModeDescription                \r\n"
+                + "NVIDIA                4293918720  NVIDIA GeForce RTX 3060        31.0.15.3598    1920 x 1080 x 4294967296 colors     \r\n"
+                + "Intel Corporation     1073741824  Intel(R) UHD Graphics 630      31.0.101.2111   1920 x 1080 x 4294967296 colors     \r\n"
+                + "\r\n";
+    }
+}
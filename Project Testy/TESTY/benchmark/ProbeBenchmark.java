@@ -0,0 +1,76 @@
+package benchmark;
+
+import hardware.HardwareProbe;
+import hardware.LinuxHardwareProbe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compara a latência das sondagens de hardware com e sem criação de processos.
+ * No Linux, o caminho com fork lê os mesmos arquivos de /proc e /sys através do shell,
+ * reproduzindo o custo de um processo por consulta que o caminho do wmic tem no Windows.
+ *
+ * Uso: java benchmark.ProbeBenchmark [iterações]
+ */
+public class ProbeBenchmark {
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int warmup = Math.max(1, iterations / 5);
+        String osName = System.getProperty("os.name").toLowerCase();
+
+        if (!osName.contains("linux")) {
+            // Sem caminho sem fork para comparar: mede apenas as consultas do wmic
+            HardwareProbe probe = HardwareProbe.forCurrentOS();
+            Bench.measure("wmic GPU", 1, 5, probe::getGpus);
+            Bench.measure("wmic BIOS", 1, 5, probe::getBios);
+            Bench.measure("wmic periféricos", 1, 5, probe::getPeripherals);
+            return;
+        }
+
+        LinuxHardwareProbe probe = new LinuxHardwareProbe();
+        System.out.println("== Sem fork (NIO em /proc e /sys) ==");
+        long nioCpu = Bench.measure("processador", warmup, iterations, probe::getProcessorInfo);
+        long nioBios = Bench.measure("BIOS", warmup, iterations, probe::getBios);
+        long nioMemory = Bench.measure("memória física", warmup, iterations, probe::getSystemMemoryInfo);
+        long nioPeripherals = Bench.measure("periféricos", warmup, iterations, probe::getPeripherals);
+
+        System.out.println("== Com fork (um processo por consulta) ==");
+        long forkCpu = Bench.measure("processador", warmup, iterations, () -> fork("cat /proc/cpuinfo"));
+        long forkBios = Bench.measure("BIOS", warmup, iterations,
+                () -> fork("cat /sys/class/dmi/id/bios_vendor /sys/class/dmi/id/bios_version /sys/class/dmi/id/bios_date"));
+        long forkMemory = Bench.measure("memória física", warmup, iterations, () -> fork("cat /proc/meminfo"));
+        long forkPeripherals = Bench.measure("periféricos", warmup, iterations,
+                () -> fork("cat /sys/bus/usb/devices/*/product /sys/class/input/*/name"));
+
+        System.out.println("== Ganho (mediana com fork / mediana sem fork) ==");
+        printSpeedup("processador", forkCpu, nioCpu);
+        printSpeedup("BIOS", forkBios, nioBios);
+        printSpeedup("memória física", forkMemory, nioMemory);
+        printSpeedup("periféricos", forkPeripherals, nioPeripherals);
+    }
+
+    /**
+     * Executa um comando no shell e retorna a saída, como o caminho com fork faz.
+     *
+     * @param command o comando a ser executado.
+     * @return a saída do comando.
+     */
+    private static String fork(String command) throws IOException, InterruptedException {
+        ProcessBuilder builder = new ProcessBuilder("sh", "-c", command + " 2>/dev/null");
+        Process process = builder.start();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream input = process.getInputStream()) {
+            input.transferTo(output);
+        }
+        process.waitFor();
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void printSpeedup(String name, long forkMedian, long nioMedian) {
+        System.out.printf("%-40s %.1fx%n", name, forkMedian / (double) Math.max(1, nioMedian));
+    }
+}
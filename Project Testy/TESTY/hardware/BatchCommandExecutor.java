@@ -0,0 +1,285 @@
+package hardware;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor que envia comandos para um único processo de shell de longa duração.
+ * A saída de cada comando é delimitada por marcadores únicos e entregue, linha a linha, ao {@link LineParser} de quem o submeteu,
+ * de forma que o custo de iniciar o shell é pago uma vez por sessão, e não uma vez por consulta.
+ * Os comandos são enviados um de cada vez; cada um pode ter um prazo, e ao estourá-lo (ou ao cancelar o future)
+ * os processos filhos do shell são encerrados, liberando o shell para o próximo comando da fila.
+ * A escrita na entrada do shell é feita por uma thread própria, fora do monitor: com a entrada cheia, a escrita
+ * bloqueia até o shell consumi-la, e isso não pode impedir a thread de leitura de esvaziar a saída.
+ */
+public class BatchCommandExecutor implements AutoCloseable {
+    private static final String MARKER_PREFIX = "__TESTY_";  // Prefixo dos marcadores que delimitam cada saída
+
+    private final Process shell;  // Processo de shell compartilhado
+    private final BufferedWriter stdin;  // Entrada do shell, por onde os comandos são enviados; usada só pela thread de escrita
+    private final ExecutorService writer;  // Thread que escreve na entrada do shell, na ordem dos envios
+    private final boolean windows;  // Indica se o shell é o cmd.exe
+    private final Queue<PendingCommand<?>> queue = new ArrayDeque<>();  // Comandos aguardando o shell, em ordem
+    private PendingCommand<?> running;  // Comando enviado ao shell e ainda sem resposta
+    private long nextId;  // Identificador do próximo comando
+
+    /**
+     * Comando submetido que aguarda a sua saída.
+     */
+    private static class PendingCommand<T> {
+        final String command;
+        final LineParser<T> parser;
+        final String beginMarker;
+        final String endMarker;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+
+        PendingCommand(long id, String command, LineParser<T> parser) {
+            this.command = command;
+            this.parser = parser;
+            beginMarker = MARKER_PREFIX + "BEGIN_" + id + "__";
+            endMarker = MARKER_PREFIX + "END_" + id + "__";
+        }
+
+        void complete() {
+            try {
+                result.complete(parser.result());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Construtor da classe BatchCommandExecutor.
+     * Inicia o shell da plataforma (cmd.exe no Windows, sh nos demais) e a thread que lê a sua saída.
+     *
+     * @throws IOException se o shell não puder ser iniciado.
+     */
+    public BatchCommandExecutor() throws IOException {
+        windows = System.getProperty("os.name").toLowerCase().contains("windows");
+        ProcessBuilder builder = windows
+                ? new ProcessBuilder("cmd.exe", "/Q", "/D")
+                : new ProcessBuilder("sh");
+        builder.redirectErrorStream(true); // Erros dos comandos aparecem entre os marcadores, lidos pela mesma thread
+        shell = builder.start();
+        stdin = new BufferedWriter(new OutputStreamWriter(shell.getOutputStream(), StandardCharsets.UTF_8));
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "testy-batch-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Thread reader = new Thread(this::readOutput, "testy-batch-shell");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Envia um comando ao shell compartilhado, sem prazo máximo.
+     *
+     * @param command o comando a ser executado.
+     * @return um future que será completado com a saída do comando.
+     */
+    public CompletableFuture<String> submit(String command) {
+        return submit(command, LineParser.text());
+    }
+
+    /**
+     * Envia um comando ao shell compartilhado, sem prazo máximo.
+     *
+     * @param command o comando a ser executado.
+     * @param parser  o analisador que receberá a saída linha a linha.
+     * @param <T>     o tipo do resultado do analisador.
+     * @return um future que será completado com o resultado do analisador.
+     */
+    public <T> CompletableFuture<T> submit(String command, LineParser<T> parser) {
+        PendingCommand<T> pendingCommand;
+        synchronized (this) {
+            pendingCommand = new PendingCommand<>(nextId++, command, parser);
+            if (!shell.isAlive()) {
+                pendingCommand.result.completeExceptionally(new IOException("O shell compartilhado foi encerrado"));
+                return pendingCommand.result;
+            }
+            queue.add(pendingCommand);
+            if (running == null) {
+                dispatchNext();
+            }
+        }
+        return pendingCommand.result;
+    }
+
+    /**
+     * Envia um comando ao shell compartilhado com prazo máximo, contado a partir da submissão.
+     *
+     * @param command o comando a ser executado.
+     * @param timeout o prazo máximo para a saída do comando.
+     * @param parser  o analisador que receberá a saída linha a linha.
+     * @param <T>     o tipo do resultado do analisador.
+     * @return um future que será completado com o resultado do analisador, ou com TimeoutException.
+     */
+    public <T> CompletableFuture<T> submit(String command, Duration timeout, LineParser<T> parser) {
+        CompletableFuture<T> result = submit(command, parser);
+        result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        result.whenComplete((output, error) -> {
+            if (error != null) {
+                abandon(result);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Verifica se o shell compartilhado ainda está em execução.
+     *
+     * @return true se o shell estiver ativo, false caso contrário.
+     */
+    public boolean isAlive() {
+        return shell.isAlive();
+    }
+
+    /**
+     * Encerra o shell compartilhado. Comandos ainda pendentes falham.
+     */
+    @Override
+    public void close() {
+        try {
+            writer.execute(() -> {
+                try {
+                    stdin.write("exit");
+                    stdin.newLine();
+                    stdin.close();
+                } catch (IOException e) {
+                    // O shell já foi encerrado
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Já encerrado
+        }
+        writer.shutdown();
+        CommandRunner.killTree(shell.toHandle());
+    }
+
+    /**
+     * Interrompe um comando que estourou o prazo ou foi cancelado.
+     * Se ele estiver em execução, seus processos filhos são encerrados; se ainda estiver na fila,
+     * simplesmente nunca será enviado (ver {@link #dispatchNext()}).
+     *
+     * @param result o future do comando abandonado.
+     */
+    private void abandon(CompletableFuture<?> result) {
+        synchronized (this) {
+            if (running == null || running.result != result) {
+                return;
+            }
+        }
+        shell.children().forEach(CommandRunner::killTree);
+    }
+
+    /**
+     * Envia ao shell o próximo comando da fila que ainda não foi abandonado. A escrita fica com a thread de escrita.
+     * Deve ser chamado com o monitor do executor.
+     */
+    private void dispatchNext() {
+        PendingCommand<?> next;
+        do {
+            next = queue.poll();
+        } while (next != null && next.result.isDone());
+        running = next;
+        if (next == null) {
+            return;
+        }
+        // A entrada nula impede que comandos como o wmic consumam a entrada do shell
+        String nullInput = windows ? " < NUL" : " < /dev/null";
+        String script = "echo " + next.beginMarker + System.lineSeparator()
+                + next.command + nullInput + System.lineSeparator()
+                + "echo " + next.endMarker + System.lineSeparator();
+        try {
+            writer.execute(() -> write(script));
+        } catch (RejectedExecutionException e) {
+            failPending();  // Executor já encerrado por close()
+        }
+    }
+
+    /**
+     * Escreve um trecho na entrada do shell. Executado apenas pela thread de escrita, sem o monitor do executor.
+     */
+    private void write(String script) {
+        try {
+            stdin.write(script);
+            stdin.flush();
+        } catch (IOException e) {
+            synchronized (this) {
+                failPending();
+            }
+        }
+    }
+
+    /**
+     * Lê continuamente a saída do shell e entrega cada trecho delimitado ao comando correspondente.
+     */
+    private void readOutput() {
+        boolean capturing = false;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(shell.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                PendingCommand<?> current;
+                synchronized (this) {
+                    current = running;
+                }
+                if (current == null) {
+                    continue;  // Saída fora de um comando (ex.: banner do shell)
+                }
+                String trimmed = line.trim();
+                if (!capturing) {
+                    capturing = trimmed.equals(current.beginMarker);
+                } else if (trimmed.equals(current.endMarker)) {
+                    current.complete();  // Sem efeito se o prazo já tiver estourado
+                    capturing = false;
+                    synchronized (this) {
+                        dispatchNext();
+                    }
+                } else if (!current.result.isDone()) {
+                    try {
+                        current.parser.accept(line);
+                    } catch (RuntimeException e) {
+                        current.result.completeExceptionally(e);  // Saída inesperada: o restante é ignorado
+                    }
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            synchronized (this) {
+                failPending();
+            }
+        }
+    }
+
+    /**
+     * Faz falhar o comando em execução e todos os da fila após o encerramento do shell.
+     * Deve ser chamado com o monitor do executor.
+     */
+    private void failPending() {
+        IOException closed = new IOException("O shell compartilhado foi encerrado");
+        if (running != null) {
+            running.result.completeExceptionally(closed);
+            running = null;
+        }
+        PendingCommand<?> pendingCommand;
+        while ((pendingCommand = queue.poll()) != null) {
+            pendingCommand.result.completeExceptionally(closed);
+        }
+    }
+}
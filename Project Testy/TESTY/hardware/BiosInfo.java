@@ -0,0 +1,35 @@
+package hardware;
+
+/**
+ * Informações do BIOS.
+ */
+public class BiosInfo {
+    private final String manufacturer;  // Fabricante do BIOS
+    private final String version;  // Versão do BIOS
+    private final String releaseDate;  // Data de lançamento, ou vazio se desconhecida
+
+    /**
+     * Construtor da classe BiosInfo.
+     *
+     * @param manufacturer o fabricante do BIOS.
+     * @param version      a versão do BIOS.
+     * @param releaseDate  a data de lançamento, ou vazio se desconhecida.
+     */
+    public BiosInfo(String manufacturer, String version, String releaseDate) {
+        this.manufacturer = manufacturer;
+        this.version = version;
+        this.releaseDate = releaseDate;
+    }
+
+    public String getManufacturer() {
+        return manufacturer;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getReleaseDate() {
+        return releaseDate;
+    }
+}
@@ -0,0 +1,127 @@
+package hardware;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor de comandos avulsos com prazo máximo.
+ * A saída padrão (analisada linha a linha) e a saída de erro são lidas em paralelo, para que nenhum dos buffers do processo encha,
+ * e ao estourar o prazo (ou ao cancelar o future) o processo é encerrado junto com todos os seus descendentes.
+ */
+public class CommandRunner {
+    private static final ExecutorService drainers = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "testy-command-drain");
+        thread.setDaemon(true);
+        return thread;
+    });  // Threads que esvaziam as saídas dos processos
+
+    private CommandRunner() {
+    }
+
+    /**
+     * Executa um comando com prazo máximo e devolve a saída padrão como texto.
+     * Cancelar o future retornado encerra a árvore de processos do comando.
+     *
+     * @param timeout o prazo máximo para o comando terminar.
+     * @param command o comando e seus argumentos.
+     * @return um future com a saída padrão.
+     */
+    public static CompletableFuture<String> run(Duration timeout, String... command) {
+        return run(timeout, LineParser.text(), command);
+    }
+
+    /**
+     * Executa um comando com prazo máximo, entregando a saída padrão linha a linha a um analisador.
+     * A saída de erro é esvaziada em paralelo e descartada. Cancelar o future retornado encerra a árvore de
+     * processos do comando.
+     *
+     * @param timeout o prazo máximo para o comando terminar.
+     * @param parser  o analisador que receberá a saída padrão.
+     * @param command o comando e seus argumentos.
+     * @param <T>     o tipo do resultado do analisador.
+     * @return um future com o resultado do analisador.
+     */
+    public static <T> CompletableFuture<T> run(Duration timeout, LineParser<T> parser, String... command) {
+        Process process;
+        try {
+            process = new ProcessBuilder(command).start();
+            process.getOutputStream().close();  // O comando não recebe entrada
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<T> stdout = CompletableFuture.supplyAsync(() -> parse(process.getInputStream(), parser), drainers);
+        CompletableFuture<Void> stderr = CompletableFuture.runAsync(() -> discard(process.getErrorStream()), drainers);
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        process.onExit()
+                .thenCombine(stdout, (exited, output) -> output)
+                .thenCombine(stderr, (output, ignored) -> output)
+                .whenComplete((output, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(output);
+                    }
+                });
+
+        result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        result.whenComplete((output, error) -> {
+            if (error != null) {
+                killTree(process.toHandle());  // Prazo estourado ou cancelamento
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Encerra à força um processo e todos os seus descendentes.
+     *
+     * @param process o processo raiz.
+     */
+    static void killTree(ProcessHandle process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    /**
+     * Lê a saída de um processo linha a linha, entregando cada linha ao analisador.
+     *
+     * @param input  o fluxo a ser lido.
+     * @param parser o analisador que receberá as linhas.
+     * @return o resultado do analisador.
+     */
+    private static <T> T parse(InputStream input, LineParser<T> parser) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                parser.accept(line);
+            }
+        } catch (IOException e) {
+            // O fluxo é fechado quando o processo é encerrado à força; mantém o que já foi lido
+        }
+        return parser.result();
+    }
+
+    /**
+     * Lê um fluxo até o fim, descartando o conteúdo, para que o processo nunca bloqueie ao escrever nele.
+     *
+     * @param input o fluxo a ser esvaziado.
+     */
+    private static void discard(InputStream input) {
+        try (input) {
+            input.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            // O fluxo é fechado quando o processo é encerrado à força
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package hardware;
+
+/**
+ * Informações de uma placa de vídeo.
+ */
+public class GpuInfo {
+    private final String name;  // Nome do adaptador
+    private final String vendor;  // Fabricante
+    private final String driver;  // Versão do driver (Windows) ou módulo do kernel (Linux)
+    private final long adapterRam;  // Memória do adaptador em bytes, ou -1 se desconhecida
+    private final String videoMode;  // Modo de vídeo atual, ou vazio se desconhecido
+
+    /**
+     * Construtor da classe GpuInfo.
+     *
+     * @param name       o nome do adaptador.
+     * @param vendor     o fabricante.
+     * @param driver     a versão do driver ou o módulo do kernel.
+     * @param adapterRam a memória do adaptador em bytes, ou -1 se desconhecida.
+     * @param videoMode  o modo de vídeo atual, ou vazio se desconhecido.
+     */
+    public GpuInfo(String name, String vendor, String driver, long adapterRam, String videoMode) {
+        this.name = name;
+        this.vendor = vendor;
+        this.driver = driver;
+        this.adapterRam = adapterRam;
+        this.videoMode = videoMode;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getVendor() {
+        return vendor;
+    }
+
+    public String getDriver() {
+        return driver;
+    }
+
+    public long getAdapterRam() {
+        return adapterRam;
+    }
+
+    public String getVideoMode() {
+        return videoMode;
+    }
+}
@@ -0,0 +1,85 @@
+package hardware;
+
+import java.util.List;
+
+/**
+ * Interface para as fontes de informação de hardware dependentes do sistema operacional.
+ * Cada implementação sabe consultar o hardware da sua plataforma e devolve as placas de vídeo, o BIOS e os periféricos
+ * como registros tipados ({@link GpuInfo}, {@link BiosInfo} e {@link PeripheralInfo}); a conversão para o texto do
+ * painel fica no {@link ProbeRenderer}.
+ */
+public interface HardwareProbe {
+
+    /**
+     * Obtém informações do processador.
+     *
+     * @return uma String contendo informações do processador.
+     */
+    String getProcessorInfo();
+
+    /**
+     * Obtém as placas de vídeo instaladas.
+     *
+     * @return a lista de placas de vídeo.
+     * @throws ProbeException se a consulta falhar.
+     */
+    List<GpuInfo> getGpus();
+
+    /**
+     * Obtém informações do BIOS.
+     *
+     * @return as informações do BIOS.
+     * @throws ProbeException se a consulta falhar.
+     */
+    BiosInfo getBios();
+
+    /**
+     * Obtém os periféricos conectados relevantes para os testes, já classificados por categoria.
+     *
+     * @return a lista de periféricos relevantes.
+     * @throws ProbeException se a consulta falhar.
+     */
+    List<PeripheralInfo> getPeripherals();
+
+    /**
+     * Obtém informações sobre a memória física do sistema.
+     *
+     * @return uma String contendo a memória física total e disponível.
+     */
+    String getSystemMemoryInfo();
+
+    /**
+     * Obtém um identificador estável da máquina, usado para validar o cache de inventário.
+     *
+     * @return o identificador da máquina.
+     */
+    String getMachineId();
+
+    /**
+     * Obtém um identificador da inicialização atual do sistema.
+     *
+     * @return o identificador da inicialização, ou uma String vazia se a plataforma não o fornecer.
+     */
+    String getBootId();
+
+    /**
+     * Calcula uma impressão digital barata do conjunto de dispositivos conectados, sem enumerá-los por completo.
+     * Muda quando um dispositivo é conectado ou removido.
+     *
+     * @return a impressão digital, ou uma String vazia se não for possível calculá-la sem custo alto.
+     */
+    String getDeviceFingerprint();
+
+    /**
+     * Cria a implementação adequada para o sistema operacional atual.
+     *
+     * @return a implementação de HardwareProbe para o sistema operacional em execução.
+     */
+    static HardwareProbe forCurrentOS() {
+        String osName = System.getProperty("os.name").toLowerCase();
+        if (osName.contains("linux")) {
+            return new LinuxHardwareProbe();
+        }
+        return new WindowsHardwareProbe();
+    }
+}
@@ -0,0 +1,206 @@
+package hardware;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache em disco do inventário de hardware (GPU, BIOS e periféricos), que muda pouco entre execuções.
+ * O cache é gravado em um formato binário compacto e fica associado à identidade da máquina.
+ * Cada entrada guarda a inicialização e a impressão digital dos dispositivos em que foi sondada, e é considerada
+ * atual enquanto a inicialização for a mesma, o TTL não tiver expirado e, no caso dos periféricos,
+ * nenhum dispositivo tiver sido conectado ou removido.
+ */
+public class InventoryCache {
+    public static final String GPU = "gpu";
+    public static final String BIOS = "bios";
+    public static final String PERIPHERALS = "peripherals";
+
+    private static final int MAGIC = 0x54455354;  // "TEST"
+    private static final int VERSION = 2;  // 2: textos com o tamanho em int, sem o limite de 64 KB do writeUTF
+    private static final int MAX_STRING_BYTES = 16 << 20;  // Maior texto aceito na leitura; acima disso, o arquivo está corrompido
+    private static final long DEFAULT_TTL_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+    private final Path file;  // Arquivo onde o cache é gravado
+    private final long ttlMillis;  // Tempo máximo de validade das entradas
+    private final String machineId;  // Identidade da máquina atual
+    private final String bootId;  // Identidade da inicialização atual
+    private final String deviceFingerprint;  // Impressão digital dos dispositivos conectados agora
+    private final Map<String, Entry> entries = new HashMap<>();  // Entradas em cache por chave
+
+    /**
+     * Entrada do cache: o valor sondado e o contexto em que foi obtido.
+     */
+    private static class Entry {
+        final String value;
+        final long savedAt;
+        final String bootId;
+        final String deviceFingerprint;
+
+        Entry(String value, long savedAt, String bootId, String deviceFingerprint) {
+            this.value = value;
+            this.savedAt = savedAt;
+            this.bootId = bootId;
+            this.deviceFingerprint = deviceFingerprint;
+        }
+    }
+
+    /**
+     * Construtor da classe InventoryCache.
+     *
+     * @param file      o arquivo do cache.
+     * @param ttlMillis o tempo máximo de validade das entradas, em milissegundos.
+     * @param probe     a fonte das identidades da máquina, da inicialização e dos dispositivos.
+     */
+    public InventoryCache(Path file, long ttlMillis, HardwareProbe probe) {
+        this.file = file;
+        this.ttlMillis = ttlMillis;
+        this.machineId = probe.getMachineId();
+        this.bootId = probe.getBootId();
+        this.deviceFingerprint = probe.getDeviceFingerprint();
+    }
+
+    /**
+     * Abre o cache padrão do usuário (~/.testy/inventory.bin), com validade de 24 horas.
+     *
+     * @param probe a fonte das identidades da máquina, da inicialização e dos dispositivos.
+     * @return o cache já carregado do disco.
+     */
+    public static InventoryCache openDefault(HardwareProbe probe) {
+        Path file = Paths.get(System.getProperty("user.home"), ".testy", "inventory.bin");
+        InventoryCache cache = new InventoryCache(file, DEFAULT_TTL_MILLIS, probe);
+        cache.load();
+        return cache;
+    }
+
+    /**
+     * Carrega o cache do disco. Arquivos ausentes, corrompidos ou de outra máquina são ignorados.
+     */
+    public synchronized void load() {
+        entries.clear();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return;
+            }
+            if (!readString(in).equals(machineId)) {
+                return;  // Cache de outra máquina (ex.: perfil de usuário copiado): descartado
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = readString(in);
+                String value = readString(in);
+                long savedAt = in.readLong();
+                String entryBootId = readString(in);
+                String entryFingerprint = readString(in);
+                entries.put(key, new Entry(value, savedAt, entryBootId, entryFingerprint));
+            }
+        } catch (NoSuchFileException e) {
+            // Primeira execução: ainda não há cache
+        } catch (IOException e) {
+            e.printStackTrace();
+            entries.clear();
+        }
+    }
+
+    /**
+     * Obtém o valor em cache para uma chave, mesmo que esteja desatualizado.
+     *
+     * @param key a chave da informação (ex.: {@link #GPU}).
+     * @return o valor em cache, ou null se não houver.
+     */
+    public synchronized String get(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Verifica se o valor em cache para uma chave pode ser usado sem uma nova sondagem.
+     *
+     * @param key a chave da informação.
+     * @return true se o valor existir e ainda for válido, false caso contrário.
+     */
+    public synchronized boolean isFresh(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.bootId.equals(bootId)) {
+            return false;
+        }
+        long age = System.currentTimeMillis() - entry.savedAt;
+        if (age < 0 || age > ttlMillis) {
+            return false;
+        }
+        // Periféricos são os únicos que mudam com hot-plug; sem impressão digital não há como confirmar
+        return !PERIPHERALS.equals(key) || (!deviceFingerprint.isEmpty() && entry.deviceFingerprint.equals(deviceFingerprint));
+    }
+
+    /**
+     * Armazena um valor recém-sondado e grava o cache em disco.
+     *
+     * @param key   a chave da informação.
+     * @param value o valor sondado.
+     */
+    public synchronized void put(String key, String value) {
+        entries.put(key, new Entry(value, System.currentTimeMillis(), bootId, deviceFingerprint));
+        save();
+    }
+
+    /**
+     * Grava o cache em disco de forma atômica, através de um arquivo temporário.
+     */
+    private void save() {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeString(out, machineId);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+                    Entry entry = mapEntry.getValue();
+                    writeString(out, mapEntry.getKey());
+                    writeString(out, entry.value);
+                    out.writeLong(entry.savedAt);
+                    writeString(out, entry.bootId);
+                    writeString(out, entry.deviceFingerprint);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Grava um texto em UTF-8 precedido do seu tamanho em bytes. Ao contrário do writeUTF, não há limite de 64 KB, que
+     * a lista de periféricos em HTML pode passar.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Lê um texto gravado por {@link #writeString(DataOutputStream, String)}.
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IOException("Tamanho de texto inválido no cache: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,105 @@
+package hardware;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra a latência de cada sondagem e calcula percentis sobre as medições mais recentes.
+ * Cada sondagem guarda uma janela de tamanho fixo, de forma que a memória usada não cresce com o tempo de execução.
+ * Também é usado para outras operações medidas, como o início da reprodução de sons, com um título próprio no relatório.
+ */
+public class LatencyRecorder {
+    private static final int WINDOW = 256;  // Quantidade de medições mantidas por sondagem
+
+    private final String title;  // Primeira linha do relatório
+    private final Map<String, Window> windows = new LinkedHashMap<>();  // Janelas de medições por nome de sondagem
+
+    /**
+     * Janela circular com as últimas medições de uma sondagem.
+     */
+    private static class Window {
+        final long[] samples = new long[WINDOW];
+        long count;
+        long failures;
+    }
+
+    /**
+     * Construtor da classe LatencyRecorder, para a latência das sondagens.
+     */
+    public LatencyRecorder() {
+        this("Latência das sondagens (ms):");
+    }
+
+    /**
+     * Construtor da classe LatencyRecorder.
+     *
+     * @param title a primeira linha do relatório.
+     */
+    public LatencyRecorder(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Registra a duração de uma execução de sondagem.
+     *
+     * @param probe  o nome da sondagem.
+     * @param nanos  a duração em nanossegundos.
+     * @param failed true se a sondagem falhou ou estourou o prazo.
+     */
+    public synchronized void record(String probe, long nanos, boolean failed) {
+        Window window = windows.computeIfAbsent(probe, name -> new Window());
+        window.samples[(int) (window.count % WINDOW)] = nanos;
+        window.count++;
+        if (failed) {
+            window.failures++;
+        }
+    }
+
+    /**
+     * Calcula um percentil da latência de uma sondagem.
+     *
+     * @param probe      o nome da sondagem.
+     * @param percentile o percentil desejado, entre 0 e 100.
+     * @return a latência no percentil, em nanossegundos, ou -1 se não houver medições.
+     */
+    public synchronized long percentile(String probe, double percentile) {
+        Window window = windows.get(probe);
+        if (window == null || window.count == 0) {
+            return -1;
+        }
+        long[] sorted = sortedSamples(window);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Monta um relatório com p50, p90, p99 e máximo de cada sondagem.
+     *
+     * @return o relatório em texto, uma linha por sondagem.
+     */
+    public synchronized String report() {
+        StringBuilder report = new StringBuilder(title).append('\n');
+        for (Map.Entry<String, Window> entry : windows.entrySet()) {
+            Window window = entry.getValue();
+            long[] sorted = sortedSamples(window);
+            report.append(String.format("  %-14s n=%d falhas=%d p50=%d p90=%d p99=%d máx=%d%n",
+                    entry.getKey(), window.count, window.failures,
+                    toMillis(sorted, 50), toMillis(sorted, 90), toMillis(sorted, 99),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length - 1])));
+        }
+        return report.toString();
+    }
+
+    private static long[] sortedSamples(Window window) {
+        long[] sorted = Arrays.copyOf(window.samples, (int) Math.min(window.count, WINDOW));
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static long toMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]);
+    }
+}
@@ -0,0 +1,45 @@
+package hardware;
+
+/**
+ * Interface para analisadores que consomem a saída de um comando linha a linha,
+ * à medida que ela é lida, sem acumular a saída inteira em memória.
+ *
+ * @param <T> o tipo do resultado produzido ao fim da saída.
+ */
+public interface LineParser<T> {
+
+    /**
+     * Processa uma linha da saída, sem o terminador de linha.
+     *
+     * @param line a linha lida.
+     */
+    void accept(String line);
+
+    /**
+     * Obtém o resultado após a última linha da saída.
+     *
+     * @return o resultado da análise.
+     */
+    T result();
+
+    /**
+     * Cria um analisador que apenas devolve a saída como texto, uma linha por vez separada por "\n".
+     *
+     * @return um analisador que acumula o texto da saída.
+     */
+    static LineParser<String> text() {
+        return new LineParser<String>() {
+            private final StringBuilder output = new StringBuilder();
+
+            @Override
+            public void accept(String line) {
+                output.append(line).append("\n");
+            }
+
+            @Override
+            public String result() {
+                return output.toString();
+            }
+        };
+    }
+}
@@ -0,0 +1,280 @@
+package hardware;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementação de {@link HardwareProbe} para Linux.
+ * Lê as informações diretamente de /proc e /sys com NIO, sem iniciar nenhum processo.
+ */
+public class LinuxHardwareProbe implements HardwareProbe {
+    private static final Path CPU_INFO = Paths.get("/proc/cpuinfo");
+    private static final Path MEM_INFO = Paths.get("/proc/meminfo");
+    private static final Path DMI_DIR = Paths.get("/sys/class/dmi/id");
+    private static final Path DRM_DIR = Paths.get("/sys/class/drm");
+    private static final Path USB_DEVICES_DIR = Paths.get("/sys/bus/usb/devices");
+    private static final Path INPUT_DIR = Paths.get("/sys/class/input");
+    private static final Path MACHINE_ID = Paths.get("/etc/machine-id");
+    private static final Path BOOT_ID = Paths.get("/proc/sys/kernel/random/boot_id");
+
+    @Override
+    public String getProcessorInfo() {
+        String processorArch = System.getProperty("sun.arch.data.model");
+        String modelName = null;
+        int cores = 0;
+        try (BufferedReader reader = Files.newBufferedReader(CPU_INFO, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("processor")) {
+                    cores++;
+                } else if (modelName == null && line.startsWith("model name")) {
+                    modelName = valueAfterColon(line);
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        StringBuilder info = new StringBuilder("Arquitetura do Processador: ").append(processorArch).append(" bits");
+        if (modelName != null) {
+            info.append("<br>Modelo: ").append(modelName);
+        }
+        if (cores > 0) {
+            info.append("<br>Núcleos Lógicos: ").append(cores);
+        }
+        return info.toString();
+    }
+
+    @Override
+    public List<GpuInfo> getGpus() {
+        List<GpuInfo> gpus = new ArrayList<>();
+        if (!Files.isDirectory(DRM_DIR)) {
+            return gpus;
+        }
+        try (DirectoryStream<Path> cards = Files.newDirectoryStream(DRM_DIR, "card[0-9]*")) {
+            for (Path card : cards) {
+                // Ignora os conectores (card0-HDMI-A-1 etc.), que apontam para o mesmo dispositivo
+                if (card.getFileName().toString().contains("-")) {
+                    continue;
+                }
+                String driver = "";
+                String pciId = null;
+                for (String line : readLines(card.resolve("device/uevent"))) {
+                    if (line.startsWith("DRIVER=")) {
+                        driver = line.substring("DRIVER=".length());
+                    } else if (line.startsWith("PCI_ID=")) {
+                        pciId = line.substring("PCI_ID=".length());
+                    }
+                }
+                if (pciId != null) {
+                    String vendor = vendorName(pciId);
+                    gpus.add(new GpuInfo(vendor + " [" + pciId + "]", vendor, driver, -1, ""));
+                }
+            }
+        } catch (IOException e) {
+            throw new ProbeException("Erro ao listar " + DRM_DIR, e);
+        }
+        return gpus;
+    }
+
+    @Override
+    public BiosInfo getBios() {
+        String vendor = readFirstLine(DMI_DIR.resolve("bios_vendor"));
+        String version = readFirstLine(DMI_DIR.resolve("bios_version"));
+        String date = readFirstLine(DMI_DIR.resolve("bios_date"));
+        return new BiosInfo(vendor, version, date);
+    }
+
+    @Override
+    public List<PeripheralInfo> getPeripherals() {
+        // Um mesmo dispositivo costuma aparecer no USB e no subsistema de entrada, por isso o Set
+        Set<String> names = new LinkedHashSet<>();
+        collectDeviceNames(USB_DEVICES_DIR, "product", names);
+        collectDeviceNames(INPUT_DIR, "name", names);
+
+        List<PeripheralInfo> peripherals = new ArrayList<>();
+        for (String name : names) {
+            PeripheralInfo peripheral = SystemInfo.classifyPeripheral(name);
+            if (peripheral != null) {
+                peripherals.add(peripheral);
+            }
+        }
+        return peripherals;
+    }
+
+    @Override
+    public String getSystemMemoryInfo() {
+        long totalKB = -1;
+        long availableKB = -1;
+        try (BufferedReader reader = Files.newBufferedReader(MEM_INFO, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null && (totalKB < 0 || availableKB < 0)) {
+                if (line.startsWith("MemTotal:")) {
+                    totalKB = parseKilobytes(line);
+                } else if (line.startsWith("MemAvailable:")) {
+                    availableKB = parseKilobytes(line);
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        if (totalKB < 0 || availableKB < 0) {
+            return "Memória Física: indisponível";
+        }
+        return ProbeRenderer.renderSystemMemory(totalKB, availableKB);
+    }
+
+    @Override
+    public String getMachineId() {
+        String machineId = readFirstLine(MACHINE_ID);
+        return machineId.isEmpty() ? readFirstLine(DMI_DIR.resolve("product_uuid")) : machineId;
+    }
+
+    @Override
+    public String getBootId() {
+        return readFirstLine(BOOT_ID);
+    }
+
+    @Override
+    public String getDeviceFingerprint() {
+        // Apenas lista os nomes das entradas: conectar ou remover um dispositivo cria ou apaga uma entrada
+        List<String> entries = new ArrayList<>();
+        collectEntryNames(USB_DEVICES_DIR, entries);
+        collectEntryNames(INPUT_DIR, entries);
+        Collections.sort(entries);
+        return Integer.toHexString(entries.hashCode()) + "-" + entries.size();
+    }
+
+    /**
+     * Adiciona os nomes das entradas de um diretório do sysfs a uma lista.
+     *
+     * @param dir     o diretório a ser listado.
+     * @param entries a lista onde os nomes serão adicionados.
+     */
+    private static void collectEntryNames(Path dir, List<String> entries) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path entry : stream) {
+                entries.add(entry.getFileName().toString());
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Lê um atributo de cada dispositivo de um diretório do sysfs.
+     *
+     * @param devicesDir o diretório com um subdiretório por dispositivo.
+     * @param attribute  o caminho relativo do atributo a ser lido.
+     * @param names      o conjunto onde os nomes encontrados serão adicionados.
+     */
+    private static void collectDeviceNames(Path devicesDir, String attribute, Set<String> names) {
+        if (!Files.isDirectory(devicesDir)) {
+            return;  // Subsistema ausente (ex.: contêineres sem /sys completo)
+        }
+        try (DirectoryStream<Path> devices = Files.newDirectoryStream(devicesDir)) {
+            for (Path device : devices) {
+                String name = readFirstLine(device.resolve(attribute));
+                if (!name.isEmpty()) {
+                    names.add(name);
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Lê a primeira linha de um arquivo, retornando uma String vazia se ele não existir ou não puder ser lido.
+     *
+     * @param file o arquivo a ser lido.
+     * @return a primeira linha sem espaços nas extremidades.
+     */
+    static String readFirstLine(Path file) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            return line == null ? "" : line.trim();
+        } catch (IOException e) {
+            return "";  // Atributos ausentes ou protegidos são comuns no sysfs
+        }
+    }
+
+    /**
+     * Lê todas as linhas de um arquivo pequeno, retornando uma lista vazia se ele não puder ser lido.
+     *
+     * @param file o arquivo a ser lido.
+     * @return as linhas do arquivo.
+     */
+    private static List<String> readLines(Path file) {
+        try {
+            return Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Extrai o valor de uma linha no formato "chave : valor".
+     *
+     * @param line a linha a ser processada.
+     * @return o valor após os dois pontos.
+     */
+    private static String valueAfterColon(String line) {
+        int colon = line.indexOf(':');
+        return colon < 0 ? "" : line.substring(colon + 1).trim();
+    }
+
+    /**
+     * Converte uma linha do /proc/meminfo (ex.: "MemTotal: 16314480 kB") em kilobytes.
+     *
+     * @param line a linha a ser processada.
+     * @return o valor em kilobytes, ou -1 se a linha estiver mal formatada.
+     */
+    private static long parseKilobytes(String line) {
+        String value = valueAfterColon(line);
+        int space = value.indexOf(' ');
+        try {
+            return Long.parseLong(space < 0 ? value : value.substring(0, space));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Traduz o identificador PCI de fabricante para um nome legível.
+     *
+     * @param pciId o identificador no formato "VVVV:DDDD".
+     * @return o nome do fabricante, ou "Fabricante desconhecido".
+     */
+    private static String vendorName(String pciId) {
+        String vendorId = pciId.length() >= 4 ? pciId.substring(0, 4).toUpperCase() : pciId;
+        switch (vendorId) {
+            case "10DE":
+                return "NVIDIA";
+            case "1002":
+                return "AMD";
+            case "8086":
+                return "Intel";
+            case "1AF4":
+                return "Virtio";
+            case "15AD":
+                return "VMware";
+            default:
+                return "Fabricante desconhecido";
+        }
+    }
+}
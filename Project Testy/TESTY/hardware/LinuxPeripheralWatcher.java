@@ -0,0 +1,219 @@
+package hardware;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Observador de periféricos do Linux, baseado em {@link WatchService} (inotify).
+ * O sysfs não gera eventos de inotify, então são observados os nós de dispositivo que o kernel cria e remove no
+ * devtmpfs: /dev/input (teclados, mouses, etc.) e /dev/bus/usb/NNN (um nó por dispositivo USB). Para cada nó criado,
+ * apenas o dispositivo correspondente é lido no sysfs, por /sys/dev/char/major:minor; nada é reenumerado.
+ * Um dispositivo de entrada costuma ter vários nós (ex.: event5 e mouse2), por isso cada dispositivo só é considerado
+ * desconectado quando o seu último nó é removido.
+ */
+public class LinuxPeripheralWatcher extends PeripheralWatcher {
+    private static final long BURST_MILLIS = 100;  // Espera por mais eventos do mesmo hot-plug antes de notificar
+
+    private final Path inputDir;  // Nós dos dispositivos de entrada
+    private final Path usbDir;  // Um subdiretório por barramento USB, com um nó por dispositivo
+    private final Path sysDevChar;  // Ligações do sysfs para cada dispositivo de caractere, por major:minor
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<>();  // Diretório observado por cada chave
+    private final Map<Path, String> deviceOfNode = new HashMap<>();  // Dispositivo no sysfs de cada nó conhecido
+    private final Map<String, Integer> nodeCounts = new HashMap<>();  // Quantos nós cada dispositivo ainda tem
+    private volatile WatchService watchService;  // Fechado por close() para acordar a thread do observador
+
+    /**
+     * Construtor da classe LinuxPeripheralWatcher, observando os diretórios do sistema.
+     *
+     * @param listener quem receberá as diferenças.
+     */
+    public LinuxPeripheralWatcher(PeripheralListener listener) {
+        this(listener, Paths.get("/dev/input"), Paths.get("/dev/bus/usb"), Paths.get("/sys/dev/char"));
+    }
+
+    LinuxPeripheralWatcher(PeripheralListener listener, Path inputDir, Path usbDir, Path sysDevChar) {
+        super(listener);
+        this.inputDir = inputDir;
+        this.usbDir = usbDir;
+        this.sysDevChar = sysDevChar;
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        WatchService service = watchService;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @Override
+    protected void watch() throws IOException, InterruptedException {
+        try (WatchService service = FileSystems.getDefault().newWatchService()) {
+            watchService = service;
+            register(inputDir);
+            register(usbDir);
+            long start = System.nanoTime();
+            scan();
+            flush();
+            getLatencyRecorder().record("varredura", System.nanoTime() - start, false);
+            while (isRunning()) {
+                WatchKey key = service.take();
+                start = System.nanoTime();
+                do {
+                    handle(key);
+                } while ((key = service.poll(BURST_MILLIS, TimeUnit.MILLISECONDS)) != null);
+                flush();
+                getLatencyRecorder().record("rajada", System.nanoTime() - start, false);  // Inclui a espera de BURST_MILLIS
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Encerrado por close()
+        }
+    }
+
+    /**
+     * Processa os eventos de um diretório observado.
+     *
+     * @param key a chave do diretório com eventos pendentes.
+     * @throws IOException se um novo barramento USB não puder ser observado.
+     */
+    private void handle(WatchKey key) throws IOException {
+        Path dir = watchedDirs.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                scan();  // Eventos perdidos: reconcilia com o conteúdo atual dos diretórios
+                continue;
+            }
+            Path node = dir.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                nodeRemoved(node);
+            } else if (dir.equals(usbDir)) {
+                register(node);  // Novo barramento USB
+                for (Path busNode : listEntries(node)) {
+                    nodeAdded(busNode);
+                }
+            } else {
+                nodeAdded(node);
+            }
+        }
+        if (!key.reset()) {
+            watchedDirs.remove(key);  // Diretório removido, como um barramento USB que deixou de existir
+        }
+    }
+
+    /**
+     * Reconcilia os nós conhecidos com o conteúdo atual dos diretórios. Usado ao iniciar e quando eventos são perdidos.
+     *
+     * @throws IOException se um barramento USB não puder ser observado.
+     */
+    private void scan() throws IOException {
+        Set<Path> present = new HashSet<>(listEntries(inputDir));
+        for (Path bus : listEntries(usbDir)) {
+            register(bus);
+            present.addAll(listEntries(bus));
+        }
+        for (Path node : new ArrayList<>(deviceOfNode.keySet())) {
+            if (!present.contains(node)) {
+                nodeRemoved(node);
+            }
+        }
+        for (Path node : present) {
+            if (!deviceOfNode.containsKey(node)) {
+                nodeAdded(node);
+            }
+        }
+    }
+
+    private void nodeAdded(Path node) {
+        String device = deviceOf(node);
+        if (device == null) {
+            return;
+        }
+        deviceOfNode.put(node, device);
+        if (nodeCounts.merge(device, 1, Integer::sum) == 1) {
+            // Dispositivos de entrada expõem "name"; dispositivos USB, "product"
+            String attribute = node.startsWith(inputDir) ? "name" : "product";
+            String name = LinuxHardwareProbe.readFirstLine(Paths.get(device, attribute));
+            if (!name.isEmpty()) {
+                deviceAdded(device, SystemInfo.classifyPeripheral(name));
+            }
+        }
+    }
+
+    private void nodeRemoved(Path node) {
+        String device = deviceOfNode.remove(node);
+        if (device == null) {
+            return;
+        }
+        if (nodeCounts.merge(device, -1, (count, delta) -> count + delta == 0 ? null : count + delta) == null) {
+            deviceRemoved(device);
+        }
+    }
+
+    /**
+     * Encontra o diretório do dispositivo no sysfs a partir do número de dispositivo do nó.
+     *
+     * @param node o nó em /dev.
+     * @return o diretório do dispositivo, ou null se o nó não for um dispositivo de caractere (ex.: /dev/input/by-id).
+     */
+    private String deviceOf(Path node) {
+        try {
+            long rdev = (Long) Files.getAttribute(node, "unix:rdev", LinkOption.NOFOLLOW_LINKS);
+            if (rdev == 0) {
+                return null;
+            }
+            // Codificação de dev_t da glibc
+            long major = ((rdev >>> 8) & 0xfff) | ((rdev >>> 32) & ~0xfffL);
+            long minor = (rdev & 0xff) | ((rdev >>> 12) & ~0xffL);
+            Path device = sysDevChar.resolve(major + ":" + minor).toRealPath();
+            // Os nós de entrada (event5, mouse2) ficam dentro do dispositivo de entrada (input5), que tem o nome
+            return (node.startsWith(inputDir) ? device.getParent() : device).toString();
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+            return null;  // Nó já removido ou sem entrada no sysfs
+        }
+    }
+
+    private void register(Path dir) throws IOException {
+        if (!Files.isDirectory(dir, LinkOption.NOFOLLOW_LINKS) || watchedDirs.containsValue(dir)) {
+            return;
+        }
+        WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+        watchedDirs.put(key, dir);
+    }
+
+    private static List<Path> listEntries(Path dir) {
+        List<Path> entries = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return entries;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path entry : stream) {
+                entries.add(entry);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return entries;
+    }
+}
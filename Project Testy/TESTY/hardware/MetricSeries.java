@@ -0,0 +1,107 @@
+package hardware;
+
+/**
+ * Histórico de uma métrica em um buffer circular de doubles, alocado uma única vez.
+ * Gravar uma amostra não cria objetos; quando o buffer enche, a amostra mais antiga é sobrescrita.
+ * A thread do amostrador grava e a thread de eventos do Swing lê, por isso os acessos são sincronizados.
+ */
+public class MetricSeries {
+    private final String name;  // Nome exibido no painel
+    private final String unit;  // Unidade dos valores
+    private final double[] values;  // Buffer circular das amostras
+    private int next;  // Posição da próxima amostra
+    private int count;  // Quantidade de amostras válidas, até o tamanho do buffer
+
+    /**
+     * Construtor da classe MetricSeries.
+     *
+     * @param name     o nome da métrica.
+     * @param unit     a unidade dos valores.
+     * @param capacity a quantidade de amostras mantidas.
+     */
+    public MetricSeries(String name, String unit, int capacity) {
+        this.name = name;
+        this.unit = unit;
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Grava uma amostra, sobrescrevendo a mais antiga se o buffer estiver cheio.
+     *
+     * @param value o valor da amostra.
+     */
+    public synchronized void add(double value) {
+        values[next] = value;
+        next = (next + 1) % values.length;
+        if (count < values.length) {
+            count++;
+        }
+    }
+
+    /**
+     * Copia as amostras, da mais antiga para a mais recente, para um array do chamador.
+     *
+     * @param target o array de destino, com pelo menos {@link #getCapacity()} posições.
+     * @return a quantidade de amostras copiadas.
+     */
+    public synchronized int copyTo(double[] target) {
+        int first = (next - count + values.length) % values.length;
+        int head = Math.min(count, values.length - first);
+        System.arraycopy(values, first, target, 0, head);
+        System.arraycopy(values, 0, target, head, count - head);
+        return count;
+    }
+
+    /**
+     * Obtém a amostra mais recente.
+     *
+     * @return o valor mais recente, ou NaN se ainda não houver amostras.
+     */
+    public synchronized double latest() {
+        return count == 0 ? Double.NaN : values[(next - 1 + values.length) % values.length];
+    }
+
+    /**
+     * Calcula a média das amostras mantidas.
+     *
+     * @return a média, ou NaN se ainda não houver amostras.
+     */
+    public synchronized double average() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += values[i];  // Com o buffer incompleto, as amostras válidas estão no início
+        }
+        return sum / count;
+    }
+
+    /**
+     * Obtém o maior valor entre as amostras mantidas.
+     *
+     * @return o maior valor, ou NaN se ainda não houver amostras.
+     */
+    public synchronized double max() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double max = values[0];
+        for (int i = 1; i < count; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public int getCapacity() {
+        return values.length;
+    }
+}
@@ -0,0 +1,317 @@
+package hardware;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Amostrador periódico de métricas do processo e do sistema: heap da JVM, pausas de GC, uso de CPU do processo e
+ * memória do sistema. Cada métrica é gravada em um {@link MetricSeries} pré-alocado, e a amostragem em si não cria
+ * objetos, de forma que observar a aplicação não provoca as pausas de GC que ela mesma mede.
+ * O custo de cada amostra (tempo e bytes alocados) também é registrado, para que a sobrecarga possa ser acompanhada.
+ *
+ * O intervalo e a retenção podem ser configurados pelas propriedades testy.metrics.interval.ms e
+ * testy.metrics.retention.s; intervalos abaixo de 10 ms, inclusive zero e negativos, são elevados a 10 ms.
+ */
+public class MetricsSampler implements AutoCloseable {
+    private static final Duration DEFAULT_INTERVAL = Duration.ofMillis(Long.getLong("testy.metrics.interval.ms", 1000));
+    private static final Duration DEFAULT_RETENTION = Duration.ofSeconds(Long.getLong("testy.metrics.retention.s", 120));
+    private static final Duration MIN_INTERVAL = Duration.ofMillis(10);  // Menor intervalo aceito entre amostras
+    private static final long MB = 1024 * 1024;
+    private static final byte[] MEM_TOTAL = "MemTotal:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MEM_AVAILABLE = "MemAvailable:".getBytes(StandardCharsets.US_ASCII);
+
+    private final Duration interval;  // Intervalo entre amostras
+    private final MetricSeries heapUsed;  // Heap da JVM em uso (MB)
+    private final MetricSeries gcPause;  // Tempo em pausas de GC durante o intervalo (ms)
+    private final MetricSeries processCpu;  // Uso de CPU do processo, em relação a todos os processadores (%)
+    private final MetricSeries systemMemoryUsed;  // Memória física do sistema em uso (MB)
+    private final MetricSeries sampleCost;  // Duração de cada amostragem (µs)
+    private final MetricSeries sampleAllocation;  // Bytes alocados por cada amostragem
+
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+    private final GarbageCollectorMXBean[] gcBeans;
+    private final com.sun.management.OperatingSystemMXBean osBean;  // null se a JVM não expuser as métricas estendidas
+    private final com.sun.management.ThreadMXBean threadBean;  // null se a JVM não medir alocação por thread
+    private final int processors = Runtime.getRuntime().availableProcessors();
+    private final byte[] meminfoBuffer = new byte[8192];  // Conteúdo de /proc/meminfo, reaproveitado entre amostras; também o monitor de meminfo
+    private RandomAccessFile meminfo;  // /proc/meminfo mantido aberto e relido a cada amostra, ou null fora do Linux e após close()
+
+    private long lastSampleNanos;  // Instante da amostra anterior
+    private long lastGcMillis;  // Tempo acumulado de GC na amostra anterior
+    private long lastCpuNanos;  // Tempo de CPU acumulado do processo na amostra anterior
+    private ScheduledExecutorService scheduler;  // Thread da amostragem periódica, criada por start()
+
+    /**
+     * Construtor da classe MetricsSampler, com o intervalo e a retenção configurados nas propriedades do sistema.
+     */
+    public MetricsSampler() {
+        this(DEFAULT_INTERVAL, DEFAULT_RETENTION);
+    }
+
+    /**
+     * Construtor da classe MetricsSampler.
+     * Todos os buffers são alocados aqui, com capacidade para retention / interval amostras.
+     *
+     * @param interval  o intervalo entre amostras, no mínimo 10 ms.
+     * @param retention o período de histórico mantido.
+     */
+    public MetricsSampler(Duration interval, Duration retention) {
+        this.interval = interval.compareTo(MIN_INTERVAL) < 0 ? MIN_INTERVAL : interval;
+        int capacity = (int) Math.max(2, retention.toMillis() / this.interval.toMillis());
+        heapUsed = new MetricSeries("Heap", "MB", capacity);
+        gcPause = new MetricSeries("Pausas de GC", "ms", capacity);
+        processCpu = new MetricSeries("CPU do Processo", "%", capacity);
+        systemMemoryUsed = new MetricSeries("Memória do Sistema", "MB", capacity);
+        sampleCost = new MetricSeries("Custo da Amostragem", "µs", capacity);
+        sampleAllocation = new MetricSeries("Alocação da Amostragem", "bytes", capacity);
+
+        gcBeans = ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        osBean = os instanceof com.sun.management.OperatingSystemMXBean ? (com.sun.management.OperatingSystemMXBean) os : null;
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threadBean = threads instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) threads : null;
+        meminfo = openMeminfo();
+
+        lastSampleNanos = System.nanoTime();
+        lastGcMillis = totalGcMillis();
+        lastCpuNanos = osBean == null ? 0 : osBean.getProcessCpuTime();
+    }
+
+    /**
+     * Inicia a amostragem periódica em uma thread daemon.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "testy-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::sample, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Interrompe a amostragem periódica. O histórico já gravado continua disponível.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Interrompe a amostragem e fecha /proc/meminfo. Depois disso, a memória do sistema, se amostrada diretamente, vem
+     * do OperatingSystemMXBean.
+     */
+    @Override
+    public void close() {
+        stop();
+        synchronized (meminfoBuffer) {
+            if (meminfo != null) {
+                try {
+                    meminfo.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+                meminfo = null;
+            }
+        }
+    }
+
+    /**
+     * Coleta uma amostra de todas as métricas. Chamado periodicamente por {@link #start()}, mas pode ser chamado
+     * diretamente (ex.: para medir o custo da amostragem).
+     */
+    public void sample() {
+        long start = System.nanoTime();
+        long allocatedBefore = allocatedBytes();
+
+        // Runtime em vez de memoryBean.getHeapMemoryUsage(), que cria um MemoryUsage a cada chamada
+        Runtime runtime = Runtime.getRuntime();
+        heapUsed.add((runtime.totalMemory() - runtime.freeMemory()) / (double) MB);
+
+        long gcMillis = totalGcMillis();
+        gcPause.add(gcMillis - lastGcMillis);
+        lastGcMillis = gcMillis;
+
+        long elapsedNanos = start - lastSampleNanos;
+        lastSampleNanos = start;
+        if (osBean != null) {
+            long cpuNanos = osBean.getProcessCpuTime();
+            processCpu.add(elapsedNanos <= 0 ? 0 : 100.0 * (cpuNanos - lastCpuNanos) / ((double) elapsedNanos * processors));
+            lastCpuNanos = cpuNanos;
+        }
+
+        long systemMemoryMB = usedSystemMemoryMB();
+        if (systemMemoryMB >= 0) {
+            systemMemoryUsed.add(systemMemoryMB);
+        }
+
+        sampleAllocation.add(allocatedBytes() - allocatedBefore);
+        sampleCost.add((System.nanoTime() - start) / 1000.0);
+    }
+
+    /**
+     * Monta um resumo do custo da amostragem: tempo médio e máximo por amostra e bytes alocados por amostra.
+     *
+     * @return o resumo em texto.
+     */
+    public String overheadReport() {
+        if (Double.isNaN(sampleCost.latest())) {
+            return "Amostragem: aguardando a primeira amostra";
+        }
+        double intervalMicros = interval.toNanos() / 1000.0;
+        return String.format("Amostragem: média %.1f µs, máx %.1f µs (%.3f%% do intervalo), %.0f bytes/amostra",
+                sampleCost.average(), sampleCost.max(), 100.0 * sampleCost.average() / intervalMicros,
+                sampleAllocation.average());
+    }
+
+    public MetricSeries getHeapUsed() {
+        return heapUsed;
+    }
+
+    public MetricSeries getGcPause() {
+        return gcPause;
+    }
+
+    public MetricSeries getProcessCpu() {
+        return processCpu;
+    }
+
+    public MetricSeries getSystemMemoryUsed() {
+        return systemMemoryUsed;
+    }
+
+    public MetricSeries getSampleCost() {
+        return sampleCost;
+    }
+
+    public MetricSeries getSampleAllocation() {
+        return sampleAllocation;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * Obtém o heap máximo da JVM, usado como escala do gráfico de heap.
+     *
+     * @return o heap máximo em MB, ou -1 se não houver limite definido.
+     */
+    public long getHeapMaxMB() {
+        long max = memoryBean.getHeapMemoryUsage().getMax();
+        return max < 0 ? -1 : max / MB;
+    }
+
+    private long totalGcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gcBean : gcBeans) {
+            long millis = gcBean.getCollectionTime();
+            if (millis > 0) {
+                total += millis;  // -1 indica coletor sem essa medição
+            }
+        }
+        return total;
+    }
+
+    private long allocatedBytes() {
+        return threadBean == null ? 0 : threadBean.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Obtém a memória física do sistema em uso.
+     * No Linux, relê /proc/meminfo no buffer pré-alocado: o OperatingSystemMXBean, dentro de contêineres,
+     * lê os arquivos do cgroup a cada chamada e aloca dezenas de KB por amostra.
+     *
+     * @return a memória em uso em MB, ou -1 se não estiver disponível.
+     */
+    private long usedSystemMemoryMB() {
+        synchronized (meminfoBuffer) {  // Sem concorrência na amostragem periódica; só protege contra close()
+            if (meminfo != null) {
+                try {
+                    meminfo.seek(0);
+                    int length = 0;
+                    int read;
+                    while (length < meminfoBuffer.length && (read = meminfo.read(meminfoBuffer, length, meminfoBuffer.length - length)) > 0) {
+                        length += read;
+                    }
+                    long totalKB = parseMeminfoField(length, MEM_TOTAL);
+                    long availableKB = parseMeminfoField(length, MEM_AVAILABLE);
+                    if (totalKB >= 0 && availableKB >= 0) {
+                        return (totalKB - availableKB) / 1024;
+                    }
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+        if (osBean != null) {
+            return (osBean.getTotalMemorySize() - osBean.getFreeMemorySize()) / MB;
+        }
+        return -1;
+    }
+
+    /**
+     * Lê o valor numérico de um campo do conteúdo de /proc/meminfo no buffer.
+     *
+     * @param length a quantidade de bytes válidos no buffer.
+     * @param field  o nome do campo, com os dois pontos.
+     * @return o valor em kB, ou -1 se o campo não for encontrado.
+     */
+    private long parseMeminfoField(int length, byte[] field) {
+        int lineStart = 0;
+        while (lineStart < length) {
+            if (startsWith(lineStart, length, field)) {
+                long value = 0;
+                int i = lineStart + field.length;
+                while (i < length && meminfoBuffer[i] == ' ') {
+                    i++;
+                }
+                while (i < length && meminfoBuffer[i] >= '0' && meminfoBuffer[i] <= '9') {
+                    value = value * 10 + (meminfoBuffer[i] - '0');
+                    i++;
+                }
+                return value;
+            }
+            while (lineStart < length && meminfoBuffer[lineStart] != '\n') {
+                lineStart++;
+            }
+            lineStart++;
+        }
+        return -1;
+    }
+
+    private boolean startsWith(int offset, int length, byte[] prefix) {
+        if (offset + prefix.length > length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (meminfoBuffer[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static RandomAccessFile openMeminfo() {
+        try {
+            return new RandomAccessFile("/proc/meminfo", "r");
+        } catch (IOException e) {
+            return null;  // Fora do Linux, a memória do sistema vem do OperatingSystemMXBean
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package hardware;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Classificador de periféricos por categoria (teclado, mouse, fone de ouvido, caixa de som, câmera, microfone).
+ * Todas as palavras-chave são compiladas em um único autômato de Aho-Corasick, de forma que o nome de cada dispositivo
+ * é percorrido uma só vez, sem criar Strings intermediárias, independentemente do número de palavras-chave.
+ * Quando várias palavras-chave aparecem no nome, vale a que começa mais à esquerda; em caso de empate, a categoria
+ * declarada primeiro. Os espaços finais (o preenchimento das colunas do wmic) não são percorridos, e a passagem termina
+ * assim que nenhuma palavra-chave ainda não vista pode começar antes da melhor encontrada.
+ */
+public class PeripheralClassifier {
+    public static final int NO_CATEGORY = -1;
+
+    private static final String[][] DEFAULT_CATEGORIES = {
+            {"Teclado", "keyboard"},
+            {"Mouse", "mouse"},
+            {"Fone de Ouvido", "headset"},
+            {"Caixa de Som", "speaker"},
+            {"Câmera", "webcam", "camera"},
+            {"Microfone", "microphone"}
+    };  // Categorias usadas quando o arquivo de configuração não existe
+
+    private final List<String> categoryNames;  // Nomes das categorias, na ordem de prioridade
+    private final List<List<String>> keywords;  // Palavras-chave de cada categoria, como foram configuradas
+    private final int[] symbolOfAscii = new int[128];  // Símbolo de cada caractere ASCII, já sem distinção de caixa (0 = outro)
+    private final Map<Character, Integer> symbolOfOther = new HashMap<>();  // Símbolos dos caracteres não ASCII
+    private final int symbolCount;  // Tamanho do alfabeto do autômato
+    private final int[] transitions;  // Transição do autômato em estado + símbolo, com cada estado dado pelo início da sua linha
+    private final int[] matchLength;  // Maior palavra-chave reconhecida em cada estado (0 = nenhuma), no início da linha
+    private final int[] matchCategory;  // Categoria da palavra-chave de matchLength, no início da linha
+    private final int maxKeywordLength;  // Maior palavra-chave, que limita quanto antes uma próxima ocorrência pode começar
+
+    /**
+     * Construtor da classe PeripheralClassifier.
+     *
+     * @param categoryNames os nomes das categorias, na ordem de prioridade.
+     * @param keywords      as palavras-chave de cada categoria, no mesmo índice de categoryNames.
+     */
+    public PeripheralClassifier(List<String> categoryNames, List<List<String>> keywords) {
+        this.categoryNames = new ArrayList<>(categoryNames);
+        this.keywords = new ArrayList<>();
+        for (List<String> categoryKeywords : keywords) {
+            this.keywords.add(new ArrayList<>(categoryKeywords));
+        }
+
+        // Alfabeto: apenas os caracteres que aparecem nas palavras-chave recebem símbolo próprio
+        int symbols = 1;
+        for (List<String> categoryKeywords : keywords) {
+            for (String keyword : categoryKeywords) {
+                for (char c : keyword.toLowerCase().toCharArray()) {
+                    if (symbolOf(c) == 0) {
+                        if (c < 128) {
+                            symbolOfAscii[c] = symbols;
+                            symbolOfAscii[Character.toUpperCase(c)] = symbols++;
+                        } else {
+                            symbolOfOther.put(c, symbols++);
+                        }
+                    }
+                }
+            }
+        }
+        symbolCount = symbols;
+
+        // Trie das palavras-chave
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        List<Integer> categories = new ArrayList<>();
+        int longest = 0;
+        trie.add(new int[symbolCount]);
+        lengths.add(0);
+        categories.add(NO_CATEGORY);
+        for (int category = 0; category < keywords.size(); category++) {
+            for (String keyword : keywords.get(category)) {
+                String lowerKeyword = keyword.toLowerCase();
+                if (lowerKeyword.isEmpty()) {
+                    continue;
+                }
+                int state = 0;
+                for (int i = 0; i < lowerKeyword.length(); i++) {
+                    int symbol = symbolOf(lowerKeyword.charAt(i));
+                    if (trie.get(state)[symbol] == 0) {
+                        trie.get(state)[symbol] = trie.size();
+                        trie.add(new int[symbolCount]);
+                        lengths.add(0);
+                        categories.add(NO_CATEGORY);
+                    }
+                    state = trie.get(state)[symbol];
+                }
+                longest = Math.max(longest, lowerKeyword.length());
+                // Mantém a primeira categoria declarada para palavras-chave repetidas
+                if (lengths.get(state) == 0) {
+                    lengths.set(state, lowerKeyword.length());
+                    categories.set(state, category);
+                }
+            }
+        }
+
+        maxKeywordLength = longest;
+
+        int stateCount = trie.size();
+        transitions = new int[stateCount * symbolCount];
+        for (int state = 0; state < stateCount; state++) {
+            System.arraycopy(trie.get(state), 0, transitions, state * symbolCount, symbolCount);
+        }
+        int[] stateLength = new int[stateCount];
+        int[] stateCategory = new int[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            stateLength[state] = lengths.get(state);
+            stateCategory[state] = categories.get(state);
+        }
+        buildFailureLinks(stateCount, stateLength, stateCategory);
+
+        // Estados passam a ser o início da sua linha, para que classify não multiplique a cada caractere
+        matchLength = new int[transitions.length];
+        matchCategory = new int[transitions.length];
+        for (int state = 0; state < stateCount; state++) {
+            matchLength[state * symbolCount] = stateLength[state];
+            matchCategory[state * symbolCount] = stateCategory[state];
+        }
+        for (int i = 0; i < transitions.length; i++) {
+            transitions[i] *= symbolCount;
+        }
+    }
+
+    /**
+     * Carrega as categorias de um arquivo de configuração no formato "Categoria = palavra, palavra, ...".
+     * Se o arquivo não existir, usa as categorias padrão.
+     *
+     * @param config o arquivo de configuração.
+     * @return o classificador com as categorias carregadas.
+     */
+    public static PeripheralClassifier load(Path config) {
+        List<String> names = new ArrayList<>();
+        List<List<String>> keywords = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(config, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                int equals = line.indexOf('=');
+                if (line.isEmpty() || line.startsWith("#") || equals < 0) {
+                    continue;
+                }
+                List<String> categoryKeywords = new ArrayList<>();
+                for (String keyword : line.substring(equals + 1).split(",")) {
+                    if (!keyword.trim().isEmpty()) {
+                        categoryKeywords.add(keyword.trim());
+                    }
+                }
+                names.add(line.substring(0, equals).trim());
+                keywords.add(categoryKeywords);
+            }
+        } catch (NoSuchFileException e) {
+            return defaults();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return defaults();
+        }
+        return new PeripheralClassifier(names, keywords);
+    }
+
+    /**
+     * Cria um classificador com as categorias padrão.
+     *
+     * @return o classificador padrão.
+     */
+    public static PeripheralClassifier defaults() {
+        List<String> names = new ArrayList<>();
+        List<List<String>> keywords = new ArrayList<>();
+        for (String[] category : DEFAULT_CATEGORIES) {
+            names.add(category[0]);
+            keywords.add(Arrays.asList(category).subList(1, category.length));
+        }
+        return new PeripheralClassifier(names, keywords);
+    }
+
+    /**
+     * Classifica o nome de um dispositivo em uma única passagem.
+     *
+     * @param name o nome do dispositivo.
+     * @return o índice da categoria, ou {@link #NO_CATEGORY} se nenhuma palavra-chave aparecer no nome.
+     */
+    public int classify(CharSequence name) {
+        int length = name.length();
+        while (length > 0 && name.charAt(length - 1) == ' ') {
+            length--;
+        }
+        int state = 0;
+        int bestStart = Integer.MAX_VALUE;
+        int bestCategory = NO_CATEGORY;
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            state = transitions[state + (c < 128 ? symbolOfAscii[c] : symbolOf(Character.toLowerCase(c)))];
+            int matched = matchLength[state];
+            if (matched > 0) {
+                int start = i - matched + 1;
+                int category = matchCategory[state];
+                if (start < bestStart || (start == bestStart && category < bestCategory)) {
+                    bestStart = start;
+                    bestCategory = category;
+                }
+            }
+            if (i - maxKeywordLength + 1 > bestStart) {
+                break;  // Qualquer ocorrência terminando depois daqui começaria após a melhor
+            }
+        }
+        return bestCategory;
+    }
+
+    /**
+     * Obtém o nome de uma categoria.
+     *
+     * @param category o índice da categoria.
+     * @return o nome da categoria.
+     */
+    public String getCategoryName(int category) {
+        return categoryNames.get(category);
+    }
+
+    /**
+     * Obtém os nomes de todas as categorias, na ordem de prioridade.
+     *
+     * @return a lista de nomes das categorias.
+     */
+    public List<String> getCategoryNames() {
+        return categoryNames;
+    }
+
+    /**
+     * Obtém as palavras-chave de uma categoria.
+     *
+     * @param category o índice da categoria.
+     * @return a lista de palavras-chave da categoria.
+     */
+    public List<String> getKeywords(int category) {
+        return keywords.get(category);
+    }
+
+    /**
+     * Completa a trie com os links de falha, transformando-a em um autômato determinístico.
+     * Cada estado herda a maior palavra-chave reconhecida pelo seu link de falha, se não tiver uma própria.
+     *
+     * @param stateCount    a quantidade de estados da trie.
+     * @param matchLength   a maior palavra-chave reconhecida em cada estado, completada aqui.
+     * @param matchCategory a categoria dessa palavra-chave, completada aqui.
+     */
+    private void buildFailureLinks(int stateCount, int[] matchLength, int[] matchCategory) {
+        int[] failure = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            int child = transitions[symbol];
+            if (child != 0) {
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int fallback = failure[state];
+            if (matchLength[state] == 0) {
+                matchLength[state] = matchLength[fallback];
+                matchCategory[state] = matchCategory[fallback];
+            }
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                int child = transitions[state * symbolCount + symbol];
+                if (child != 0) {
+                    failure[child] = transitions[fallback * symbolCount + symbol];
+                    queue.add(child);
+                } else {
+                    transitions[state * symbolCount + symbol] = transitions[fallback * symbolCount + symbol];
+                }
+            }
+        }
+    }
+
+    private int symbolOf(char c) {
+        if (c < 128) {
+            return symbolOfAscii[c];
+        }
+        Integer symbol = symbolOfOther.get(c);
+        return symbol == null ? 0 : symbol;
+    }
+}
@@ -0,0 +1,28 @@
+package hardware;
+
+/**
+ * Informações de um periférico conectado.
+ */
+public class PeripheralInfo {
+    private final String name;  // Nome do dispositivo, como informado pelo sistema
+    private final String category;  // Categoria atribuída pelo PeripheralClassifier
+
+    /**
+     * Construtor da classe PeripheralInfo.
+     *
+     * @param name     o nome do dispositivo.
+     * @param category a categoria do dispositivo.
+     */
+    public PeripheralInfo(String name, String category) {
+        this.name = name;
+        this.category = category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+}
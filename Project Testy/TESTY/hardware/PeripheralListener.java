@@ -0,0 +1,18 @@
+package hardware;
+
+import java.util.List;
+
+/**
+ * Interface para quem acompanha a conexão e desconexão de periféricos através de um {@link PeripheralWatcher}.
+ */
+public interface PeripheralListener {
+
+    /**
+     * Recebe as diferenças no conjunto de periféricos conectados desde a última notificação.
+     * É chamado na thread do observador; atualizações de interface devem ser repassadas à thread de eventos do Swing.
+     *
+     * @param added   os periféricos que passaram a estar conectados.
+     * @param removed os periféricos que foram desconectados.
+     */
+    void peripheralsChanged(List<PeripheralInfo> added, List<PeripheralInfo> removed);
+}
@@ -0,0 +1,155 @@
+package hardware;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Observador de conexão e desconexão de periféricos, executado em uma thread daemon própria.
+ * Mantém o conjunto de dispositivos conectados de forma incremental e notifica o {@link PeripheralListener} apenas com
+ * as diferenças; a primeira notificação traz os dispositivos já conectados ao iniciar.
+ * Como o painel exibe os periféricos por nome, dispositivos com o mesmo nome são contados juntos: o nome só é
+ * notificado como adicionado ao aparecer o primeiro deles e como removido ao sair o último.
+ * Todo o estado é acessado apenas pela thread do observador.
+ */
+public abstract class PeripheralWatcher implements AutoCloseable {
+    private final PeripheralListener listener;  // Quem recebe as diferenças
+    private final Map<String, PeripheralInfo> devices = new HashMap<>();  // Periféricos conectados, por chave do dispositivo
+    private final Map<String, Integer> nameCounts = new HashMap<>();  // Quantos periféricos conectados têm cada nome
+    private final List<PeripheralInfo> added = new ArrayList<>();  // Nomes adicionados ainda não notificados
+    private final List<PeripheralInfo> removed = new ArrayList<>();  // Nomes removidos ainda não notificados
+    private final Thread thread;  // Thread do observador
+    private final LatencyRecorder latencyRecorder = new LatencyRecorder("Latência do observador de periféricos (ms):");  // Duração de cada consulta ou rajada
+    private volatile boolean running;  // Indica se o observador deve continuar em execução
+
+    /**
+     * Construtor da classe PeripheralWatcher.
+     *
+     * @param listener quem receberá as diferenças.
+     */
+    protected PeripheralWatcher(PeripheralListener listener) {
+        this.listener = listener;
+        thread = new Thread(this::run, "testy-peripheral-watcher");
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Cria o observador adequado ao sistema operacional em execução.
+     *
+     * @param listener quem receberá as diferenças.
+     * @return o observador de eventos do kernel no Linux, ou o de consultas periódicas ao wmic nos demais sistemas.
+     */
+    public static PeripheralWatcher forCurrentOS(PeripheralListener listener) {
+        if (System.getProperty("os.name").toLowerCase().contains("linux")) {
+            return new LinuxPeripheralWatcher(listener);
+        }
+        return new WindowsPeripheralWatcher(SystemInfo.getHardwareProbe(), listener);
+    }
+
+    /**
+     * Inicia a thread do observador.
+     */
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Verifica se o observador ainda deve continuar em execução.
+     *
+     * @return true até que {@link #close()} seja chamado.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Obtém o registro de latência do observador: a duração de cada consulta ou rajada de eventos processada.
+     *
+     * @return o registro de latência.
+     */
+    public LatencyRecorder getLatencyRecorder() {
+        return latencyRecorder;
+    }
+
+    /**
+     * Encerra o observador. Nenhuma notificação é feita depois que a thread termina.
+     */
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+    }
+
+    /**
+     * Laço principal do observador: espera por eventos, chama {@link #deviceAdded} e {@link #deviceRemoved} para cada
+     * mudança e {@link #flush()} ao fim de cada rajada de eventos, até que {@link #isRunning()} seja false.
+     *
+     * @throws IOException          se a fonte de eventos falhar.
+     * @throws InterruptedException se o observador for encerrado durante uma espera.
+     */
+    protected abstract void watch() throws IOException, InterruptedException;
+
+    /**
+     * Registra a conexão de um dispositivo.
+     *
+     * @param key        a chave que identifica o dispositivo enquanto ele estiver conectado.
+     * @param peripheral o periférico classificado, ou null se o dispositivo não pertencer a nenhuma categoria.
+     */
+    protected void deviceAdded(String key, PeripheralInfo peripheral) {
+        if (peripheral == null || devices.putIfAbsent(key, peripheral) != null) {
+            return;
+        }
+        if (nameCounts.merge(peripheral.getName(), 1, Integer::sum) == 1 && !removeByName(removed, peripheral.getName())) {
+            added.add(peripheral);  // Se o nome saiu e voltou na mesma rajada, nada muda para o painel
+        }
+    }
+
+    /**
+     * Registra a desconexão de um dispositivo. Chaves desconhecidas são ignoradas.
+     *
+     * @param key a chave usada em {@link #deviceAdded}.
+     */
+    protected void deviceRemoved(String key) {
+        PeripheralInfo peripheral = devices.remove(key);
+        if (peripheral == null) {
+            return;
+        }
+        Integer remaining = nameCounts.merge(peripheral.getName(), -1, (count, delta) -> count + delta == 0 ? null : count + delta);
+        if (remaining == null && !removeByName(added, peripheral.getName())) {
+            removed.add(peripheral);
+        }
+    }
+
+    /**
+     * Notifica as diferenças acumuladas desde a última notificação, se houver alguma.
+     */
+    protected void flush() {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        List<PeripheralInfo> addedCopy = new ArrayList<>(added);
+        List<PeripheralInfo> removedCopy = new ArrayList<>(removed);
+        added.clear();
+        removed.clear();
+        listener.peripheralsChanged(addedCopy, removedCopy);
+    }
+
+    private void run() {
+        try {
+            watch();
+        } catch (InterruptedException e) {
+            // Encerrado por close()
+        } catch (IOException | RuntimeException e) {
+            if (running) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static boolean removeByName(List<PeripheralInfo> peripherals, String name) {
+        return peripherals.removeIf(peripheral -> peripheral.getName().equals(name));
+    }
+}
@@ -0,0 +1,144 @@
+package hardware;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Motor de sondagem de hardware que dispara todas as consultas lentas ao mesmo tempo em segundo plano.
+ * Cada sondagem retorna um {@link CompletableFuture}, permitindo que a interface seja exibida imediatamente
+ * e atualizada conforme cada resultado fica pronto.
+ * Quando um {@link InventoryCache} é fornecido, as informações ainda válidas no cache são devolvidas sem nova sondagem,
+ * e as sondagens concluídas atualizam o cache.
+ */
+public class ProbeEngine {
+    private static final int PROBE_THREADS = 4;  // Uma thread para cada sondagem lenta (GPU, BIOS, periféricos, memória física)
+
+    private final ExecutorService executor;  // Executor em segundo plano que roda as sondagens
+    private final InventoryCache cache;  // Cache de inventário, ou null para sempre sondar
+    private final LatencyRecorder latencyRecorder = new LatencyRecorder();  // Latência de cada sondagem e consulta ao cache
+
+    /**
+     * Construtor da classe ProbeEngine, sem cache de inventário.
+     */
+    public ProbeEngine() {
+        this(null);
+    }
+
+    /**
+     * Construtor da classe ProbeEngine.
+     * Cria um executor com threads daemon para não impedir o encerramento da aplicação.
+     *
+     * @param cache o cache de inventário a ser consultado e atualizado, ou null para sempre sondar.
+     */
+    public ProbeEngine(InventoryCache cache) {
+        this.cache = cache;
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "testy-probe-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = Executors.newFixedThreadPool(PROBE_THREADS, threadFactory);
+    }
+
+    /**
+     * Inicia a sondagem das informações da GPU.
+     *
+     * @return um future que será completado com as informações da GPU.
+     */
+    public CompletableFuture<String> probeGPU() {
+        return cachedOrSubmit(InventoryCache.GPU, SystemInfo::getGPUInfo);
+    }
+
+    /**
+     * Inicia a sondagem das informações do BIOS.
+     *
+     * @return um future que será completado com as informações do BIOS.
+     */
+    public CompletableFuture<String> probeBIOS() {
+        return cachedOrSubmit(InventoryCache.BIOS, SystemInfo::getBIOSInfo);
+    }
+
+    /**
+     * Inicia a sondagem dos periféricos conectados.
+     *
+     * @return um future que será completado com a lista de periféricos relevantes.
+     */
+    public CompletableFuture<String> probePeripherals() {
+        return cachedOrSubmit(InventoryCache.PERIPHERALS, SystemInfo::getPeripheralsInfo);
+    }
+
+    /**
+     * Inicia a sondagem da memória física do sistema.
+     *
+     * @return um future que será completado com a memória física total e disponível.
+     */
+    public CompletableFuture<String> probeSystemMemory() {
+        return submit("memória física", SystemInfo::getSystemMemoryInfo);
+    }
+
+    /**
+     * Obtém o registro de latência das sondagens executadas por este motor.
+     *
+     * @return o registro de latência.
+     */
+    public LatencyRecorder getLatencyRecorder() {
+        return latencyRecorder;
+    }
+
+    /**
+     * Encerra o executor após a conclusão das sondagens pendentes.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Devolve o valor do cache se ainda for válido; caso contrário, submete a sondagem e grava o resultado no cache.
+     * As consultas atendidas pelo cache são registradas com o sufixo " (cache)", separadas das sondagens executadas.
+     *
+     * @param key   a chave da informação no cache.
+     * @param probe a sondagem a ser executada.
+     * @return um future com o resultado do cache ou da sondagem.
+     */
+    private CompletableFuture<String> cachedOrSubmit(String key, Supplier<String> probe) {
+        if (cache == null) {
+            return submit(key, probe);
+        }
+        long start = System.nanoTime();
+        if (cache.isFresh(key)) {
+            String cached = cache.get(key);
+            latencyRecorder.record(key + " (cache)", System.nanoTime() - start, false);
+            return CompletableFuture.completedFuture(cached);
+        }
+        return submit(key, probe).thenApply(info -> {
+            cache.put(key, info);
+            return info;
+        });
+    }
+
+    /**
+     * Submete uma sondagem ao executor em segundo plano, registrando a sua latência.
+     *
+     * @param name  o nome da sondagem no registro de latência.
+     * @param probe a sondagem a ser executada.
+     * @return um future com o resultado da sondagem.
+     */
+    private CompletableFuture<String> submit(String name, Supplier<String> probe) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                String info = probe.get();
+                failed = false;
+                return info;
+            } finally {
+                latencyRecorder.record(name, System.nanoTime() - start, failed);
+            }
+        }, executor);
+    }
+}
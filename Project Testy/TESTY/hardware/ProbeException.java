@@ -0,0 +1,27 @@
+package hardware;
+
+/**
+ * Exceção lançada quando uma sondagem de hardware não consegue obter a informação pedida,
+ * seja por falha do comando, por prazo esgotado ou por saída inesperada.
+ */
+public class ProbeException extends RuntimeException {
+
+    /**
+     * Construtor da classe ProbeException.
+     *
+     * @param message a descrição da falha.
+     */
+    public ProbeException(String message) {
+        super(message);
+    }
+
+    /**
+     * Construtor da classe ProbeException.
+     *
+     * @param message a descrição da falha.
+     * @param cause   a causa original.
+     */
+    public ProbeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
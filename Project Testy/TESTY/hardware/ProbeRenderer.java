@@ -0,0 +1,96 @@
+package hardware;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe utilitária que converte as informações tipadas das sondagens no texto HTML exibido no painel.
+ * Mantém a formatação separada da coleta e da análise da saída dos comandos.
+ */
+public class ProbeRenderer {
+
+    private ProbeRenderer() {
+    }
+
+    /**
+     * Formata a lista de placas de vídeo.
+     *
+     * @param gpus as placas de vídeo encontradas.
+     * @return uma String HTML com uma placa por bloco.
+     */
+    public static String renderGpus(List<GpuInfo> gpus) {
+        if (gpus.isEmpty()) {
+            return "GPU: <br>Nenhuma GPU encontrada";
+        }
+        StringBuilder html = new StringBuilder("GPU: ");
+        for (GpuInfo gpu : gpus) {
+            html.append("<br>").append(gpu.getName());
+            if (!gpu.getVendor().isEmpty()) {
+                html.append("<br>Fabricante: ").append(gpu.getVendor());
+            }
+            if (!gpu.getDriver().isEmpty()) {
+                html.append("<br>Driver: ").append(gpu.getDriver());
+            }
+            if (gpu.getAdapterRam() > 0) {
+                html.append("<br>Memória de Vídeo: ").append(gpu.getAdapterRam() / (1024 * 1024)).append(" MB");
+            }
+            if (!gpu.getVideoMode().isEmpty()) {
+                html.append("<br>Modo de Vídeo: ").append(gpu.getVideoMode());
+            }
+        }
+        return html.toString();
+    }
+
+    /**
+     * Formata as informações do BIOS.
+     *
+     * @param bios as informações do BIOS.
+     * @return uma String HTML com fabricante, versão e data.
+     */
+    public static String renderBios(BiosInfo bios) {
+        return "BIOS Info: " + bios.getManufacturer() + "<br>" + bios.getVersion()
+                + (bios.getReleaseDate().isEmpty() ? "" : " (" + bios.getReleaseDate() + ")");
+    }
+
+    /**
+     * Formata a lista de periféricos relevantes, agrupados por categoria.
+     *
+     * @param peripherals   a lista de periféricos.
+     * @param categoryOrder os nomes das categorias, na ordem em que devem ser exibidas.
+     * @return uma String HTML contendo a lista de periféricos.
+     */
+    public static String renderPeripherals(List<PeripheralInfo> peripherals, List<String> categoryOrder) {
+        Map<String, List<PeripheralInfo>> byCategory = new LinkedHashMap<>();
+        for (String category : categoryOrder) {
+            byCategory.put(category, new ArrayList<>());
+        }
+        for (PeripheralInfo peripheral : peripherals) {
+            byCategory.computeIfAbsent(peripheral.getCategory(), category -> new ArrayList<>()).add(peripheral);
+        }
+
+        StringBuilder formattedOutput = new StringBuilder("Periféricos Para Teste:<br>");
+        for (Map.Entry<String, List<PeripheralInfo>> entry : byCategory.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            formattedOutput.append("<b>").append(entry.getKey()).append("</b><br>");
+            for (PeripheralInfo peripheral : entry.getValue()) {
+                formattedOutput.append(" - ").append(peripheral.getName()).append("<br>");
+            }
+        }
+        return formattedOutput.toString();
+    }
+
+    /**
+     * Formata a memória física do sistema.
+     *
+     * @param totalKB     a memória física total em kilobytes.
+     * @param availableKB a memória física disponível em kilobytes.
+     * @return uma String HTML contendo a memória total e disponível em MB.
+     */
+    public static String renderSystemMemory(long totalKB, long availableKB) {
+        return "Memória Física Total: " + (totalKB / 1024) + " MB<br>Memória Física Disponível: " + (availableKB / 1024) + " MB";
+    }
+}
@@ -1,40 +1,23 @@
 package hardware;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Paths;
 
 /**
  * Classe utilitária para obter informações do sistema, como informações do SO, processador, GPU, BIOS, periféricos e memória.
+ * As consultas dependentes de plataforma são delegadas ao {@link HardwareProbe} do sistema operacional atual,
+ * e os resultados tipados são formatados pelo {@link ProbeRenderer}.
  */
 public class SystemInfo {
+    private static final HardwareProbe probe = HardwareProbe.forCurrentOS();  // Fonte de informações da plataforma atual
+    private static final PeripheralClassifier classifier = PeripheralClassifier.load(Paths.get("config/peripherals.conf"));  // Categorias de periféricos
 
     /**
-     * Método utilitário para executar comandos do sistema e retornar a saída como uma String.
+     * Obtém a fonte de informações de hardware da plataforma atual.
      *
-     * @param command o comando a ser executado.
-     * @return a saída do comando como uma String.
+     * @return o HardwareProbe em uso.
      */
-    private static String executeCommand(String command) {
-        StringBuilder output = new StringBuilder();
-        try {
-            ProcessBuilder builder = new ProcessBuilder("cmd.exe", "/c", command);
-            builder.redirectErrorStream(true); // Erros de subprocessos serão mostrados no output do código
-            Process process = builder.start();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
-            String line;
-            while ((line = reader.readLine()) != null) {
-                output.append(line).append("\n");
-            }
-            process.waitFor();
-        } catch (IOException | InterruptedException e) {
-            e.printStackTrace();
-            return "Erro ao executar comando: " + command;
-        }
-        return output.toString();
+    public static HardwareProbe getHardwareProbe() {
+        return probe;
     }
 
     /**
@@ -52,11 +35,10 @@ public class SystemInfo {
     /**
      * Obtém informações do processador.
      *
-     * @return uma String contendo a arquitetura do processador.
+     * @return uma String contendo informações do processador.
      */
     public static String getProcessorInfo() {
-        String processorArch = System.getProperty("sun.arch.data.model");
-        return "Arquitetura do Processador: " + processorArch + " bits";
+        return probe.getProcessorInfo();
     }
 
     /**
@@ -65,8 +47,7 @@ public class SystemInfo {
      * @return uma String contendo informações da GPU.
      */
     public static String getGPUInfo() {
-        String output = executeCommand("wmic path Win32_VideoController get Caption,DriverVersion,AdapterRAM,AdapterCompatibility,VideoModeDescription");
-        return "GPU: <br>" + output.replaceAll("\\b(Caption|DriverVersion|AdapterRAM|AdapterCompatibility|VideoModeDescription)\\b", "").trim().replace("\n", "<br>");
+        return ProbeRenderer.renderGpus(probe.getGpus());
     }
 
     /**
@@ -75,8 +56,7 @@ public class SystemInfo {
      * @return uma String contendo informações do BIOS.
      */
     public static String getBIOSInfo() {
-        String output = executeCommand("wmic bios get Manufacturer,SMBIOSBIOSVersion");
-        return "BIOS Info: " + output.replaceAll("\\b(Manufacturer|SMBIOSBIOSVersion)\\b", "").trim().replace("\n", "<br>");
+        return ProbeRenderer.renderBios(probe.getBios());
     }
 
     /**
@@ -85,46 +65,36 @@ public class SystemInfo {
      * @return uma String contendo a lista de periféricos relevantes.
      */
     public static String getPeripheralsInfo() {
-        String output = executeCommand("wmic path Win32_PnPEntity get Caption");
-        String[] lines = output.split("\n");
-        List<String> peripherals = new ArrayList<>();
-        for (String line : lines) {
-            if (!line.isEmpty() && isRelevantPeripheral(line.trim())) {
-                peripherals.add(line.trim());
-            }
-        }
-        return formatPeripherals(peripherals);
+        return ProbeRenderer.renderPeripherals(probe.getPeripherals(), classifier.getCategoryNames());
     }
 
     /**
-     * Verifica se uma linha de saída representa um periférico relevante.
+     * Obtém informações sobre a memória física do sistema.
      *
-     * @param line a linha de saída a ser verificada.
-     * @return true se o periférico for relevante, false caso contrário.
+     * @return uma String contendo a memória física total e disponível.
      */
-    private static boolean isRelevantPeripheral(String line) {
-        String lowerCaseLine = line.toLowerCase();
-        return lowerCaseLine.contains("keyboard") || 
-               lowerCaseLine.contains("mouse") || 
-               lowerCaseLine.contains("headset") || 
-               lowerCaseLine.contains("speaker") || 
-               lowerCaseLine.contains("webcam") ||
-               lowerCaseLine.contains("camera") ||
-               lowerCaseLine.contains("microphone");
+    public static String getSystemMemoryInfo() {
+        return probe.getSystemMemoryInfo();
     }
 
     /**
-     * Formata a lista de periféricos relevantes em uma String HTML.
+     * Classifica um dispositivo em uma das categorias de periféricos testáveis.
      *
-     * @param peripherals a lista de periféricos.
-     * @return uma String formatada contendo a lista de periféricos.
+     * @param name o nome do dispositivo.
+     * @return o periférico com a sua categoria, ou null se ele não pertencer a nenhuma categoria.
      */
-    private static String formatPeripherals(List<String> peripherals) {
-        StringBuilder formattedOutput = new StringBuilder("Periféricos Para Teste:<br>");
-        for (String peripheral : peripherals) {
-            formattedOutput.append(" - ").append(peripheral).append("<br>");
-        }
-        return formattedOutput.toString();
+    static PeripheralInfo classifyPeripheral(String name) {
+        int category = classifier.classify(name);
+        return category == PeripheralClassifier.NO_CATEGORY ? null : new PeripheralInfo(name, classifier.getCategoryName(category));
+    }
+
+    /**
+     * Obtém o classificador de periféricos carregado de config/peripherals.conf.
+     *
+     * @return o classificador de periféricos.
+     */
+    public static PeripheralClassifier getPeripheralClassifier() {
+        return classifier;
     }
 
     /**
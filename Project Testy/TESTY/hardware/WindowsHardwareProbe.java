@@ -0,0 +1,195 @@
+package hardware;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Implementação de {@link HardwareProbe} para Windows, baseada em consultas ao wmic.
+ * Todas as consultas passam por um único cmd.exe de longa duração ({@link BatchCommandExecutor}),
+ * cada uma com prazo máximo, para que um wmic travado não congele a aplicação.
+ * A saída de cada consulta é analisada linha a linha por um {@link WmicTableParser}, à medida que é lida.
+ */
+public class WindowsHardwareProbe implements HardwareProbe {
+
+    private static final Duration QUERY_TIMEOUT = Duration.ofMillis(Long.getLong("testy.probe.timeout.ms", 15000));  // Prazo de cada consulta
+
+    private static final String GPU_COMMAND = "wmic path Win32_VideoController get Caption,DriverVersion,AdapterRAM,AdapterCompatibility,VideoModeDescription";
+    private static final String BIOS_COMMAND = "wmic bios get Manufacturer,SMBIOSBIOSVersion";
+    private static final String PNP_COMMAND = "wmic path Win32_PnPEntity get Caption";
+    private static final String MEMORY_COMMAND = "wmic OS get FreePhysicalMemory,TotalVisibleMemorySize";
+
+    private BatchCommandExecutor session;  // Shell compartilhado por todas as consultas, criado na primeira delas
+
+    /**
+     * Cria o analisador da consulta de placas de vídeo.
+     *
+     * @return um analisador que produz um GpuInfo por linha.
+     */
+    public static WmicTableParser<GpuInfo> gpuParser() {
+        return new WmicTableParser<>(
+                new String[]{"Caption", "AdapterCompatibility", "DriverVersion", "AdapterRAM", "VideoModeDescription"},
+                values -> new GpuInfo(values[0], values[1], values[2], parseLong(values[3]), values[4]));
+    }
+
+    /**
+     * Cria o analisador da consulta do BIOS.
+     *
+     * @return um analisador que produz um BiosInfo por linha.
+     */
+    public static WmicTableParser<BiosInfo> biosParser() {
+        return new WmicTableParser<>(
+                new String[]{"Manufacturer", "SMBIOSBIOSVersion"},
+                values -> new BiosInfo(values[0], values[1], ""));
+    }
+
+    /**
+     * Cria o analisador da consulta de dispositivos PnP, que classifica cada dispositivo e mantém apenas os periféricos
+     * de alguma categoria.
+     *
+     * @return um analisador que produz um PeripheralInfo por periférico relevante.
+     */
+    public static WmicTableParser<PeripheralInfo> peripheralParser() {
+        return new WmicTableParser<>(
+                new String[]{"Caption"},
+                values -> SystemInfo.classifyPeripheral(values[0]));
+    }
+
+    /**
+     * Executa uma consulta e analisa a sua saída.
+     * Os comandos são enviados ao shell compartilhado, evitando iniciar um novo cmd.exe por consulta.
+     * Só se o shell não puder ser iniciado ou for encerrado durante a consulta, o comando é repetido uma vez em um
+     * processo avulso, com o mesmo prazo e um analisador novo. Uma saída que o analisador rejeita não é repetida.
+     *
+     * @param command o comando a ser executado.
+     * @param parsers cria o analisador da saída, um por tentativa.
+     * @param <T>     o tipo do resultado do analisador.
+     * @return o resultado do analisador.
+     * @throws ProbeException se o comando falhar, estourar o prazo ou tiver uma saída inesperada.
+     */
+    private <T> T query(String command, Supplier<LineParser<T>> parsers) {
+        try {
+            return session().submit(command, QUERY_TIMEOUT, parsers.get()).get();
+        } catch (IOException e) {
+            e.printStackTrace();  // Shell indisponível: a consulta segue em um processo avulso
+            return queryInNewProcess(command, parsers.get());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ProbeException("Tempo esgotado ao executar comando: " + command, e.getCause());
+            }
+            if (e.getCause() instanceof IOException) {
+                e.getCause().printStackTrace();  // Shell encerrado durante a consulta
+                return queryInNewProcess(command, parsers.get());
+            }
+            throw new ProbeException("Saída inesperada do comando: " + command, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProbeException("Erro ao executar comando: " + command, e);
+        }
+    }
+
+    /**
+     * Executa uma consulta em um processo avulso do cmd.exe, com prazo máximo.
+     *
+     * @param command o comando a ser executado.
+     * @param parser  o analisador da saída; só recebe linhas deste processo.
+     * @param <T>     o tipo do resultado do analisador.
+     * @return o resultado do analisador.
+     * @throws ProbeException se o comando falhar ou estourar o prazo.
+     */
+    private static <T> T queryInNewProcess(String command, LineParser<T> parser) {
+        try {
+            return CommandRunner.run(QUERY_TIMEOUT, parser, "cmd.exe", "/c", command).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ProbeException("Tempo esgotado ao executar comando: " + command, e.getCause());
+            }
+            throw new ProbeException("Erro ao executar comando: " + command, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProbeException("Erro ao executar comando: " + command, e);
+        }
+    }
+
+    /**
+     * Obtém o shell compartilhado, iniciando-o na primeira chamada ou se o anterior tiver sido encerrado.
+     *
+     * @return o executor do shell compartilhado.
+     * @throws IOException se o shell não puder ser iniciado.
+     */
+    private synchronized BatchCommandExecutor session() throws IOException {
+        if (session == null || !session.isAlive()) {
+            session = new BatchCommandExecutor();
+        }
+        return session;
+    }
+
+    @Override
+    public String getProcessorInfo() {
+        String processorArch = System.getProperty("sun.arch.data.model");
+        return "Arquitetura do Processador: " + processorArch + " bits";
+    }
+
+    @Override
+    public List<GpuInfo> getGpus() {
+        return query(GPU_COMMAND, WindowsHardwareProbe::gpuParser);
+    }
+
+    @Override
+    public BiosInfo getBios() {
+        List<BiosInfo> rows = query(BIOS_COMMAND, WindowsHardwareProbe::biosParser);
+        if (rows.isEmpty()) {
+            throw new ProbeException("O wmic não retornou informações do BIOS");
+        }
+        return rows.get(0);
+    }
+
+    @Override
+    public List<PeripheralInfo> getPeripherals() {
+        return query(PNP_COMMAND, WindowsHardwareProbe::peripheralParser);
+    }
+
+    @Override
+    public String getSystemMemoryInfo() {
+        List<long[]> rows = query(MEMORY_COMMAND, () -> new WmicTableParser<>(
+                new String[]{"TotalVisibleMemorySize", "FreePhysicalMemory"},
+                values -> new long[]{parseLong(values[0]), parseLong(values[1])}));
+        if (rows.isEmpty() || rows.get(0)[0] < 0 || rows.get(0)[1] < 0) {
+            return "Memória Física: indisponível";
+        }
+        return ProbeRenderer.renderSystemMemory(rows.get(0)[0], rows.get(0)[1]);
+    }
+
+    @Override
+    public String getMachineId() {
+        String computerName = System.getenv("COMPUTERNAME");
+        return (computerName != null ? computerName : "desconhecido") + "/" + System.getProperty("os.arch");
+    }
+
+    @Override
+    public String getBootId() {
+        return "";  // Sem fonte barata no Windows: a validade do cache fica a cargo do TTL
+    }
+
+    @Override
+    public String getDeviceFingerprint() {
+        return "";  // Exigiria uma consulta completa ao wmic, que é justamente o que o cache evita
+    }
+
+    /**
+     * Converte um valor numérico do wmic.
+     *
+     * @param value o texto do valor.
+     * @return o número, ou -1 se o valor estiver vazio ou mal formatado.
+     */
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
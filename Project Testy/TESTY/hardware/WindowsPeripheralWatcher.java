@@ -0,0 +1,75 @@
+package hardware;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Observador de periféricos do Windows, baseado em consultas periódicas ao wmic.
+ * Cada consulta passa pelo shell compartilhado do {@link WindowsHardwareProbe}, e o resultado é comparado com o da
+ * consulta anterior, de forma que apenas as diferenças chegam ao painel.
+ */
+public class WindowsPeripheralWatcher extends PeripheralWatcher {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(Long.getLong("testy.watch.interval.ms", 3000));
+
+    private final HardwareProbe probe;  // Fonte da lista de periféricos
+    private Set<String> connected = new HashSet<>();  // Chaves dos periféricos da consulta anterior
+
+    /**
+     * Construtor da classe WindowsPeripheralWatcher.
+     *
+     * @param probe    a fonte da lista de periféricos.
+     * @param listener quem receberá as diferenças.
+     */
+    public WindowsPeripheralWatcher(HardwareProbe probe, PeripheralListener listener) {
+        super(listener);
+        this.probe = probe;
+    }
+
+    @Override
+    protected void watch() throws InterruptedException {
+        while (isRunning()) {
+            poll();
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+    }
+
+    /**
+     * Consulta os periféricos e registra as diferenças em relação à consulta anterior.
+     */
+    private void poll() {
+        List<PeripheralInfo> peripherals;
+        long start = System.nanoTime();
+        try {
+            peripherals = probe.getPeripherals();
+        } catch (ProbeException e) {
+            e.printStackTrace();
+            getLatencyRecorder().record("consulta", System.nanoTime() - start, true);
+            return;  // Mantém o estado anterior até a próxima consulta
+        }
+        getLatencyRecorder().record("consulta", System.nanoTime() - start, false);
+
+        // O wmic não informa um identificador estável junto com o nome, então dispositivos iguais são numerados
+        Map<String, PeripheralInfo> current = new HashMap<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (PeripheralInfo peripheral : peripherals) {
+            int occurrence = occurrences.merge(peripheral.getName(), 1, Integer::sum);
+            current.put(peripheral.getName() + "#" + occurrence, peripheral);
+        }
+        for (String key : connected) {
+            if (!current.containsKey(key)) {
+                deviceRemoved(key);
+            }
+        }
+        for (Map.Entry<String, PeripheralInfo> entry : current.entrySet()) {
+            if (!connected.contains(entry.getKey())) {
+                deviceAdded(entry.getKey(), entry.getValue());
+            }
+        }
+        connected = current.keySet();
+        flush();
+    }
+}
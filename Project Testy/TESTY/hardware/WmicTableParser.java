@@ -0,0 +1,126 @@
+package hardware;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Analisador da saída tabular do comando "wmic ... get".
+ * O wmic alinha as colunas em largura fixa: a primeira linha não vazia é o cabeçalho, e a posição de cada nome de
+ * coluna nele indica onde começa o valor daquela coluna nas linhas seguintes. Cada linha de dados é convertida em um
+ * objeto tipado assim que é lida.
+ *
+ * @param <T> o tipo do objeto produzido para cada linha.
+ */
+public class WmicTableParser<T> implements LineParser<List<T>> {
+    private static final Pattern COLUMN = Pattern.compile("\\S+");  // Nome de coluna no cabeçalho
+
+    private final String[] columns;  // Colunas pedidas, na ordem em que o mapeador espera os valores
+    private final Function<String[], T> mapper;  // Converte os valores de uma linha em objeto (null descarta a linha)
+    private final List<T> rows = new ArrayList<>();  // Objetos produzidos até agora
+    private final String[] values;  // Valores da linha atual, reaproveitado entre linhas
+    private int[] starts;  // Início de cada coluna do cabeçalho, em ordem de posição
+    private int[] requestedIndex;  // Para cada coluna pedida, o seu índice em starts (-1 se ausente)
+
+    /**
+     * Construtor da classe WmicTableParser.
+     *
+     * @param columns as colunas pedidas, na ordem em que o mapeador espera os valores.
+     * @param mapper  converte os valores de uma linha em objeto; retornar null descarta a linha.
+     *                O array recebido é reaproveitado entre linhas e não deve ser guardado.
+     */
+    public WmicTableParser(String[] columns, Function<String[], T> mapper) {
+        this.columns = columns;
+        this.mapper = mapper;
+        this.values = new String[columns.length];
+    }
+
+    @Override
+    public void accept(String line) {
+        if (isBlank(line)) {
+            return;
+        }
+        if (starts == null) {
+            parseHeader(line);
+            return;
+        }
+        for (int i = 0; i < columns.length; i++) {
+            int index = requestedIndex[i];
+            values[i] = index < 0 ? "" : field(line, index);
+        }
+        T row = mapper.apply(values);
+        if (row != null) {
+            rows.add(row);
+        }
+    }
+
+    @Override
+    public List<T> result() {
+        return rows;
+    }
+
+    /**
+     * Lê as posições das colunas a partir da linha de cabeçalho.
+     *
+     * @param header a linha de cabeçalho.
+     */
+    private void parseHeader(String header) {
+        List<String> names = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        Matcher matcher = COLUMN.matcher(header);
+        while (matcher.find()) {
+            names.add(matcher.group());
+            positions.add(matcher.start());
+        }
+        starts = new int[positions.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = positions.get(i);
+        }
+        requestedIndex = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            requestedIndex[i] = indexOfIgnoreCase(names, columns[i]);
+        }
+    }
+
+    /**
+     * Extrai o valor de uma coluna de uma linha de dados, sem espaços nas extremidades.
+     *
+     * @param line  a linha de dados.
+     * @param index o índice da coluna no cabeçalho.
+     * @return o valor da coluna, ou vazio se a linha for mais curta.
+     */
+    private String field(String line, int index) {
+        int start = starts[index];
+        if (start >= line.length()) {
+            return "";
+        }
+        int end = index + 1 < starts.length ? Math.min(starts[index + 1], line.length()) : line.length();
+        while (start < end && Character.isWhitespace(line.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(line.charAt(end - 1))) {
+            end--;
+        }
+        return line.substring(start, end);
+    }
+
+    private static boolean isBlank(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (!Character.isWhitespace(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOfIgnoreCase(List<String> names, String column) {
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i).equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
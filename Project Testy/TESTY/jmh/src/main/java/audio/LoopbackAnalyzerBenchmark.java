@@ -0,0 +1,46 @@
+package audio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da análise de uma gravação de loopback (correlação, resposta em bandas e THD), feita uma vez ao fim do teste.
+ * A gravação vem do SoftwareLoopback, com atraso, ganho, distorção e ruído fixos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class LoopbackAnalyzerBenchmark {
+
+    @Param({"48000", "44100"})
+    private float sampleRate;  // Taxa de amostragem da gravação
+
+    private LoopbackAnalyzer analyzer;  // Analisador na taxa medida
+    private float[] recorded;  // Gravação sintética com o estímulo atrasado
+
+    @Setup
+    public void setUp() {
+        analyzer = new LoopbackAnalyzer(sampleRate);
+        recorded = new SoftwareLoopback(9000, 0.5f, 0.001f, 0.04f, 1)
+                .process(analyzer.getStimulus(), analyzer.getRecordingLength());
+    }
+
+    @Benchmark
+    public LoopbackResult analyze() {
+        return analyzer.analyze(recorded);
+    }
+}
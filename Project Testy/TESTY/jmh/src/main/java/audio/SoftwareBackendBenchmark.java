@@ -0,0 +1,74 @@
+package audio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.LineUnavailableException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho de captura do teste de microfone (leitura, medidor e espectro) sobre o backend em software, fora do tempo
+ * real. Cada leitura traz 480 quadros, ou seja, 10 ms de áudio a 48 kHz; o inverso da pontuação é quantas vezes mais
+ * rápido que o tempo real o caminho roda sem placa de som.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class SoftwareBackendBenchmark {
+    private static final AudioFormat FORMAT = new AudioFormat(48000.0f, 16, 2, true, false);
+
+    private CaptureLine line;  // Captura com tom, ruído e falhas
+    private byte[] buffer;  // Buffer de uma leitura
+    private AudioMeter meter;  // Medidor, como na thread de captura
+    private SpectrumAnalyzer analyzer;  // Analisador de espectro, como na thread de captura
+    private float[] drained;  // Quadro do espectro retirado da fila
+
+    @Setup
+    public void setUp() throws LineUnavailableException {
+        SoftwareAudioBackend backend = new SoftwareAudioBackend(false);
+        SoftwareDevice device = backend.addDevice("benchmark");
+        device.setSignal(rate -> SignalGenerator.sine(rate, 1000, 0.1));
+        device.setNoise(0.001f);
+        device.setDropouts(0.001, 480);
+        line = backend.openCapture(null, FORMAT, 0);
+        line.start();
+        buffer = new byte[480 * FORMAT.getFrameSize()];
+        meter = new AudioMeter(FORMAT);
+        analyzer = new SpectrumAnalyzer(FORMAT);
+        drained = new float[analyzer.getBins()];
+    }
+
+    @TearDown
+    public void tearDown() {
+        line.close();
+    }
+
+    @Benchmark
+    public int readOnly() {
+        return line.read(buffer, 0, buffer.length);
+    }
+
+    @Benchmark
+    public int readMeterAndSpectrum() {
+        int bytesRead = line.read(buffer, 0, buffer.length);
+        meter.measure(buffer, 0, bytesRead);
+        int frames = analyzer.process(buffer, 0, bytesRead);
+        while (analyzer.getFrames().poll(drained)) {
+            frames++;
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,70 @@
+package audio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do analisador de espectro na thread de captura, com áudio de 48 kHz estéreo em 16 bits.
+ * Um buffer de 1024 bytes tem 256 quadros de áudio, ou seja, 5,3 ms de prazo para ser processado em tempo real.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class SpectrumAnalyzerBenchmark {
+
+    @Param({"1024", "4096"})
+    private int fftSize;  // Pontos da FFT
+
+    private byte[] buffer;  // Um buffer de captura com ruído
+    private float[] drained;  // Quadro lido da fila, como a interface faria
+    private SpectrumAnalyzer analyzer;  // Analisador no formato de captura preferido pelo teste de microfone
+    private Fft fft;  // Transformada isolada, do mesmo tamanho
+    private float[] re;  // Parte real da transformada isolada
+    private float[] im;  // Parte imaginária da transformada isolada
+
+    @Setup
+    public void setUp() {
+        buffer = new byte[1024];
+        new Random(42).nextBytes(buffer);
+        analyzer = new SpectrumAnalyzer(new AudioFormat(48000.0f, 16, 2, true, false), fftSize, SpectrumAnalyzer.DEFAULT_QUEUE);
+        drained = new float[analyzer.getBins()];
+        fft = new Fft(fftSize);
+        re = new float[fftSize];
+        im = new float[fftSize];
+    }
+
+    @Benchmark
+    public int processBuffer() {
+        int frames = analyzer.process(buffer, 0, buffer.length);
+        while (analyzer.getFrames().poll(drained)) {
+            frames++;
+        }
+        return frames;
+    }
+
+    @Benchmark
+    public float transform() {
+        for (int i = 0; i < re.length; i++) {
+            re[i] = buffer[i & 1023];
+            im[i] = 0;
+        }
+        fft.transform(re, im);
+        return re[1];
+    }
+}
@@ -0,0 +1,111 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara dois resultados do JMH em CSV (-rf csv), benchmark a benchmark, e aponta as variações maiores que a soma
+ * das margens de erro das duas medições.
+ *
+ * Uso: java benchmark.BaselineComparison baseline.csv resultado.csv
+ */
+public class BaselineComparison {
+
+    /**
+     * Resultado de um benchmark com um conjunto de parâmetros.
+     */
+    private static class Score {
+        final double value;
+        final double error;
+        final String unit;
+
+        Score(double value, double error, String unit) {
+            this.value = value;
+            this.error = error;
+            this.unit = unit;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: java benchmark.BaselineComparison baseline.csv resultado.csv");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(Paths.get(args[0]));
+        Map<String, Score> current = read(Paths.get(args[1]));
+
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Atual", "Variação");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s%n", entry.getKey(), "-", now.value, "nova", now.unit);
+                continue;
+            }
+            double change = 100.0 * (now.value - before.value) / before.value;
+            boolean significant = Math.abs(now.value - before.value) > before.error + now.error;
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), before.value, now.value, change,
+                    now.unit, significant ? (change > 0 ? "  PIOROU" : "  MELHOROU") : "");
+        }
+    }
+
+    /**
+     * Lê um resultado do JMH em CSV, usando o nome do benchmark e os parâmetros como chave.
+     *
+     * @param file o arquivo CSV.
+     * @return os resultados por chave, na ordem do arquivo.
+     * @throws IOException se o arquivo não puder ser lido.
+     */
+    private static Map<String, Score> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        List<String> header = splitCsv(lines.get(0));
+        int scoreColumn = header.indexOf("Score");
+        int errorColumn = header.indexOf("Score Error (99.9%)");
+        int unitColumn = header.indexOf("Unit");
+
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            List<String> fields = splitCsv(line);
+            StringBuilder key = new StringBuilder(fields.get(0));
+            for (int i = unitColumn + 1; i < fields.size(); i++) {
+                if (!fields.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(fields.get(i));
+                }
+            }
+            double error = fields.get(errorColumn).isEmpty() ? 0 : Double.parseDouble(fields.get(errorColumn));
+            scores.put(key.toString(), new Score(Double.parseDouble(fields.get(scoreColumn)), error, fields.get(unitColumn)));
+        }
+        return scores;
+    }
+
+    /**
+     * Separa uma linha de CSV em campos, respeitando as aspas que o JMH coloca em volta de textos.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (char c : line.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,37 @@
+package hardware;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da análise da saída do wmic de placas de vídeo pelo SystemInfo, da linha lida até o HTML exibido no painel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GpuParsingBenchmark {
+    private final List<String> gpuLines = List.of(
+            "AdapterCompatibility  AdapterRAM  Caption                        DriverVersion   VideoModeDescription                ",
+            "NVIDIA                4293918720  NVIDIA GeForce RTX 3060        31.0.15.3598    1920 x 1080 x 4294967296 colors     ",
+            "Intel Corporation     1073741824  Intel(R) UHD Graphics 630      31.0.101.2111   1920 x 1080 x 4294967296 colors     ",
+            "");  // Saída da consulta de placas de vídeo
+
+    @Benchmark
+    public String gpus() {
+        List<GpuInfo> gpus = PeripheralParsingBenchmark.feed(WindowsHardwareProbe.gpuParser(), gpuLines);
+        return ProbeRenderer.renderGpus(gpus);
+    }
+}
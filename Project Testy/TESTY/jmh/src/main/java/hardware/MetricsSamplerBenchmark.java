@@ -0,0 +1,62 @@
+package hardware;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de uma amostra do MetricsSampler, comparado com a montagem da String de memória que o painel fazia a cada
+ * segundo e com uma amostragem ingênua pelos MXBeans (getHeapMemoryUsage e memória livre do OperatingSystemMXBean),
+ * que aloca objetos a cada chamada. Com -prof gc, o JMH mostra também os bytes alocados por operação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsSamplerBenchmark {
+    private MetricsSampler sampler;  // Amostrador sem a thread periódica, chamado diretamente
+    private MemoryMXBean memoryBean;
+    private com.sun.management.OperatingSystemMXBean osBean;
+
+    @Setup
+    public void setUp() {
+        sampler = new MetricsSampler(Duration.ofSeconds(1), Duration.ofMinutes(2));
+        memoryBean = ManagementFactory.getMemoryMXBean();
+        osBean = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sampler.close();
+    }
+
+    @Benchmark
+    public void sample() {
+        sampler.sample();
+    }
+
+    @Benchmark
+    public long naiveMxBeans() {
+        return memoryBean.getHeapMemoryUsage().getUsed() + osBean.getTotalMemorySize() - osBean.getFreeMemorySize();
+    }
+
+    @Benchmark
+    public String legacyMemoryString() {
+        return SystemInfo.getMemoryInfo();
+    }
+}
@@ -0,0 +1,90 @@
+package hardware;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de decidir se um dispositivo é um periférico testável, por nome de dispositivo.
+ * O caminho antigo (toLowerCase + contains, do antigo SystemInfo.isRelevantPeripheral) é mantido como referência
+ * para o PeripheralClassifier que o substituiu: legacyContains com as 7 palavras-chave de antes, e containsConfigured
+ * com todas as palavras-chave de config/peripherals.conf, que é o que o classificador reconhece.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PeripheralClassificationBenchmark {
+    private String[] names;  // Nomes de dispositivos, no formato de largura fixa do wmic
+    private PeripheralClassifier classifier;  // Classificador carregado de config/peripherals.conf
+    private String[] keywords;  // Todas as palavras-chave do classificador, em minúsculas
+    private int next;  // Próximo nome a ser classificado
+
+    @Setup
+    public void setUp() {
+        names = new String[PeripheralParsingBenchmark.DEVICE_NAMES.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = String.format("%-53s", PeripheralParsingBenchmark.DEVICE_NAMES[i] + " #" + i);
+        }
+        classifier = SystemInfo.getPeripheralClassifier();
+        List<String> all = new ArrayList<>();
+        for (int category = 0; category < classifier.getCategoryNames().size(); category++) {
+            for (String keyword : classifier.getKeywords(category)) {
+                all.add(keyword.toLowerCase());
+            }
+        }
+        keywords = all.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public int classify() {
+        return classifier.classify(nextName());
+    }
+
+    @Benchmark
+    public PeripheralInfo classifyPeripheral() {
+        return SystemInfo.classifyPeripheral(nextName());
+    }
+
+    @Benchmark
+    public boolean legacyContains() {
+        String lowerCaseLine = nextName().trim().toLowerCase();
+        return lowerCaseLine.contains("keyboard") ||
+               lowerCaseLine.contains("mouse") ||
+               lowerCaseLine.contains("headset") ||
+               lowerCaseLine.contains("speaker") ||
+               lowerCaseLine.contains("webcam") ||
+               lowerCaseLine.contains("camera") ||
+               lowerCaseLine.contains("microphone");
+    }
+
+    @Benchmark
+    public boolean containsConfigured() {
+        String lowerCaseLine = nextName().trim().toLowerCase();
+        for (String keyword : keywords) {
+            if (lowerCaseLine.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String nextName() {
+        String name = names[next];
+        next = (next + 1) % names.length;
+        return name;
+    }
+}
@@ -0,0 +1,65 @@
+package hardware;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da análise da saída do wmic de dispositivos PnP pelo SystemInfo, da linha lida até o HTML exibido no painel,
+ * sobre saídas sintéticas com o mesmo formato de largura fixa do wmic.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PeripheralParsingBenchmark {
+    static final String[] DEVICE_NAMES = {
+            "HID Keyboard Device", "HID-compliant mouse", "USB Composite Device", "Generic USB Hub",
+            "Realtek High Definition Audio", "Speakers (USB Headset)", "Microphone (USB Headset)",
+            "Integrated Webcam", "PCI Express Root Port", "ACPI x64-based PC", "Standard SATA AHCI Controller",
+            "Intel(R) Wireless Bluetooth(R)", "USB Input Device", "Microsoft Streaming Service Proxy"};
+
+    @Param({"100", "10000"})
+    private int entries;  // Quantidade de dispositivos PnP na saída
+
+    private List<String> pnpLines;  // Saída da consulta de dispositivos PnP
+    private List<String> categoryOrder;  // Ordem das categorias no painel
+
+    @Setup
+    public void setUp() {
+        pnpLines = new ArrayList<>();
+        pnpLines.add("Caption                                              ");
+        for (int i = 0; i < entries; i++) {
+            pnpLines.add(String.format("%-53s", DEVICE_NAMES[i % DEVICE_NAMES.length] + " #" + i));
+        }
+        pnpLines.add("");
+        categoryOrder = SystemInfo.getPeripheralClassifier().getCategoryNames();
+    }
+
+    @Benchmark
+    public String peripherals() {
+        List<PeripheralInfo> peripherals = feed(WindowsHardwareProbe.peripheralParser(), pnpLines);
+        return ProbeRenderer.renderPeripherals(peripherals, categoryOrder);
+    }
+
+    static <T> T feed(LineParser<T> parser, List<String> lines) {
+        for (String line : lines) {
+            parser.accept(line);
+        }
+        return parser.result();
+    }
+}
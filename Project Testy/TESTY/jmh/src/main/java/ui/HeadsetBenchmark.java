@@ -0,0 +1,72 @@
+package ui;
+
+import audio.AudioMeter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sound.sampled.AudioFormat;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do cálculo de nível do teste de microfone, por buffer lido da linha de captura.
+ * O antigo UIHeadset.calculateRMSLevel (um ByteBuffer.wrap por amostra) é mantido como referência para o AudioMeter,
+ * medido com a Vector API e com o laço escalar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class HeadsetBenchmark {
+
+    @Param({"1024", "8192"})
+    private int bufferSize;  // Tamanho do buffer de captura em bytes (1024 é o usado pelo teste de microfone)
+
+    private byte[] audioData;  // Áudio PCM de 16 bits big-endian com ruído
+    private AudioMeter meter;  // Medidor no formato do teste de microfone
+
+    @Setup
+    public void setUp() {
+        audioData = new byte[bufferSize];
+        new Random(42).nextBytes(audioData);
+        meter = new AudioMeter(new AudioFormat(44100.0f, 16, 1, true, true));
+    }
+
+    @Benchmark
+    public double calculateRMSLevel() {
+        long lSum = 0;
+        for (int i = 0; i < audioData.length; i += 2) {
+            short sample = ByteBuffer.wrap(audioData, i, 2).order(ByteOrder.BIG_ENDIAN).getShort();
+            lSum += sample * sample;
+        }
+        double mean = lSum / (audioData.length / 2.0);
+        double rms = Math.sqrt(mean);
+        return 20 * Math.log10(rms);
+    }
+
+    @Benchmark
+    public double audioMeter() {
+        meter.measure(audioData, 0, audioData.length);
+        return meter.getRmsDbfs();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Dtesty.audio.vector=false"})
+    public double audioMeterScalar() {
+        meter.measure(audioData, 0, audioData.length);
+        return meter.getRmsDbfs();
+    }
+}
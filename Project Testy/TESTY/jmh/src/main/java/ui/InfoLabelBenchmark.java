@@ -0,0 +1,50 @@
+package ui;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de criar e atualizar os labels HTML do painel de informações, incluindo a análise do HTML pelo Swing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class InfoLabelBenchmark {
+    private static final String GPU_TEXT = "GPU: <br>NVIDIA GeForce RTX 3060<br>Fabricante: NVIDIA<br>Driver: 31.0.15.3598"
+            + "<br>Memória de Vídeo: 4095 MB<br>Modo de Vídeo: 1920 x 1080 x 4294967296 colors";
+    private static final String[] MEMORY_TEXTS = {"Heap: 42 MB", "Heap: 43 MB"};  // Textos alternados, pois o Swing ignora textos iguais
+
+    private JLabel label;  // Label reaproveitado pela atualização
+    private int next;  // Próximo texto da atualização
+
+    @Setup
+    public void setUp() {
+        label = UIUtils.createInfoLabel(MEMORY_TEXTS[0]);
+    }
+
+    @Benchmark
+    public JLabel createInfoLabel() {
+        return UIUtils.createInfoLabel(GPU_TEXT);
+    }
+
+    @Benchmark
+    public JLabel updateInfoLabel() {
+        next ^= 1;
+        UIUtils.updateInfoLabel(label, MEMORY_TEXTS[next]);
+        return label;
+    }
+}
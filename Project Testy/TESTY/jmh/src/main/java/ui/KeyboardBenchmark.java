@@ -0,0 +1,158 @@
+package ui;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.*;
+import java.awt.event.KeyEvent;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do caminho de um evento de teclado no teste de teclado, da tecla pressionada até o label correspondente.
+ * O caminho antigo do KeyListener do UIKeyboard (conversão do código da tecla em texto e busca em um mapa por texto) é
+ * mantido como referência para a tabela do KeyboardLayout que o substituiu. Os eventos alternam entre letras, números,
+ * teclas especiais e modificadores da esquerda e da direita.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class KeyboardBenchmark {
+    private static final int[] KEY_CODES = {
+            KeyEvent.VK_A, KeyEvent.VK_W, KeyEvent.VK_S, KeyEvent.VK_D, KeyEvent.VK_1, KeyEvent.VK_F5,
+            KeyEvent.VK_SPACE, KeyEvent.VK_SHIFT, KeyEvent.VK_CONTROL, KeyEvent.VK_ENTER, KeyEvent.VK_ESCAPE,
+            KeyEvent.VK_LEFT, KeyEvent.VK_PAGE_DOWN, KeyEvent.VK_SEMICOLON, KeyEvent.VK_BACK_SLASH, KeyEvent.VK_NUMPAD5};
+    private static final int[] KEY_LOCATIONS = {
+            KeyEvent.KEY_LOCATION_STANDARD, KeyEvent.KEY_LOCATION_STANDARD, KeyEvent.KEY_LOCATION_STANDARD,
+            KeyEvent.KEY_LOCATION_STANDARD, KeyEvent.KEY_LOCATION_STANDARD, KeyEvent.KEY_LOCATION_STANDARD,
+            KeyEvent.KEY_LOCATION_STANDARD, KeyEvent.KEY_LOCATION_RIGHT, KeyEvent.KEY_LOCATION_LEFT,
+            KeyEvent.KEY_LOCATION_STANDARD, KeyEvent.KEY_LOCATION_STANDARD, KeyEvent.KEY_LOCATION_STANDARD,
+            KeyEvent.KEY_LOCATION_STANDARD, KeyEvent.KEY_LOCATION_STANDARD, KeyEvent.KEY_LOCATION_STANDARD,
+            KeyEvent.KEY_LOCATION_NUMPAD};
+
+    private Map<String, JLabel> keyLabels;  // Mapa por texto do caminho antigo
+    private KeyboardLayout layout;  // Layout padrão do UIKeyboard
+    private JLabel[] slotLabels;  // Labels indexadas pela posição no layout, como no UIKeyboard
+    private KeyEvent[] events;  // Eventos de tecla pressionada
+    private int next;  // Próximo evento a ser processado
+
+    @Setup
+    public void setUp() {
+        layout = KeyboardLayout.defaults();
+        keyLabels = new HashMap<>();
+        slotLabels = new JLabel[layout.size()];
+        for (int slot = 0; slot < layout.size(); slot++) {
+            slotLabels[slot] = new JLabel(layout.getLabel(slot));
+            keyLabels.put(layout.getLabel(slot), slotLabels[slot]);
+        }
+        JPanel source = new JPanel();
+        events = new KeyEvent[KEY_CODES.length];
+        for (int i = 0; i < KEY_CODES.length; i++) {
+            events[i] = new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, KEY_CODES[i], KeyEvent.CHAR_UNDEFINED,
+                    KEY_LOCATIONS[i]);
+        }
+    }
+
+    @Benchmark
+    public String getKeyText() {
+        return legacyGetKeyText(nextEvent());
+    }
+
+    @Benchmark
+    public JLabel keyPressedLookup() {
+        String key = legacyGetKeyText(nextEvent());
+        if (keyLabels.containsKey(key)) {
+            return keyLabels.get(key);
+        }
+        return null;
+    }
+
+    @Benchmark
+    public int slotOf() {
+        return layout.slotOf(nextEvent());
+    }
+
+    @Benchmark
+    public JLabel keyPressedSlot() {
+        int slot = layout.slotOf(nextEvent());
+        if (slot != KeyboardLayout.NO_KEY) {
+            return slotLabels[slot];
+        }
+        return null;
+    }
+
+    /**
+     * Conversão do código da tecla em texto do antigo UIKeyboard.getKeyText.
+     */
+    private static String legacyGetKeyText(KeyEvent e) {
+        int keyCode = e.getKeyCode();
+        switch (keyCode) {
+            case KeyEvent.VK_ESCAPE:
+                return "ESC";
+            case KeyEvent.VK_BACK_SPACE:
+                return "BACKSPACE";
+            case KeyEvent.VK_TAB:
+                return "TAB";
+            case KeyEvent.VK_CAPS_LOCK:
+                return "CAPS";
+            case KeyEvent.VK_ENTER:
+                return "ENTER";
+            case KeyEvent.VK_SHIFT:
+                return "SHIFT";
+            case KeyEvent.VK_CONTROL:
+                return "CTRL";
+            case KeyEvent.VK_ALT:
+                return "ALT";
+            case KeyEvent.VK_SPACE:
+                return "SPACE";
+            case KeyEvent.VK_WINDOWS:
+                return "WIN";
+            case KeyEvent.VK_CONTEXT_MENU:
+                return "MENU";
+            case KeyEvent.VK_UP:
+                return "UP";
+            case KeyEvent.VK_DOWN:
+                return "DOWN";
+            case KeyEvent.VK_LEFT:
+                return "LEFT";
+            case KeyEvent.VK_RIGHT:
+                return "RIGHT";
+            case KeyEvent.VK_INSERT:
+                return "INS";
+            case KeyEvent.VK_DELETE:
+                return "DEL";
+            case KeyEvent.VK_HOME:
+                return "HOME";
+            case KeyEvent.VK_END:
+                return "END";
+            case KeyEvent.VK_PAGE_UP:
+                return "PGUP";
+            case KeyEvent.VK_PAGE_DOWN:
+                return "PGDN";
+            case KeyEvent.VK_SCROLL_LOCK:
+                return "SCRLK";
+            case KeyEvent.VK_PAUSE:
+                return "PAUSE";
+            default:
+                return KeyEvent.getKeyText(keyCode).toUpperCase();
+        }
+    }
+
+    private KeyEvent nextEvent() {
+        KeyEvent event = events[next];
+        next = (next + 1) % events.length;
+        return event;
+    }
+}
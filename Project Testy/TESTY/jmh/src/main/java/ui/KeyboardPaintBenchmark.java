@@ -0,0 +1,135 @@
+package ui;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de pintura por evento de teclado no teste de teclado: cada operação pressiona ou libera uma tecla e pinta a
+ * área suja, como o RepaintManager faria. O teclado antigo (um JPanel com GridBagLayout e um JLabel opaco por tecla)
+ * é mantido como referência para o KeyboardView que o substituiu. Também mede a pintura do teclado inteiro, feita ao
+ * abrir e ao redimensionar a janela.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class KeyboardPaintBenchmark {
+    private static final String[] KEYS = {"W", "A", "S", "D", "SPACE", "SHIFT", "1", "ENTER", "F5", "ESC"};
+
+    private KeyboardLayout layout;  // Layout padrão do UIKeyboard
+    private JPanel legacyPanel;  // Teclado antigo
+    private JLabel[] legacyLabels;  // Labels do teclado antigo, indexadas pela posição no layout
+    private KeyboardView view;  // Teclado atual
+    private int[] slots;  // Teclas pressionadas e liberadas em sequência
+    private BufferedImage image;  // Destino da pintura
+    private Graphics2D graphics;  // Contexto gráfico da imagem
+    private int next;  // Próximo evento: índice em slots * 2 + (0 = pressão, 1 = soltura)
+
+    @Setup
+    public void setUp() {
+        layout = KeyboardLayout.defaults();
+
+        legacyPanel = new JPanel(new GridBagLayout());
+        legacyPanel.setBackground(new Color(32, 31, 58));
+        legacyLabels = new JLabel[layout.size()];
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(2, 2, 2, 2);
+        for (int slot = 0; slot < layout.size(); slot++) {
+            legacyLabels[slot] = createLegacyKeyLabel(layout.getLabel(slot));
+            gbc.gridx = layout.getColumn(slot);
+            gbc.gridy = layout.getRow(slot);
+            gbc.gridwidth = layout.getWidth(slot);
+            legacyPanel.add(legacyLabels[slot], gbc);
+        }
+        legacyPanel.setSize(1200, 400);
+        legacyPanel.doLayout();
+
+        view = new KeyboardView(layout, new KeyChatterStats(layout.size()));
+        view.setSize(1200, 400);
+
+        slots = new int[KEYS.length];
+        for (int i = 0; i < KEYS.length; i++) {
+            for (int slot = 0; slot < layout.size(); slot++) {
+                if (layout.getLabel(slot).equals(KEYS[i])) {
+                    slots[i] = slot;
+                    break;
+                }
+            }
+        }
+        image = new BufferedImage(1200, 400, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+        view.paint(graphics);  // Cria a imagem do teclado em repouso
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage legacyKeyEvent() {
+        int slot = slots[next / 2];
+        boolean press = next % 2 == 0;
+        next = (next + 1) % (slots.length * 2);
+        JLabel label = legacyLabels[slot];
+        label.setBackground(press ? Color.GREEN : Color.LIGHT_GRAY);
+        graphics.setClip(label.getBounds());
+        legacyPanel.paint(graphics);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage viewKeyEvent() {
+        int slot = slots[next / 2];
+        boolean press = next % 2 == 0;
+        next = (next + 1) % (slots.length * 2);
+        view.setPressed(slot, press);
+        graphics.setClip(view.getKeyBounds(slot));
+        view.paint(graphics);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage legacyPaintBoard() {
+        graphics.setClip(null);
+        legacyPanel.paint(graphics);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage viewPaintBoard() {
+        graphics.setClip(null);
+        view.paint(graphics);
+        return image;
+    }
+
+    /**
+     * Label de tecla do antigo UIKeyboard.createKeyLabel.
+     */
+    private static JLabel createLegacyKeyLabel(String key) {
+        JLabel label = new JLabel(key, SwingConstants.CENTER);
+        label.setPreferredSize(new Dimension(50, 50));
+        label.setOpaque(true);
+        label.setBackground(Color.LIGHT_GRAY);
+        label.setForeground(Color.BLACK);
+        label.setFont(new Font("Arial", Font.BOLD, 16));
+        label.setBorder(BorderFactory.createLineBorder(Color.BLACK));
+        return label;
+    }
+}
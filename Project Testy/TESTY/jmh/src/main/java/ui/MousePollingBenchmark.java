@@ -0,0 +1,55 @@
+package ui;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo das medições de taxa de relatório do teste de mouse: o registro de cada evento de movimento, feito na thread
+ * de eventos, e o resumo calculado pelo timer dos labels. Os eventos simulam um mouse de 1000 Hz com 3% de jitter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MousePollingBenchmark {
+    private final MousePollingStats stats = new MousePollingStats();
+    private long[] intervals;  // Intervalos simulados entre eventos, em nanossegundos
+    private long now;  // Instante simulado do próximo evento
+    private int next;  // Próximo intervalo
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        intervals = new long[4096];
+        for (int i = 0; i < intervals.length; i++) {
+            intervals[i] = 1_000_000 + (long) (random.nextGaussian() * 30_000);
+        }
+        for (long interval : intervals) {
+            stats.record(now += interval);
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        stats.record(now += intervals[next]);
+        next = (next + 1) & (intervals.length - 1);
+    }
+
+    @Benchmark
+    public MousePollingSnapshot snapshot() {
+        return stats.snapshot();
+    }
+}
@@ -0,0 +1,261 @@
+package ui;
+
+import java.util.Arrays;
+
+/**
+ * Estatísticas contínuas de chatter (pressões duplicadas por mau contato da chave) e de tempo de pressão de cada
+ * tecla. Tudo fica em vetores primitivos alocados na criação, de forma que a memória usada não cresce com a duração da
+ * sessão e registrar um evento não cria objetos.
+ * <p>
+ * Uma pressão é considerada chatter quando chega menos de {@link #getChatterThresholdNanos()} depois da soltura anterior
+ * da mesma tecla: ninguém digita a mesma tecla duas vezes em poucos milissegundos, mas uma chave gasta repete o contato,
+ * tanto ao ser pressionada (pressão curtíssima seguida de outra) quanto ao ser liberada (nova pressão logo após soltar).
+ * O intervalo de cada pressão desde a soltura anterior também é contado, em milissegundos, até
+ * {@link #MAX_CHATTER_THRESHOLD_MILLIS}, para que uma mudança do limite reconte as pressões já registradas.
+ */
+public class KeyChatterStats {
+    public static final long DEFAULT_CHATTER_THRESHOLD_NANOS = 30_000_000L;  // 30 ms
+    public static final int MAX_CHATTER_THRESHOLD_MILLIS = 200;  // Maior limite aceito, e intervalos contados por tecla
+    private static final long[] HOLD_BIN_LIMITS_MILLIS = {5, 10, 20, 50, 100, 200, 500, 1000};  // Faixas de duração, em ms
+    public static final int HOLD_BINS = HOLD_BIN_LIMITS_MILLIS.length + 1;  // Faixas, a última sem limite superior
+    private static final long NONE = Long.MIN_VALUE;  // Instante ausente
+
+    private final int[] pressCount;  // Pressões de cada tecla, sem contar a repetição automática
+    private final int[] chatterCount;  // Pressões de cada tecla abaixo do limite de chatter depois da soltura
+    private final long[] minPressGap;  // Menor intervalo entre duas pressões de cada tecla (Long.MAX_VALUE = nenhum)
+    private final long[] lastPress;  // Instante da última pressão de cada tecla
+    private final long[] lastRelease;  // Instante da última soltura de cada tecla
+    private final long[] holdStart;  // Instante da pressão de cada tecla pressionada agora (NONE = liberada)
+    private final long[] minHold;  // Menor duração de pressão de cada tecla (Long.MAX_VALUE = nenhuma)
+    private final int[] holdHistogram;  // Pressões por faixa de duração, em tecla * HOLD_BINS + faixa
+    private final int[] gapHistogram;  // Pressões por intervalo desde a soltura, em tecla * MAX_CHATTER_THRESHOLD_MILLIS + ms
+    private long chatterThresholdNanos = DEFAULT_CHATTER_THRESHOLD_NANOS;  // Limite de chatter
+    private long dispatchSumMillis;  // Soma dos atrasos de entrega dos eventos
+    private long dispatchMaxMillis;  // Maior atraso de entrega de um evento
+    private int dispatchCount;  // Eventos com atraso de entrega medido
+
+    /**
+     * Construtor da classe KeyChatterStats.
+     *
+     * @param keyCount a quantidade de teclas do layout.
+     */
+    public KeyChatterStats(int keyCount) {
+        pressCount = new int[keyCount];
+        chatterCount = new int[keyCount];
+        minPressGap = new long[keyCount];
+        lastPress = new long[keyCount];
+        lastRelease = new long[keyCount];
+        holdStart = new long[keyCount];
+        minHold = new long[keyCount];
+        holdHistogram = new int[keyCount * HOLD_BINS];
+        gapHistogram = new int[keyCount * MAX_CHATTER_THRESHOLD_MILLIS];
+        reset();
+    }
+
+    /**
+     * Descarta todas as estatísticas.
+     */
+    public void reset() {
+        Arrays.fill(pressCount, 0);
+        Arrays.fill(chatterCount, 0);
+        Arrays.fill(minPressGap, Long.MAX_VALUE);
+        Arrays.fill(lastPress, NONE);
+        Arrays.fill(lastRelease, NONE);
+        Arrays.fill(holdStart, NONE);
+        Arrays.fill(minHold, Long.MAX_VALUE);
+        Arrays.fill(holdHistogram, 0);
+        Arrays.fill(gapHistogram, 0);
+        dispatchSumMillis = 0;
+        dispatchMaxMillis = 0;
+        dispatchCount = 0;
+    }
+
+    /**
+     * Registra a pressão de uma tecla. Pressões de uma tecla já pressionada (repetição automática) são ignoradas.
+     *
+     * @param slot  a tecla pressionada.
+     * @param nanos o instante do evento, de System.nanoTime().
+     * @return true se a pressão foi registrada, false se for uma repetição.
+     */
+    public boolean press(int slot, long nanos) {
+        if (holdStart[slot] != NONE) {
+            return false;
+        }
+        holdStart[slot] = nanos;
+        if (lastPress[slot] != NONE) {
+            minPressGap[slot] = Math.min(minPressGap[slot], nanos - lastPress[slot]);
+        }
+        if (lastRelease[slot] != NONE) {
+            long gap = nanos - lastRelease[slot];
+            if (gap < chatterThresholdNanos) {
+                chatterCount[slot]++;
+            }
+            if (gap >= 0 && gap < MAX_CHATTER_THRESHOLD_MILLIS * 1_000_000L) {
+                gapHistogram[slot * MAX_CHATTER_THRESHOLD_MILLIS + (int) (gap / 1_000_000)]++;
+            }
+        }
+        lastPress[slot] = nanos;
+        pressCount[slot]++;
+        return true;
+    }
+
+    /**
+     * Registra a soltura de uma tecla, somando a duração da pressão ao histograma.
+     *
+     * @param slot  a tecla liberada.
+     * @param nanos o instante do evento, de System.nanoTime().
+     */
+    public void release(int slot, long nanos) {
+        if (holdStart[slot] == NONE) {
+            return;
+        }
+        long hold = nanos - holdStart[slot];
+        holdStart[slot] = NONE;
+        lastRelease[slot] = nanos;
+        minHold[slot] = Math.min(minHold[slot], hold);
+        holdHistogram[slot * HOLD_BINS + holdBin(hold)]++;
+    }
+
+    /**
+     * Considera todas as teclas liberadas, sem somar as pressões em andamento ao histograma nem contar a próxima pressão
+     * como chatter.
+     */
+    public void releaseAll() {
+        Arrays.fill(holdStart, NONE);
+        Arrays.fill(lastRelease, NONE);
+    }
+
+    /**
+     * Registra o atraso entre o instante em que o sistema criou um evento de teclado e o seu tratamento.
+     *
+     * @param millis o atraso em milissegundos; valores negativos (relógio ajustado) são ignorados.
+     */
+    public void recordDispatch(long millis) {
+        if (millis < 0) {
+            return;
+        }
+        dispatchSumMillis += millis;
+        dispatchMaxMillis = Math.max(dispatchMaxMillis, millis);
+        dispatchCount++;
+    }
+
+    /**
+     * Altera o limite de chatter e reconta as pressões já registradas com o novo limite.
+     *
+     * @param nanos o novo limite, em nanossegundos, em milissegundos inteiros e até MAX_CHATTER_THRESHOLD_MILLIS.
+     */
+    public void setChatterThresholdNanos(long nanos) {
+        chatterThresholdNanos = Math.max(0, Math.min(nanos, MAX_CHATTER_THRESHOLD_MILLIS * 1_000_000L));
+        int chatterMillis = (int) (chatterThresholdNanos / 1_000_000);
+        for (int slot = 0; slot < chatterCount.length; slot++) {
+            int count = 0;
+            for (int millis = 0; millis < chatterMillis; millis++) {
+                count += gapHistogram[slot * MAX_CHATTER_THRESHOLD_MILLIS + millis];
+            }
+            chatterCount[slot] = count;
+        }
+    }
+
+    public long getChatterThresholdNanos() {
+        return chatterThresholdNanos;
+    }
+
+    /**
+     * Obtém a fração das repetições de uma tecla que foram chatter.
+     *
+     * @param slot a tecla.
+     * @return as pressões de chatter divididas pelos intervalos entre pressões, de 0 a 1.
+     */
+    public double getChatterRate(int slot) {
+        return pressCount[slot] > 1 ? (double) chatterCount[slot] / (pressCount[slot] - 1) : 0;
+    }
+
+    /**
+     * Verifica se uma tecla teve chatter.
+     *
+     * @param slot a tecla.
+     * @return true se alguma pressão da tecla chegou abaixo do limite de chatter depois da soltura.
+     */
+    public boolean isSuspect(int slot) {
+        return chatterCount[slot] > 0;
+    }
+
+    public int getPressCount(int slot) {
+        return pressCount[slot];
+    }
+
+    public int getChatterCount(int slot) {
+        return chatterCount[slot];
+    }
+
+    /**
+     * Obtém o menor intervalo entre duas pressões de uma tecla.
+     *
+     * @param slot a tecla.
+     * @return o intervalo em nanossegundos, ou -1 se a tecla tiver menos de duas pressões.
+     */
+    public long getMinPressGapNanos(int slot) {
+        return minPressGap[slot] == Long.MAX_VALUE ? -1 : minPressGap[slot];
+    }
+
+    /**
+     * Obtém a menor duração de pressão de uma tecla.
+     *
+     * @param slot a tecla.
+     * @return a duração em nanossegundos, ou -1 se a tecla nunca foi liberada.
+     */
+    public long getMinHoldNanos(int slot) {
+        return minHold[slot] == Long.MAX_VALUE ? -1 : minHold[slot];
+    }
+
+    /**
+     * Obtém a quantidade de pressões de uma tecla em uma faixa de duração.
+     *
+     * @param slot a tecla.
+     * @param bin  a faixa, de 0 a HOLD_BINS - 1.
+     * @return a quantidade de pressões.
+     */
+    public int getHoldCount(int slot, int bin) {
+        return holdHistogram[slot * HOLD_BINS + bin];
+    }
+
+    /**
+     * Obtém o nome de uma faixa de duração de pressão.
+     *
+     * @param bin a faixa, de 0 a HOLD_BINS - 1.
+     * @return o nome da faixa, como "&lt;5 ms" ou "≥1000 ms".
+     */
+    public static String getHoldBinLabel(int bin) {
+        if (bin < HOLD_BIN_LIMITS_MILLIS.length) {
+            return "<" + HOLD_BIN_LIMITS_MILLIS[bin] + " ms";
+        }
+        return "≥" + HOLD_BIN_LIMITS_MILLIS[HOLD_BIN_LIMITS_MILLIS.length - 1] + " ms";
+    }
+
+    public int getDispatchCount() {
+        return dispatchCount;
+    }
+
+    public long getDispatchMaxMillis() {
+        return dispatchMaxMillis;
+    }
+
+    /**
+     * Obtém o atraso médio de entrega dos eventos.
+     *
+     * @return o atraso médio em milissegundos, ou 0 sem eventos medidos.
+     */
+    public double getDispatchMeanMillis() {
+        return dispatchCount == 0 ? 0 : (double) dispatchSumMillis / dispatchCount;
+    }
+
+    private static int holdBin(long holdNanos) {
+        long millis = holdNanos / 1_000_000;
+        for (int bin = 0; bin < HOLD_BIN_LIMITS_MILLIS.length; bin++) {
+            if (millis < HOLD_BIN_LIMITS_MILLIS[bin]) {
+                return bin;
+            }
+        }
+        return HOLD_BIN_LIMITS_MILLIS.length;
+    }
+}
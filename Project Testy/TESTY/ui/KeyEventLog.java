@@ -0,0 +1,75 @@
+package ui;
+
+/**
+ * Registro de eventos de teclado com instantes de alta resolução (System.nanoTime).
+ * Os vetores são alocados uma única vez, na criação: registrar um evento não cria objetos. Quando o registro enche,
+ * os eventos seguintes são descartados e contados.
+ */
+public class KeyEventLog {
+    private final long[] times;  // Instante de cada evento, em nanossegundos
+    private final int[] slots;  // Tecla de cada evento (índice no KeyboardLayout)
+    private final boolean[] presses;  // Indica se cada evento é uma pressão (true) ou uma soltura (false)
+    private int size;  // Quantidade de eventos registrados
+    private int dropped;  // Eventos descartados com o registro cheio
+
+    /**
+     * Construtor da classe KeyEventLog.
+     *
+     * @param capacity a quantidade máxima de eventos registrados.
+     */
+    public KeyEventLog(int capacity) {
+        times = new long[capacity];
+        slots = new int[capacity];
+        presses = new boolean[capacity];
+    }
+
+    /**
+     * Registra um evento.
+     *
+     * @param slot  a tecla do evento.
+     * @param press true para uma pressão, false para uma soltura.
+     * @param nanos o instante do evento, de System.nanoTime().
+     */
+    public void record(int slot, boolean press, long nanos) {
+        if (size == times.length) {
+            dropped++;
+            return;
+        }
+        times[size] = nanos;
+        slots[size] = slot;
+        presses[size] = press;
+        size++;
+    }
+
+    /**
+     * Descarta todos os eventos registrados.
+     */
+    public void clear() {
+        size = 0;
+        dropped = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return times.length;
+    }
+
+    public int getDropped() {
+        return dropped;
+    }
+
+    public long getTime(int index) {
+        return times[index];
+    }
+
+    public int getSlot(int index) {
+        return slots[index];
+    }
+
+    public boolean isPress(int index) {
+        return presses[index];
+    }
+}
@@ -0,0 +1,394 @@
+package ui;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Layout do teste de teclado: as teclas exibidas, na ordem das fileiras, e uma tabela que leva cada evento de teclado
+ * à sua tecla. A tabela é indexada por código da tecla e local (KeyEvent.KEY_LOCATION_*), de forma que os dois SHIFT,
+ * CTRL, ALT e WIN são teclas distintas, e é montada uma única vez: consultar a tecla de um evento não cria objetos.
+ * Cada tecla recebe um índice (slot), na ordem em que aparece no layout.
+ */
+public class KeyboardLayout {
+    public static final int NO_KEY = -1;
+
+    private static final int LOCATIONS = KeyEvent.KEY_LOCATION_NUMPAD + 1;  // Locais possíveis, de UNKNOWN a NUMPAD
+
+    private static final String DEFAULT_LAYOUT = """
+            0 ESCAPE        - 1 ESC
+            0 F1            - 1 F1
+            0 F2            - 1 F2
+            0 F3            - 1 F3
+            0 F4            - 1 F4
+            0 F5            - 1 F5
+            0 F6            - 1 F6
+            0 F7            - 1 F7
+            0 F8            - 1 F8
+            0 F9            - 1 F9
+            0 F10           - 1 F10
+            0 F11           - 1 F11
+            0 F12           - 1 F12
+            0 SCROLL_LOCK   - 1 SCRLK
+            0 PAUSE         - 1 PAUSE
+
+            1 BACK_QUOTE    - 1 `
+            1 1             - 1 1
+            1 2             - 1 2
+            1 3             - 1 3
+            1 4             - 1 4
+            1 5             - 1 5
+            1 6             - 1 6
+            1 7             - 1 7
+            1 8             - 1 8
+            1 9             - 1 9
+            1 0             - 1 0
+            1 MINUS         - 1 -
+            1 EQUALS        - 1 =
+            1 BACK_SPACE    - 1 BACKSPACE
+            1 INSERT        - 1 INS
+            1 HOME          - 1 HOME
+            1 PAGE_UP       - 1 PGUP
+
+            2 TAB           - 1 TAB
+            2 Q             - 1 Q
+            2 W             - 1 W
+            2 E             - 1 E
+            2 R             - 1 R
+            2 T             - 1 T
+            2 Y             - 1 Y
+            2 U             - 1 U
+            2 I             - 1 I
+            2 O             - 1 O
+            2 P             - 1 P
+            2 OPEN_BRACKET  - 1 [
+            2 CLOSE_BRACKET - 1 ]
+            2 BACK_SLASH    - 1 \\
+            2 DELETE        - 1 DEL
+            2 END           - 1 END
+            2 PAGE_DOWN     - 1 PGDN
+
+            3 CAPS_LOCK     - 1 CAPS
+            3 A             - 1 A
+            3 S             - 1 S
+            3 D             - 1 D
+            3 F             - 1 F
+            3 G             - 1 G
+            3 H             - 1 H
+            3 J             - 1 J
+            3 K             - 1 K
+            3 L             - 1 L
+            3 SEMICOLON     - 1 ;
+            3 QUOTE         - 1 '
+            3 ENTER         - 1 ENTER
+
+            4 SHIFT         E 1 SHIFT
+            4 Z             - 1 Z
+            4 X             - 1 X
+            4 C             - 1 C
+            4 V             - 1 V
+            4 B             - 1 B
+            4 N             - 1 N
+            4 M             - 1 M
+            4 COMMA         - 1 ,
+            4 PERIOD        - 1 .
+            4 SLASH         - 1 /
+            4 SHIFT         D 1 SHIFT
+            4 UP            - 1 UP
+
+            5 CONTROL       E 1 CTRL
+            5 WINDOWS       E 1 WIN
+            5 ALT           E 1 ALT
+            5 SPACE         - 1 SPACE
+            5 ALT,ALT_GRAPH D 1 ALT
+            5 WINDOWS       D 1 WIN
+            5 CONTEXT_MENU  - 1 MENU
+            5 CONTROL       D 1 CTRL
+            5 LEFT          - 1 LEFT
+            5 DOWN          - 1 DOWN
+            5 RIGHT         - 1 RIGHT
+            """;  // Layout usado quando o arquivo de configuração não existe, no mesmo formato dele
+
+    private final List<String> labels = new ArrayList<>();  // Rótulo de cada tecla
+    private final List<int[]> keyCodes = new ArrayList<>();  // Códigos (VK_) de cada tecla
+    private final int[] locations;  // Local de cada tecla
+    private final int[] rows;  // Fileira de cada tecla
+    private final int[] columns;  // Primeira coluna de cada tecla na fileira
+    private final int[] widths;  // Colunas ocupadas por cada tecla
+    private final int codeLimit;  // Maior código do layout + 1
+    private final int[] slots;  // Tecla de cada evento, em código * LOCATIONS + local (NO_KEY = nenhuma)
+
+    /**
+     * Construtor da classe KeyboardLayout.
+     * Cada linha descreve uma tecla no formato "fileira códigos local largura rótulo"; linhas vazias, comentários
+     * (iniciados por #) e linhas inválidas são ignorados.
+     *
+     * @param lines as linhas do layout.
+     */
+    public KeyboardLayout(List<String> lines) {
+        List<int[]> keys = new ArrayList<>();  // Fileira, local e largura de cada tecla
+        for (String line : lines) {
+            String[] fields = line.trim().split("\\s+", 5);
+            if (fields.length < 5 || fields[0].startsWith("#")) {
+                continue;
+            }
+            try {
+                int row = Integer.parseInt(fields[0]);
+                int location = parseLocation(fields[2]);
+                int width = Integer.parseInt(fields[3]);
+                int[] codes = parseKeyCodes(fields[1]);
+                if (row < 0 || location < 0 || width < 1 || codes == null) {
+                    continue;
+                }
+                labels.add(fields[4]);
+                keyCodes.add(codes);
+                keys.add(new int[]{row, location, width});
+            } catch (NumberFormatException e) {
+                // Linha inválida, ignorada
+            }
+        }
+
+        int keyCount = keys.size();
+        locations = new int[keyCount];
+        rows = new int[keyCount];
+        columns = new int[keyCount];
+        widths = new int[keyCount];
+        Map<Integer, Integer> nextColumn = new HashMap<>();
+        int maxCode = 0;
+        for (int slot = 0; slot < keyCount; slot++) {
+            int[] key = keys.get(slot);
+            rows[slot] = key[0];
+            locations[slot] = key[1];
+            widths[slot] = key[2];
+            columns[slot] = nextColumn.getOrDefault(key[0], 0);
+            nextColumn.put(key[0], columns[slot] + key[2]);
+            for (int code : keyCodes.get(slot)) {
+                maxCode = Math.max(maxCode, code);
+            }
+        }
+
+        codeLimit = maxCode + 1;
+        slots = new int[codeLimit * LOCATIONS];
+        Arrays.fill(slots, NO_KEY);
+        for (int slot = 0; slot < keyCount; slot++) {
+            for (int code : keyCodes.get(slot)) {
+                // Mantém a primeira tecla declarada para o mesmo código e local
+                if (slots[code * LOCATIONS + locations[slot]] == NO_KEY) {
+                    slots[code * LOCATIONS + locations[slot]] = slot;
+                }
+            }
+        }
+        fillMissingLocations();
+    }
+
+    /**
+     * Carrega o layout de um arquivo de configuração. Se o arquivo não existir, usa o layout padrão.
+     *
+     * @param config o arquivo de configuração.
+     * @return o layout carregado.
+     */
+    public static KeyboardLayout load(Path config) {
+        try {
+            return new KeyboardLayout(Files.readAllLines(config, StandardCharsets.UTF_8));
+        } catch (NoSuchFileException e) {
+            return defaults();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return defaults();
+        }
+    }
+
+    /**
+     * Cria o layout padrão, um teclado ANSI sem teclado numérico.
+     *
+     * @return o layout padrão.
+     */
+    public static KeyboardLayout defaults() {
+        return new KeyboardLayout(DEFAULT_LAYOUT.lines().toList());
+    }
+
+    /**
+     * Obtém a tecla correspondente a um código e local de tecla.
+     *
+     * @param keyCode  o código da tecla (KeyEvent.VK_*).
+     * @param location o local da tecla (KeyEvent.KEY_LOCATION_*).
+     * @return o índice da tecla, ou {@link #NO_KEY} se ela não fizer parte do layout.
+     */
+    public int slotOf(int keyCode, int location) {
+        if (keyCode < 0 || keyCode >= codeLimit || location < 0 || location >= LOCATIONS) {
+            return NO_KEY;
+        }
+        return slots[keyCode * LOCATIONS + location];
+    }
+
+    /**
+     * Obtém a tecla correspondente a um evento de teclado.
+     *
+     * @param e o evento de teclado.
+     * @return o índice da tecla, ou {@link #NO_KEY} se ela não fizer parte do layout.
+     */
+    public int slotOf(KeyEvent e) {
+        return slotOf(e.getKeyCode(), e.getKeyLocation());
+    }
+
+    /**
+     * Obtém a quantidade de teclas do layout.
+     *
+     * @return a quantidade de teclas.
+     */
+    public int size() {
+        return labels.size();
+    }
+
+    /**
+     * Obtém o rótulo de uma tecla.
+     *
+     * @param slot o índice da tecla.
+     * @return o rótulo exibido na tecla.
+     */
+    public String getLabel(int slot) {
+        return labels.get(slot);
+    }
+
+    /**
+     * Obtém o nome de uma tecla para relatórios: o rótulo, seguido do lado para teclas da esquerda, da direita ou do
+     * teclado numérico.
+     *
+     * @param slot o índice da tecla.
+     * @return o nome da tecla, como "SHIFT (dir.)".
+     */
+    public String getName(int slot) {
+        switch (locations[slot]) {
+            case KeyEvent.KEY_LOCATION_LEFT:
+                return labels.get(slot) + " (esq.)";
+            case KeyEvent.KEY_LOCATION_RIGHT:
+                return labels.get(slot) + " (dir.)";
+            case KeyEvent.KEY_LOCATION_NUMPAD:
+                return labels.get(slot) + " (num.)";
+            default:
+                return labels.get(slot);
+        }
+    }
+
+    /**
+     * Obtém o código principal de uma tecla, o primeiro declarado no layout.
+     *
+     * @param slot o índice da tecla.
+     * @return o código da tecla (KeyEvent.VK_*).
+     */
+    public int getKeyCode(int slot) {
+        return keyCodes.get(slot)[0];
+    }
+
+    /**
+     * Obtém o local de uma tecla.
+     *
+     * @param slot o índice da tecla.
+     * @return o local da tecla (KeyEvent.KEY_LOCATION_*).
+     */
+    public int getLocation(int slot) {
+        return locations[slot];
+    }
+
+    /**
+     * Obtém a fileira de uma tecla.
+     *
+     * @param slot o índice da tecla.
+     * @return a fileira, a partir de 0.
+     */
+    public int getRow(int slot) {
+        return rows[slot];
+    }
+
+    /**
+     * Obtém a primeira coluna de uma tecla na sua fileira.
+     *
+     * @param slot o índice da tecla.
+     * @return a coluna, a partir de 0.
+     */
+    public int getColumn(int slot) {
+        return columns[slot];
+    }
+
+    /**
+     * Obtém a quantidade de colunas ocupadas por uma tecla.
+     *
+     * @param slot o índice da tecla.
+     * @return a largura da tecla, em colunas.
+     */
+    public int getWidth(int slot) {
+        return widths[slot];
+    }
+
+    /**
+     * Completa os locais sem tecla própria de cada código com a tecla padrão do código, ou a da esquerda, da direita
+     * ou do teclado numérico, nessa ordem. Assim, um evento de local desconhecido ainda acende uma tecla, mas o SHIFT
+     * da direita nunca acende o da esquerda quando os dois fazem parte do layout.
+     */
+    private void fillMissingLocations() {
+        int[] preference = {KeyEvent.KEY_LOCATION_STANDARD, KeyEvent.KEY_LOCATION_LEFT, KeyEvent.KEY_LOCATION_RIGHT,
+                KeyEvent.KEY_LOCATION_NUMPAD};
+        for (int code = 0; code < codeLimit; code++) {
+            int fallback = NO_KEY;
+            for (int location : preference) {
+                if (fallback == NO_KEY) {
+                    fallback = slots[code * LOCATIONS + location];
+                }
+            }
+            for (int location = 0; location < LOCATIONS; location++) {
+                if (slots[code * LOCATIONS + location] == NO_KEY) {
+                    slots[code * LOCATIONS + location] = fallback;
+                }
+            }
+        }
+    }
+
+    /**
+     * Converte a coluna de local do layout: - (padrão), E (esquerda), D (direita) ou N (teclado numérico).
+     *
+     * @param location o local como escrito no layout.
+     * @return o local (KeyEvent.KEY_LOCATION_*), ou -1 se for inválido.
+     */
+    private static int parseLocation(String location) {
+        switch (location.toUpperCase()) {
+            case "-":
+                return KeyEvent.KEY_LOCATION_STANDARD;
+            case "E":
+                return KeyEvent.KEY_LOCATION_LEFT;
+            case "D":
+                return KeyEvent.KEY_LOCATION_RIGHT;
+            case "N":
+                return KeyEvent.KEY_LOCATION_NUMPAD;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Converte a coluna de códigos do layout, nomes de constantes VK_ de KeyEvent sem o prefixo e separados por
+     * vírgula, nos valores das constantes.
+     *
+     * @param names os nomes das constantes.
+     * @return os códigos das teclas, ou null se algum nome não existir.
+     */
+    private static int[] parseKeyCodes(String names) {
+        String[] parts = names.split(",");
+        int[] codes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                codes[i] = KeyEvent.class.getField("VK_" + parts[i].trim().toUpperCase()).getInt(null);
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                return null;
+            }
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,306 @@
+package ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Componente único que desenha o teclado do teste de teclado.
+ * As posições das teclas são calculadas uma vez a partir do {@link KeyboardLayout}, e o teclado em repouso (fundo,
+ * teclas, bordas e rótulos) é desenhado uma única vez em uma imagem. Cada mudança de estado de uma tecla repinta
+ * apenas o retângulo da tecla: a imagem é copiada e só as teclas destacadas são desenhadas por cima.
+ * O mapa de chatter, quando ativo, também é desenhado aqui, sobre as teclas com pressões duplicadas.
+ */
+public class KeyboardView extends JComponent {
+    private static final Color BACKGROUND = new Color(32, 31, 58);  // Mesmo fundo das outras janelas de teste
+    private static final Color IDLE = Color.LIGHT_GRAY;  // Tecla em repouso
+    private static final Color PRESSED = Color.GREEN;  // Tecla pressionada
+    private static final Color FLAGGED = Color.ORANGE;  // Tecla com sinais de bloqueio no teste de rollover
+    private static final int KEY_SIZE = 50;  // Lado de uma tecla de largura 1
+    private static final int KEY_GAP = 4;  // Espaço entre teclas vizinhas
+    private static final int LABEL_FONT_SIZE = 16;  // Tamanho da fonte dos rótulos que cabem na tecla
+    private static final int MIN_LABEL_FONT_SIZE = 9;  // Menor tamanho usado para rótulos longos
+    private static final Font HEAT_FONT = new Font("Arial", Font.BOLD, 11);  // Fonte da contagem de chatter
+    private static final int MIN_HEAT_ALPHA = 70;  // Opacidade de uma tecla com uma única ocorrência de chatter
+    private static final int MAX_HEAT_ALPHA = 200;  // Opacidade de uma tecla com chatter em 20% ou mais das repetições
+    private static final Color[] HEAT_PALETTE = heatPalette();  // Uma cor por opacidade, de MIN_HEAT_ALPHA a MAX_HEAT_ALPHA
+
+    private final KeyboardLayout layout;  // Teclas exibidas
+    private final KeyChatterStats chatter;  // Estatísticas exibidas no mapa de chatter
+    private final Rectangle[] keyBounds;  // Retângulo de cada tecla, relativo ao canto do teclado
+    private final String[] labels;  // Rótulo exibido em cada tecla, encurtado com reticências se não couber
+    private final Font[] labelFonts;  // Fonte de cada rótulo, reduzida até caber na tecla
+    private final int[] labelX;  // Posição x de cada rótulo, relativa à tecla
+    private final int[] labelY;  // Linha de base de cada rótulo, relativa à tecla
+    private final boolean[] pressed;  // Teclas pressionadas agora
+    private final boolean[] flagged;  // Teclas marcadas pelo teste de rollover
+    private final int boardWidth;  // Largura do teclado
+    private final int boardHeight;  // Altura do teclado
+    private BufferedImage board;  // Teclado em repouso, na escala da tela
+    private double boardScale;  // Escala em que a imagem do teclado foi desenhada
+    private boolean heatmapVisible;  // Indica se o mapa de chatter está ativo
+
+    /**
+     * Construtor da classe KeyboardView.
+     *
+     * @param layout  as teclas a exibir.
+     * @param chatter as estatísticas de chatter exibidas no mapa.
+     */
+    public KeyboardView(KeyboardLayout layout, KeyChatterStats chatter) {
+        this.layout = layout;
+        this.chatter = chatter;
+        int keyCount = layout.size();
+        keyBounds = new Rectangle[keyCount];
+        labels = new String[keyCount];
+        labelFonts = new Font[keyCount];
+        labelX = new int[keyCount];
+        labelY = new int[keyCount];
+        pressed = new boolean[keyCount];
+        flagged = new boolean[keyCount];
+
+        int width = 0;
+        int height = 0;
+        for (int slot = 0; slot < keyCount; slot++) {
+            Rectangle bounds = new Rectangle(
+                    KEY_GAP / 2 + layout.getColumn(slot) * (KEY_SIZE + KEY_GAP),
+                    KEY_GAP / 2 + layout.getRow(slot) * (KEY_SIZE + KEY_GAP),
+                    layout.getWidth(slot) * (KEY_SIZE + KEY_GAP) - KEY_GAP,
+                    KEY_SIZE);
+            keyBounds[slot] = bounds;
+            width = Math.max(width, bounds.x + bounds.width + KEY_GAP / 2);
+            height = Math.max(height, bounds.y + bounds.height + KEY_GAP / 2);
+            placeLabel(slot);
+        }
+        boardWidth = width;
+        boardHeight = height;
+
+        setOpaque(true);
+        setPreferredSize(new Dimension(boardWidth, boardHeight));
+    }
+
+    /**
+     * Altera o estado de pressão de uma tecla, repintando só a tecla se o estado mudar.
+     *
+     * @param slot  a tecla.
+     * @param state true se a tecla está pressionada.
+     */
+    public void setPressed(int slot, boolean state) {
+        if (pressed[slot] != state) {
+            pressed[slot] = state;
+            repaintKey(slot);
+        }
+    }
+
+    /**
+     * Marca ou desmarca uma tecla com sinais de bloqueio, repintando só a tecla se o estado mudar.
+     *
+     * @param slot  a tecla.
+     * @param state true para destacar a tecla.
+     */
+    public void setFlagged(int slot, boolean state) {
+        if (flagged[slot] != state) {
+            flagged[slot] = state;
+            repaintKey(slot);
+        }
+    }
+
+    /**
+     * Considera todas as teclas liberadas.
+     */
+    public void releaseAll() {
+        for (int slot = 0; slot < pressed.length; slot++) {
+            setPressed(slot, false);
+        }
+    }
+
+    /**
+     * Remove as marcas do teste de rollover de todas as teclas.
+     */
+    public void clearFlags() {
+        for (int slot = 0; slot < flagged.length; slot++) {
+            setFlagged(slot, false);
+        }
+    }
+
+    /**
+     * Ativa ou desativa o mapa de chatter.
+     *
+     * @param visible true para desenhar o mapa sobre as teclas.
+     */
+    public void setHeatmapVisible(boolean visible) {
+        heatmapVisible = visible;
+        repaint();
+    }
+
+    public boolean isHeatmapVisible() {
+        return heatmapVisible;
+    }
+
+    /**
+     * Marca o retângulo de uma tecla para ser repintado.
+     *
+     * @param slot a tecla.
+     */
+    public void repaintKey(int slot) {
+        repaint(getKeyBounds(slot));
+    }
+
+    /**
+     * Obtém o retângulo de uma tecla no componente.
+     *
+     * @param slot a tecla.
+     * @return o retângulo da tecla, nas coordenadas do componente.
+     */
+    public Rectangle getKeyBounds(int slot) {
+        Rectangle bounds = keyBounds[slot];
+        return new Rectangle(originX() + bounds.x, originY() + bounds.y, bounds.width, bounds.height);
+    }
+
+    /**
+     * Sobrescreve o método paintComponent para copiar o teclado em repouso e desenhar só as teclas destacadas que
+     * cruzam a área repintada.
+     *
+     * @param g o contexto gráfico usado para desenhar.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g2.setColor(BACKGROUND);
+        g2.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        g2.translate(originX(), originY());
+        double scale = g2.getTransform().getScaleX();
+        if (board == null || boardScale != scale) {
+            board = createBoard(scale);
+            boardScale = scale;
+        }
+        if (scale == 1) {
+            g2.drawImage(board, 0, 0, null);  // Cópia direta, sem passar pelo caminho de escala
+        } else {
+            g2.drawImage(board, 0, 0, boardWidth, boardHeight, null);
+        }
+
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        clip = g2.getClipBounds();
+        for (int slot = 0; slot < keyBounds.length; slot++) {
+            boolean heat = heatmapVisible && chatter.isSuspect(slot);
+            if ((pressed[slot] || flagged[slot] || heat) && keyBounds[slot].intersects(clip)) {
+                if (pressed[slot] || flagged[slot]) {
+                    paintKey(g2, slot, pressed[slot] ? PRESSED : FLAGGED);
+                }
+                if (heat) {
+                    paintHeat(g2, slot);
+                }
+            }
+        }
+        g2.dispose();
+    }
+
+    /**
+     * Desenha o teclado em repouso em uma imagem, na escala da tela, para que fique nítido em telas com ampliação.
+     *
+     * @param scale a escala da tela.
+     * @return a imagem do teclado.
+     */
+    private BufferedImage createBoard(double scale) {
+        BufferedImage image = new BufferedImage((int) Math.ceil(boardWidth * scale), (int) Math.ceil(boardHeight * scale),
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = image.createGraphics();
+        g2.setTransform(AffineTransform.getScaleInstance(scale, scale));
+        g2.setColor(BACKGROUND);
+        g2.fillRect(0, 0, boardWidth, boardHeight);
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        for (int slot = 0; slot < keyBounds.length; slot++) {
+            paintKey(g2, slot, IDLE);
+        }
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Desenha uma tecla com a cor de fundo indicada, a borda e o rótulo.
+     *
+     * @param g2    o contexto gráfico, na coordenada do teclado.
+     * @param slot  a tecla.
+     * @param color a cor de fundo da tecla.
+     */
+    private void paintKey(Graphics2D g2, int slot, Color color) {
+        Rectangle bounds = keyBounds[slot];
+        g2.setColor(color);
+        g2.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        g2.setColor(Color.BLACK);
+        g2.drawRect(bounds.x, bounds.y, bounds.width - 1, bounds.height - 1);
+        g2.setFont(labelFonts[slot]);
+        g2.drawString(labels[slot], bounds.x + labelX[slot], bounds.y + labelY[slot]);
+    }
+
+    /**
+     * Pinta uma tecla de vermelho, mais forte quanto maior a fração de pressões duplicadas, e escreve a quantidade de
+     * ocorrências no canto.
+     *
+     * @param g2   o contexto gráfico, na coordenada do teclado.
+     * @param slot a tecla.
+     */
+    private void paintHeat(Graphics2D g2, int slot) {
+        Rectangle bounds = keyBounds[slot];
+        double heat = Math.min(1, chatter.getChatterRate(slot) * 5);
+        g2.setColor(HEAT_PALETTE[(int) (heat * (MAX_HEAT_ALPHA - MIN_HEAT_ALPHA))]);
+        g2.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        g2.setColor(Color.WHITE);
+        g2.setFont(HEAT_FONT);
+        g2.drawString("×" + chatter.getChatterCount(slot), bounds.x + 3, bounds.y + bounds.height - 4);
+    }
+
+    /**
+     * Cria as cores do mapa de chatter, para que a pintura não crie um Color por tecla a cada quadro.
+     */
+    private static Color[] heatPalette() {
+        Color[] palette = new Color[MAX_HEAT_ALPHA - MIN_HEAT_ALPHA + 1];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = new Color(220, 20, 20, MIN_HEAT_ALPHA + i);
+        }
+        return palette;
+    }
+
+    /**
+     * Escolhe a fonte do rótulo de uma tecla, reduzindo o tamanho até o rótulo caber, e centraliza o rótulo na tecla.
+     * Se nem o menor tamanho couber, o rótulo é encurtado com reticências, como em um JLabel.
+     *
+     * @param slot a tecla.
+     */
+    private void placeLabel(int slot) {
+        String label = layout.getLabel(slot);
+        Rectangle bounds = keyBounds[slot];
+        int maxWidth = bounds.width - 6;
+        Font font = new Font("Arial", Font.BOLD, LABEL_FONT_SIZE);
+        FontMetrics metrics = getFontMetrics(font);
+        while (metrics.stringWidth(label) > maxWidth && font.getSize() > MIN_LABEL_FONT_SIZE) {
+            font = font.deriveFont((float) (font.getSize() - 1));
+            metrics = getFontMetrics(font);
+        }
+        if (metrics.stringWidth(label) > maxWidth) {
+            int length = label.length();
+            while (length > 1 && metrics.stringWidth(label.substring(0, length) + "…") > maxWidth) {
+                length--;
+            }
+            label = label.substring(0, length) + "…";
+        }
+        labels[slot] = label;
+        labelFonts[slot] = font;
+        labelX[slot] = (bounds.width - metrics.stringWidth(label)) / 2;
+        labelY[slot] = (bounds.height - metrics.getHeight()) / 2 + metrics.getAscent();
+    }
+
+    private int originX() {
+        return Math.max(0, (getWidth() - boardWidth) / 2);
+    }
+
+    private int originY() {
+        return Math.max(0, (getHeight() - boardHeight) / 2);
+    }
+}
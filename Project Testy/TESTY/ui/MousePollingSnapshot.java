@@ -0,0 +1,114 @@
+package ui;
+
+/**
+ * Resumo imutável das estatísticas de um {@link MousePollingStats} em um instante. Intervalos em nanossegundos.
+ */
+public class MousePollingSnapshot {
+    private final long events;  // Eventos de movimento recebidos
+    private final long intervals;  // Intervalos entre eventos com o mouse em movimento
+    private final long pauses;  // Pausas do movimento
+    private final double effectiveRateHz;  // Eventos por segundo em movimento, contando as perdas
+    private final double nominalRateHz;  // Taxa correspondente ao intervalo mediano
+    private final long p50;  // Intervalo mediano
+    private final long p90;  // Percentil 90 dos intervalos
+    private final long p99;  // Percentil 99 dos intervalos
+    private final long p999;  // Percentil 99,9 dos intervalos
+    private final long minInterval;  // Menor intervalo
+    private final long maxInterval;  // Maior intervalo fora das pausas
+    private final double jitter;  // Desvio padrão dos intervalos
+    private final long suspectedDrops;  // Intervalos com suspeita de relatórios perdidos
+    private final long missedReports;  // Estimativa de relatórios perdidos nesses intervalos
+
+    /**
+     * Construtor da classe MousePollingSnapshot.
+     *
+     * @param events          os eventos de movimento recebidos.
+     * @param intervals       os intervalos com o mouse em movimento.
+     * @param pauses          as pausas do movimento.
+     * @param effectiveRateHz a taxa efetiva, em Hz.
+     * @param nominalRateHz   a taxa do intervalo mediano, em Hz.
+     * @param p50             o intervalo mediano.
+     * @param p90             o percentil 90 dos intervalos.
+     * @param p99             o percentil 99 dos intervalos.
+     * @param p999            o percentil 99,9 dos intervalos.
+     * @param minInterval     o menor intervalo.
+     * @param maxInterval     o maior intervalo fora das pausas.
+     * @param jitter          o desvio padrão dos intervalos.
+     * @param suspectedDrops  os intervalos com suspeita de perda.
+     * @param missedReports   a estimativa de relatórios perdidos.
+     */
+    public MousePollingSnapshot(long events, long intervals, long pauses, double effectiveRateHz, double nominalRateHz,
+                                long p50, long p90, long p99, long p999, long minInterval, long maxInterval,
+                                double jitter, long suspectedDrops, long missedReports) {
+        this.events = events;
+        this.intervals = intervals;
+        this.pauses = pauses;
+        this.effectiveRateHz = effectiveRateHz;
+        this.nominalRateHz = nominalRateHz;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval;
+        this.jitter = jitter;
+        this.suspectedDrops = suspectedDrops;
+        this.missedReports = missedReports;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    public long getIntervals() {
+        return intervals;
+    }
+
+    public long getPauses() {
+        return pauses;
+    }
+
+    public double getEffectiveRateHz() {
+        return effectiveRateHz;
+    }
+
+    public double getNominalRateHz() {
+        return nominalRateHz;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    public long getMinInterval() {
+        return minInterval;
+    }
+
+    public long getMaxInterval() {
+        return maxInterval;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public long getSuspectedDrops() {
+        return suspectedDrops;
+    }
+
+    public long getMissedReports() {
+        return missedReports;
+    }
+}
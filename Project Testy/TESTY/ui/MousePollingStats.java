@@ -0,0 +1,175 @@
+package ui;
+
+import java.util.Arrays;
+
+/**
+ * Estatísticas contínuas da taxa de relatório (polling rate) de um mouse, a partir do instante de chegada de cada
+ * evento de movimento.
+ * Os intervalos entre eventos são contados em um histograma log-linear de tamanho fixo (32 faixas por potência de dois,
+ * cerca de 3% de resolução), de forma que a memória usada não cresce com a duração da sessão e registrar um evento
+ * custa algumas operações sobre primitivos. Percentis, taxa e perdas são calculados só quando um
+ * {@link MousePollingSnapshot} é pedido.
+ * <p>
+ * Intervalos maiores que {@link #PAUSE_NANOS} são pausas do movimento, e não entram nas estatísticas. Intervalos bem
+ * maiores que a mediana, mas menores que uma pausa, indicam relatórios que não chegaram: perdidos pelo mouse, pelo
+ * sistema ou agrupados pela fila de eventos do AWT quando a thread de eventos está ocupada. Esses intervalos também
+ * ficam fora do jitter, usando a mediana do histograma, recalculada a cada {@link #MEDIAN_REFRESH} intervalos e a cada
+ * resumo; até os primeiros {@link #SEED_INTERVALS} intervalos, nenhum entra no jitter.
+ * <p>
+ * Os instantes vêm da chegada dos eventos à thread de eventos do AWT, que agrupa os movimentos pendentes: acima de
+ * cerca de 1 kHz, a taxa medida reflete a fila de eventos, e não o mouse. Taxas maiores só são verificadas com
+ * instantes sintéticos.
+ */
+public class MousePollingStats {
+    static final long PAUSE_NANOS = 50_000_000L;  // Intervalo a partir do qual o movimento é considerado parado
+    static final double DROP_FACTOR = 1.5;  // Intervalo, em medianas, a partir do qual há suspeita de perda
+    static final int SEED_INTERVALS = 16;  // Intervalos contados antes do primeiro limite do jitter
+    static final int MEDIAN_REFRESH = 256;  // Intervalos entre recálculos do limite do jitter (potência de dois)
+    private static final int SUB_BUCKET_BITS = 5;  // 32 faixas por potência de dois
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 63 - Long.numberOfLeadingZeros(PAUSE_NANOS);  // Maior potência de dois usada
+    private static final int BINS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;  // Faixas do histograma
+    private static final long NONE = Long.MIN_VALUE;  // Instante ausente
+
+    private final long[] histogram = new long[BINS];  // Intervalos por faixa de duração, em nanossegundos
+    private long lastEventNanos = NONE;  // Instante do evento anterior
+    private long events;  // Eventos registrados
+    private long intervals;  // Intervalos contados no histograma
+    private long pauses;  // Intervalos descartados por serem pausas do movimento
+    private long minInterval = Long.MAX_VALUE;  // Menor intervalo
+    private long maxInterval;  // Maior intervalo fora das pausas
+    private long intervalSum;  // Soma dos intervalos
+    private long jitterLimit = -1;  // Maior intervalo que entra no jitter, da última mediana; -1 até haver uma
+    private long jitterCount;  // Intervalos que entram no jitter
+    private double jitterMean;  // Média desses intervalos (Welford)
+    private double jitterM2;  // Soma dos quadrados dos desvios desses intervalos (Welford)
+
+    /**
+     * Registra a chegada de um evento de movimento.
+     *
+     * @param nanos o instante de chegada, de System.nanoTime().
+     */
+    public void record(long nanos) {
+        long previous = lastEventNanos;
+        lastEventNanos = nanos;
+        events++;
+        if (previous == NONE) {
+            return;
+        }
+        long interval = nanos - previous;
+        if (interval < 0 || interval > PAUSE_NANOS) {
+            pauses++;
+            return;
+        }
+        histogram[binOf(interval)]++;
+        intervals++;
+        minInterval = Math.min(minInterval, interval);
+        maxInterval = Math.max(maxInterval, interval);
+        intervalSum += interval;
+        if (intervals == SEED_INTERVALS || (intervals & (MEDIAN_REFRESH - 1)) == 0) {
+            updateJitterLimit(percentile(50));
+        }
+        if (interval <= jitterLimit) {
+            jitterCount++;
+            double delta = interval - jitterMean;
+            jitterMean += delta / jitterCount;
+            jitterM2 += delta * (interval - jitterMean);
+        }
+    }
+
+    /**
+     * Descarta todas as estatísticas.
+     */
+    public void reset() {
+        Arrays.fill(histogram, 0);
+        lastEventNanos = NONE;
+        events = 0;
+        intervals = 0;
+        pauses = 0;
+        minInterval = Long.MAX_VALUE;
+        maxInterval = 0;
+        intervalSum = 0;
+        jitterLimit = -1;
+        jitterCount = 0;
+        jitterMean = 0;
+        jitterM2 = 0;
+    }
+
+    /**
+     * Calcula as estatísticas atuais e atualiza o limite de intervalo do jitter com a mediana atual.
+     *
+     * @return o resumo das estatísticas.
+     */
+    public MousePollingSnapshot snapshot() {
+        if (intervals == 0) {
+            return new MousePollingSnapshot(events, 0, pauses, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        long p50 = percentile(50);
+        if (intervals >= SEED_INTERVALS) {
+            updateJitterLimit(p50);
+        }
+        long suspectedDrops = 0;
+        long missedReports = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            long middle = binMiddle(bin);
+            if (histogram[bin] > 0 && middle > DROP_FACTOR * p50) {
+                suspectedDrops += histogram[bin];
+                missedReports += histogram[bin] * Math.max(1, Math.round((double) middle / p50) - 1);
+            }
+        }
+        double jitter = jitterCount > 1 ? Math.sqrt(jitterM2 / (jitterCount - 1)) : 0;
+        return new MousePollingSnapshot(events, intervals, pauses, 1e9 * intervals / intervalSum, 1e9 / p50, p50,
+                percentile(90), percentile(99), percentile(99.9), minInterval, maxInterval, jitter,
+                suspectedDrops, missedReports);
+    }
+
+    /**
+     * Atualiza o maior intervalo que entra no jitter a partir da mediana dos intervalos.
+     */
+    private void updateJitterLimit(long p50) {
+        jitterLimit = (long) (DROP_FACTOR * p50);
+    }
+
+    /**
+     * Calcula um percentil dos intervalos a partir do histograma.
+     *
+     * @param percentile o percentil desejado, entre 0 e 100.
+     * @return o intervalo no percentil, em nanossegundos (meio da faixa), ou 0 sem intervalos.
+     */
+    public long percentile(double percentile) {
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * intervals));
+        long cumulative = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            cumulative += histogram[bin];
+            if (cumulative >= target) {
+                return binMiddle(bin);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Obtém a faixa do histograma de um intervalo. Intervalos menores que SUB_BUCKETS têm uma faixa por nanossegundo;
+     * os demais, SUB_BUCKETS faixas por potência de dois.
+     */
+    private static int binOf(long interval) {
+        int exponent = 63 - Long.numberOfLeadingZeros(interval);
+        if (exponent < SUB_BUCKET_BITS) {
+            return (int) interval;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((interval >> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Obtém o valor central de uma faixa do histograma.
+     */
+    private static long binMiddle(int bin) {
+        if (bin < SUB_BUCKETS) {
+            return bin;
+        }
+        int shift = bin / SUB_BUCKETS - 1;
+        long low = (long) (SUB_BUCKETS + bin % SUB_BUCKETS) << shift;
+        return low + ((1L << shift) >> 1);
+    }
+}
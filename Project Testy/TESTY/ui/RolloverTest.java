@@ -0,0 +1,195 @@
+package ui;
+
+import java.util.Arrays;
+
+/**
+ * Teste de rollover (quantas teclas o teclado registra ao mesmo tempo) e de bloqueio de teclas.
+ * Cada pressão e soltura é guardada em um {@link KeyEventLog} com o instante de System.nanoTime(), e as estatísticas
+ * de cada tecla são atualizadas no próprio evento, sem criar objetos.
+ * <p>
+ * Um teclado que não registra a próxima tecla com várias já pressionadas (6KRO, ou bloqueio por matriz) deixa três
+ * marcas possíveis nos eventos:
+ * <ul>
+ *     <li>a tecla só aparece sozinha, nunca junto de outras, apesar de o teste ter combinações de teclas;</li>
+ *     <li>a soltura chega sem a pressão, quando a pressão foi bloqueada;</li>
+ *     <li>a pressão chega logo depois da soltura de outra tecla com o teclado no máximo de teclas simultâneas, quando o
+ *     teclado só libera a tecla bloqueada ao abrir espaço (as duas mudanças vêm no mesmo relatório USB).</li>
+ * </ul>
+ */
+public class RolloverTest {
+    public static final int DEFAULT_LOG_CAPACITY = 1 << 16;  // Eventos guardados por teste
+    static final long DEFERRED_WINDOW_NANOS = 1_000_000;  // Pressão até 1 ms após uma soltura conta como atrasada
+
+    private final KeyEventLog log;  // Todas as pressões e solturas do teste
+    private final boolean[] down;  // Teclas pressionadas agora
+    private final int[] pressCount;  // Pressões de cada tecla, sem contar a repetição automática
+    private final int[] maxOthersHeld;  // Maior quantidade de outras teclas pressionadas junto de cada tecla (-1 = nunca)
+    private final int[] orphanReleases;  // Solturas de cada tecla sem a pressão correspondente
+    private final int[] deferredPresses;  // Pressões de cada tecla registradas logo depois da soltura de outra
+    private int keysDown;  // Quantidade de teclas pressionadas agora
+    private int maxKeysDown;  // Maior quantidade de teclas pressionadas ao mesmo tempo
+    private long lastReleaseNanos;  // Instante da última soltura
+    private int keysDownBeforeRelease;  // Teclas pressionadas logo antes da última soltura
+
+    /**
+     * Construtor da classe RolloverTest.
+     *
+     * @param keyCount    a quantidade de teclas do layout.
+     * @param logCapacity a quantidade máxima de eventos registrados.
+     */
+    public RolloverTest(int keyCount, int logCapacity) {
+        log = new KeyEventLog(logCapacity);
+        down = new boolean[keyCount];
+        pressCount = new int[keyCount];
+        maxOthersHeld = new int[keyCount];
+        orphanReleases = new int[keyCount];
+        deferredPresses = new int[keyCount];
+        reset();
+    }
+
+    /**
+     * Descarta os eventos e as estatísticas, começando um novo teste.
+     */
+    public void reset() {
+        log.clear();
+        Arrays.fill(down, false);
+        Arrays.fill(pressCount, 0);
+        Arrays.fill(maxOthersHeld, -1);
+        Arrays.fill(orphanReleases, 0);
+        Arrays.fill(deferredPresses, 0);
+        keysDown = 0;
+        maxKeysDown = 0;
+        lastReleaseNanos = Long.MIN_VALUE;
+        keysDownBeforeRelease = 0;
+    }
+
+    /**
+     * Registra a pressão de uma tecla. Pressões de uma tecla já pressionada (repetição automática) são ignoradas.
+     *
+     * @param slot  a tecla pressionada.
+     * @param nanos o instante do evento, de System.nanoTime().
+     * @return true se a pressão foi registrada, false se for uma repetição.
+     */
+    public boolean press(int slot, long nanos) {
+        if (down[slot]) {
+            return false;
+        }
+        log.record(slot, true, nanos);
+        if (maxKeysDown >= 2 && keysDownBeforeRelease == maxKeysDown
+                && nanos - lastReleaseNanos <= DEFERRED_WINDOW_NANOS) {
+            deferredPresses[slot]++;
+        }
+        down[slot] = true;
+        keysDown++;
+        // Todas as teclas pressionadas passam a ter keysDown - 1 outras junto delas
+        for (int key = 0; key < down.length; key++) {
+            if (down[key]) {
+                maxOthersHeld[key] = Math.max(maxOthersHeld[key], keysDown - 1);
+            }
+        }
+        maxKeysDown = Math.max(maxKeysDown, keysDown);
+        pressCount[slot]++;
+        return true;
+    }
+
+    /**
+     * Registra a soltura de uma tecla.
+     *
+     * @param slot  a tecla liberada.
+     * @param nanos o instante do evento, de System.nanoTime().
+     * @return true se a tecla estava pressionada, false se a pressão não foi registrada.
+     */
+    public boolean release(int slot, long nanos) {
+        log.record(slot, false, nanos);
+        if (!down[slot]) {
+            orphanReleases[slot]++;
+            return false;
+        }
+        down[slot] = false;
+        keysDownBeforeRelease = keysDown;
+        keysDown--;
+        lastReleaseNanos = nanos;
+        return true;
+    }
+
+    /**
+     * Considera todas as teclas liberadas sem registrar eventos, como quando a janela perde o foco e as solturas
+     * deixam de chegar.
+     */
+    public void releaseAll() {
+        Arrays.fill(down, false);
+        keysDown = 0;
+        lastReleaseNanos = Long.MIN_VALUE;
+    }
+
+    /**
+     * Obtém o resultado do teste para uma tecla, em ordem de gravidade.
+     *
+     * @param slot a tecla.
+     * @return "Soltura sem pressão", "Registrada com atraso", "Só registrada sozinha", "Não testada" ou "OK".
+     */
+    public String getVerdict(int slot) {
+        if (orphanReleases[slot] > 0) {
+            return "Soltura sem pressão";
+        }
+        if (deferredPresses[slot] > 0) {
+            return "Registrada com atraso";
+        }
+        if (pressCount[slot] == 0) {
+            return "Não testada";
+        }
+        if (maxOthersHeld[slot] == 0 && maxKeysDown >= 2) {
+            return "Só registrada sozinha";
+        }
+        return "OK";
+    }
+
+    /**
+     * Verifica se uma tecla apresentou sinais de bloqueio.
+     *
+     * @param slot a tecla.
+     * @return true se a tecla foi testada e o resultado não for "OK".
+     */
+    public boolean isFlagged(int slot) {
+        String verdict = getVerdict(slot);
+        return !"OK".equals(verdict) && !"Não testada".equals(verdict);
+    }
+
+    /**
+     * Verifica se uma tecla teve algum evento no teste.
+     *
+     * @param slot a tecla.
+     * @return true se a tecla foi pressionada ou liberada.
+     */
+    public boolean isTested(int slot) {
+        return pressCount[slot] > 0 || orphanReleases[slot] > 0;
+    }
+
+    public KeyEventLog getLog() {
+        return log;
+    }
+
+    public int getKeysDown() {
+        return keysDown;
+    }
+
+    public int getMaxKeysDown() {
+        return maxKeysDown;
+    }
+
+    public int getPressCount(int slot) {
+        return pressCount[slot];
+    }
+
+    public int getMaxOthersHeld(int slot) {
+        return maxOthersHeld[slot];
+    }
+
+    public int getOrphanReleases(int slot) {
+        return orphanReleases[slot];
+    }
+
+    public int getDeferredPresses(int slot) {
+        return deferredPresses[slot];
+    }
+}
@@ -0,0 +1,79 @@
+package ui;
+
+import hardware.MetricSeries;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Componente que desenha o histórico de uma {@link MetricSeries} como um gráfico de linha compacto.
+ * Os arrays usados no desenho são alocados uma única vez, com a capacidade da série.
+ */
+public class Sparkline extends JComponent {
+    private static final Color BACKGROUND = new Color(32, 31, 58);  // Mesmo fundo do painel de botões
+    private static final Color LINE = new Color(178, 102, 255);  // Mesma cor dos labels de informação
+
+    private final MetricSeries series;  // Série exibida
+    private final double fixedMax;  // Topo da escala, ou 0 para usar o maior valor do histórico
+    private final double[] values;  // Cópia das amostras, reaproveitada a cada desenho
+    private final int[] xPoints;  // Coordenadas x da linha
+    private final int[] yPoints;  // Coordenadas y da linha
+
+    /**
+     * Construtor da classe Sparkline.
+     *
+     * @param series   a série a ser exibida.
+     * @param fixedMax o topo da escala, ou 0 para ajustar a escala ao maior valor do histórico.
+     */
+    public Sparkline(MetricSeries series, double fixedMax) {
+        this.series = series;
+        this.fixedMax = fixedMax;
+        values = new double[series.getCapacity()];
+        xPoints = new int[series.getCapacity()];
+        yPoints = new int[series.getCapacity()];
+        setPreferredSize(new Dimension(160, 28));
+        setMaximumSize(new Dimension(Integer.MAX_VALUE, 28));
+        setAlignmentX(Component.LEFT_ALIGNMENT);
+    }
+
+    /**
+     * Sobrescreve o método paintComponent para desenhar o histórico da série.
+     *
+     * @param g o contexto gráfico.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int count = series.copyTo(values);
+        int width = getWidth();
+        int height = getHeight() - 2;
+
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, width, getHeight());
+        if (count < 2) {
+            return;
+        }
+
+        double max = fixedMax;
+        if (max <= 0) {
+            for (int i = 0; i < count; i++) {
+                max = Math.max(max, values[i]);
+            }
+        }
+        if (max <= 0) {
+            max = 1;
+        }
+
+        // A amostra mais recente fica na borda direita; o histórico ocupa a largura conforme a retenção
+        double step = width / (double) (values.length - 1);
+        int offset = values.length - count;
+        for (int i = 0; i < count; i++) {
+            xPoints[i] = (int) Math.round((offset + i) * step);
+            yPoints[i] = 1 + height - (int) Math.round(Math.min(values[i], max) / max * height);
+        }
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setColor(LINE);
+        g2.drawPolyline(xPoints, yPoints, count);
+    }
+}
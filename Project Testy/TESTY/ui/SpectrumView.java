@@ -0,0 +1,213 @@
+package ui;
+
+import audio.AudioRingBuffer;
+import audio.SpectrumAnalyzer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * Componente que exibe o espectro mais recente de um {@link SpectrumAnalyzer} (em cima) e o espectrograma (embaixo),
+ * com o eixo de frequência em escala logarítmica de 20 Hz até a metade da taxa de amostragem.
+ * O espectrograma é uma imagem circular: cada quadro novo pinta uma única coluna direto nos pixels da imagem, e o
+ * desenho só copia a imagem em duas partes. Os quadros são retirados da fila do analisador por {@link #refresh()},
+ * chamado por um timer, de forma que a taxa de quadros da tela não depende da taxa de captura.
+ */
+public class SpectrumView extends JComponent {
+    private static final Color BACKGROUND = new Color(32, 31, 58);  // Mesmo fundo do painel de botões
+    private static final Color LINE = new Color(178, 102, 255);  // Mesma cor dos labels de informação
+    private static final Color GRID = new Color(70, 68, 110);  // Linhas das frequências de referência
+    private static final float MIN_FREQUENCY = 20f;  // Frequência da borda esquerda
+    private static final float DISPLAY_FLOOR_DB = -100f;  // Nível exibido como fundo; abaixo disso, tudo é fundo
+    private static final int[] GRID_FREQUENCIES = {100, 1000, 10000};  // Frequências marcadas no espectro
+    private static final int HISTORY_COLUMNS = 256;  // Quadros visíveis no espectrograma
+    private static final int FREQUENCY_ROWS = 128;  // Linhas de frequência do espectrograma
+    private static final int[] PALETTE = createPalette();  // Cor de cada nível, de DISPLAY_FLOOR_DB a 0 dBFS
+
+    private SpectrumAnalyzer analyzer;  // Analisador exibido, ou null antes do primeiro teste
+    private AudioRingBuffer frames;  // Fila de quadros do analisador; esta view é a única consumidora
+    private float[] frame;  // Quadro mais recente, reaproveitado a cada leitura
+    private boolean hasFrame;  // Indica se algum quadro já foi lido
+    private final BufferedImage image = new BufferedImage(HISTORY_COLUMNS, FREQUENCY_ROWS, BufferedImage.TYPE_INT_RGB);
+    private final int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();  // Pixels da imagem
+    private final int[] rowBins = new int[FREQUENCY_ROWS + 1];  // Primeira faixa de cada linha (linha 0 = grave)
+    private int column;  // Próxima coluna do espectrograma
+    private int[] columnBins = new int[0];  // Primeira faixa de cada pixel x do espectro, recalculado ao redimensionar
+    private int[] xPoints = new int[0];  // Coordenadas x da linha do espectro
+    private int[] yPoints = new int[0];  // Coordenadas y da linha do espectro
+
+    /**
+     * Construtor da classe SpectrumView.
+     */
+    public SpectrumView() {
+        setPreferredSize(new Dimension(360, 220));
+        clearImage();
+    }
+
+    /**
+     * Passa a exibir um novo analisador, limpando o espectrograma.
+     *
+     * @param analyzer o analisador da linha de captura.
+     */
+    public void setAnalyzer(SpectrumAnalyzer analyzer) {
+        this.analyzer = analyzer;
+        frames = analyzer.getFrames();
+        frame = new float[analyzer.getBins()];
+        hasFrame = false;
+        column = 0;
+        mapBins(rowBins, FREQUENCY_ROWS);
+        columnBins = new int[0];
+        clearImage();
+        repaint();
+    }
+
+    /**
+     * Retira da fila os quadros calculados desde a última chamada, pinta as colunas novas do espectrograma e agenda o
+     * redesenho. Deve ser chamado na thread de eventos do Swing.
+     */
+    public void refresh() {
+        if (frames == null) {
+            return;
+        }
+        boolean changed = false;
+        while (frames.poll(frame)) {
+            paintColumn();
+            changed = true;
+        }
+        if (changed) {
+            hasFrame = true;
+            repaint();
+        }
+    }
+
+    /**
+     * Sobrescreve o método paintComponent para desenhar o espectro e o espectrograma.
+     *
+     * @param g o contexto gráfico.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int width = getWidth();
+        int height = getHeight();
+        int spectrumHeight = height * 2 / 5;
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, width, height);
+        if (analyzer == null || width < 2) {
+            return;
+        }
+
+        // Espectrograma: o quadro mais antigo fica à esquerda, a partir da próxima coluna a ser pintada
+        int top = spectrumHeight + 2;
+        int split = (int) ((long) width * (HISTORY_COLUMNS - column) / HISTORY_COLUMNS);
+        g.drawImage(image, 0, top, split, height, column, 0, HISTORY_COLUMNS, FREQUENCY_ROWS, null);
+        g.drawImage(image, split, top, width, height, 0, 0, column, FREQUENCY_ROWS, null);
+
+        // Linhas de referência de frequência
+        float logSpan = (float) Math.log(analyzer.getSampleRate() / 2 / MIN_FREQUENCY);
+        g.setFont(g.getFont().deriveFont(10f));
+        for (int frequency : GRID_FREQUENCIES) {
+            if (frequency >= analyzer.getSampleRate() / 2) {
+                continue;
+            }
+            int x = Math.round((float) Math.log(frequency / MIN_FREQUENCY) / logSpan * width);
+            g.setColor(GRID);
+            g.drawLine(x, 0, x, spectrumHeight);
+            g.drawString(frequency >= 1000 ? frequency / 1000 + " kHz" : frequency + " Hz", x + 2, 10);
+        }
+        if (!hasFrame) {
+            return;
+        }
+
+        // Espectro do quadro mais recente: o pico das faixas de cada pixel
+        if (columnBins.length != width + 1) {
+            columnBins = new int[width + 1];
+            xPoints = new int[width];
+            yPoints = new int[width];
+            mapBins(columnBins, width);
+        }
+        for (int x = 0; x < width; x++) {
+            float level = peak(columnBins[x], columnBins[x + 1]);
+            xPoints[x] = x;
+            yPoints[x] = Math.round(level / DISPLAY_FLOOR_DB * (spectrumHeight - 1));
+        }
+        Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setColor(LINE);
+        g2.drawPolyline(xPoints, yPoints, width);
+    }
+
+    /**
+     * Pinta o quadro atual na próxima coluna do espectrograma, com as frequências agudas em cima.
+     */
+    private void paintColumn() {
+        for (int row = 0; row < FREQUENCY_ROWS; row++) {
+            float level = peak(rowBins[row], rowBins[row + 1]);
+            pixels[(FREQUENCY_ROWS - 1 - row) * HISTORY_COLUMNS + column] = PALETTE[Math.round(level / DISPLAY_FLOOR_DB * (PALETTE.length - 1))];
+        }
+        column = (column + 1) % HISTORY_COLUMNS;
+    }
+
+    /**
+     * Obtém o maior nível entre as faixas de um intervalo, limitado à escala exibida.
+     *
+     * @param firstBin a primeira faixa.
+     * @param endBin   a faixa seguinte à última; se não for maior que firstBin, só firstBin é considerada.
+     * @return o nível entre DISPLAY_FLOOR_DB e 0.
+     */
+    private float peak(int firstBin, int endBin) {
+        float level = frame[firstBin];
+        for (int bin = firstBin + 1; bin < endBin; bin++) {
+            level = Math.max(level, frame[bin]);
+        }
+        return Math.min(0f, Math.max(DISPLAY_FLOOR_DB, level));
+    }
+
+    /**
+     * Divide o eixo de frequência, em escala logarítmica, entre os pixels de um eixo.
+     *
+     * @param bins   o array de destino: bins[p] é a primeira faixa do pixel p, e bins[pixels] o limite final.
+     * @param pixels a quantidade de pixels do eixo.
+     */
+    private void mapBins(int[] bins, int pixels) {
+        int lastBin = analyzer.getBins() - 1;
+        float binWidth = analyzer.getSampleRate() / analyzer.getSize();
+        double ratio = analyzer.getSampleRate() / 2 / MIN_FREQUENCY;
+        for (int p = 0; p <= pixels; p++) {
+            double frequency = MIN_FREQUENCY * Math.pow(ratio, p / (double) pixels);
+            bins[p] = Math.min(lastBin, (int) Math.round(frequency / binWidth));
+        }
+    }
+
+    /**
+     * Pinta todo o espectrograma com a cor do silêncio.
+     */
+    private void clearImage() {
+        Arrays.fill(pixels, PALETTE[PALETTE.length - 1]);
+    }
+
+    /**
+     * Cria a paleta do espectrograma: do fundo da janela (silêncio), passando pelo roxo dos labels, até o branco (0 dBFS).
+     *
+     * @return as cores RGB, do nível mais alto (índice 0) ao mais baixo.
+     */
+    private static int[] createPalette() {
+        int[] palette = new int[256];
+        Color[] stops = {Color.WHITE, LINE, BACKGROUND};
+        for (int i = 0; i < palette.length; i++) {
+            float position = i / (float) (palette.length - 1) * (stops.length - 1);
+            int stop = Math.min(stops.length - 2, (int) position);
+            float t = position - stop;
+            Color from = stops[stop];
+            Color to = stops[stop + 1];
+            int r = Math.round(from.getRed() + (to.getRed() - from.getRed()) * t);
+            int gr = Math.round(from.getGreen() + (to.getGreen() - from.getGreen()) * t);
+            int b = Math.round(from.getBlue() + (to.getBlue() - from.getBlue()) * t);
+            palette[i] = r << 16 | gr << 8 | b;
+        }
+        return palette;
+    }
+}
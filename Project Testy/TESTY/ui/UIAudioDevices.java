@@ -0,0 +1,181 @@
+package ui;
+
+import audio.AudioDevice;
+import audio.AudioDeviceManager;
+import audio.DeviceTestResult;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+
+/**
+ * Classe que representa uma interface gráfica para testar vários dispositivos de áudio ao mesmo tempo, como uma
+ * bandeja de fones USB. O operador escolhe os dispositivos na lista e todos são testados em paralelo; cada linha da
+ * tabela é preenchida assim que o seu dispositivo termina.
+ */
+public class UIAudioDevices {
+    private static final String[] COLUMNS = {"Dispositivo", "Nível", "Pico", "Recortes", "Perdas", "Resultado"};  // Colunas da tabela de resultados
+    private static final int DEFAULT_TEST_SECONDS = 5;  // Duração inicial do teste de cada dispositivo
+
+    private JFrame frame;  // Janela principal da aplicação
+    private JList<AudioDevice> deviceList;  // Dispositivos encontrados, com seleção múltipla
+    private JSpinner durationSpinner;  // Duração do teste, em segundos
+    private JButton refreshButton;  // Botão para procurar os dispositivos novamente
+    private JButton testButton;  // Botão para testar os dispositivos selecionados
+    private JButton stopButton;  // Botão para interromper os testes
+    private DefaultTableModel resultsModel;  // Linhas da tabela de resultados, uma por dispositivo testado
+    private JLabel summaryLabel;  // Label com o total de dispositivos aprovados
+    private final AudioDeviceManager manager = new AudioDeviceManager();  // Executor dos testes em paralelo
+
+    /**
+     * Construtor da classe UIAudioDevices.
+     * Inicializa a interface gráfica e lista os dispositivos de áudio.
+     */
+    public UIAudioDevices() {
+        frame = new JFrame("Teste de Vários Dispositivos de Áudio");
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                manager.cancel();  // As threads dos dispositivos param e fecham as linhas
+            }
+        });
+        frame.setSize(720, 560);
+        frame.setLocationRelativeTo(null);  // Centraliza a janela na tela
+        frame.setLayout(new BorderLayout(10, 10));
+        frame.getContentPane().setBackground(new Color(32, 31, 58));
+
+        deviceList = new JList<>();
+        deviceList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        deviceList.setVisibleRowCount(8);
+
+        durationSpinner = new JSpinner(new SpinnerNumberModel(DEFAULT_TEST_SECONDS, 1, 120, 1));
+        refreshButton = UIUtils.createButton("Atualizar");
+        testButton = UIUtils.createButton("Testar Selecionados");
+        stopButton = UIUtils.createButton("Parar");
+        stopButton.setEnabled(false);
+        refreshButton.addActionListener(e -> refreshDevices());
+        testButton.addActionListener(e -> testSelected());
+        stopButton.addActionListener(e -> manager.cancel());
+
+        resultsModel = new DefaultTableModel(COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable resultsTable = new JTable(resultsModel);
+        resultsTable.getColumnModel().getColumn(0).setPreferredWidth(260);
+
+        summaryLabel = new JLabel("Selecione os dispositivos e clique em Testar Selecionados.", SwingConstants.CENTER);
+        summaryLabel.setForeground(Color.WHITE);
+
+        JLabel durationLabel = new JLabel("Duração (s):");
+        durationLabel.setForeground(Color.WHITE);
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        controlPanel.setBackground(new Color(32, 31, 58));
+        controlPanel.add(refreshButton);
+        controlPanel.add(durationLabel);
+        controlPanel.add(durationSpinner);
+        controlPanel.add(testButton);
+        controlPanel.add(stopButton);
+
+        JPanel topPanel = new JPanel(new BorderLayout(10, 10));
+        topPanel.setBackground(new Color(32, 31, 58));
+        topPanel.add(new JScrollPane(deviceList), BorderLayout.CENTER);
+        topPanel.add(controlPanel, BorderLayout.SOUTH);
+
+        frame.add(topPanel, BorderLayout.NORTH);
+        frame.add(new JScrollPane(resultsTable), BorderLayout.CENTER);
+        frame.add(summaryLabel, BorderLayout.SOUTH);
+
+        refreshDevices();
+    }
+
+    /**
+     * Exibe a interface gráfica.
+     */
+    public void showUI() {
+        frame.setVisible(true);
+    }
+
+    /**
+     * Lista novamente os dispositivos de áudio e seleciona todos.
+     */
+    private void refreshDevices() {
+        List<AudioDevice> devices = manager.listDevices();
+        deviceList.setListData(devices.toArray(new AudioDevice[0]));
+        if (!devices.isEmpty()) {
+            deviceList.setSelectionInterval(0, devices.size() - 1);
+        }
+        summaryLabel.setText(devices.size() + " dispositivos encontrados.");
+    }
+
+    /**
+     * Testa em paralelo os dispositivos selecionados. A tabela recebe uma linha por dispositivo, preenchida quando o
+     * seu teste termina, e o resumo é exibido quando todos terminarem.
+     */
+    private void testSelected() {
+        List<AudioDevice> devices = deviceList.getSelectedValuesList();
+        if (devices.isEmpty()) {
+            JOptionPane.showMessageDialog(frame, "Nenhum dispositivo selecionado", "Erro", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        setTesting(true);
+        resultsModel.setRowCount(0);
+        for (AudioDevice device : devices) {
+            resultsModel.addRow(new Object[]{device.toString(), "", "", "", "", "Testando..."});
+        }
+        summaryLabel.setText("Testando " + devices.size() + " dispositivos...");
+
+        int seconds = (Integer) durationSpinner.getValue();
+        manager.testAll(devices, seconds, result -> SwingUtilities.invokeLater(() -> showResult(devices.indexOf(result.getDevice()), result)))
+                .whenComplete((results, error) -> SwingUtilities.invokeLater(() -> {
+                    if (error != null) {
+                        error.printStackTrace();
+                        summaryLabel.setText("Erro durante o teste: " + error.getMessage());
+                    } else {
+                        long passed = results.stream().filter(DeviceTestResult::isPassed).count();
+                        summaryLabel.setText("Aprovados: " + passed + " de " + results.size());
+                    }
+                    setTesting(false);
+                }));
+    }
+
+    /**
+     * Preenche a linha de um dispositivo com o seu resultado.
+     *
+     * @param row    a linha do dispositivo na tabela.
+     * @param result o resultado do teste.
+     */
+    private void showResult(int row, DeviceTestResult result) {
+        if (result.isCaptured()) {
+            resultsModel.setValueAt(String.format("%.1f dBFS", result.getRmsDbfs()), row, 1);
+            resultsModel.setValueAt(String.format("%.1f dBFS", result.getPeakDbfs()), row, 2);
+            resultsModel.setValueAt(result.getClippedSamples(), row, 3);
+            resultsModel.setValueAt(result.getOverruns(), row, 4);
+        } else {
+            for (int column = 1; column <= 4; column++) {
+                resultsModel.setValueAt("-", row, column);
+            }
+        }
+        String verdict = result.getVerdict();
+        resultsModel.setValueAt(result.getError() != null ? verdict + ": " + result.getError() : verdict, row, 5);
+    }
+
+    /**
+     * Habilita os controles de acordo com o estado dos testes.
+     *
+     * @param testing true enquanto houver testes em andamento.
+     */
+    private void setTesting(boolean testing) {
+        deviceList.setEnabled(!testing);
+        durationSpinner.setEnabled(!testing);
+        refreshButton.setEnabled(!testing);
+        testButton.setEnabled(!testing);
+        stopButton.setEnabled(testing);
+    }
+}
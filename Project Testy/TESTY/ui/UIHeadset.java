@@ -1,30 +1,75 @@
 package ui;
 
+import audio.AudioBackend;
+import audio.AudioMeter;
+import audio.AudioRingBuffer;
+import audio.CaptureLine;
+import audio.CaptureProfile;
+import audio.OutputChannel;
+import audio.RecordingPlayer;
+import audio.SignalGenerator;
+import audio.SignalPlayer;
+import audio.SpectrumAnalyzer;
+import audio.WavRecorder;
+import hardware.LatencyRecorder;
+
 import javax.sound.sampled.*;
 import javax.swing.*;
 import java.awt.*;
-import java.io.File;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.IOException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Classe que representa uma interface gráfica para testar fones de ouvido e microfone.
  * A interface permite testar os lados esquerdo e direito dos fones de ouvido, ambos os lados juntos, e também realizar um teste de gravação com o microfone.
  */
 public class UIHeadset {
+    private static final String[] SIGNAL_NAMES = {
+            "Identificação de canal", "Tom de 1 kHz", "Varredura 20 Hz - 20 kHz", "Ruído rosa"
+    };  // Sinais de teste dos fones, na ordem de createSignal
+    private static final double SIGNAL_SECONDS = 3.0;  // Duração de cada teste dos fones
+    private static final double SIGNAL_AMPLITUDE = 0.5;  // Amplitude dos sinais de teste (-6 dBFS)
+    private static final int DISPLAY_FPS = 30;  // Taxa de atualização do nível e do espectro
+    private static final int READING_QUEUE = 64;  // Medições que podem aguardar a interface
+    private static final int CAPTURED_AT = AudioMeter.READING_SIZE;  // Posição, no registro da medição, do instante de captura (ms desde o início do teste)
+    private static final int READING_RECORD = AudioMeter.READING_SIZE + 1;  // Floats de cada registro do buffer de medições
+    private static final String DISPLAY_LATENCY_KEY = "captura→tela";  // Nome da medição no LatencyRecorder
+    private static final int DEFAULT_RECORDING_SECONDS = 10;  // Duração inicial do teste de microfone
+    private static final int MAX_RECORDING_SECONDS = 3600;  // Maior duração que pode ser escolhida
+    private static final Path LAST_TAKE = Path.of(System.getProperty("java.io.tmpdir"), "testy-microfone.wav");  // Gravação do último teste de microfone, sobrescrita a cada teste
+
     private JFrame frame;  // Janela principal da aplicação
     private JButton leftEarButton;  // Botão para testar o fone esquerdo
     private JButton rightEarButton;  // Botão para testar o fone direito
     private JButton bothEarsButton;  // Botão para testar ambos os fones
     private JButton micButton;  // Botão para testar o microfone
+    private JButton playTakeButton;  // Botão para ouvir a última gravação do microfone
+    private JButton devicesButton;  // Botão para testar vários dispositivos ao mesmo tempo
+    private JSpinner durationSpinner;  // Duração do teste de microfone, em segundos
+    private JComboBox<CaptureProfile> profileBox;  // Perfil de latência da captura
+    private JComboBox<String> signalBox;  // Sinal usado nos testes dos fones
+    private final SignalPlayer signalPlayer = new SignalPlayer();  // Saída dos sinais de teste dos fones
+    private final RecordingPlayer recordingPlayer = new RecordingPlayer();  // Saída da última gravação do microfone
     private JLabel soundPlayingLabel;  // Label que indica quando o som está tocando
     private JLabel volumeLabel;  // Label que exibe o volume atual do microfone
+    private JLabel clippingLabel;  // Label que exibe os recortes e o nível DC do microfone
+    private JLabel latencyLabel;  // Label que exibe a latência entre a captura e a tela
     private JLabel timerLabel;  // Label que exibe o tempo restante do teste de microfone
-    private int recordingDuration = 10;  // Duração do teste de microfone em segundos
+    private SpectrumView spectrumView;  // Espectro e espectrograma do microfone
+    private Timer displayTimer;  // Timer que atualiza o nível e o espectro na taxa da tela durante o teste de microfone
+    private AudioRingBuffer levelReadings;  // Medições da thread de captura aguardando a interface
+    private final float[] reading = new float[READING_RECORD];  // Medição retirada do buffer, usada só na thread de eventos
+    private LatencyRecorder displayLatency;  // Latência entre a captura e a tela no teste atual
+    private long captureEpoch;  // Instante de início do teste, base dos instantes de captura
+    private double lineBufferMillis;  // Buffer real da linha de captura, em milissegundos
+    private volatile int overruns;  // Leituras em que o buffer da linha estava cheio; só a thread de captura grava
+    private int recordingDuration;  // Segundos restantes do teste de microfone
     private Timer micTestTimer;  // Timer para controlar a duração do teste de microfone
-    private TargetDataLine micLine;  // Linha de dados de entrada do microfone
-    private boolean running;  // Flag para indicar se o teste de microfone está em andamento
+    private volatile CaptureLine micLine;  // Linha de dados de entrada do microfone, durante o teste
+    private volatile boolean running;  // Flag para indicar se o teste de microfone está em andamento, lida pela thread de captura
 
     /**
      * Construtor da classe UIHeadset.
@@ -33,7 +78,15 @@ public class UIHeadset {
     public UIHeadset() {
         frame = new JFrame("Teste de Fones de Ouvido");
         frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        frame.setSize(400, 400);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                stopMicrophone();  // A thread de captura termina e fecha a linha ao fechar a janela
+                signalPlayer.stop();
+                recordingPlayer.stop();
+            }
+        });
+        frame.setSize(440, 880);
         frame.setLocationRelativeTo(null);  // Centraliza a janela na tela
         frame.setLayout(new GridBagLayout());
         frame.getContentPane().setBackground(new Color(32, 31, 58));  // Define a cor de fundo da janela
@@ -43,32 +96,62 @@ public class UIHeadset {
         rightEarButton = UIUtils.createButton("Testar Fone Direito");
         bothEarsButton = UIUtils.createButton("Testar Ambos os Fones");
         micButton = UIUtils.createButton("Testar Microfone");
+        playTakeButton = UIUtils.createButton("Ouvir Última Gravação");
+        playTakeButton.setEnabled(Files.exists(LAST_TAKE));
+        devicesButton = UIUtils.createButton("Testar Vários Dispositivos");
+        signalBox = new JComboBox<>(SIGNAL_NAMES);
+        durationSpinner = new JSpinner(new SpinnerNumberModel(DEFAULT_RECORDING_SECONDS, 1, MAX_RECORDING_SECONDS, 1));
+        profileBox = new JComboBox<>(CaptureProfile.values());
+        profileBox.setSelectedItem(CaptureProfile.BALANCED);
 
         // Adiciona ActionListeners aos botões para executar as ações correspondentes
-        leftEarButton.addActionListener(e -> playSound("left"));
-        rightEarButton.addActionListener(e -> playSound("right"));
-        bothEarsButton.addActionListener(e -> playSound("both"));
+        leftEarButton.addActionListener(e -> playSignal(OutputChannel.LEFT));
+        rightEarButton.addActionListener(e -> playSignal(OutputChannel.RIGHT));
+        bothEarsButton.addActionListener(e -> playSignal(OutputChannel.BOTH));
         micButton.addActionListener(e -> testMicrophone());
+        playTakeButton.addActionListener(e -> playLastTake());
+        devicesButton.addActionListener(e -> new UIAudioDevices().showUI());
 
         // Inicializa os labels com as configurações apropriadas
         soundPlayingLabel = new JLabel("Som tocando...", SwingConstants.CENTER);
         soundPlayingLabel.setForeground(Color.WHITE);
         soundPlayingLabel.setVisible(false);  // Inicialmente invisível
 
-        volumeLabel = new JLabel("Volume: 0.0 dB", SwingConstants.CENTER);
+        volumeLabel = new JLabel("Nível: -- dBFS", SwingConstants.CENTER);
         volumeLabel.setForeground(Color.WHITE);
 
+        clippingLabel = new JLabel("", SwingConstants.CENTER);
+        clippingLabel.setForeground(Color.WHITE);
+
+        latencyLabel = new JLabel("", SwingConstants.CENTER);
+        latencyLabel.setForeground(Color.WHITE);
+
         timerLabel = new JLabel("", SwingConstants.CENTER);
         timerLabel.setForeground(Color.WHITE);
 
+        spectrumView = new SpectrumView();
+        displayTimer = new Timer(1000 / DISPLAY_FPS, e -> refreshMicrophoneDisplay());
+
+        JLabel durationLabel = new JLabel("Duração (s):");
+        durationLabel.setForeground(Color.WHITE);
+        JPanel durationPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        durationPanel.setBackground(new Color(32, 31, 58));
+        durationPanel.add(durationLabel);
+        durationPanel.add(durationSpinner);
+        durationPanel.add(profileBox);
+
         // Configura o painel de botões com layout GridLayout
         JPanel buttonPanel = new JPanel();
-        buttonPanel.setLayout(new GridLayout(4, 1, 10, 10));
+        buttonPanel.setLayout(new GridLayout(8, 1, 10, 10));
         buttonPanel.setBackground(new Color(32, 31, 58));
+        buttonPanel.add(signalBox);
         buttonPanel.add(leftEarButton);
         buttonPanel.add(rightEarButton);
         buttonPanel.add(bothEarsButton);
+        buttonPanel.add(durationPanel);
         buttonPanel.add(micButton);
+        buttonPanel.add(playTakeButton);
+        buttonPanel.add(devicesButton);
 
         // Adiciona o painel de botões e labels à janela usando GridBagLayout
         GridBagConstraints gbc = new GridBagConstraints();
@@ -84,6 +167,15 @@ public class UIHeadset {
         frame.add(volumeLabel, gbc);
 
         gbc.gridy = 3;
+        frame.add(clippingLabel, gbc);
+
+        gbc.gridy = 4;
+        frame.add(latencyLabel, gbc);
+
+        gbc.gridy = 5;
+        frame.add(spectrumView, gbc);
+
+        gbc.gridy = 6;
         frame.add(soundPlayingLabel, gbc);
     }
 
@@ -95,149 +187,293 @@ public class UIHeadset {
     }
 
     /**
-     * Reproduz um som para testar os fones de ouvido.
+     * Reproduz o sinal selecionado para testar os fones de ouvido.
+     * O sinal é sintetizado enquanto toca e escrito só no canal testado; o outro lado recebe silêncio.
      *
-     * @param side o lado do fone de ouvido a ser testado ("left", "right" ou "both").
+     * @param channel o lado do fone de ouvido a ser testado.
      */
-    private void playSound(String side) {
+    private void playSignal(OutputChannel channel) {
         disableButtons();  // Desabilita os botões enquanto o som está tocando
-        soundPlayingLabel.setText("Som tocando...");
+        soundPlayingLabel.setText("Tocando: " + signalBox.getSelectedItem());
         soundPlayingLabel.setVisible(true);
-
-        File soundFile;
-        // Define o arquivo de som a ser reproduzido baseado no lado selecionado
-        switch (side) {
-            case "left":
-                soundFile = new File("sounds/dogbass-undertale.wav");
-                break;
-            case "right":
-                soundFile = new File("sounds/dogbass-undertale.wav");
-                break;
-            case "both":
-                soundFile = new File("sounds/dogbass-undertale.wav");
-                break;
-            default:
-                return;
-        }
-
         try {
-            // Abre o arquivo de som e inicializa o Clip para reprodução
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(soundFile);
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioStream);
-
-            // Ajusta o controle de panorama (panning) baseado no lado selecionado
-            if ("left".equals(side)) {
-                FloatControl panControl = (FloatControl) clip.getControl(FloatControl.Type.PAN);
-                panControl.setValue(-1.0f);  // Som à esquerda
-            } else if ("right".equals(side)) {
-                FloatControl panControl = (FloatControl) clip.getControl(FloatControl.Type.PAN);
-                panControl.setValue(1.0f);  // Som à direita
-            }
-
-            clip.start();
-            clip.addLineListener(event -> {
-                if (event.getType() == LineEvent.Type.STOP) {
-                    clip.close();
-                    soundPlayingLabel.setVisible(false);
-                    enableButtons();  // Reabilita os botões após o som
-                }
-            });
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
+            signalPlayer.play(createSignal(signalBox.getSelectedIndex(), channel), channel, SIGNAL_SECONDS,
+                    () -> SwingUtilities.invokeLater(() -> {
+                        soundPlayingLabel.setVisible(false);
+                        enableButtons();  // Reabilita os botões após o som
+                    }));
+        } catch (LineUnavailableException | IllegalArgumentException e) {
             e.printStackTrace();
             soundPlayingLabel.setVisible(false);
             enableButtons();  // Reabilita os botões em caso de erro
         }
     }
 
+    /**
+     * Cria o gerador do sinal selecionado, na taxa de amostragem da saída.
+     *
+     * @param signal  o índice do sinal em SIGNAL_NAMES.
+     * @param channel o lado testado, que define a quantidade de bipes da identificação de canal.
+     * @return o gerador.
+     */
+    private SignalGenerator createSignal(int signal, OutputChannel channel) {
+        float sampleRate = signalPlayer.getSampleRate();
+        switch (signal) {
+            case 1:
+                return SignalGenerator.sine(sampleRate, 1000, SIGNAL_AMPLITUDE);
+            case 2:
+                return SignalGenerator.logSweep(sampleRate, 20, Math.min(20000, sampleRate / 2), SIGNAL_SECONDS, SIGNAL_AMPLITUDE);
+            case 3:
+                return SignalGenerator.pinkNoise(sampleRate, SIGNAL_AMPLITUDE, System.nanoTime());
+            default:
+                return SignalGenerator.channelIdentification(sampleRate, channel.getIdentificationBursts(), SIGNAL_AMPLITUDE);
+        }
+    }
+
     /**
      * Realiza um teste de microfone.
+     * A leitura da linha é feita pela thread testy-mic-capture, que grava as medições e os espectros em buffers
+     * circulares sem locks; um timer na taxa da tela os retira e atualiza a interface. O áudio capturado é gravado
+     * em disco durante o teste, para ser ouvido depois com {@link #playLastTake()}.
      */
     private void testMicrophone() {
         disableButtons();  // Desabilita os botões durante o teste de microfone
+        recordingPlayer.stop();  // Libera o arquivo da última gravação antes de sobrescrevê-lo
+        recordingDuration = (Integer) durationSpinner.getValue();
         timerLabel.setText("Tempo restante: " + recordingDuration + " segundos");
-        volumeLabel.setText("Volume: 0.0 dB");
+        volumeLabel.setText("Nível: -- dBFS");
+        clippingLabel.setText("");
+        latencyLabel.setText("");
 
-        AudioFormat format = new AudioFormat(44100.0f, 16, 1, true, true);
-        DataLine.Info info = new DataLine.Info(TargetDataLine.class, format);
+        // Usa o primeiro formato do perfil suportado pela linha de captura
+        AudioBackend backend = AudioBackend.getDefault();
+        CaptureProfile profile = (CaptureProfile) profileBox.getSelectedItem();
+        AudioFormat format = profile.negotiate(backend, null);
 
         // Verifica se a linha de dados do microfone é suportada
-        if (!AudioSystem.isLineSupported(info)) {
+        if (format == null) {
             JOptionPane.showMessageDialog(frame, "Microfone não suportado", "Erro", JOptionPane.ERROR_MESSAGE);
             enableButtons();
             return;
         }
 
+        CaptureLine line = null;
         try {
-            micLine = (TargetDataLine) AudioSystem.getLine(info);
-            micLine.open(format);
-            micLine.start();
-            running = true;
+            line = backend.openCapture(null, format, profile.getBufferBytes(format));
+            int readBytes = profile.getReadBytes(format);
+            lineBufferMillis = line.getBufferSize() * 1000.0 / (format.getFrameSize() * format.getFrameRate());
+            displayLatency = new LatencyRecorder();
+            captureEpoch = System.nanoTime();
+            line.start();
+            micLine = line;
+            AudioMeter meter = new AudioMeter(line.getFormat());
+            SpectrumAnalyzer analyzer = new SpectrumAnalyzer(line.getFormat());
+            AudioRingBuffer readings = new AudioRingBuffer(READING_RECORD, READING_QUEUE);
+            levelReadings = readings;
+            overruns = 0;
+            spectrumView.setAnalyzer(analyzer);
+            displayTimer.start();
 
-            // SwingWorker para realizar a leitura do microfone em segundo plano
-            new SwingWorker<Void, Double>() {
-                @Override
-                protected Void doInBackground() {
-                    byte[] buffer = new byte[1024];
-                    while (running) {
-                        int bytesRead = micLine.read(buffer, 0, buffer.length);
-                        double rms = calculateRMSLevel(buffer, bytesRead);
-                        publish(rms);
-                    }
-                    return null;
-                }
-
-                @Override
-                protected void process(java.util.List<Double> chunks) {
-                    if (!chunks.isEmpty()) {
-                        double latestRMS = chunks.get(chunks.size() - 1);
-                        volumeLabel.setText(String.format("Volume: %.2f dB", latestRMS));
-                    }
-                }
+            // Sem a gravação, o teste continua; apenas não haverá o que ouvir depois
+            WavRecorder recorder = null;
+            try {
+                recorder = new WavRecorder(LAST_TAKE, line.getFormat());
+            } catch (IOException | IllegalArgumentException e) {
+                e.printStackTrace();
+            }
 
-                @Override
-                protected void done() {
-                    micLine.stop();
-                    micLine.close();
-                    enableButtons();
-                    timerLabel.setText("Teste de microfone concluído.");
-                }
-            }.execute();
+            running = true;
+            CaptureLine captureLine = line;
+            WavRecorder takeRecorder = recorder;
+            long epoch = captureEpoch;
+            Thread captureThread = new Thread(() -> capture(captureLine, readBytes, epoch, meter, analyzer, readings, takeRecorder),
+                    "testy-mic-capture");
+            captureThread.setDaemon(true);
+            captureThread.start();
 
             // Timer para controlar a duração do teste de microfone
             micTestTimer = new Timer(1000, e -> {
                 recordingDuration--;
                 timerLabel.setText("Tempo restante: " + recordingDuration + " segundos");
                 if (recordingDuration <= 0) {
-                    running = false;
-                    micTestTimer.stop();
-                    recordingDuration = 10;  // Reseta a duração para o próximo teste
+                    stopMicrophone();
                 }
             });
             micTestTimer.start();
 
-        } catch (LineUnavailableException ex) {
+        } catch (LineUnavailableException | IllegalArgumentException ex) {
             ex.printStackTrace();
+            if (line != null) {
+                line.stop();
+                line.close();
+            }
+            micLine = null;
+            displayTimer.stop();
             enableButtons();
         }
     }
 
     /**
-     * Calcula o nível RMS (Root Mean Square) do áudio capturado.
+     * Laço da thread de captura: lê a linha até o teste ser encerrado, mede cada buffer e entrega os resultados à
+     * interface pelos buffers circulares. Não cria objetos por buffer e nunca espera pela interface.
+     * Cada medição leva o instante estimado de captura do seu último quadro: o momento da leitura menos a duração do
+     * áudio que ainda ficou no buffer da linha, que é mais recente que ele.
+     * Ao sair, fecha a linha e a gravação e agenda a finalização do teste na thread de eventos do Swing.
+     *
+     * @param line      a linha de captura, já aberta e iniciada.
+     * @param readBytes o tamanho de cada leitura, definido pelo perfil.
+     * @param epoch     o instante de início do teste, em System.nanoTime().
+     * @param meter     o medidor de nível.
+     * @param analyzer  o analisador de espectro.
+     * @param readings  o buffer circular das medições.
+     * @param recorder  a gravação do teste, ou null se o arquivo não pôde ser criado.
+     */
+    private void capture(CaptureLine line, int readBytes, long epoch, AudioMeter meter, SpectrumAnalyzer analyzer,
+                         AudioRingBuffer readings, WavRecorder recorder) {
+        byte[] buffer = new byte[readBytes];
+        float[] reading = new float[READING_RECORD];
+        double nanosPerByte = 1e9 / (line.getFormat().getFrameSize() * line.getFormat().getFrameRate());
+        try {
+            while (running) {
+                if (line.available() >= line.getBufferSize()) {
+                    overruns++;  // O buffer da linha encheu antes da leitura: áudio perdido
+                }
+                int bytesRead = line.read(buffer, 0, buffer.length);
+                if (bytesRead <= 0) {
+                    break;  // A linha foi parada, por stopMicrophone ou pelo sistema, e não entregará mais áudio
+                }
+                meter.measure(buffer, 0, bytesRead);
+                long capturedAt = System.nanoTime() - (long) (line.available() * nanosPerByte);
+                meter.copyReading(reading);
+                reading[CAPTURED_AT] = (capturedAt - epoch) / 1e6f;
+                readings.offer(reading);
+                analyzer.process(buffer, 0, bytesRead);
+                recorder = record(recorder, buffer, bytesRead);
+            }
+        } finally {
+            line.stop();
+            line.close();
+            closeRecording(recorder);
+            SwingUtilities.invokeLater(this::finishMicrophoneTest);
+        }
+    }
+
+    /**
+     * Acrescenta um buffer capturado à gravação. Se a escrita falhar, a gravação é encerrada e o teste continua.
      *
-     * @param audioData os dados de áudio.
-     * @param bytesRead o número de bytes lidos.
-     * @return o nível RMS em decibéis.
+     * @return a gravação, ou null se ela foi encerrada.
+     */
+    private static WavRecorder record(WavRecorder recorder, byte[] buffer, int length) {
+        if (recorder == null) {
+            return null;
+        }
+        try {
+            recorder.write(buffer, 0, length);
+            return recorder;
+        } catch (IOException e) {
+            e.printStackTrace();
+            closeRecording(recorder);
+            return null;
+        }
+    }
+
+    /**
+     * Fecha a gravação, corrigindo o cabeçalho do arquivo.
+     */
+    private static void closeRecording(WavRecorder recorder) {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Encerra o teste de microfone em andamento, se houver. A linha é parada para desbloquear uma leitura pendente,
+     * de forma que a thread de captura termina logo, mesmo que o microfone não esteja entregando áudio.
+     */
+    private void stopMicrophone() {
+        running = false;
+        if (micTestTimer != null) {
+            micTestTimer.stop();
+        }
+        CaptureLine line = micLine;
+        if (line != null) {
+            line.stop();
+        }
+    }
+
+    /**
+     * Finaliza a interface depois que a thread de captura terminou.
      */
-    private double calculateRMSLevel(byte[] audioData, int bytesRead) {
-        long lSum = 0;
-        for (int i = 0; i < bytesRead; i += 2) {
-            short sample = ByteBuffer.wrap(audioData, i, 2).order(ByteOrder.BIG_ENDIAN).getShort();
-            lSum += sample * sample;
+    private void finishMicrophoneTest() {
+        running = false;
+        if (micTestTimer != null) {
+            micTestTimer.stop();  // A captura pode ter terminado antes do tempo, sem passar por stopMicrophone
+            micTestTimer = null;
+        }
+        micLine = null;
+        displayTimer.stop();
+        refreshMicrophoneDisplay();  // Exibe as últimas medições
+        enableButtons();
+        timerLabel.setText("Teste de microfone concluído.");
+    }
+
+    /**
+     * Reproduz a gravação do último teste de microfone, lendo o arquivo aos poucos.
+     */
+    private void playLastTake() {
+        disableButtons();
+        soundPlayingLabel.setText("Tocando a última gravação...");
+        soundPlayingLabel.setVisible(true);
+        try {
+            recordingPlayer.play(LAST_TAKE, () -> SwingUtilities.invokeLater(() -> {
+                soundPlayingLabel.setVisible(false);
+                enableButtons();
+            }));
+        } catch (Exception e) {
+            e.printStackTrace();
+            soundPlayingLabel.setVisible(false);
+            enableButtons();
+        }
+    }
+
+    /**
+     * Retira as medições e os espectros acumulados desde o último quadro da tela e atualiza a interface uma única vez:
+     * o nível e o DC da medição mais recente, o maior pico e a soma dos recortes do intervalo.
+     * A latência registrada vai da captura do último quadro da medição mais recente até a atualização dos labels.
+     */
+    private void refreshMicrophoneDisplay() {
+        AudioRingBuffer readings = levelReadings;
+        if (readings == null) {
+            return;
+        }
+        boolean updated = false;
+        float rmsDbfs = 0;
+        float peakDbfs = (float) AudioMeter.MIN_DBFS;
+        int clippedSamples = 0;
+        float dcOffset = 0;
+        float capturedAt = 0;
+        while (readings.poll(reading)) {
+            updated = true;
+            capturedAt = reading[CAPTURED_AT];
+            rmsDbfs = reading[AudioMeter.RMS_DBFS];
+            peakDbfs = Math.max(peakDbfs, reading[AudioMeter.PEAK_DBFS]);
+            clippedSamples += (int) reading[AudioMeter.CLIPPED_SAMPLES];
+            dcOffset = reading[AudioMeter.DC_OFFSET];
+        }
+        if (updated) {
+            volumeLabel.setText(String.format("Nível: %.1f dBFS | Pico: %.1f dBFS", rmsDbfs, peakDbfs));
+            clippingLabel.setText(String.format("Recortes: %d | DC: %+.3f | Perdas: %d", clippedSamples, dcOffset, overruns));
+            long latency = System.nanoTime() - (captureEpoch + (long) (capturedAt * 1e6));
+            displayLatency.record(DISPLAY_LATENCY_KEY, latency, false);
+            latencyLabel.setText(String.format("Captura→tela: %.1f ms (p90 %.1f ms) | Buffer: %.0f ms",
+                    latency / 1e6, displayLatency.percentile(DISPLAY_LATENCY_KEY, 90) / 1e6, lineBufferMillis));
         }
-        double mean = lSum / (bytesRead / 2.0);
-        double rms = Math.sqrt(mean);
-        return 20 * Math.log10(rms);
+        spectrumView.refresh();
     }
 
     /**
@@ -248,6 +484,11 @@ public class UIHeadset {
         rightEarButton.setEnabled(false);
         bothEarsButton.setEnabled(false);
         micButton.setEnabled(false);
+        playTakeButton.setEnabled(false);
+        devicesButton.setEnabled(false);
+        signalBox.setEnabled(false);
+        durationSpinner.setEnabled(false);
+        profileBox.setEnabled(false);
     }
 
     /**
@@ -258,5 +499,10 @@ public class UIHeadset {
         rightEarButton.setEnabled(true);
         bothEarsButton.setEnabled(true);
         micButton.setEnabled(true);
+        playTakeButton.setEnabled(Files.exists(LAST_TAKE));
+        devicesButton.setEnabled(true);
+        signalBox.setEnabled(true);
+        durationSpinner.setEnabled(true);
+        profileBox.setEnabled(true);
     }
 }
@@ -4,8 +4,9 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.HashMap;
-import java.util.Map;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.nio.file.Paths;
 
 /**
  * Classe que representa uma interface gráfica para testar a funcionalidade do teclado.
@@ -13,8 +14,13 @@ import java.util.Map;
  */
 public class UIKeyboard {
     private JFrame frame;                // Janela principal da aplicação
-    private JPanel keyboardPanel;        // Painel que contém o layout do teclado
-    private Map<String, JLabel> keyLabels; // Mapa para armazenar as labels das teclas
+    private KeyboardView keyboardView;   // Componente que desenha o teclado
+    private KeyboardLayout layout;       // Teclas exibidas e tabela de eventos para teclas
+    private JButton rolloverButton;      // Botão que inicia e encerra o teste de rollover
+    private JLabel rolloverLabel;        // Label com as teclas pressionadas durante o teste de rollover
+    private RolloverTest rolloverTest;   // Eventos e estatísticas do teste de rollover
+    private boolean rolloverRunning;     // Indica se o teste de rollover está em andamento
+    private KeyChatterStats chatter;     // Estatísticas de chatter e duração das pressões de cada tecla
 
     /**
      * Construtor da classe UIKeyboard.
@@ -23,158 +29,195 @@ public class UIKeyboard {
     public UIKeyboard() {
         frame = new JFrame("Teste de Teclado");
         frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        frame.setSize(1200, 400);
+        frame.setSize(1200, 460);
         frame.setLocationRelativeTo(null);  // Centraliza a janela na tela
         frame.setLayout(new BorderLayout());
 
-        keyboardPanel = new JPanel();
-        keyboardPanel.setLayout(new GridBagLayout());
-        keyboardPanel.setBackground(new Color(32, 31, 58));  // Define a cor de fundo do painel do teclado
+        layout = KeyboardLayout.load(Paths.get("config/keyboard.conf"));
+        chatter = new KeyChatterStats(layout.size());
+        keyboardView = new KeyboardView(layout, chatter);  // Cria o layout do teclado
+        frame.add(keyboardView, BorderLayout.CENTER);
 
-        keyLabels = new HashMap<>();
-        createKeyboardLayout();  // Cria o layout do teclado
+        rolloverTest = new RolloverTest(layout.size(), RolloverTest.DEFAULT_LOG_CAPACITY);
+        rolloverButton = UIUtils.createButton("Iniciar Teste de Rollover");
+        rolloverButton.setToolTipText("Segure várias teclas ao mesmo tempo para medir quantas o teclado registra");
+        rolloverButton.setFocusable(false);  // Mantém o foco na janela, que recebe os eventos de teclado
+        rolloverButton.addActionListener(e -> toggleRollover());
 
-        frame.add(keyboardPanel, BorderLayout.CENTER);
+        rolloverLabel = new JLabel(" ");
+        rolloverLabel.setForeground(Color.WHITE);
+        rolloverLabel.setPreferredSize(new Dimension(320, 20));  // Tamanho fixo: mudar o texto não refaz o layout
+
+        JCheckBox heatmapBox = new JCheckBox("Mapa de Chatter");
+        heatmapBox.setToolTipText("Pinta de vermelho as teclas que repetiram a pressão abaixo do limite");
+        heatmapBox.setForeground(Color.WHITE);
+        heatmapBox.setBackground(new Color(32, 31, 58));
+        heatmapBox.setFocusable(false);
+        heatmapBox.addActionListener(e -> keyboardView.setHeatmapVisible(heatmapBox.isSelected()));
+
+        JLabel thresholdLabel = new JLabel("Limite (ms):");
+        thresholdLabel.setForeground(Color.WHITE);
+        JSpinner thresholdSpinner = new JSpinner(new SpinnerNumberModel(
+                (int) (KeyChatterStats.DEFAULT_CHATTER_THRESHOLD_NANOS / 1_000_000), 1,
+                KeyChatterStats.MAX_CHATTER_THRESHOLD_MILLIS, 1));
+        thresholdSpinner.setFocusable(false);
+        ((JSpinner.DefaultEditor) thresholdSpinner.getEditor()).getTextField().setFocusable(false);
+        thresholdSpinner.addChangeListener(e -> {
+            chatter.setChatterThresholdNanos((Integer) thresholdSpinner.getValue() * 1_000_000L);
+            keyboardView.repaint();  // O mapa e as contagens mudam com a recontagem
+        });
+
+        JButton chatterButton = UIUtils.createButton("Relatório de Chatter");
+        chatterButton.setFocusable(false);
+        chatterButton.addActionListener(e -> showChatterReport());
+
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        controlPanel.setBackground(new Color(32, 31, 58));
+        controlPanel.add(rolloverButton);
+        controlPanel.add(rolloverLabel);
+        controlPanel.add(heatmapBox);
+        controlPanel.add(thresholdLabel);
+        controlPanel.add(thresholdSpinner);
+        controlPanel.add(chatterButton);
+        frame.add(controlPanel, BorderLayout.SOUTH);
 
         // Adiciona um listener para capturar eventos de teclado
         frame.addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
-                String key = getKeyText(e);  // Obtém o texto da tecla pressionada
-                if (keyLabels.containsKey(key)) {
-                    keyLabels.get(key).setBackground(Color.GREEN);  // Destaca a tecla pressionada
+                long now = System.nanoTime();
+                int slot = layout.slotOf(e);  // Obtém a tecla pressionada, distinguindo esquerda e direita
+                if (slot != KeyboardLayout.NO_KEY) {
+                    if (chatter.press(slot, now)) {
+                        chatter.recordDispatch(System.currentTimeMillis() - e.getWhen());
+                    }
+                    if (rolloverRunning && rolloverTest.press(slot, now)) {
+                        updateRolloverLabel();
+                    }
+                    keyboardView.setPressed(slot, true);  // Destaca a tecla pressionada e o seu chatter
                 }
             }
 
             @Override
             public void keyReleased(KeyEvent e) {
-                String key = getKeyText(e);  // Obtém o texto da tecla liberada
-                if (keyLabels.containsKey(key)) {
-                    keyLabels.get(key).setBackground(Color.LIGHT_GRAY);  // Restaura a cor original da tecla
+                long now = System.nanoTime();
+                int slot = layout.slotOf(e);  // Obtém a tecla liberada
+                if (slot != KeyboardLayout.NO_KEY) {
+                    chatter.release(slot, now);
+                    if (rolloverRunning) {
+                        rolloverTest.release(slot, now);
+                        updateRolloverLabel();
+                    }
+                    keyboardView.setPressed(slot, false);  // Restaura a cor original da tecla
+                }
+            }
+        });
+
+        // Sem foco, as solturas deixam de chegar: considera todas as teclas liberadas
+        frame.addWindowFocusListener(new WindowAdapter() {
+            @Override
+            public void windowLostFocus(WindowEvent e) {
+                chatter.releaseAll();
+                if (rolloverRunning) {
+                    rolloverTest.releaseAll();
+                    updateRolloverLabel();
                 }
+                keyboardView.releaseAll();
             }
         });
     }
 
     /**
-     * Cria o layout do teclado adicionando as teclas ao painel.
+     * Inicia o teste de rollover ou, se ele estiver em andamento, encerra o teste e exibe o relatório por tecla.
      */
-    private void createKeyboardLayout() {
-        String[][] keys = {
-                {"ESC", "F1", "F2", "F3", "F4", "F5", "F6", "F7", "F8", "F9", "F10", "F11", "F12", "SCRLK", "PAUSE"},
-                {"`", "1", "2", "3", "4", "5", "6", "7", "8", "9", "0", "-", "=", "BACKSPACE", "INS", "HOME", "PGUP"},
-                {"TAB", "Q", "W", "E", "R", "T", "Y", "U", "I", "O", "P", "[", "]", "\\", "DEL", "END", "PGDN"},
-                {"CAPS", "A", "S", "D", "F", "G", "H", "J", "K", "L", ";", "'", "ENTER"},
-                {"SHIFT", "Z", "X", "C", "V", "B", "N", "M", ",", ".", "/", "UP"},
-                {"CTRL", "ALT", "SPACE", "ALT", "WIN", "MENU", "LEFT", "DOWN", "RIGHT"}
-        };
-
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.insets = new Insets(2, 2, 2, 2);  // Define margens entre os componentes
-
-        // Adiciona cada tecla ao painel com seu respectivo layout
-        for (int row = 0; row < keys.length; row++) {
-            for (int col = 0; col < keys[row].length; col++) {
-                String key = keys[row][col];
-                JLabel keyLabel = createKeyLabel(key);  // Cria um JLabel para a tecla
-                gbc.gridx = col;
-                gbc.gridy = row;
-                gbc.gridwidth = getGridWidth(key);  // Define a largura do grid da tecla
-                keyLabels.put(key, keyLabel);  // Adiciona a label da tecla ao mapa
-                keyboardPanel.add(keyLabel, gbc);  // Adiciona a label ao painel
-            }
+    private void toggleRollover() {
+        if (!rolloverRunning) {
+            rolloverTest.reset();
+            keyboardView.clearFlags();
+            rolloverRunning = true;
+            rolloverButton.setText("Encerrar Teste de Rollover");
+            updateRolloverLabel();
+            frame.requestFocusInWindow();
+            return;
+        }
+
+        rolloverRunning = false;
+        rolloverButton.setText("Iniciar Teste de Rollover");
+        for (int slot = 0; slot < layout.size(); slot++) {
+            keyboardView.setFlagged(slot, rolloverTest.isFlagged(slot));  // Destaca as teclas com sinais de bloqueio
         }
+        rolloverLabel.setText("Máximo simultâneo: " + rolloverTest.getMaxKeysDown() + " teclas");
+
+        JLabel report = new JLabel(renderRolloverReport(rolloverTest, layout));
+        JScrollPane scrollPane = new JScrollPane(report);
+        scrollPane.setPreferredSize(new Dimension(560, 400));
+        JOptionPane.showMessageDialog(frame, scrollPane, "Relatório de Rollover", JOptionPane.PLAIN_MESSAGE);
     }
 
     /**
-     * Cria um JLabel para uma tecla específica.
-     *
-     * @param key o texto da tecla.
-     * @return um JLabel configurado para a tecla.
+     * Exibe o relatório de chatter e de duração das pressões das teclas usadas na sessão.
      */
-    private JLabel createKeyLabel(String key) {
-        JLabel label = new JLabel(key, SwingConstants.CENTER);
-        label.setPreferredSize(new Dimension(50, 50));  // Define o tamanho preferido do JLabel
-        label.setOpaque(true);
-        label.setBackground(Color.LIGHT_GRAY);  // Define a cor de fundo do JLabel
-        label.setForeground(Color.BLACK);  // Define a cor do texto do JLabel
-        label.setFont(new Font("Arial", Font.BOLD, 16));  // Define a fonte do texto
-        label.setBorder(BorderFactory.createLineBorder(Color.BLACK));  // Define a borda do JLabel
-        return label;
+    private void showChatterReport() {
+        JLabel report = new JLabel(renderChatterReport(chatter, layout));
+        JScrollPane scrollPane = new JScrollPane(report);
+        scrollPane.setPreferredSize(new Dimension(860, 400));
+        JOptionPane.showMessageDialog(frame, scrollPane, "Relatório de Chatter", JOptionPane.PLAIN_MESSAGE);
     }
 
     /**
-     * Retorna a largura do grid para uma tecla específica.
-     * Por padrão, a largura é 1.
-     *
-     * @param key o texto da tecla.
-     * @return a largura do grid.
+     * Atualiza o label do teste de rollover com as teclas pressionadas agora e o máximo do teste.
      */
-    private int getGridWidth(String key) {
-        switch (key) {
-            default:
-                return 1;
-        }
+    private void updateRolloverLabel() {
+        rolloverLabel.setText("Teclas pressionadas: " + rolloverTest.getKeysDown()
+                + " | Máximo simultâneo: " + rolloverTest.getMaxKeysDown());
     }
 
     /**
-     * Retorna o texto correspondente ao código da tecla pressionada.
+     * Formata o relatório do teste de rollover, com uma linha por tecla testada.
      *
-     * @param e o evento de teclado.
-     * @return o texto da tecla.
+     * @param test   o teste encerrado.
+     * @param layout o layout das teclas.
+     * @return uma String HTML com o resumo do teste e a tabela por tecla.
      */
-    private String getKeyText(KeyEvent e) {
-        int keyCode = e.getKeyCode();
-        switch (keyCode) {
-            case KeyEvent.VK_ESCAPE:
-                return "ESC";
-            case KeyEvent.VK_BACK_SPACE:
-                return "BACKSPACE";
-            case KeyEvent.VK_TAB:
-                return "TAB";
-            case KeyEvent.VK_CAPS_LOCK:
-                return "CAPS";
-            case KeyEvent.VK_ENTER:
-                return "ENTER";
-            case KeyEvent.VK_SHIFT:
-                return "SHIFT";
-            case KeyEvent.VK_CONTROL:
-                return "CTRL";
-            case KeyEvent.VK_ALT:
-                return "ALT";
-            case KeyEvent.VK_SPACE:
-                return "SPACE";
-            case KeyEvent.VK_WINDOWS:
-                return "WIN";
-            case KeyEvent.VK_CONTEXT_MENU:
-                return "MENU";
-            case KeyEvent.VK_UP:
-                return "UP";
-            case KeyEvent.VK_DOWN:
-                return "DOWN";
-            case KeyEvent.VK_LEFT:
-                return "LEFT";
-            case KeyEvent.VK_RIGHT:
-                return "RIGHT";
-            case KeyEvent.VK_INSERT:
-                return "INS";
-            case KeyEvent.VK_DELETE:
-                return "DEL";
-            case KeyEvent.VK_HOME:
-                return "HOME";
-            case KeyEvent.VK_END:
-                return "END";
-            case KeyEvent.VK_PAGE_UP:
-                return "PGUP";
-            case KeyEvent.VK_PAGE_DOWN:
-                return "PGDN";
-            case KeyEvent.VK_SCROLL_LOCK:
-                return "SCRLK";
-            case KeyEvent.VK_PAUSE:
-                return "PAUSE";
-            default:
-                return KeyEvent.getKeyText(keyCode).toUpperCase();
+    private static String renderRolloverReport(RolloverTest test, KeyboardLayout layout) {
+        KeyEventLog log = test.getLog();
+        StringBuilder html = new StringBuilder("<html>");
+        html.append("Máximo de teclas simultâneas: ").append(test.getMaxKeysDown()).append("<br>");
+        if (log.size() > 1) {
+            double seconds = (log.getTime(log.size() - 1) - log.getTime(0)) / 1e9;
+            html.append(String.format("Eventos: %d em %.1f s", log.size(), seconds));
+        } else {
+            html.append("Eventos: ").append(log.size());
+        }
+        if (log.getDropped() > 0) {
+            html.append(" (").append(log.getDropped()).append(" descartados)");
+        }
+
+        int flagged = 0;
+        StringBuilder rows = new StringBuilder();
+        for (int slot = 0; slot < layout.size(); slot++) {
+            if (!test.isTested(slot)) {
+                continue;
+            }
+            if (test.isFlagged(slot)) {
+                flagged++;
+            }
+            rows.append("<tr><td>").append(layout.getName(slot))
+                    .append("</td><td>").append(test.getPressCount(slot))
+                    .append("</td><td>").append(Math.max(test.getMaxOthersHeld(slot), 0))
+                    .append("</td><td>").append(test.getOrphanReleases(slot))
+                    .append("</td><td>").append(test.getDeferredPresses(slot))
+                    .append("</td><td>").append(test.getVerdict(slot)).append("</td></tr>");
         }
+        if (flagged == 0) {
+            html.append("<br>Nenhuma tecla bloqueada.");
+        } else {
+            html.append("<br>Teclas com sinais de bloqueio: ").append(flagged)
+                    .append(" (provável limite de ").append(test.getMaxKeysDown()).append(" teclas)");
+        }
+        html.append("<br><br><table><tr><th>Tecla</th><th>Pressões</th><th>Outras juntas</th>"
+                + "<th>Solturas sem pressão</th><th>Atrasos</th><th>Resultado</th></tr>");
+        return html.append(rows).append("</table></html>").toString();
     }
 
     /**
@@ -184,4 +227,53 @@ public class UIKeyboard {
         frame.setVisible(true);
         frame.requestFocusInWindow();
     }
+
+    /**
+     * Formata o relatório de chatter, com uma linha por tecla pressionada e o histograma da duração das pressões.
+     *
+     * @param stats  as estatísticas da sessão.
+     * @param layout o layout das teclas.
+     * @return uma String HTML com o resumo e a tabela por tecla.
+     */
+    private static String renderChatterReport(KeyChatterStats stats, KeyboardLayout layout) {
+        StringBuilder html = new StringBuilder("<html>");
+        html.append("Limite de chatter: ").append(stats.getChatterThresholdNanos() / 1_000_000).append(" ms<br>");
+        html.append(String.format("Atraso de entrega dos eventos: média %.1f ms, máximo %d ms (%d eventos)",
+                stats.getDispatchMeanMillis(), stats.getDispatchMaxMillis(), stats.getDispatchCount()));
+
+        html.append("<br><br><table><tr><th>Tecla</th><th>Pressões</th><th>Chatter</th><th>Menor intervalo</th>"
+                + "<th>Menor pressão</th>");
+        for (int bin = 0; bin < KeyChatterStats.HOLD_BINS; bin++) {
+            html.append("<th>").append(KeyChatterStats.getHoldBinLabel(bin).replace("<", "&lt;")).append("</th>");
+        }
+        html.append("</tr>");
+        for (int slot = 0; slot < layout.size(); slot++) {
+            if (stats.getPressCount(slot) == 0) {
+                continue;
+            }
+            String name = stats.isSuspect(slot)
+                    ? "<font color='#c00000'><b>" + layout.getName(slot) + "</b></font>"
+                    : layout.getName(slot);
+            html.append("<tr><td>").append(name)
+                    .append("</td><td>").append(stats.getPressCount(slot))
+                    .append("</td><td>").append(stats.getChatterCount(slot))
+                    .append("</td><td>").append(formatMillis(stats.getMinPressGapNanos(slot)))
+                    .append("</td><td>").append(formatMillis(stats.getMinHoldNanos(slot))).append("</td>");
+            for (int bin = 0; bin < KeyChatterStats.HOLD_BINS; bin++) {
+                html.append("<td>").append(stats.getHoldCount(slot, bin)).append("</td>");
+            }
+            html.append("</tr>");
+        }
+        return html.append("</table></html>").toString();
+    }
+
+    /**
+     * Formata um intervalo em milissegundos com uma casa decimal.
+     *
+     * @param nanos o intervalo em nanossegundos, ou -1 se não houver.
+     * @return o intervalo formatado, ou "-".
+     */
+    private static String formatMillis(long nanos) {
+        return nanos < 0 ? "-" : String.format("%.1f ms", nanos / 1e6);
+    }
 }
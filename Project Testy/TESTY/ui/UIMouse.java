@@ -7,17 +7,29 @@ import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
 import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * Classe que representa uma interface gráfica para testar o funcionamento do mouse.
- * A interface permite testar os botões, a rolagem e a movimentação do mouse.
+ * A interface permite testar os botões, a rolagem e a movimentação do mouse, e mede a taxa de relatório (polling
+ * rate) e a regularidade dos eventos de movimento. Os eventos só registram o instante de chegada; os labels são
+ * atualizados por um timer, para não atrasar o tratamento dos eventos. Como os instantes são os da thread de eventos,
+ * taxas acima de cerca de 1 kHz não são observáveis: um mouse de 4 ou 8 kHz aparece limitado pela fila de eventos.
  */
 public class UIMouse {
+    private static final int READOUT_INTERVAL_MS = 200;  // Intervalo de atualização dos labels
+
     private JFrame frame;  // Janela principal da aplicação
     private MousePanel mousePanel;  // Painel personalizado para interações do mouse
     private JLabel mouseLabel;  // Label que exibe a direção do movimento do mouse
     private JLabel scrollLabel;  // Label que exibe a direção da rolagem do mouse
     private Point lastMousePosition;  // Posição anterior do mouse para calcular a direção do movimento
+    private JLabel rateLabel;  // Label que exibe a taxa de relatório e o jitter
+    private JLabel intervalLabel;  // Label que exibe os percentis dos intervalos entre eventos
+    private JLabel dropLabel;  // Label que exibe as perdas suspeitas de relatórios
+    private final MousePollingStats pollingStats = new MousePollingStats();  // Estatísticas dos eventos de movimento
+    private Timer readoutTimer;  // Timer que atualiza os labels
 
     /**
      * Construtor da classe UIMouse.
@@ -26,7 +38,7 @@ public class UIMouse {
     public UIMouse() {
         frame = new JFrame("Teste de Mouse");
         frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        frame.setSize(500, 500);
+        frame.setSize(500, 620);
         frame.setLocationRelativeTo(null);  // Centraliza a janela na tela
 
         mousePanel = new MousePanel();
@@ -70,13 +82,52 @@ public class UIMouse {
         scrollLabel.setForeground(Color.WHITE);
         scrollLabel.setFont(new Font("Arial", Font.BOLD, 14));
 
-        JPanel labelPanel = new JPanel(new GridLayout(2, 1));
+        rateLabel = createReadoutLabel();
+        rateLabel.setToolTipText("Medida na thread de eventos do Java: acima de cerca de 1000 Hz, mostra o limite da fila de eventos, e não o do mouse.");
+        intervalLabel = createReadoutLabel();
+        dropLabel = createReadoutLabel();
+
+        JButton resetButton = UIUtils.createButton("Reiniciar Medição");
+        resetButton.addActionListener(e -> {
+            pollingStats.reset();
+            refreshReadout();
+        });
+        JPanel buttonPanel = new JPanel();
+        buttonPanel.setBackground(new Color(30, 30, 60));
+        buttonPanel.add(resetButton);
+
+        JPanel labelPanel = new JPanel(new GridLayout(6, 1));
         labelPanel.add(mouseLabel);
         labelPanel.add(scrollLabel);
+        labelPanel.add(rateLabel);
+        labelPanel.add(intervalLabel);
+        labelPanel.add(dropLabel);
+        labelPanel.add(buttonPanel);
         labelPanel.setBackground(new Color(30, 30, 60));
 
         frame.add(mousePanel, BorderLayout.CENTER);
         frame.add(labelPanel, BorderLayout.SOUTH);
+
+        readoutTimer = new Timer(READOUT_INTERVAL_MS, e -> refreshReadout());
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                readoutTimer.stop();
+            }
+        });
+        refreshReadout();
+    }
+
+    /**
+     * Cria um label para as medições de taxa de relatório.
+     *
+     * @return o label configurado.
+     */
+    private JLabel createReadoutLabel() {
+        JLabel label = new JLabel(" ");
+        label.setForeground(Color.WHITE);
+        label.setFont(new Font("Arial", Font.PLAIN, 13));
+        return label;
     }
 
     /**
@@ -119,6 +170,7 @@ public class UIMouse {
      * @param e o evento de movimento do mouse.
      */
     private void handleMouseMovement(MouseEvent e) {
+        pollingStats.record(System.nanoTime());  // Instante de chegada, antes de qualquer outro tratamento
         if (lastMousePosition != null) {
             int dx = e.getX() - lastMousePosition.x;
             int dy = e.getY() - lastMousePosition.y;
@@ -137,7 +189,27 @@ public class UIMouse {
             }
         }
         lastMousePosition = e.getPoint();
+    }
+
+    /**
+     * Atualiza o label de direção do movimento e as medições de taxa de relatório.
+     */
+    private void refreshReadout() {
         updateMouseLabel();
+        MousePollingSnapshot snapshot = pollingStats.snapshot();
+        if (snapshot.getIntervals() == 0) {
+            rateLabel.setText("Taxa de relatório: mova o mouse sobre o painel");
+            intervalLabel.setText(" ");
+            dropLabel.setText(" ");
+            return;
+        }
+        rateLabel.setText(String.format("Taxa de relatório: %.0f Hz (mediana %.0f Hz) | Jitter: %.3f ms",
+                snapshot.getEffectiveRateHz(), snapshot.getNominalRateHz(), snapshot.getJitter() / 1e6));
+        intervalLabel.setText(String.format("Intervalo p50 %.2f | p99 %.2f | p99,9 %.2f | máx %.2f ms",
+                snapshot.getP50() / 1e6, snapshot.getP99() / 1e6, snapshot.getP999() / 1e6,
+                snapshot.getMaxInterval() / 1e6));
+        dropLabel.setText(String.format("Perdas suspeitas: %d (≈%d relatórios) em %d eventos",
+                snapshot.getSuspectedDrops(), snapshot.getMissedReports(), snapshot.getEvents()));
     }
 
     /**
@@ -159,6 +231,7 @@ public class UIMouse {
      */
     public void showUI() {
         frame.setVisible(true);
+        readoutTimer.start();
     }
 
     /**
@@ -1,19 +1,26 @@
 package ui;
 
-import javax.sound.sampled.*;
+import audio.LoopbackResult;
+import audio.LoopbackTest;
+import audio.SoundPlayer;
+
 import javax.swing.*;
 import java.awt.*;
-import java.io.File;
-import java.io.IOException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Classe que representa uma interface gráfica para testar o funcionamento das caixas de som.
  * A interface permite testar a reprodução de som através de um botão.
  */
 public class UISpeaker {
+    public static final String TEST_SOUND = "sounds/dogbass-undertale.wav";  // Som usado no teste da caixa de som
+
     private JFrame frame;  // Janela principal da aplicação
     private JButton speakerButton;  // Botão para iniciar o teste da caixa de som
+    private JButton loopbackButton;  // Botão para iniciar o teste de loopback
     private JLabel soundPlayingLabel;  // Label que exibe o estado da reprodução do som
+    private JLabel latencyLabel;  // Label que exibe a latência entre o pedido e o início do som
+    private JLabel loopbackLabel;  // Label que exibe o resultado do teste de loopback
 
     /**
      * Construtor da classe UISpeaker.
@@ -22,7 +29,7 @@ public class UISpeaker {
     public UISpeaker() {
         frame = new JFrame("Teste de Caixa de Som");
         frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        frame.setSize(400, 200);
+        frame.setSize(400, 460);
         frame.setLocationRelativeTo(null);  // Centraliza a janela na tela
         frame.setLayout(new GridBagLayout());
         frame.getContentPane().setBackground(new Color(32, 31, 58));
@@ -30,14 +37,25 @@ public class UISpeaker {
         speakerButton = UIUtils.createButton("Testar Caixa de Som");
         speakerButton.addActionListener(e -> playSound());
 
+        loopbackButton = UIUtils.createButton("Teste de Loopback");
+        loopbackButton.setToolTipText("Toca uma varredura e mede pelo microfone o atraso, a resposta e a distorção");
+        loopbackButton.addActionListener(e -> runLoopback());
+
         soundPlayingLabel = new JLabel("Som tocando...", SwingConstants.CENTER);
         soundPlayingLabel.setForeground(Color.WHITE);
         soundPlayingLabel.setVisible(false);
 
+        latencyLabel = new JLabel("", SwingConstants.CENTER);
+        latencyLabel.setForeground(Color.WHITE);
+
+        loopbackLabel = new JLabel("", SwingConstants.CENTER);
+        loopbackLabel.setForeground(Color.WHITE);
+
         JPanel buttonPanel = new JPanel();
-        buttonPanel.setLayout(new GridLayout(1, 1, 10, 10));
+        buttonPanel.setLayout(new GridLayout(2, 1, 10, 10));
         buttonPanel.setBackground(new Color(32, 31, 58));
         buttonPanel.add(speakerButton);
+        buttonPanel.add(loopbackButton);
 
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.insets = new Insets(10, 10, 10, 10);
@@ -47,6 +65,12 @@ public class UISpeaker {
 
         gbc.gridy = 1;
         frame.add(soundPlayingLabel, gbc);
+
+        gbc.gridy = 2;
+        frame.add(latencyLabel, gbc);
+
+        gbc.gridy = 3;
+        frame.add(loopbackLabel, gbc);
     }
 
     /**
@@ -64,40 +88,87 @@ public class UISpeaker {
         disableButtons();
         soundPlayingLabel.setText("Som tocando...");
         soundPlayingLabel.setVisible(true);
+        SoundPlayer.shared().play(TEST_SOUND, 0.0f, latency -> SwingUtilities.invokeLater(this::showLatency),
+                () -> SwingUtilities.invokeLater(() -> {
+                    soundPlayingLabel.setVisible(false);
+                    enableButtons();  // Reabilitar os botões após o som ou em caso de erro
+                }));
+    }
 
-        File soundFile = new File("sounds/dogbass-undertale.wav");
-
-        try {
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(soundFile);
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioStream);
+    /**
+     * Exibe a latência mediana e o percentil 90 entre o clique e o início do som, medidos pelo {@link SoundPlayer}.
+     * Chamado só quando o som começou a tocar.
+     */
+    private void showLatency() {
+        latencyLabel.setText(String.format("Latência até o som: %.1f ms (p90 %.1f ms)",
+                SoundPlayer.shared().getLatencyNanos(50) / 1e6, SoundPlayer.shared().getLatencyNanos(90) / 1e6));
+    }
 
-            clip.start();
-            clip.addLineListener(event -> {
-                if (event.getType() == LineEvent.Type.STOP) {
-                    clip.close();
-                    soundPlayingLabel.setVisible(false);
-                    enableButtons();  // Reabilitar os botões após o som
-                }
+    /**
+     * Executa o teste de loopback em segundo plano. O microfone precisa estar perto da caixa de som, ou a saída
+     * ligada à entrada por um cabo.
+     */
+    private void runLoopback() {
+        disableButtons();
+        loopbackLabel.setText("Medindo... mantenha o ambiente em silêncio.");
+        Thread thread = new Thread(() -> {
+            String text;
+            try {
+                text = renderLoopback(LoopbackTest.run());
+            } catch (TimeoutException e) {
+                e.printStackTrace();
+                text = "O microfone parou de gravar durante o teste.";
+            } catch (Exception e) {
+                e.printStackTrace();
+                text = "Não foi possível abrir a entrada e a saída de áudio.";
+            }
+            String result = text;
+            SwingUtilities.invokeLater(() -> {
+                loopbackLabel.setText(result);
+                enableButtons();
             });
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-            e.printStackTrace();
-            soundPlayingLabel.setVisible(false);
-            enableButtons();  // Reabilitar os botões em caso de erro
+        }, "testy-loopback");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Formata o resultado do teste de loopback, mostrando as bandas de oitava da resposta em frequência.
+     *
+     * @param result o resultado da medição.
+     * @return uma String HTML com a latência, a distorção e a resposta.
+     */
+    private static String renderLoopback(LoopbackResult result) {
+        if (!result.isDetected()) {
+            return "<html>Sinal não detectado no microfone.<br>Aproxime o microfone ou aumente o volume.</html>";
+        }
+        StringBuilder html = new StringBuilder("<html>");
+        html.append(String.format("Latência de ida e volta: %.1f ms<br>", result.getLatencyMillis()));
+        html.append(String.format("Distorção harmônica (1 kHz): %.2f %%<br>", result.getThdPercent()));
+        html.append("Resposta em frequência:");
+        float[] frequencies = result.getBandFrequencies();
+        float[] gains = result.getBandGainsDb();
+        for (int band = 0; band < frequencies.length; band += 3) {
+            float frequency = frequencies[band];
+            String name = frequency >= 1000 ? String.format("%.0f kHz", frequency / 1000) : String.format("%.0f Hz", frequency);
+            html.append(String.format("<br>%s: %+.1f dB", name, gains[band]));
         }
+        return html.append("</html>").toString();
     }
 
     /**
-     * Desabilita o botão de teste de som.
+     * Desabilita os botões de teste.
      */
     private void disableButtons() {
         speakerButton.setEnabled(false);
+        loopbackButton.setEnabled(false);
     }
 
     /**
-     * Habilita o botão de teste de som.
+     * Habilita os botões de teste.
      */
     private void enableButtons() {
         speakerButton.setEnabled(true);
+        loopbackButton.setEnabled(true);
     }
 }
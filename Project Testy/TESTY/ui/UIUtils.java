@@ -31,12 +31,32 @@ public class UIUtils {
      * @return Um JLabel configurado para exibir informações.
      */
     public static JLabel createInfoLabel(String text) {
-        JLabel label = new JLabel("<html><div style='color: white;'>" + text + "</div></html>");
+        JLabel label = new JLabel(formatInfoText(text));
         label.setForeground(new Color(178, 102, 255));
         label.setFont(new Font("Arial", Font.PLAIN, 12));
         return label;
     }
 
+    /**
+     * Atualiza o texto de um label criado por {@link #createInfoLabel(String)}, mantendo o mesmo estilo.
+     *
+     * @param label O label a ser atualizado.
+     * @param text  O novo texto a ser exibido.
+     */
+    public static void updateInfoLabel(JLabel label, String text) {
+        label.setText(formatInfoText(text));
+    }
+
+    /**
+     * Envolve o texto informativo no HTML padronizado dos labels de informação.
+     *
+     * @param text O texto a ser formatado.
+     * @return O texto formatado em HTML.
+     */
+    private static String formatInfoText(String text) {
+        return "<html><div style='color: white;'>" + text + "</div></html>";
+    }
+
     /**
      * Cria um painel de botões com layout vertical e fundo escuro.
      *
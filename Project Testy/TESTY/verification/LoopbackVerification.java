@@ -0,0 +1,88 @@
+package verification;
+
+import audio.LoopbackAnalyzer;
+import audio.LoopbackResult;
+import audio.SoftwareLoopback;
+
+/**
+ * Verifica o LoopbackAnalyzer contra o SoftwareLoopback, que injeta atraso, ganho, distorção e ruído conhecidos.
+ * Cada medição é comparada com o valor injetado; ao fim, o programa termina com código 1 se alguma verificação falhou.
+ * Executado por gradle check (tarefa verifyLoopback), nas taxas de 48 kHz e 44,1 kHz.
+ *
+ * Uso: java verification.LoopbackVerification [taxa de amostragem...]
+ */
+public class LoopbackVerification {
+    private static final int[] DELAYS = {0, 1234, 9000, 23000};  // Atrasos injetados, em quadros
+    private static final float GAIN = 0.5f;  // Ganho injetado (-6,02 dB)
+    private static final float DISTORTION = 0.04f;  // Termo quadrático: com o tom de amplitude 0,5, THD de 1%
+    private static final double EXPECTED_THD = 1.0;  // THD esperada com DISTORTION, em porcentagem
+    private static final float NOISE = 0.1f;  // Ruído da verificação sem estímulo
+    private static final double LATENCY_TOLERANCE = 0.5;  // Erro aceito no atraso, em quadros
+    private static final double GAIN_TOLERANCE_DB = 0.1;  // Erro aceito no ganho de cada banda
+    private static final double THD_TOLERANCE = 0.05;  // Erro aceito na THD, em pontos percentuais
+    private static final float[] SAMPLE_RATES = {48000f, 44100f};  // Taxas verificadas quando nenhuma é informada
+
+    private static int failures;  // Verificações que falharam
+
+    public static void main(String[] args) {
+        float[] sampleRates = SAMPLE_RATES;
+        if (args.length > 0) {
+            sampleRates = new float[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sampleRates[i] = Float.parseFloat(args[i]);
+            }
+        }
+        for (float sampleRate : sampleRates) {
+            verify(sampleRate);
+        }
+
+        if (failures > 0) {
+            System.out.println(failures + " verificações falharam");
+            System.exit(1);
+        }
+        System.out.println("Todas as verificações passaram");
+    }
+
+    /**
+     * Verifica a latência, o ganho, a THD e a rejeição de ruído medidos em uma taxa de amostragem.
+     */
+    private static void verify(float sampleRate) {
+        System.out.printf("%.0f Hz%n", sampleRate);
+        LoopbackAnalyzer analyzer = new LoopbackAnalyzer(sampleRate);
+        float[] stimulus = analyzer.getStimulus();
+        int length = analyzer.getRecordingLength();
+        double expectedGainDb = 20 * Math.log10(GAIN);
+
+        for (int delay : DELAYS) {
+            LoopbackResult result = analyzer.analyze(new SoftwareLoopback(delay, GAIN, 0, 0, 1).process(stimulus, length));
+            check(result.isDetected(), "atraso " + delay + ": estímulo detectado");
+            check(Math.abs(result.getLatencyFrames() - delay) <= LATENCY_TOLERANCE,
+                    String.format("atraso %d: medido %.2f quadros", delay, result.getLatencyFrames()));
+            float[] gains = result.getBandGainsDb();
+            double worst = 0;
+            for (float gain : gains) {
+                worst = Math.max(worst, Math.abs(gain - expectedGainDb));
+            }
+            check(gains.length > 0 && worst <= GAIN_TOLERANCE_DB,
+                    String.format("atraso %d: ganho %.2f dB em %d bandas, maior erro %.3f dB", delay, expectedGainDb,
+                            gains.length, worst));
+        }
+
+        LoopbackResult distorted = analyzer.analyze(new SoftwareLoopback(DELAYS[1], GAIN, 0, DISTORTION, 1).process(stimulus, length));
+        check(Math.abs(distorted.getThdPercent() - EXPECTED_THD) <= THD_TOLERANCE,
+                String.format("THD injetada %.2f %%, medida %.2f %%", EXPECTED_THD, distorted.getThdPercent()));
+
+        LoopbackResult noise = analyzer.analyze(new SoftwareLoopback(0, 0, NOISE, 0, 1).process(stimulus, length));
+        check(!noise.isDetected(), String.format("só ruído: rejeitado, razão de correlação %.1f", noise.getCorrelationRatio()));
+    }
+
+    /**
+     * Imprime o resultado de uma verificação e conta as falhas.
+     */
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "OK     " : "FALHOU ") + description);
+        if (!passed) {
+            failures++;
+        }
+    }
+}